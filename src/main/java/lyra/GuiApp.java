@@ -14,6 +14,7 @@ import javafx.geometry.Insets;
 import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
 import lyra.util.Storage;
+import lyra.util.StorageConfig;
 import lyra.task.TaskList;
 import lyra.command.Command;
 import lyra.util.Parser;
@@ -39,9 +40,10 @@ public class GuiApp extends Application {
     public void start(Stage stage) {
         this.stage = stage;
         // Initialize components
-        storage = new Storage("data/lyra.txt");
+        String[] args = getParameters().getRaw().toArray(new String[0]);
+        storage = new Storage("data/lyra.txt", StorageConfig.fromArgs(args));
         try {
-            tasks = new TaskList(storage.load());
+            tasks = storage.loadTaskList();
         } catch (LyraException e) {
             tasks = new TaskList();
         }
@@ -222,6 +224,18 @@ public class GuiApp extends Application {
         scrollPane.setVvalue(1.0);
     }
 
+    /**
+     * Writes any task changes still held back by the durability mode when the window closes.
+     */
+    @Override
+    public void stop() {
+        try {
+            storage.close();
+        } catch (LyraException e) {
+            // The window is already gone, so there is nowhere left to show the error.
+        }
+    }
+
     /**
      * Determines if a command should be displayed as a success message.
      */
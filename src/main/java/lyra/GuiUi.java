@@ -1,10 +1,12 @@
 package lyra;
 
+import lyra.task.DateRange;
 import lyra.task.Task;
 import lyra.task.TaskList;
 import lyra.util.Ui;
 
 import java.util.ArrayList;
+import java.util.List;
 
 /**
  * GUI-compatible UI class that captures output as strings instead of printing to console.
@@ -82,6 +84,24 @@ public class GuiUi extends Ui {
         outputBuffer.append(result);
     }
 
+    @Override
+    public void showTaskListWithIds(ArrayList<Task> tasks) {
+        assert tasks != null : "tasks must not be null";
+        StringBuilder message = new StringBuilder();
+        if (tasks.isEmpty()) {
+            message.append("There are no tasks in your list.");
+        } else {
+            message.append("Here are the tasks in your list:\n");
+            for (int i = 0; i < tasks.size(); i++) {
+                Task task = tasks.get(i);
+                message.append((i + 1)).append(".#").append(task.getId()).append(" ")
+                        .append(task.toString()).append("\n");
+            }
+        }
+        String result = message.toString().trim();
+        outputBuffer.append(result);
+    }
+
     @Override
     public void showMatchingTasks(ArrayList<Task> tasks) {
         assert tasks != null : "tasks must not be null";
@@ -98,6 +118,39 @@ public class GuiUi extends Ui {
         outputBuffer.append(result);
     }
 
+    @Override
+    public void showRankedTasks(ArrayList<Task> tasks, int matchCount) {
+        assert tasks != null : "tasks must not be null";
+        StringBuilder message = new StringBuilder();
+        if (tasks.isEmpty()) {
+            message.append("No matching tasks found.");
+        } else {
+            message.append("Here are the best ").append(tasks.size()).append(" of ").append(matchCount)
+                    .append(" matching tasks:\n");
+            for (int i = 0; i < tasks.size(); i++) {
+                message.append((i + 1)).append(".").append(tasks.get(i).toString()).append("\n");
+            }
+        }
+        String result = message.toString().trim();
+        outputBuffer.append(result);
+    }
+
+    @Override
+    public void showArchivedTasks(ArrayList<Task> tasks) {
+        assert tasks != null : "tasks must not be null";
+        StringBuilder message = new StringBuilder();
+        if (tasks.isEmpty()) {
+            message.append("No matching tasks found in the archive.");
+        } else {
+            message.append("Here are the matching tasks in your archive:\n");
+            for (int i = 0; i < tasks.size(); i++) {
+                message.append((i + 1)).append(".").append(tasks.get(i).toString()).append("\n");
+            }
+        }
+        String result = message.toString().trim();
+        outputBuffer.append("\n\n").append(result);
+    }
+
     @Override
     public void showTaskAdded(Task task, int totalTasks) {
         assert task != null : "task must not be null";
@@ -106,6 +159,39 @@ public class GuiUi extends Ui {
         outputBuffer.append(message);
     }
 
+    @Override
+    public void showEventConflicts(ArrayList<Task> conflicts, boolean isRejected) {
+        assert conflicts != null : "conflicts must not be null";
+        StringBuilder message = new StringBuilder();
+        if (isRejected) {
+            message.append("This event overlaps the events below, so I didn't add it:\n");
+        } else {
+            message.append("Heads up! This event overlaps:\n");
+        }
+        for (int i = 0; i < conflicts.size(); i++) {
+            message.append((i + 1)).append(".").append(conflicts.get(i).toString()).append("\n");
+        }
+        String result = message.toString().trim();
+        if (outputBuffer.length() > 0) {
+            outputBuffer.append("\n\n");
+        }
+        outputBuffer.append(result);
+    }
+
+    @Override
+    public void showFreeSlots(ArrayList<DateRange> slots) {
+        assert slots != null : "slots must not be null";
+        if (slots.isEmpty()) {
+            outputBuffer.append("No free days in that range.");
+            return;
+        }
+        StringBuilder message = new StringBuilder("Here are the periods with no events:\n");
+        for (int i = 0; i < slots.size(); i++) {
+            message.append((i + 1)).append(".").append(slots.get(i).toString()).append("\n");
+        }
+        outputBuffer.append(message.toString().trim());
+    }
+
     @Override
     public void showTaskMarked(Task task, boolean isDone) {
         assert task != null : "task must not be null";
@@ -126,6 +212,36 @@ public class GuiUi extends Ui {
         outputBuffer.append(message);
     }
 
+    @Override
+    public void showTasksMarked(List<Task> tasks, boolean isDone) {
+        assert tasks != null : "tasks must not be null";
+        StringBuilder message = new StringBuilder(isDone
+                ? "Nice! I've marked these " + tasks.size() + " tasks as done:"
+                : "OK, I've marked these " + tasks.size() + " tasks as not done yet:");
+        appendSome(message, tasks);
+        outputBuffer.append(message);
+    }
+
+    @Override
+    public void showTasksDeleted(List<Task> tasks, int remainingTasks) {
+        assert tasks != null : "tasks must not be null";
+        assert remainingTasks >= 0 : "remainingTasks must be non-negative";
+        StringBuilder message = new StringBuilder("Noted. I've removed these " + tasks.size() + " tasks:");
+        appendSome(message, tasks);
+        message.append("\nNow you have ").append(remainingTasks).append(" tasks in the list.");
+        outputBuffer.append(message);
+    }
+
+    private static void appendSome(StringBuilder message, List<Task> tasks) {
+        int shown = Math.min(tasks.size(), MAX_BULK_TASKS_SHOWN);
+        for (int i = 0; i < shown; i++) {
+            message.append("\n  ").append(tasks.get(i).toString());
+        }
+        if (tasks.size() > shown) {
+            message.append("\n  ...and ").append(tasks.size() - shown).append(" more");
+        }
+    }
+
     @Override
     public void showInvalidTaskNumber() {
         String message = "Invalid task number.";
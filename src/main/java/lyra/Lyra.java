@@ -1,6 +1,8 @@
 package lyra;
 
 import lyra.util.Storage;
+import lyra.util.StorageConfig;
+import lyra.util.DurabilityMode;
 import lyra.task.TaskList;
 import lyra.util.Ui;
 import lyra.command.Command;
@@ -26,10 +28,23 @@ public class Lyra {
      * @param filePath the file path where task data will be stored and loaded from
      */
     public Lyra(String filePath) {
+        this(filePath, new StorageConfig());
+    }
+
+    /**
+     * Constructs a new Lyra instance with the specified file path and storage options.
+     *
+     * @param filePath the file path where task data will be stored and loaded from
+     * @param config the storage options, usually parsed from the command line
+     */
+    public Lyra(String filePath, StorageConfig config) {
         ui = new Ui();
-        storage = new Storage(filePath);
+        storage = new Storage(filePath, config);
+        if (config.getDurabilityMode() != DurabilityMode.SYNC) {
+            storage.setFlushListener(count -> System.err.println("[storage] saved " + count + " change(s)"));
+        }
         try {
-            tasks = new TaskList(storage.load());
+            tasks = storage.loadTaskList();
         } catch (LyraException e) {
             ui.showLoadingError();
             tasks = new TaskList();
@@ -62,10 +77,10 @@ public class Lyra {
      * Main entry point for the Lyra application.
      * Creates a new Lyra instance and runs the application.
      *
-     * @param args command line arguments (not used)
+     * @param args command line arguments, see {@link StorageConfig#fromArgs(String[])}
      */
     public static void main(String[] args) {
-        new Lyra("data/lyra.txt").run();
+        new Lyra("data/lyra.txt", StorageConfig.fromArgs(args)).run();
     }
 }
 
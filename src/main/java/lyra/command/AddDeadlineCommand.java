@@ -51,7 +51,7 @@ public class AddDeadlineCommand extends Command {
             LocalDate by = DateTimeUtil.parseDate(byRaw);
             Task task = new Deadline(description, by);
             tasks.addTask(task);
-            storage.save(tasks.getTasks());
+            storage.saveAdded(tasks, task);
             ui.showTaskAdded(task, tasks.getSize());
         } catch (DateTimeParseException e) {
             throw new LyraException("Invalid date. Please use yyyy-MM-dd, e.g., 2019-10-15.");
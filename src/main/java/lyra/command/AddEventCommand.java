@@ -10,15 +10,19 @@ import lyra.util.DateTimeUtil;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 
 /**
  * Command implementation for adding a new event task to the task list.
  * Creates a task with a description and a time period (from and to dates).
+ * Existing events that overlap the new one are looked up in the event index and reported;
+ * in strict mode an event that overlaps any other is not added at all.
  */
 public class AddEventCommand extends Command {
     private final String description;
     private final String fromRaw;
     private final String toRaw;
+    private final boolean isStrict;
     
     /**
      * Constructs a new AddEventCommand with the specified description and time period.
@@ -28,18 +32,34 @@ public class AddEventCommand extends Command {
      * @param to the end date of the event in string format (will be parsed to LocalDate)
      */
     public AddEventCommand(String description, String from, String to) {
+        this(description, from, to, false);
+    }
+
+    /**
+     * Constructs a new AddEventCommand that optionally rejects events overlapping existing ones.
+     *
+     * @param description the description of the event task to be created
+     * @param from the start date of the event in string format (will be parsed to LocalDate)
+     * @param to the end date of the event in string format (will be parsed to LocalDate)
+     * @param isStrict true to refuse the event if it overlaps an existing event
+     */
+    public AddEventCommand(String description, String from, String to, boolean isStrict) {
         assert description != null && !description.trim().isEmpty() : "description must not be null or empty";
         assert from != null && !from.trim().isEmpty() : "from date must not be null or empty";
         assert to != null && !to.trim().isEmpty() : "to date must not be null or empty";
         this.description = description;
         this.fromRaw = from;
         this.toRaw = to;
+        this.isStrict = isStrict;
     }
     
     /**
      * Executes the add event command by parsing the start and end dates,
      * creating a new Event task, adding it to the task list,
      * saving to storage, and displaying confirmation.
+     * Overlapping events are shown as a warning after the confirmation, or, in strict mode,
+     * shown instead of adding the event. Checking for overlaps needs every event, so tasks
+     * not loaded at startup are loaded first.
      *
      * @param tasks the task list to add the new event to
      * @param ui the user interface for displaying confirmation messages
@@ -54,10 +74,21 @@ public class AddEventCommand extends Command {
         try {
             LocalDate from = DateTimeUtil.parseDate(fromRaw);
             LocalDate to = DateTimeUtil.parseDate(toRaw);
+            tasks.ensureLoaded();
+            ArrayList<Task> conflicts = from.isAfter(to)
+                    ? tasks.getEventIndex().findOverlapping(to, from)
+                    : tasks.getEventIndex().findOverlapping(from, to);
+            if (isStrict && !conflicts.isEmpty()) {
+                ui.showEventConflicts(conflicts, true);
+                return;
+            }
             Task task = new Event(description, from, to);
             tasks.addTask(task);
-            storage.save(tasks.getTasks());
+            storage.saveAdded(tasks, task);
             ui.showTaskAdded(task, tasks.getSize());
+            if (!conflicts.isEmpty()) {
+                ui.showEventConflicts(conflicts, false);
+            }
         } catch (DateTimeParseException e) {
             throw new LyraException("Invalid date. Please use yyyy-MM-dd, e.g., 2019-10-15.");
         }
@@ -40,7 +40,7 @@ public class AddTodoCommand extends Command {
         assert storage != null : "storage must not be null";
         Task task = new Todo(description);
         tasks.addTask(task);
-        storage.save(tasks.getTasks());
+        storage.saveAdded(tasks, task);
         ui.showTaskAdded(task, tasks.getSize());
     }
 }
@@ -0,0 +1,35 @@
+package lyra.command;
+
+import lyra.task.Task;
+import lyra.task.TaskList;
+import lyra.util.Ui;
+import lyra.util.Storage;
+import lyra.exception.LyraException;
+
+/**
+ * Command implementation for moving completed tasks into the archive.
+ * Archived tasks leave the task list but can still be found with "find --archive".
+ */
+public class ArchiveCommand extends Command {
+
+    /**
+     * Executes the archive command by moving every completed task into the archive
+     * and saving the remaining tasks.
+     *
+     * @param tasks the task list to archive completed tasks from
+     * @param ui the user interface for displaying the result
+     * @param storage the storage component holding the archive
+     * @throws LyraException if an error occurs during storage operations
+     */
+    @Override
+    public void execute(TaskList tasks, Ui ui, Storage storage) throws LyraException {
+        tasks.ensureLoaded();
+        int archived = storage.archive(tasks, Task::isDone);
+        if (archived == 0) {
+            ui.showMessage("There are no completed tasks to archive.");
+        } else {
+            ui.showMessage("Archived " + archived + " completed task(s). Now you have " + tasks.getSize()
+                    + " tasks in the list. Use 'find --archive <keyword>' to search the archive.");
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package lyra.command;
+
+import lyra.task.Task;
+import lyra.task.TaskList;
+import lyra.util.Ui;
+import lyra.util.Storage;
+import lyra.exception.LyraException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+
+/**
+ * Command implementation for deleting many tasks at once, such as "delete 3,7,9-20".
+ * The tasks are removed in a single pass over the list and the list is saved once at the end.
+ */
+public class BulkDeleteCommand extends Command {
+    private final TaskSelection selection;
+
+    /**
+     * Constructs a new BulkDeleteCommand.
+     *
+     * @param selection the tasks to delete
+     */
+    public BulkDeleteCommand(TaskSelection selection) {
+        assert selection != null : "selection must not be null";
+        this.selection = selection;
+    }
+
+    /**
+     * Executes the command by deleting every selected task, saving the list once and
+     * displaying the deleted tasks.
+     *
+     * @param tasks the task list containing the tasks to be deleted
+     * @param ui the user interface for displaying confirmation messages
+     * @param storage the storage component for persisting the updated task list
+     * @throws LyraException if a task number or ID is invalid or an error occurs during storage operations
+     */
+    @Override
+    public void execute(TaskList tasks, Ui ui, Storage storage) throws LyraException {
+        ArrayList<Integer> indexes = selection.resolve(tasks);
+        if (indexes.isEmpty()) {
+            ui.showMessage("No tasks match, so nothing was deleted.");
+            return;
+        }
+        ArrayList<Integer> positions = new ArrayList<>(indexes.size());
+        for (int index : indexes) {
+            positions.add(tasks.getPosition(index));
+        }
+        // Shown order may differ from list order once the list is sorted
+        Collections.sort(positions);
+        ArrayList<Task> deleted = tasks.deleteTasks(indexes);
+        storage.saveDeleted(tasks, positions);
+        ui.showTasksDeleted(deleted, tasks.getSize());
+    }
+}
@@ -0,0 +1,56 @@
+package lyra.command;
+
+import lyra.task.Task;
+import lyra.task.TaskList;
+import lyra.util.Ui;
+import lyra.util.Storage;
+import lyra.exception.LyraException;
+
+import java.util.ArrayList;
+
+/**
+ * Command implementation for marking many tasks as done or not done at once,
+ * such as "mark 1-500" or "unmark all done before 2024-01-01".
+ * The tasks are marked as one batch and the list is saved once at the end.
+ */
+public class BulkMarkCommand extends Command {
+    private final TaskSelection selection;
+    private final boolean isDone;
+
+    /**
+     * Constructs a new BulkMarkCommand.
+     *
+     * @param selection the tasks to mark
+     * @param isDone true to mark the tasks as done, false to mark them as not done
+     */
+    public BulkMarkCommand(TaskSelection selection, boolean isDone) {
+        assert selection != null : "selection must not be null";
+        this.selection = selection;
+        this.isDone = isDone;
+    }
+
+    /**
+     * Executes the command by marking every selected task, saving the list once and
+     * displaying the marked tasks.
+     *
+     * @param tasks the task list containing the tasks to be marked
+     * @param ui the user interface for displaying confirmation messages
+     * @param storage the storage component for persisting the updated task list
+     * @throws LyraException if a task number or ID is invalid or an error occurs during storage operations
+     */
+    @Override
+    public void execute(TaskList tasks, Ui ui, Storage storage) throws LyraException {
+        ArrayList<Integer> indexes = selection.resolve(tasks);
+        if (indexes.isEmpty()) {
+            ui.showMessage("No tasks match, so nothing was marked.");
+            return;
+        }
+        ArrayList<Integer> positions = new ArrayList<>(indexes.size());
+        for (int index : indexes) {
+            positions.add(tasks.getPosition(index));
+        }
+        ArrayList<Task> marked = tasks.markTasks(indexes, isDone);
+        storage.saveMarked(tasks, positions, isDone);
+        ui.showTasksMarked(marked, isDone);
+    }
+}
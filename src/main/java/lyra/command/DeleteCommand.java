@@ -12,6 +12,7 @@ import lyra.exception.LyraException;
  */
 public class DeleteCommand extends Command {
     private final int taskIndex;
+    private final boolean isTaskId;
     
     /**
      * Constructs a new DeleteCommand for the specified task index.
@@ -19,7 +20,18 @@ public class DeleteCommand extends Command {
      * @param taskIndex the index of the task to delete (1-based indexing)
      */
     public DeleteCommand(int taskIndex) {
+        this(taskIndex, false);
+    }
+
+    /**
+     * Constructs a new DeleteCommand for the task with the specified index or ID.
+     *
+     * @param taskIndex the index of the task to delete, or its ID
+     * @param isTaskId true if taskIndex is the ID of the task rather than its index
+     */
+    public DeleteCommand(int taskIndex, boolean isTaskId) {
         this.taskIndex = taskIndex;
+        this.isTaskId = isTaskId;
     }
     
     /**
@@ -36,9 +48,11 @@ public class DeleteCommand extends Command {
         assert tasks != null : "tasks must not be null";
         assert ui != null : "ui must not be null";
         assert storage != null : "storage must not be null";
-        assert taskIndex >= 0 && taskIndex < tasks.getSize() : "taskIndex must be in range";
-        Task deletedTask = tasks.deleteTask(taskIndex);
-        storage.save(tasks.getTasks());
+        int index = isTaskId ? tasks.getIndexOfId(taskIndex) : taskIndex;
+        assert index >= 0 && index < tasks.getSize() : "taskIndex must be in range";
+        int position = tasks.getPosition(index);
+        Task deletedTask = tasks.deleteTask(index);
+        storage.saveDeleted(tasks, position);
         ui.showTaskDeleted(deletedTask, tasks.getSize());
     }
 }
@@ -0,0 +1,104 @@
+package lyra.command;
+
+import lyra.task.DeadlineIndex;
+import lyra.task.Task;
+import lyra.task.TaskList;
+import lyra.util.DateTimeUtil;
+import lyra.util.Ui;
+import lyra.util.Storage;
+import lyra.exception.LyraException;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+
+/**
+ * Command implementation for listing the deadlines due in a date range.
+ * Deadlines are looked up in the task list's deadline index rather than by scanning every task,
+ * and are shown earliest first.
+ */
+public class DueCommand extends Command {
+
+    /**
+     * The kinds of date range a due command can ask for.
+     */
+    public enum Range {
+        /** Deadlines strictly before the first date. */
+        BEFORE,
+        /** Deadlines strictly after the first date. */
+        AFTER,
+        /** Deadlines from the first date to the second, both inclusive. */
+        BETWEEN
+    }
+
+    private final Range range;
+    private final String firstRaw;
+    private final String secondRaw;
+
+    /**
+     * Constructs a new DueCommand.
+     *
+     * @param range the kind of date range
+     * @param firstRaw the first date in string format (will be parsed to LocalDate)
+     * @param secondRaw the second date for BETWEEN ranges, or null otherwise
+     */
+    public DueCommand(Range range, String firstRaw, String secondRaw) {
+        assert range != null : "range must not be null";
+        assert firstRaw != null && !firstRaw.trim().isEmpty() : "firstRaw must not be null or empty";
+        assert (range == Range.BETWEEN) == (secondRaw != null) : "only BETWEEN ranges take a second date";
+        this.range = range;
+        this.firstRaw = firstRaw;
+        this.secondRaw = secondRaw;
+    }
+
+    /**
+     * Executes the due command by parsing the dates, looking the deadlines in the range up in
+     * the deadline index and displaying them.
+     *
+     * @param tasks the task list to search through
+     * @param ui the user interface for displaying the deadlines
+     * @param storage the storage component (not used by this command)
+     * @throws LyraException if a date is invalid, the range is empty or tasks cannot be loaded
+     */
+    @Override
+    public void execute(TaskList tasks, Ui ui, Storage storage) throws LyraException {
+        LocalDate first;
+        LocalDate second = null;
+        try {
+            first = DateTimeUtil.parseDate(firstRaw);
+            if (range == Range.BETWEEN) {
+                second = DateTimeUtil.parseDate(secondRaw);
+            }
+        } catch (DateTimeParseException e) {
+            throw new LyraException("Invalid date. Please use yyyy-MM-dd, e.g., 2019-10-15.");
+        }
+        if (range == Range.BETWEEN && first.isAfter(second)) {
+            throw new LyraException("The first date must not be after the second. Try: due between 2019-10-01 and 2019-10-31");
+        }
+
+        tasks.ensureLoaded();
+        DeadlineIndex index = tasks.getDeadlineIndex();
+        ArrayList<Task> due;
+        String description;
+        switch (range) {
+            case BEFORE:
+                due = index.findDueBefore(first);
+                description = "before " + DateTimeUtil.formatForDisplay(first);
+                break;
+            case AFTER:
+                due = index.findDue(first.plusDays(1), null);
+                description = "after " + DateTimeUtil.formatForDisplay(first);
+                break;
+            default:
+                due = index.findDue(first, second);
+                description = "between " + DateTimeUtil.formatForDisplay(first) + " and "
+                        + DateTimeUtil.formatForDisplay(second);
+                break;
+        }
+        if (due.isEmpty()) {
+            ui.showMessage("No deadlines due " + description + ".");
+        } else {
+            ui.showMatchingTasks(due);
+        }
+    }
+}
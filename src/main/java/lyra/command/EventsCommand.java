@@ -0,0 +1,80 @@
+package lyra.command;
+
+import lyra.task.EventIndex;
+import lyra.task.Task;
+import lyra.task.TaskList;
+import lyra.util.DateTimeUtil;
+import lyra.util.Ui;
+import lyra.util.Storage;
+import lyra.exception.LyraException;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+
+/**
+ * Command implementation for listing the events that take place on a date or overlap a range of dates.
+ * Events are looked up in the task list's event interval tree rather than by scanning every task.
+ */
+public class EventsCommand extends Command {
+    private final String fromRaw;
+    private final String toRaw;
+
+    /**
+     * Constructs a new EventsCommand for the events on a single date.
+     *
+     * @param dateRaw the date in string format (will be parsed to LocalDate)
+     */
+    public EventsCommand(String dateRaw) {
+        this(dateRaw, dateRaw);
+    }
+
+    /**
+     * Constructs a new EventsCommand for the events overlapping a range of dates.
+     *
+     * @param fromRaw the first day of the range in string format (will be parsed to LocalDate)
+     * @param toRaw the last day of the range in string format (will be parsed to LocalDate)
+     */
+    public EventsCommand(String fromRaw, String toRaw) {
+        assert fromRaw != null && !fromRaw.trim().isEmpty() : "fromRaw must not be null or empty";
+        assert toRaw != null && !toRaw.trim().isEmpty() : "toRaw must not be null or empty";
+        this.fromRaw = fromRaw;
+        this.toRaw = toRaw;
+    }
+
+    /**
+     * Executes the command by parsing the dates, looking the overlapping events up in the
+     * event index and displaying them, earliest start first.
+     *
+     * @param tasks the task list to search through
+     * @param ui the user interface for displaying the events
+     * @param storage the storage component (not used by this command)
+     * @throws LyraException if a date is invalid, the range is empty or tasks cannot be loaded
+     */
+    @Override
+    public void execute(TaskList tasks, Ui ui, Storage storage) throws LyraException {
+        LocalDate from;
+        LocalDate to;
+        try {
+            from = DateTimeUtil.parseDate(fromRaw);
+            to = DateTimeUtil.parseDate(toRaw);
+        } catch (DateTimeParseException e) {
+            throw new LyraException("Invalid date. Please use yyyy-MM-dd, e.g., 2019-10-15.");
+        }
+        if (from.isAfter(to)) {
+            throw new LyraException("The first date must not be after the second. Try: overlapping 2019-10-01 2019-10-31");
+        }
+
+        tasks.ensureLoaded();
+        EventIndex index = tasks.getEventIndex();
+        ArrayList<Task> events = from.equals(to) ? index.findOn(from) : index.findOverlapping(from, to);
+        if (!events.isEmpty()) {
+            ui.showMatchingTasks(events);
+        } else if (from.equals(to)) {
+            ui.showMessage("No events on " + DateTimeUtil.formatForDisplay(from) + ".");
+        } else {
+            ui.showMessage("No events between " + DateTimeUtil.formatForDisplay(from) + " and "
+                    + DateTimeUtil.formatForDisplay(to) + ".");
+        }
+    }
+}
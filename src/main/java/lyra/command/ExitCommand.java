@@ -12,15 +12,17 @@ import lyra.exception.LyraException;
 public class ExitCommand extends Command {
     
     /**
-     * Executes the exit command by displaying a goodbye message.
+     * Executes the exit command by letting pending storage work finish
+     * and displaying a goodbye message.
      *
      * @param tasks the task list (not used in this command)
      * @param ui the user interface for displaying the goodbye message
-     * @param storage the storage component (not used in this command)
+     * @param storage the storage component to close
      * @throws LyraException never thrown by this command
      */
     @Override
     public void execute(TaskList tasks, Ui ui, Storage storage) throws LyraException {
+        storage.close();
         ui.showGoodbye();
     }
     
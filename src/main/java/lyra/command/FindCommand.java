@@ -1,19 +1,50 @@
 package lyra.command;
 
+import lyra.task.PostingList;
+import lyra.task.RankedMatches;
 import lyra.task.Task;
 import lyra.task.TaskList;
+import lyra.task.TokenIndex;
+import lyra.task.TrigramIndex;
 import lyra.util.Ui;
 import lyra.util.Storage;
 import lyra.exception.LyraException;
 
 import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Command implementation for finding tasks that match a given keyword.
  * Searches through all tasks and displays those whose descriptions contain the keyword.
+ * Substring searches are narrowed down with the task list's trigram index, and whole-word
+ * and prefix searches are answered from its word index. A keyword written as a boolean query,
+ * such as "report AND q3 NOT draft", combines the posting lists of its keywords instead.
  */
 public class FindCommand extends Command {
+
+    /**
+     * How the keyword has to appear in a description for the task to match.
+     */
+    public enum MatchMode {
+        /** The keyword appears anywhere in the description. */
+        SUBSTRING,
+        /** Every word of the keyword appears as a whole word. */
+        WORD,
+        /** Every word of the keyword starts a word of the description. */
+        PREFIX,
+        /** Any word of the keyword appears as a whole word; the best matches are shown first. */
+        RANKED,
+        /** Every word of the keyword, or a word a typo or two away from it, appears as a whole word. */
+        FUZZY
+    }
+
+    // How many of the best matches a ranked search shows
+    private static final int RANKED_LIMIT = 10;
+
     private final String keyword;
+    private final FindQuery query;
+    private final MatchMode mode;
+    private final boolean isArchiveIncluded;
 
     /**
      * Constructs a new FindCommand with the specified search keyword.
@@ -21,38 +52,202 @@ public class FindCommand extends Command {
      * @param keyword the keyword to search for in task descriptions
      */
     public FindCommand(String keyword) {
+        this(keyword, false);
+    }
+
+    /**
+     * Constructs a new FindCommand that optionally searches the archive as well.
+     *
+     * @param keyword the keyword to search for in task descriptions
+     * @param isArchiveIncluded true to also search archived tasks
+     */
+    public FindCommand(String keyword, boolean isArchiveIncluded) {
+        this(keyword, MatchMode.SUBSTRING, isArchiveIncluded);
+    }
+
+    /**
+     * Constructs a new FindCommand with the given match mode.
+     *
+     * @param keyword the keyword to search for in task descriptions
+     * @param mode how the keyword has to appear in a description
+     * @param isArchiveIncluded true to also search archived tasks
+     */
+    public FindCommand(String keyword, MatchMode mode, boolean isArchiveIncluded) {
+        this(keyword, null, mode, isArchiveIncluded);
+    }
+
+    /**
+     * Constructs a new FindCommand that searches with a boolean query.
+     * Every keyword of the query is matched the way the match mode says.
+     *
+     * @param keyword the query as the user typed it
+     * @param query the parsed query, or null to search for the keyword as a whole
+     * @param mode how each keyword has to appear in a description
+     * @param isArchiveIncluded true to also search archived tasks
+     */
+    public FindCommand(String keyword, FindQuery query, MatchMode mode, boolean isArchiveIncluded) {
+        assert mode != null : "mode must not be null";
+        assert query == null || mode == MatchMode.SUBSTRING || mode == MatchMode.WORD || mode == MatchMode.PREFIX
+                : "only substring, word and prefix searches take boolean queries";
         this.keyword = keyword;
+        this.query = query;
+        this.mode = mode;
+        this.isArchiveIncluded = isArchiveIncluded;
     }
 
     /**
      * Executes the find command by searching through all tasks for those
      * whose descriptions contain the specified keyword (case-insensitive).
+     * Word and prefix searches look the keyword's words up in the word index; a keyword
+     * without any letters or digits falls back to a substring search, which uses the trigram index.
+     * Ranked searches show only the best few matches, scored with BM25. When nothing matches,
+     * words of the keyword that appear in no description are replaced by the closest words
+     * that do, to suggest what the user may have meant.
      * Displays the matching tasks to the user with improved feedback.
      *
      * @param tasks the task list to search through
      * @param ui the user interface for displaying the search results
-     * @param storage the storage component (not used in this command)
-     * @throws LyraException never thrown by this command
+     * @param storage the storage component, used to search the archive if requested
+     * @throws LyraException if tasks that were not loaded at startup or the archive cannot be read
      */
     @Override
     public void execute(TaskList tasks, Ui ui, Storage storage) throws LyraException {
-        ArrayList<Task> matched = new ArrayList<>();
+        tasks.ensureLoaded();
         String needle = keyword.toLowerCase().trim();
-        
-        // Enhanced search with partial matching
-        for (Task task : tasks.getTasks()) {
-            String description = task.getDescription().toLowerCase();
-            if (description.contains(needle)) {
-                matched.add(task);
+        List<String> terms = TokenIndex.tokenize(needle);
+        boolean isIndexed = mode != MatchMode.SUBSTRING && !terms.isEmpty();
+        if (isIndexed && mode == MatchMode.RANKED) {
+            showRanked(tasks, terms, ui, storage);
+            return;
+        }
+
+        ArrayList<Task> matched;
+        if (query != null) {
+            matched = findByQuery(tasks);
+        } else if (!isIndexed) {
+            matched = tasks.getTrigramIndex().find(needle);
+        } else if (mode == MatchMode.WORD) {
+            matched = tasks.getTokenIndex().findWords(terms);
+        } else if (mode == MatchMode.FUZZY) {
+            matched = tasks.getTokenIndex().findFuzzy(terms);
+        } else {
+            matched = tasks.getTokenIndex().findPrefixes(terms);
+        }
+
+        if (isArchiveIncluded) {
+            ArrayList<Task> archived;
+            if (query != null) {
+                archived = storage.searchArchive(task -> query.matches(term -> matchesTerm(task, term)));
+            } else if (isIndexed && mode == MatchMode.FUZZY) {
+                archived = storage.searchArchive(task -> TokenIndex.matchesFuzzy(task.getDescription(), terms));
+            } else if (isIndexed) {
+                archived = new ArrayList<>();
+                boolean isPrefix = mode == MatchMode.PREFIX;
+                for (Task task : storage.searchArchive(terms.get(0))) {
+                    if (TokenIndex.matches(task.getDescription(), terms, isPrefix)) {
+                        archived.add(task);
+                    }
+                }
+            } else {
+                archived = storage.searchArchive(needle);
+            }
+            if (!matched.isEmpty() || !archived.isEmpty()) {
+                if (!matched.isEmpty()) {
+                    ui.showMatchingTasks(matched);
+                }
+                ui.showArchivedTasks(archived);
+                return;
             }
         }
-        
+
         if (matched.isEmpty()) {
-            ui.showMessage("No tasks found matching '" + keyword + "'. Try a different keyword or check your spelling.");
+            showNoMatches(tasks, terms, ui);
         } else {
             ui.showMatchingTasks(matched);
         }
     }
-}
 
+    private void showRanked(TaskList tasks, List<String> terms, Ui ui, Storage storage) throws LyraException {
+        RankedMatches ranked = tasks.getTokenIndex().findRanked(terms, RANKED_LIMIT);
+        ArrayList<Task> archived = new ArrayList<>();
+        if (isArchiveIncluded) {
+            archived = storage.searchArchive(task -> {
+                for (String term : terms) {
+                    if (TokenIndex.matches(task.getDescription(), List.of(term), false)) {
+                        return true;
+                    }
+                }
+                return false;
+            });
+        }
+        if (ranked.getMatchCount() == 0 && archived.isEmpty()) {
+            showNoMatches(tasks, terms, ui);
+            return;
+        }
+        if (ranked.getMatchCount() > 0) {
+            ui.showRankedTasks(ranked.getTasks(), ranked.getMatchCount());
+        }
+        if (isArchiveIncluded) {
+            ui.showArchivedTasks(archived);
+        }
+    }
+
+    private void showNoMatches(TaskList tasks, List<String> terms, Ui ui) {
+        String suggestion = query == null ? suggest(tasks.getTokenIndex(), terms) : null;
+        if (suggestion == null) {
+            ui.showMessage("No tasks found matching '" + keyword + "'. Try a different keyword or check your spelling.");
+        } else {
+            ui.showMessage("No tasks found matching '" + keyword + "'. Did you mean '" + suggestion + "'?");
+        }
+    }
+
+    /**
+     * Replaces the words that appear in no description by the closest word that does.
+     * Suggestions allow one more edit than fuzzy searches, since swapping two letters already
+     * takes two. Returns null if there is nothing to replace or nothing close enough.
+     */
+    private static String suggest(TokenIndex index, List<String> terms) {
+        StringBuilder suggestion = new StringBuilder();
+        boolean isChanged = false;
+        for (String term : terms) {
+            String replacement = term;
+            if (index.getWordPostings(term).size() == 0) {
+                List<String> similar = index.findSimilarWords(term, TokenIndex.getMaxTypos(term) + 1);
+                if (!similar.isEmpty()) {
+                    replacement = similar.get(0);
+                    isChanged = true;
+                }
+            }
+            suggestion.append(suggestion.length() == 0 ? "" : " ").append(replacement);
+        }
+        return isChanged ? suggestion.toString() : null;
+    }
+
+    private ArrayList<Task> findByQuery(TaskList tasks) {
+        if (mode == MatchMode.SUBSTRING) {
+            TrigramIndex index = tasks.getTrigramIndex();
+            return index.getTasks(query.evaluate(index::getSubstringPostings, index::getAllSerials));
+        }
+        TokenIndex index = tasks.getTokenIndex();
+        return index.getTasks(query.evaluate(term -> {
+            // A keyword without letters or digits has no words, so it cannot match any word
+            List<String> words = TokenIndex.tokenize(term);
+            if (words.isEmpty()) {
+                return new PostingList();
+            }
+            ArrayList<PostingList> lists = new ArrayList<>();
+            for (String word : words) {
+                lists.add(mode == MatchMode.WORD ? index.getWordPostings(word) : index.getPrefixPostings(word));
+            }
+            return PostingList.intersectAll(lists);
+        }, index::getAllSerials));
+    }
 
+    private boolean matchesTerm(Task task, String term) {
+        if (mode == MatchMode.SUBSTRING) {
+            return task.getDescription().toLowerCase().contains(term);
+        }
+        List<String> words = TokenIndex.tokenize(term);
+        return !words.isEmpty() && TokenIndex.matches(task.getDescription(), words, mode == MatchMode.PREFIX);
+    }
+}
@@ -0,0 +1,177 @@
+package lyra.command;
+
+import lyra.exception.LyraException;
+import lyra.task.PostingList;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * A boolean search query such as "report AND q3 NOT draft" or "milk OR eggs".
+ * The operators AND, OR and NOT are only recognised in capitals, so that ordinary keywords
+ * like "pick up and drop off" keep working as plain searches. NOT binds tightest, then AND,
+ * then OR; keywords written next to each other without an operator are joined by AND, so
+ * "report q3 NOT draft" means the same as the first example.
+ *
+ * A query is evaluated on sorted posting lists of task serial numbers: AND intersects,
+ * OR unites and NOT subtracts, so the cost follows the sizes of the lists involved rather than
+ * the number of tasks. Only a query made of nothing but NOT terms has to start from every task.
+ */
+public class FindQuery {
+    private static final String AND = "AND";
+    private static final String OR = "OR";
+    private static final String NOT = "NOT";
+    private static final String USAGE = "Try: find report AND q3 NOT draft";
+
+    // Each inner list is one AND group; the query matches if any group does
+    private final List<List<Term>> groups;
+
+    private FindQuery(List<List<Term>> groups) {
+        this.groups = groups;
+    }
+
+    /**
+     * A keyword of the query, possibly negated.
+     */
+    private static class Term {
+        private final String keyword;
+        private final boolean isNegated;
+
+        private Term(String keyword, boolean isNegated) {
+            this.keyword = keyword;
+            this.isNegated = isNegated;
+        }
+    }
+
+    /**
+     * Checks if a search keyword uses any of the boolean operators.
+     *
+     * @param keyword the search keyword
+     * @return true if the keyword should be parsed as a query
+     */
+    public static boolean isQuery(String keyword) {
+        for (String word : keyword.trim().split("\\s+")) {
+            if (word.equals(AND) || word.equals(OR) || word.equals(NOT)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Parses a boolean search query.
+     *
+     * @param query the query text
+     * @return the parsed query
+     * @throws LyraException if an operator is missing a keyword
+     */
+    public static FindQuery parse(String query) throws LyraException {
+        assert query != null : "query must not be null";
+        List<List<Term>> groups = new ArrayList<>();
+        List<Term> group = new ArrayList<>();
+        boolean isNegated = false;
+        boolean isTermExpected = true;
+        String lastOperator = null;
+
+        for (String word : query.trim().split("\\s+")) {
+            if (word.equals(OR)) {
+                if (isTermExpected) {
+                    throw new LyraException("Sorry, OR needs a keyword on both sides. " + USAGE);
+                }
+                groups.add(group);
+                group = new ArrayList<>();
+                isTermExpected = true;
+                lastOperator = OR;
+            } else if (word.equals(AND)) {
+                if (isTermExpected) {
+                    throw new LyraException("Sorry, AND needs a keyword on both sides. " + USAGE);
+                }
+                isTermExpected = true;
+                lastOperator = AND;
+            } else if (word.equals(NOT)) {
+                isNegated = !isNegated;
+                isTermExpected = true;
+                lastOperator = NOT;
+            } else if (!word.isEmpty()) {
+                group.add(new Term(word.toLowerCase(), isNegated));
+                isNegated = false;
+                isTermExpected = false;
+                lastOperator = null;
+            }
+        }
+        if (lastOperator == null && isTermExpected) {
+            throw new LyraException("Please provide a keyword to find. Try: find <keyword>");
+        } else if (isTermExpected) {
+            throw new LyraException("Sorry, " + lastOperator + " needs a keyword after it. " + USAGE);
+        }
+        groups.add(group);
+        return new FindQuery(groups);
+    }
+
+    /**
+     * Evaluates the query on posting lists.
+     *
+     * @param lookup gives the sorted serial numbers of the tasks matching a lowercase keyword
+     * @param all gives the serial numbers of every task, for groups made only of NOT terms
+     * @return the serial numbers of the matching tasks
+     */
+    public PostingList evaluate(Function<String, PostingList> lookup, Supplier<PostingList> all) {
+        PostingList result = new PostingList();
+        for (List<Term> group : groups) {
+            result = result.union(evaluateGroup(group, lookup, all));
+        }
+        return result;
+    }
+
+    private PostingList evaluateGroup(List<Term> group, Function<String, PostingList> lookup,
+            Supplier<PostingList> all) {
+        ArrayList<PostingList> included = new ArrayList<>();
+        ArrayList<PostingList> excluded = new ArrayList<>();
+        for (Term term : group) {
+            PostingList list = lookup.apply(term.keyword);
+            if (!term.isNegated && list.size() == 0) {
+                return list;
+            }
+            (term.isNegated ? excluded : included).add(list);
+        }
+
+        PostingList result;
+        if (included.isEmpty()) {
+            result = all.get();
+        } else {
+            result = PostingList.intersectAll(included);
+        }
+        for (PostingList list : excluded) {
+            if (result.size() == 0) {
+                break;
+            }
+            result = result.subtract(list);
+        }
+        return result;
+    }
+
+    /**
+     * Checks if a single description satisfies the query, for tasks that are not indexed.
+     *
+     * @param matcher tells if the description matches a lowercase keyword
+     * @return true if the description matches the query
+     */
+    public boolean matches(Predicate<String> matcher) {
+        for (List<Term> group : groups) {
+            boolean isGroupMatched = true;
+            for (Term term : group) {
+                if (matcher.test(term.keyword) == term.isNegated) {
+                    isGroupMatched = false;
+                    break;
+                }
+            }
+            if (isGroupMatched) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,67 @@
+package lyra.command;
+
+import lyra.task.DateRange;
+import lyra.task.TaskList;
+import lyra.util.DateTimeUtil;
+import lyra.util.Ui;
+import lyra.util.Storage;
+import lyra.exception.LyraException;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+
+/**
+ * Command implementation for listing the periods in a range of dates that no event covers.
+ * The gaps are found by sweeping the events of the range in start order from the task list's
+ * event interval tree, so the cost follows the number of events in the range, not its length.
+ */
+public class FreeCommand extends Command {
+    private final String fromRaw;
+    private final String toRaw;
+    private final int minDays;
+
+    /**
+     * Constructs a new FreeCommand.
+     *
+     * @param fromRaw the first day of the range in string format (will be parsed to LocalDate)
+     * @param toRaw the last day of the range in string format (will be parsed to LocalDate)
+     * @param minDays the shortest free period to list
+     */
+    public FreeCommand(String fromRaw, String toRaw, int minDays) {
+        assert fromRaw != null && !fromRaw.trim().isEmpty() : "fromRaw must not be null or empty";
+        assert toRaw != null && !toRaw.trim().isEmpty() : "toRaw must not be null or empty";
+        assert minDays > 0 : "minDays must be positive";
+        this.fromRaw = fromRaw;
+        this.toRaw = toRaw;
+        this.minDays = minDays;
+    }
+
+    /**
+     * Executes the command by parsing the dates, finding the gaps between the events of the
+     * range and displaying those lasting at least the minimum number of days.
+     *
+     * @param tasks the task list to search through
+     * @param ui the user interface for displaying the free periods
+     * @param storage the storage component (not used by this command)
+     * @throws LyraException if a date is invalid, the range is empty or tasks cannot be loaded
+     */
+    @Override
+    public void execute(TaskList tasks, Ui ui, Storage storage) throws LyraException {
+        LocalDate from;
+        LocalDate to;
+        try {
+            from = DateTimeUtil.parseDate(fromRaw);
+            to = DateTimeUtil.parseDate(toRaw);
+        } catch (DateTimeParseException e) {
+            throw new LyraException("Invalid date. Please use yyyy-MM-dd, e.g., 2019-10-15.");
+        }
+        if (from.isAfter(to)) {
+            throw new LyraException("The first date must not be after the second. Try: free 2019-10-01 2019-10-31");
+        }
+
+        tasks.ensureLoaded();
+        ArrayList<DateRange> slots = tasks.getEventIndex().findFree(from, to, minDays);
+        ui.showFreeSlots(slots);
+    }
+}
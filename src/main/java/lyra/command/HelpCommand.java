@@ -28,16 +28,35 @@ public class HelpCommand extends Command {
         helpText.append("📝 TASK MANAGEMENT:\n");
         helpText.append("  todo <description>           - Add a new todo task\n");
         helpText.append("  deadline <task> /by <when>   - Add a deadline task\n");
-        helpText.append("  event <task> /from <start> /to <end> - Add an event task\n\n");
+        helpText.append("  event <task> /from <start> /to <end> - Add an event task\n");
+        helpText.append("  event ... /strict            - Refuse the event if it overlaps another\n\n");
         
         helpText.append("📋 TASK OPERATIONS:\n");
         helpText.append("  list                         - Show all tasks\n");
+        helpText.append("  list --ids                   - Show all tasks with their IDs\n");
         helpText.append("  mark <number>                - Mark task as done\n");
         helpText.append("  unmark <number>              - Mark task as not done\n");
-        helpText.append("  delete <number>              - Delete a task\n\n");
+        helpText.append("  delete <number>              - Delete a task\n");
+        helpText.append("  mark/unmark/delete #<id>     - Same, using the task's ID\n");
+        helpText.append("  mark/unmark/delete 1-5,7,#12 - Same, for many tasks at once\n");
+        helpText.append("  unmark all done before <date> - Pick tasks by status and date (also: all, all undone)\n");
+        helpText.append("  undo                         - Undo the last change, including a sort\n");
+        helpText.append("  redo                         - Redo the last undone change\n\n");
         
         helpText.append("🔍 SEARCH & ORGANIZE:\n");
         helpText.append("  find <keyword>               - Search for tasks\n");
+        helpText.append("  find --word <words>          - Search for tasks containing whole words\n");
+        helpText.append("  find --prefix <word starts>  - Search for words starting with the given text\n");
+        helpText.append("  find a AND b NOT c / a OR b  - Combine keywords (operators in capitals)\n");
+        helpText.append("  find --ranked <words>        - Show the 10 best matches first\n");
+        helpText.append("  find --fuzzy <words>         - Search for words, forgiving typos\n");
+        helpText.append("  find --archive <keyword>     - Search tasks and the archive\n");
+        helpText.append("  archive                      - Move completed tasks to the archive\n");
+        helpText.append("  due before/after <date>      - List deadlines due before or after a date\n");
+        helpText.append("  due between <from> and <to>  - List deadlines due in a date range\n");
+        helpText.append("  on <date>                    - List events taking place on a date\n");
+        helpText.append("  overlapping <from> <to>      - List events overlapping a date range\n");
+        helpText.append("  free <from> <to> [min-days]  - List periods with no events in a date range\n");
         helpText.append("  sort <criteria>              - Sort tasks by criteria\n");
         helpText.append("    Available criteria: description, deadline, event, type, status\n\n");
         
@@ -7,20 +7,42 @@ import lyra.exception.LyraException;
 
 /**
  * Command implementation for listing all tasks in the task list.
- * Displays all current tasks to the user through the UI.
+ * Displays all current tasks to the user through the UI, optionally with their IDs.
  */
 public class ListCommand extends Command {
-    
+    private final boolean isShowingIds;
+
+    /**
+     * Constructs a new ListCommand that lists the tasks without their IDs.
+     */
+    public ListCommand() {
+        this(false);
+    }
+
+    /**
+     * Constructs a new ListCommand.
+     *
+     * @param isShowingIds true to show the ID of every task
+     */
+    public ListCommand(boolean isShowingIds) {
+        this.isShowingIds = isShowingIds;
+    }
+
     /**
      * Executes the list command by displaying all tasks in the task list.
      *
      * @param tasks the task list containing tasks to display
      * @param ui the user interface for displaying the task list
      * @param storage the storage component (not used in this command)
-     * @throws LyraException never thrown by this command
+     * @throws LyraException if tasks that were not loaded at startup cannot be loaded
      */
     @Override
     public void execute(TaskList tasks, Ui ui, Storage storage) throws LyraException {
-        ui.showTaskList(tasks.getTasks());
+        tasks.ensureLoaded();
+        if (isShowingIds) {
+            ui.showTaskListWithIds(tasks.getShownTasks());
+        } else {
+            ui.showTaskList(tasks.getShownTasks());
+        }
     }
 }
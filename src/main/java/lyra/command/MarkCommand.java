@@ -1,6 +1,7 @@
 package lyra.command;
 
 import lyra.task.TaskList;
+import lyra.task.Task;
 import lyra.util.Ui;
 import lyra.util.Storage;
 import lyra.exception.LyraException;
@@ -11,6 +12,7 @@ import lyra.exception.LyraException;
  */
 public class MarkCommand extends Command {
     private final int taskIndex;
+    private final boolean isTaskId;
     
     /**
      * Constructs a new MarkCommand for the specified task index.
@@ -18,7 +20,18 @@ public class MarkCommand extends Command {
      * @param taskIndex the index of the task to mark as done (1-based indexing)
      */
     public MarkCommand(int taskIndex) {
+        this(taskIndex, false);
+    }
+
+    /**
+     * Constructs a new MarkCommand for the task with the specified index or ID.
+     *
+     * @param taskIndex the index of the task to mark as done, or its ID
+     * @param isTaskId true if taskIndex is the ID of the task rather than its index
+     */
+    public MarkCommand(int taskIndex, boolean isTaskId) {
         this.taskIndex = taskIndex;
+        this.isTaskId = isTaskId;
     }
     
     /**
@@ -35,9 +48,11 @@ public class MarkCommand extends Command {
         assert tasks != null : "tasks must not be null";
         assert ui != null : "ui must not be null";
         assert storage != null : "storage must not be null";
-        assert taskIndex >= 0 && taskIndex < tasks.getSize() : "taskIndex must be in range";
-        tasks.markTaskAsDone(taskIndex);
-        storage.save(tasks.getTasks());
-        ui.showTaskMarked(tasks.getTasks().get(taskIndex), true);
+        int index = isTaskId ? tasks.getIndexOfId(taskIndex) : taskIndex;
+        assert index >= 0 && index < tasks.getSize() : "taskIndex must be in range";
+        int position = tasks.getPosition(index);
+        Task task = tasks.markTaskAsDone(index);
+        storage.saveMarked(tasks, position, true);
+        ui.showTaskMarked(task, true);
     }
 }
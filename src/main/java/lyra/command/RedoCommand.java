@@ -0,0 +1,29 @@
+package lyra.command;
+
+import lyra.task.TaskList;
+import lyra.util.Ui;
+import lyra.util.Storage;
+import lyra.exception.LyraException;
+
+/**
+ * Command implementation for redoing the latest change that was undone, unless another change was made since.
+ * The task list keeps a bounded history of its changes, see TaskHistory.
+ */
+public class RedoCommand extends Command {
+
+    /**
+     * Executes the redo command by redoing the change, saving the task list
+     * and displaying what was redone.
+     *
+     * @param tasks the task list to redo the change in
+     * @param ui the user interface for displaying confirmation messages
+     * @param storage the storage component for persisting the updated task list
+     * @throws LyraException if there is nothing to redo or an error occurs during storage operations
+     */
+    @Override
+    public void execute(TaskList tasks, Ui ui, Storage storage) throws LyraException {
+        String change = tasks.redo();
+        storage.saveRestored(tasks);
+        ui.showMessage("Redid " + change + ".");
+    }
+}
@@ -19,6 +19,7 @@ public class SortCommand extends Command {
             return;
         }
 
+        taskList.ensureLoaded();
         switch (sortCriteria) {
             case "description":
                 taskList.sortByDescription();
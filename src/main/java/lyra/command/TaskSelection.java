@@ -0,0 +1,182 @@
+package lyra.command;
+
+import lyra.exception.LyraException;
+import lyra.task.Deadline;
+import lyra.task.Event;
+import lyra.task.Task;
+import lyra.task.TaskList;
+import lyra.util.DateTimeUtil;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * A set of tasks picked by a bulk command, such as "1-500", "3,7,9-20,#42" or
+ * "all done before 2024-01-01".
+ *
+ * A list names tasks by number as shown to the user, by ranges of numbers, both ends included,
+ * or by ID. "all" picks every task, optionally only the done or undone ones, and optionally
+ * only those whose deadline, or the end of the event, is before a date; Todos have no date,
+ * so they are never before one.
+ */
+public class TaskSelection {
+    private static final String ALL = "all";
+    private static final String DONE = "done";
+    private static final String UNDONE = "undone";
+    private static final String BEFORE = "before";
+    private static final String ID_PREFIX = "#";
+    private static final String USAGE = "Try: 1-5, 3,7,9-20 or all done before 2024-01-01";
+
+    // For lists: the numbers and ranges as pairs of 0-based indexes, and the IDs
+    private final List<int[]> ranges;
+    private final List<Integer> ids;
+    // For "all": null to take tasks whatever their status
+    private final Boolean status;
+    private final LocalDate before;
+
+    private TaskSelection(List<int[]> ranges, List<Integer> ids, Boolean status, LocalDate before) {
+        this.ranges = ranges;
+        this.ids = ids;
+        this.status = status;
+        this.before = before;
+    }
+
+    /**
+     * Checks if the arguments of a mark, unmark or delete command pick more than one task,
+     * and should be parsed as a selection rather than as a single task number.
+     *
+     * @param arguments the command arguments
+     * @return true if the arguments are a list, a range or start with "all"
+     */
+    public static boolean isSelection(String arguments) {
+        String trimmed = arguments.trim();
+        return trimmed.contains(",") || trimmed.matches("#?\\d+\\s*-.*")
+                || trimmed.equals(ALL) || trimmed.startsWith(ALL + " ");
+    }
+
+    /**
+     * Parses a selection of tasks.
+     *
+     * @param text the selection text
+     * @return the parsed selection
+     * @throws LyraException if a number, range or date is invalid
+     */
+    public static TaskSelection parse(String text) throws LyraException {
+        assert text != null : "text must not be null";
+        String trimmed = text.trim();
+        if (trimmed.equals(ALL) || trimmed.startsWith(ALL + " ")) {
+            return parseAll(trimmed.substring(ALL.length()).trim());
+        }
+
+        ArrayList<int[]> ranges = new ArrayList<>();
+        ArrayList<Integer> ids = new ArrayList<>();
+        for (String item : trimmed.split(",")) {
+            String part = item.trim();
+            try {
+                if (part.startsWith(ID_PREFIX)) {
+                    int id = Integer.parseInt(part.substring(ID_PREFIX.length()).trim());
+                    if (id <= 0) {
+                        throw new LyraException("Invalid task ID.");
+                    }
+                    ids.add(id);
+                    continue;
+                }
+                int dash = part.indexOf('-');
+                int first = Integer.parseInt((dash < 0 ? part : part.substring(0, dash)).trim());
+                int last = dash < 0 ? first : Integer.parseInt(part.substring(dash + 1).trim());
+                if (first < 1 || last < first) {
+                    throw new LyraException("Invalid range " + part + ". " + USAGE);
+                }
+                ranges.add(new int[] {first - 1, last - 1});
+            } catch (NumberFormatException e) {
+                throw new LyraException("Invalid task number " + (part.isEmpty() ? "in the list" : part)
+                        + ". " + USAGE);
+            }
+        }
+        return new TaskSelection(ranges, ids, null, null);
+    }
+
+    private static TaskSelection parseAll(String filter) throws LyraException {
+        Boolean status = null;
+        String rest = filter;
+        if (rest.equals(DONE) || rest.startsWith(DONE + " ")) {
+            status = true;
+            rest = rest.substring(DONE.length()).trim();
+        } else if (rest.equals(UNDONE) || rest.startsWith(UNDONE + " ")) {
+            status = false;
+            rest = rest.substring(UNDONE.length()).trim();
+        }
+
+        LocalDate before = null;
+        if (rest.startsWith(BEFORE + " ")) {
+            try {
+                before = DateTimeUtil.parseDate(rest.substring(BEFORE.length()).trim());
+            } catch (DateTimeParseException e) {
+                throw new LyraException("Invalid date. Please use yyyy-MM-dd, e.g., 2019-10-15.");
+            }
+        } else if (!rest.isEmpty()) {
+            throw new LyraException("Sorry, I don't understand \"" + rest + "\". " + USAGE);
+        }
+        return new TaskSelection(List.of(), List.of(), status, before);
+    }
+
+    /**
+     * Finds the tasks picked by the selection.
+     * Every number and ID is checked before any task is returned, so a bulk command either
+     * applies to all of them or to none.
+     *
+     * @param tasks the task list to pick from
+     * @return the indexes of the picked tasks as shown to the user, in increasing order
+     *         and without repeats (0-based indexing)
+     * @throws LyraException if a number is out of range, an ID is unknown or tasks cannot be loaded
+     */
+    public ArrayList<Integer> resolve(TaskList tasks) throws LyraException {
+        tasks.ensureLoaded();
+        int size = tasks.getSize();
+        BitSet picked = new BitSet(size);
+        if (status != null || before != null || (ranges.isEmpty() && ids.isEmpty())) {
+            List<Task> shown = tasks.getShownTasks();
+            for (int i = 0; i < shown.size(); i++) {
+                if (matches(shown.get(i))) {
+                    picked.set(i);
+                }
+            }
+        }
+        for (int[] range : ranges) {
+            if (range[1] >= size) {
+                throw new LyraException("Invalid task number " + (range[1] + 1) + ". You have "
+                        + size + " tasks in the list.");
+            }
+            picked.set(range[0], range[1] + 1);
+        }
+        for (int id : ids) {
+            picked.set(tasks.getIndexOfId(id));
+        }
+
+        ArrayList<Integer> indexes = new ArrayList<>(picked.cardinality());
+        for (int i = picked.nextSetBit(0); i >= 0; i = picked.nextSetBit(i + 1)) {
+            indexes.add(i);
+        }
+        return indexes;
+    }
+
+    private boolean matches(Task task) {
+        if (status != null && task.isDone() != status) {
+            return false;
+        }
+        if (before == null) {
+            return true;
+        }
+        LocalDate date = null;
+        if (task instanceof Deadline) {
+            date = ((Deadline) task).getBy();
+        } else if (task instanceof Event) {
+            Event event = (Event) task;
+            date = event.getTo() != null ? event.getTo() : event.getFrom();
+        }
+        return date != null && date.isBefore(before);
+    }
+}
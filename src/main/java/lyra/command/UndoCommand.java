@@ -0,0 +1,29 @@
+package lyra.command;
+
+import lyra.task.TaskList;
+import lyra.util.Ui;
+import lyra.util.Storage;
+import lyra.exception.LyraException;
+
+/**
+ * Command implementation for undoing the latest change to the task list that has not been undone yet.
+ * The task list keeps a bounded history of its changes, see TaskHistory.
+ */
+public class UndoCommand extends Command {
+
+    /**
+     * Executes the undo command by undoing the change, saving the task list
+     * and displaying what was undone.
+     *
+     * @param tasks the task list to undo the change in
+     * @param ui the user interface for displaying confirmation messages
+     * @param storage the storage component for persisting the updated task list
+     * @throws LyraException if there is nothing to undo or an error occurs during storage operations
+     */
+    @Override
+    public void execute(TaskList tasks, Ui ui, Storage storage) throws LyraException {
+        String change = tasks.undo();
+        storage.saveRestored(tasks);
+        ui.showMessage("Undid " + change + ".");
+    }
+}
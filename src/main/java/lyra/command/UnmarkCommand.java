@@ -1,6 +1,7 @@
 package lyra.command;
 
 import lyra.task.TaskList;
+import lyra.task.Task;
 import lyra.util.Ui;
 import lyra.util.Storage;
 import lyra.exception.LyraException;
@@ -11,6 +12,7 @@ import lyra.exception.LyraException;
  */
 public class UnmarkCommand extends Command {
     private final int taskIndex;
+    private final boolean isTaskId;
     
     /**
      * Constructs a new UnmarkCommand for the specified task index.
@@ -18,7 +20,18 @@ public class UnmarkCommand extends Command {
      * @param taskIndex the index of the task to mark as not done (1-based indexing)
      */
     public UnmarkCommand(int taskIndex) {
+        this(taskIndex, false);
+    }
+
+    /**
+     * Constructs a new UnmarkCommand for the task with the specified index or ID.
+     *
+     * @param taskIndex the index of the task to mark as not done, or its ID
+     * @param isTaskId true if taskIndex is the ID of the task rather than its index
+     */
+    public UnmarkCommand(int taskIndex, boolean isTaskId) {
         this.taskIndex = taskIndex;
+        this.isTaskId = isTaskId;
     }
     
     /**
@@ -35,9 +48,11 @@ public class UnmarkCommand extends Command {
         assert tasks != null : "tasks must not be null";
         assert ui != null : "ui must not be null";
         assert storage != null : "storage must not be null";
-        assert taskIndex >= 0 && taskIndex < tasks.getSize() : "taskIndex must be in range";
-        tasks.markTaskAsNotDone(taskIndex);
-        storage.save(tasks.getTasks());
-        ui.showTaskMarked(tasks.getTasks().get(taskIndex), false);
+        int index = isTaskId ? tasks.getIndexOfId(taskIndex) : taskIndex;
+        assert index >= 0 && index < tasks.getSize() : "taskIndex must be in range";
+        int position = tasks.getPosition(index);
+        Task task = tasks.markTaskAsNotDone(index);
+        storage.saveMarked(tasks, position, false);
+        ui.showTaskMarked(task, false);
     }
 }
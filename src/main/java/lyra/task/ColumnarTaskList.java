@@ -0,0 +1,633 @@
+package lyra.task;
+
+import lyra.exception.LyraException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntUnaryOperator;
+import java.util.function.Predicate;
+
+/**
+ * A task list that keeps its tasks in columns of primitives instead of as Task objects,
+ * offering the same list operations as TaskList through TaskCollection.
+ *
+ * Each task is a row: a type byte, a bit in a BitSet for its status, an int ID, two epoch-day
+ * int columns (the deadline of a Deadline or the start of an Event, and the end of an Event),
+ * and the offset and length of its UTF-8 description in one shared byte buffer. A task then
+ * costs about 22 bytes plus its description, against well over 100 for a Deadline or Event
+ * object with its String and LocalDates. Task objects are only created when tasks are read, e.g. for
+ * display. Descriptions of deleted tasks stay in the buffer until they make up half of it.
+ *
+ * As with TaskList, tasks stay in the order they were added in and sorting only changes the
+ * order they are shown and numbered in. The shown order is a permutation of the rows, sorted
+ * on the primitive columns without touching any objects, apart from one lowercased key per
+ * task when sorting by description. It is worked out again on the first read after a change.
+ *
+ * IDs are handed out as TaskList does. A BitSet records the IDs in use, so adding a task only
+ * checks one bit, while finding a task by ID scans the ID column.
+ *
+ * Unlike TaskList, this list has no search indexes, undo or change tracking for Storage, which
+ * all work on Task objects.
+ */
+public class ColumnarTaskList implements TaskCollection {
+    private static final byte TASK = 'B';
+    private static final byte TODO = 'T';
+    private static final byte DEADLINE = 'D';
+    private static final byte EVENT = 'E';
+    private static final int NO_DATE = Integer.MIN_VALUE;
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int MIN_COMPACT_BYTES = 4096;
+
+    private byte[] types = new byte[INITIAL_CAPACITY];
+    private final BitSet done = new BitSet();
+    private int[] ids = new int[INITIAL_CAPACITY];
+    private final BitSet usedIds = new BitSet();
+    private int nextId = 1;
+    private int[] startDays = new int[INITIAL_CAPACITY];
+    private int[] endDays = new int[INITIAL_CAPACITY];
+    private int[] descriptionOffsets = new int[INITIAL_CAPACITY];
+    private int[] descriptionLengths = new int[INITIAL_CAPACITY];
+    private byte[] descriptions = new byte[INITIAL_CAPACITY * 16];
+    private int descriptionBytes;
+    private int deletedBytes;
+    private int size;
+    // The criteria the tasks are shown sorted by, or null to show them in list order
+    private String sortCriteria;
+    // The rows in shown order, or null if they have to be sorted again
+    private int[] shownRows;
+
+    /**
+     * Constructs an empty ColumnarTaskList.
+     */
+    public ColumnarTaskList() {
+    }
+
+    /**
+     * Constructs a ColumnarTaskList holding the specified tasks.
+     *
+     * @param tasks the initial tasks, in list order
+     */
+    public ColumnarTaskList(List<Task> tasks) {
+        assert tasks != null : "initial tasks must not be null";
+        for (Task task : tasks) {
+            addTask(task);
+        }
+    }
+
+    /**
+     * Adds a new task to the task list.
+     *
+     * @param task the task to add
+     */
+    @Override
+    public void addTask(Task task) {
+        assert task != null : "task to add must not be null";
+        if (task.getId() <= 0 || usedIds.get(task.getId())) {
+            task.setId(nextId++);
+        } else {
+            nextId = Math.max(nextId, task.getId() + 1);
+        }
+        ensureCapacity(size + 1);
+        ids[size] = task.getId();
+        usedIds.set(task.getId());
+        byte[] description = task.getDescription().getBytes(StandardCharsets.UTF_8);
+        ensureDescriptionCapacity(descriptionBytes + description.length);
+        System.arraycopy(description, 0, descriptions, descriptionBytes, description.length);
+        descriptionOffsets[size] = descriptionBytes;
+        descriptionLengths[size] = description.length;
+        descriptionBytes += description.length;
+
+        startDays[size] = NO_DATE;
+        endDays[size] = NO_DATE;
+        if (task instanceof Todo) {
+            types[size] = TODO;
+        } else if (task instanceof Deadline) {
+            types[size] = DEADLINE;
+            startDays[size] = toEpochDay(((Deadline) task).getBy());
+        } else if (task instanceof Event) {
+            types[size] = EVENT;
+            startDays[size] = toEpochDay(((Event) task).getFrom());
+            endDays[size] = toEpochDay(((Event) task).getTo());
+        } else {
+            types[size] = TASK;
+        }
+        done.set(size, task.isDone());
+        size++;
+        shownRows = null;
+    }
+
+    /**
+     * Deletes a task at the specified index from the task list.
+     *
+     * @param index the index of the task to delete as shown to the user (0-based indexing)
+     * @return the deleted task
+     * @throws LyraException if the index is invalid
+     */
+    @Override
+    public Task deleteTask(int index) throws LyraException {
+        int position = getPosition(index);
+        Task removed = materialize(position);
+        deletedBytes += descriptionLengths[position];
+        usedIds.clear(ids[position]);
+        int moved = size - position - 1;
+        System.arraycopy(types, position + 1, types, position, moved);
+        System.arraycopy(ids, position + 1, ids, position, moved);
+        System.arraycopy(startDays, position + 1, startDays, position, moved);
+        System.arraycopy(endDays, position + 1, endDays, position, moved);
+        System.arraycopy(descriptionOffsets, position + 1, descriptionOffsets, position, moved);
+        System.arraycopy(descriptionLengths, position + 1, descriptionLengths, position, moved);
+        BitSet tail = done.get(position + 1, size);
+        done.clear(position, size);
+        for (int row = tail.nextSetBit(0); row >= 0; row = tail.nextSetBit(row + 1)) {
+            done.set(position + row);
+        }
+        size--;
+        shownRows = null;
+        compactDescriptionsIfNeeded();
+        return removed;
+    }
+
+    /**
+     * Removes every task that matches the given condition, in a single pass.
+     * The condition is given each task as a new object, but the rows kept are moved as primitives.
+     *
+     * @param condition the condition a task must meet to be removed
+     * @return the removed tasks, in list order
+     */
+    @Override
+    public ArrayList<Task> removeTasks(Predicate<Task> condition) {
+        assert condition != null : "condition must not be null";
+        BitSet rows = new BitSet(size);
+        for (int row = 0; row < size; row++) {
+            if (condition.test(materialize(row))) {
+                rows.set(row);
+            }
+        }
+        return removeRows(rows);
+    }
+
+    /**
+     * Deletes the tasks at the specified indexes in a single pass over the list.
+     * Every index is checked first, so either all of the tasks are deleted or none are.
+     *
+     * @param indexes the indexes of the tasks to delete as shown to the user (0-based indexing)
+     * @return the deleted tasks, in list order
+     * @throws LyraException if any index is invalid
+     */
+    @Override
+    public ArrayList<Task> deleteTasks(List<Integer> indexes) throws LyraException {
+        BitSet rows = new BitSet(size);
+        for (int index : indexes) {
+            rows.set(getPosition(index));
+        }
+        return removeRows(rows);
+    }
+
+    /**
+     * Marks the tasks at the specified indexes as done or not done.
+     * Every index is checked first, so either all of the tasks are marked or none are.
+     *
+     * @param indexes the indexes of the tasks to mark as shown to the user (0-based indexing)
+     * @param isDone true to mark the tasks as done, false to mark them as not done
+     * @return the marked tasks as new objects, in the order of the indexes
+     * @throws LyraException if any index is invalid
+     */
+    @Override
+    public ArrayList<Task> markTasks(List<Integer> indexes, boolean isDone) throws LyraException {
+        int[] rows = new int[indexes.size()];
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = getPosition(indexes.get(i));
+        }
+        ArrayList<Task> marked = new ArrayList<>(rows.length);
+        for (int row : rows) {
+            done.set(row, isDone);
+            marked.add(materialize(row));
+        }
+        invalidateStatusOrder();
+        return marked;
+    }
+
+    /**
+     * Marks a task at the specified index as done.
+     *
+     * @param index the index of the task to mark as shown to the user (0-based indexing)
+     * @return the marked task, as a new object
+     * @throws LyraException if the index is invalid
+     */
+    @Override
+    public Task markTaskAsDone(int index) throws LyraException {
+        return markTasks(List.of(index), true).get(0);
+    }
+
+    /**
+     * Marks a task at the specified index as not done.
+     *
+     * @param index the index of the task to unmark as shown to the user (0-based indexing)
+     * @return the unmarked task, as a new object
+     * @throws LyraException if the index is invalid
+     */
+    @Override
+    public Task markTaskAsNotDone(int index) throws LyraException {
+        return markTasks(List.of(index), false).get(0);
+    }
+
+    /**
+     * Gets the position in list order of a task, given its index as shown to the user.
+     * The two only differ while the list is shown sorted.
+     *
+     * @param index the index of the task as shown to the user (0-based indexing)
+     * @return the position of the task in list order (0-based indexing)
+     * @throws LyraException if the index is invalid
+     */
+    @Override
+    public int getPosition(int index) throws LyraException {
+        assert index >= 0 : "index must be non-negative";
+        assert index < size : "index must be within list bounds";
+        if (index < 0 || index >= size) {
+            throw new LyraException("Invalid task number.");
+        }
+        return sortCriteria == null ? index : getShownRows()[index];
+    }
+
+    /**
+     * Gets a task, given its index as shown to the user.
+     * The task is a new object; changing it does not change the list.
+     *
+     * @param index the index of the task as shown to the user (0-based indexing)
+     * @return the task
+     * @throws LyraException if the index is invalid
+     */
+    public Task getTask(int index) throws LyraException {
+        return materialize(getPosition(index));
+    }
+
+    /**
+     * Gets the index, as shown to the user, of the task with the given ID.
+     * Finding the task scans the ID column, and the shown order too while the list is sorted.
+     *
+     * @param id the ID of the task
+     * @return the index of the task as shown to the user (0-based indexing)
+     * @throws LyraException if no task has that ID
+     */
+    @Override
+    public int getIndexOfId(int id) throws LyraException {
+        if (id <= 0 || !usedIds.get(id)) {
+            throw new LyraException("There is no task with ID #" + id + ".");
+        }
+        int row = 0;
+        while (ids[row] != id) {
+            row++;
+        }
+        if (sortCriteria == null) {
+            return row;
+        }
+        int[] rows = getShownRows();
+        int index = 0;
+        while (rows[index] != row) {
+            index++;
+        }
+        return index;
+    }
+
+    /**
+     * Gets every task, in list order.
+     * The tasks are new objects; changing them does not change the list.
+     *
+     * @return the tasks
+     */
+    @Override
+    public ArrayList<Task> getTasks() {
+        ArrayList<Task> results = new ArrayList<>(size);
+        for (int row = 0; row < size; row++) {
+            results.add(materialize(row));
+        }
+        return results;
+    }
+
+    /**
+     * Gets every task in the order they are shown and numbered to the user:
+     * the order of the last sort, or list order if the list has not been sorted.
+     * The tasks are new objects; changing them does not change the list.
+     *
+     * @return the tasks in the order they are shown
+     */
+    @Override
+    public ArrayList<Task> getShownTasks() {
+        if (sortCriteria == null) {
+            return getTasks();
+        }
+        ArrayList<Task> results = new ArrayList<>(size);
+        for (int row : getShownRows()) {
+            results.add(materialize(row));
+        }
+        return results;
+    }
+
+    /**
+     * Gets the ID the next task added without one will get.
+     * It is above every ID the list has ever given out, including IDs of deleted tasks.
+     *
+     * @return the next ID
+     */
+    @Override
+    public int getNextId() {
+        return nextId;
+    }
+
+    /**
+     * Makes sure no task added from now on is given an ID below the given one.
+     *
+     * @param nextId the lowest ID new tasks may get
+     */
+    @Override
+    public void reserveIds(int nextId) {
+        this.nextId = Math.max(this.nextId, nextId);
+    }
+
+    /**
+     * Gets the number of tasks in the list.
+     *
+     * @return the size of the task list
+     */
+    @Override
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Checks if the task list is empty.
+     *
+     * @return true if the list is empty, false otherwise
+     */
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Estimates the memory held by the list, counting the full capacity of every column.
+     *
+     * @return the estimated size of the list in bytes
+     */
+    public long estimateMemoryBytes() {
+        long bytes = types.length + done.size() / 8 + usedIds.size() / 8;
+        bytes += 4L * (ids.length + startDays.length + endDays.length + descriptionOffsets.length + descriptionLengths.length);
+        bytes += descriptions.length;
+        if (shownRows != null) {
+            bytes += 4L * shownRows.length;
+        }
+        return bytes;
+    }
+
+    @Override
+    public void sortByDescription() {
+        sortTasks("description");
+    }
+
+    @Override
+    public void sortByDeadline() {
+        sortTasks("deadline");
+    }
+
+    @Override
+    public void sortByEventStart() {
+        sortTasks("event");
+    }
+
+    @Override
+    public void sortByType() {
+        sortTasks("type");
+    }
+
+    @Override
+    public void sortByStatus() {
+        sortTasks("status");
+    }
+
+    /**
+     * Removes the given rows, moving the rows kept down in one pass over the columns.
+     */
+    private ArrayList<Task> removeRows(BitSet rows) {
+        ArrayList<Task> removed = new ArrayList<>(rows.cardinality());
+        if (rows.isEmpty()) {
+            return removed;
+        }
+        int kept = 0;
+        for (int row = 0; row < size; row++) {
+            if (rows.get(row)) {
+                removed.add(materialize(row));
+                deletedBytes += descriptionLengths[row];
+                usedIds.clear(ids[row]);
+            } else {
+                types[kept] = types[row];
+                ids[kept] = ids[row];
+                startDays[kept] = startDays[row];
+                endDays[kept] = endDays[row];
+                descriptionOffsets[kept] = descriptionOffsets[row];
+                descriptionLengths[kept] = descriptionLengths[row];
+                done.set(kept, done.get(row));
+                kept++;
+            }
+        }
+        done.clear(kept, size);
+        size = kept;
+        shownRows = null;
+        compactDescriptionsIfNeeded();
+        return removed;
+    }
+
+    private void invalidateStatusOrder() {
+        if ("status".equals(sortCriteria)) {
+            shownRows = null;
+        }
+    }
+
+    private void sortTasks(String criteria) {
+        sortCriteria = criteria;
+        shownRows = null;
+    }
+
+    private int[] getShownRows() {
+        if (shownRows != null) {
+            return shownRows;
+        }
+        int[] rows;
+        switch (sortCriteria) {
+            case "description":
+                String[] keys = new String[size];
+                for (int row = 0; row < size; row++) {
+                    keys[row] = getDescription(row).toLowerCase();
+                }
+                rows = new int[size];
+                for (int row = 0; row < size; row++) {
+                    rows[row] = row;
+                }
+                sortRows(rows, (row1, row2) -> keys[row1].compareTo(keys[row2]));
+                break;
+            case "deadline":
+                rows = sortRowsByKey(row -> dateKeyOf(row, DEADLINE));
+                break;
+            case "event":
+                rows = sortRowsByKey(row -> dateKeyOf(row, EVENT));
+                break;
+            case "type":
+                rows = sortRowsByKey(row -> getTypeOrder(types[row]));
+                break;
+            case "status":
+                rows = sortRowsByKey(row -> done.get(row) ? 1 : 0);
+                break;
+            default:
+                throw new AssertionError("unknown sort criteria " + sortCriteria);
+        }
+        shownRows = rows;
+        return rows;
+    }
+
+    /**
+     * Sorts the rows by an int key. Each row is packed with its key into a long, key first,
+     * so a primitive sort of the longs orders the rows by key and rows with equal keys by
+     * list order, just as a stable sort would, without a comparator call per comparison.
+     */
+    private int[] sortRowsByKey(IntUnaryOperator keyOf) {
+        long[] packed = new long[size];
+        for (int row = 0; row < size; row++) {
+            packed[row] = ((long) keyOf.applyAsInt(row) << 32) | row;
+        }
+        Arrays.sort(packed);
+        int[] rows = new int[size];
+        for (int i = 0; i < size; i++) {
+            rows[i] = (int) packed[i];
+        }
+        return rows;
+    }
+
+    /**
+     * Sorts rows with a stable merge sort, so that rows comparing equal keep list order.
+     */
+    private static void sortRows(int[] rows, IntBinaryOperator comparator) {
+        int[] from = rows;
+        int[] to = new int[rows.length];
+        for (int width = 1; width < rows.length; width *= 2) {
+            for (int low = 0; low < rows.length; low += 2 * width) {
+                int middle = Math.min(low + width, rows.length);
+                int high = Math.min(low + 2 * width, rows.length);
+                int left = low;
+                int right = middle;
+                for (int i = low; i < high; i++) {
+                    if (left < middle && (right >= high || comparator.applyAsInt(from[left], from[right]) <= 0)) {
+                        to[i] = from[left++];
+                    } else {
+                        to[i] = from[right++];
+                    }
+                }
+            }
+            int[] swap = from;
+            from = to;
+            to = swap;
+        }
+        if (from != rows) {
+            System.arraycopy(from, 0, rows, 0, rows.length);
+        }
+    }
+
+    // Tasks without a date, or of another type, come last
+    private int dateKeyOf(int row, byte type) {
+        return types[row] == type && startDays[row] != NO_DATE ? startDays[row] : Integer.MAX_VALUE;
+    }
+
+    private static int getTypeOrder(byte type) {
+        switch (type) {
+            case TODO:
+                return 0;
+            case DEADLINE:
+                return 1;
+            case EVENT:
+                return 2;
+            default:
+                return 3;
+        }
+    }
+
+    private String getDescription(int row) {
+        return new String(descriptions, descriptionOffsets[row], descriptionLengths[row], StandardCharsets.UTF_8);
+    }
+
+    private Task materialize(int row) {
+        Task task;
+        switch (types[row]) {
+            case TODO:
+                task = new Todo(getDescription(row));
+                break;
+            case DEADLINE:
+                task = new Deadline(getDescription(row), toDate(startDays[row]));
+                break;
+            case EVENT:
+                task = new Event(getDescription(row), toDate(startDays[row]), toDate(endDays[row]));
+                break;
+            default:
+                task = new Task(getDescription(row));
+                break;
+        }
+        task.setId(ids[row]);
+        if (done.get(row)) {
+            task.markAsDone();
+        }
+        return task;
+    }
+
+    private static int toEpochDay(LocalDate date) {
+        if (date == null) {
+            return NO_DATE;
+        }
+        int epochDay = Math.toIntExact(date.toEpochDay());
+        assert epochDay != NO_DATE : "date must be within the int range of epoch days";
+        return epochDay;
+    }
+
+    private static LocalDate toDate(int epochDay) {
+        return epochDay == NO_DATE ? null : LocalDate.ofEpochDay(epochDay);
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= types.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, types.length * 2);
+        types = Arrays.copyOf(types, newCapacity);
+        ids = Arrays.copyOf(ids, newCapacity);
+        startDays = Arrays.copyOf(startDays, newCapacity);
+        endDays = Arrays.copyOf(endDays, newCapacity);
+        descriptionOffsets = Arrays.copyOf(descriptionOffsets, newCapacity);
+        descriptionLengths = Arrays.copyOf(descriptionLengths, newCapacity);
+    }
+
+    private void ensureDescriptionCapacity(int capacity) {
+        if (capacity > descriptions.length) {
+            descriptions = Arrays.copyOf(descriptions, Math.max(capacity, descriptions.length * 2));
+        }
+    }
+
+    /**
+     * Moves the remaining descriptions together once those of deleted tasks make up half the buffer.
+     */
+    private void compactDescriptionsIfNeeded() {
+        if (deletedBytes < MIN_COMPACT_BYTES || deletedBytes * 2 < descriptionBytes) {
+            return;
+        }
+        byte[] compacted = new byte[Math.max(descriptionBytes - deletedBytes, INITIAL_CAPACITY)];
+        int used = 0;
+        for (int row = 0; row < size; row++) {
+            System.arraycopy(descriptions, descriptionOffsets[row], compacted, used, descriptionLengths[row]);
+            descriptionOffsets[row] = used;
+            used += descriptionLengths[row];
+        }
+        descriptions = compacted;
+        descriptionBytes = used;
+        deletedBytes = 0;
+    }
+}
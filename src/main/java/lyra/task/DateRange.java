@@ -0,0 +1,69 @@
+package lyra.task;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+import lyra.util.DateTimeUtil;
+
+/**
+ * A range of whole days, from one date to another, both inclusive.
+ */
+public class DateRange {
+    private final LocalDate from;
+    private final LocalDate to;
+
+    /**
+     * Constructs a new DateRange.
+     *
+     * @param from the first day of the range
+     * @param to the last day of the range
+     */
+    public DateRange(LocalDate from, LocalDate to) {
+        assert from != null && to != null : "dates must not be null";
+        assert !from.isAfter(to) : "from must not be after to";
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * Gets the first day of the range.
+     *
+     * @return the first day
+     */
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    /**
+     * Gets the last day of the range.
+     *
+     * @return the last day
+     */
+    public LocalDate getTo() {
+        return to;
+    }
+
+    /**
+     * Gets the number of days in the range.
+     *
+     * @return the number of days, at least 1
+     */
+    public long getDays() {
+        return ChronoUnit.DAYS.between(from, to) + 1;
+    }
+
+    /**
+     * Returns a string representation of the range.
+     * Format: MMM d yyyy to MMM d yyyy (n days), or MMM d yyyy (1 day) for a single day
+     *
+     * @return string representation of the range
+     */
+    @Override
+    public String toString() {
+        long days = getDays();
+        if (days == 1) {
+            return DateTimeUtil.formatForDisplay(from) + " (1 day)";
+        }
+        return DateTimeUtil.formatForDisplay(from) + " to " + DateTimeUtil.formatForDisplay(to) + " (" + days + " days)";
+    }
+}
@@ -47,7 +47,18 @@ public class Deadline extends Task {
      * @return string representation suitable for data storage
      */
     public String toDataString() {
-        return String.join(" | ", typeCode(), this.isDone ? "1" : "0", this.description, this.by.format(DateTimeUtil.STORAGE_DATE));
+        return toDataString(this.isDone);
+    }
+
+    /**
+     * Converts the Deadline task to a data string with the given status rather than its current one,
+     * such as the status recorded in a TaskSnapshot.
+     *
+     * @param isDone the status to write
+     * @return string representation suitable for data storage
+     */
+    public String toDataString(boolean isDone) {
+        return String.join(" | ", typeCode(), isDone ? "1" : "0", this.description, DateTimeUtil.formatStorageDate(this.by));
     }
 
     /**
@@ -0,0 +1,76 @@
+package lyra.task;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.TreeMap;
+
+/**
+ * A sorted index of Deadline tasks by their deadline date, keyed by epoch day.
+ * A date range is answered by a range scan over the sorted map, so finding the k deadlines in
+ * a range of n deadlines takes O(log n + k) instead of checking every task in the list.
+ * Deadlines due on the same day come out in list order.
+ */
+public class DeadlineIndex extends PostingIndex<Long> {
+    // Boxed Long key of each map entry
+    private static final int KEY_BYTES = 16;
+
+    private final TreeMap<Long, PostingList> days;
+
+    /**
+     * Constructs a new, empty DeadlineIndex.
+     */
+    public DeadlineIndex() {
+        this(new TreeMap<>());
+    }
+
+    private DeadlineIndex(TreeMap<Long, PostingList> days) {
+        super(days);
+        this.days = days;
+    }
+
+    @Override
+    protected Collection<Long> keysOf(Task task) {
+        if (task instanceof Deadline) {
+            return Collections.singletonList(((Deadline) task).getBy().toEpochDay());
+        }
+        return Collections.emptyList();
+    }
+
+    @Override
+    public long estimateMemoryBytes() {
+        return super.estimateMemoryBytes() + (long) KEY_BYTES * getKeyCount();
+    }
+
+    /**
+     * Finds the deadlines due from one date to another, both inclusive.
+     * Either end may be left open.
+     *
+     * @param from the earliest deadline date, or null for no lower bound
+     * @param to the latest deadline date, or null for no upper bound
+     * @return the matching deadlines, earliest first
+     */
+    public ArrayList<Task> findDue(LocalDate from, LocalDate to) {
+        long fromDay = from == null ? Long.MIN_VALUE : from.toEpochDay();
+        long toDay = to == null ? Long.MAX_VALUE : to.toEpochDay();
+        ArrayList<Task> results = new ArrayList<>();
+        if (fromDay > toDay) {
+            return results;
+        }
+        for (PostingList list : days.subMap(fromDay, true, toDay, true).values()) {
+            results.addAll(getTasks(list));
+        }
+        return results;
+    }
+
+    /**
+     * Finds the deadlines due strictly before a date.
+     *
+     * @param date the date the deadlines must come before
+     * @return the matching deadlines, earliest first
+     */
+    public ArrayList<Task> findDueBefore(LocalDate date) {
+        return findDue(null, date.minusDays(1));
+    }
+}
@@ -0,0 +1,121 @@
+package lyra.task;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NavigableSet;
+
+/**
+ * Levenshtein edit distances, and a search for the words of a sorted vocabulary within a
+ * given distance of a word.
+ *
+ * The search walks the sorted words as if they formed a trie. Words that share a prefix with
+ * the previous word reuse its rows of the edit distance table, so each prefix is computed once.
+ * As soon as every entry in a prefix's row exceeds the allowed distance, no word starting with
+ * that prefix can be close enough, and the search jumps past all of them. This is the same
+ * pruning a Levenshtein automaton gives, without building one, and it always reflects the
+ * current vocabulary.
+ */
+public class EditDistance {
+    private static final int INITIAL_ROWS = 16;
+
+    /**
+     * Computes the Levenshtein distance between two words: the number of single-character
+     * insertions, deletions and substitutions needed to turn one into the other.
+     *
+     * @param a the first word
+     * @param b the second word
+     * @return the edit distance
+     */
+    public static int between(String a, String b) {
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int substitution = previous[j - 1] + (a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1);
+                current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+
+    /**
+     * Finds the words within the given edit distance of a word.
+     *
+     * @param words the sorted vocabulary to search
+     * @param word the word to look for
+     * @param maxDistance the largest edit distance allowed
+     * @return the words found, in sorted order
+     */
+    public static List<String> findWithin(NavigableSet<String> words, String word, int maxDistance) {
+        ArrayList<String> results = new ArrayList<>();
+        // rows[i] is the table row for the first i characters of the current candidate
+        int[][] rows = new int[INITIAL_ROWS][];
+        rows[0] = new int[word.length() + 1];
+        for (int j = 0; j <= word.length(); j++) {
+            rows[0][j] = j;
+        }
+        int validRows = 0;
+        String previous = "";
+        String candidate = words.isEmpty() ? null : words.first();
+
+        while (candidate != null) {
+            int shared = 0;
+            int sharedLimit = Math.min(validRows, Math.min(previous.length(), candidate.length()));
+            while (shared < sharedLimit && previous.charAt(shared) == candidate.charAt(shared)) {
+                shared++;
+            }
+
+            String next = null;
+            boolean isPruned = false;
+            for (int i = shared + 1; i <= candidate.length(); i++) {
+                if (i >= rows.length) {
+                    rows = Arrays.copyOf(rows, rows.length * 2);
+                }
+                if (rows[i] == null) {
+                    rows[i] = new int[word.length() + 1];
+                }
+                if (fillRow(rows[i - 1], rows[i], word, candidate.charAt(i - 1), i) > maxDistance) {
+                    // No word starting with these i characters can be close enough
+                    validRows = i - 1;
+                    next = words.higher(candidate.substring(0, i) + Character.MAX_VALUE);
+                    isPruned = true;
+                    break;
+                }
+            }
+            if (!isPruned) {
+                validRows = candidate.length();
+                if (rows[candidate.length()][word.length()] <= maxDistance) {
+                    results.add(candidate);
+                }
+                next = words.higher(candidate);
+            }
+            previous = candidate;
+            candidate = next;
+        }
+        return results;
+    }
+
+    /**
+     * Fills in the table row for one more character of the candidate.
+     *
+     * @return the smallest entry of the row
+     */
+    private static int fillRow(int[] above, int[] row, String word, int c, int length) {
+        row[0] = length;
+        int smallest = length;
+        for (int j = 1; j <= word.length(); j++) {
+            int substitution = above[j - 1] + (word.charAt(j - 1) == c ? 0 : 1);
+            row[j] = Math.min(substitution, Math.min(above[j], row[j - 1]) + 1);
+            smallest = Math.min(smallest, row[j]);
+        }
+        return smallest;
+    }
+}
@@ -59,9 +59,20 @@ public class Event extends Task {
      * @return string representation suitable for data storage
      */
     public String toDataString() {
-        String fromStr = from.format(DateTimeUtil.STORAGE_DATE);
-        String toStr = to.format(DateTimeUtil.STORAGE_DATE);
-        return String.join(" | ", typeCode(), this.isDone ? "1" : "0", this.description, fromStr + " to " + toStr);
+        return toDataString(this.isDone);
+    }
+
+    /**
+     * Converts the Event task to a data string with the given status rather than its current one,
+     * such as the status recorded in a TaskSnapshot.
+     *
+     * @param isDone the status to write
+     * @return string representation suitable for data storage
+     */
+    public String toDataString(boolean isDone) {
+        String fromStr = DateTimeUtil.formatStorageDate(from);
+        String toStr = DateTimeUtil.formatStorageDate(to);
+        return String.join(" | ", typeCode(), isDone ? "1" : "0", this.description, fromStr + " to " + toStr);
     }
 
     /**
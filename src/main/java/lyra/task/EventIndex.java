@@ -0,0 +1,285 @@
+package lyra.task;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * An interval tree over the Event tasks of a list, for finding the events that overlap a range
+ * of dates.
+ *
+ * The tree is a treap ordered by start date, then by the order the events were added in, and
+ * every node remembers the latest end date in its subtree. A search skips every subtree whose
+ * latest end is before the range, and everything right of a node that starts after the range,
+ * so finding the k events overlapping a range among n events takes about O(log n + k).
+ * Random node priorities keep the tree balanced in expectation, however the events are ordered.
+ * A removed event that is restored in place gets its place among events starting the same day back.
+ */
+public class EventIndex implements TaskIndex {
+    private static final int MAX_REMEMBERED_REMOVALS = 1024;
+
+    private final IdentityHashMap<Task, Node> nodes = new IdentityHashMap<>();
+    // The order numbers of recently removed events, forgotten all at once when too many pile up
+    private final IdentityHashMap<Task, Long> removedSequences = new IdentityHashMap<>();
+    private final Random random = new Random();
+    private Node root;
+    private long nextSequence;
+
+    /**
+     * An event in the tree, with its dates as epoch days.
+     */
+    private static class Node {
+        private final Task task;
+        private final long start;
+        private final long end;
+        private final long sequence;
+        private final int priority;
+        private long maxEnd;
+        private Node left;
+        private Node right;
+
+        private Node(Task task, long start, long end, long sequence, int priority) {
+            this.task = task;
+            this.start = start;
+            this.end = end;
+            this.sequence = sequence;
+            this.priority = priority;
+            this.maxEnd = end;
+        }
+
+        private boolean isBefore(Node other) {
+            return start != other.start ? start < other.start : sequence < other.sequence;
+        }
+
+        private void update() {
+            maxEnd = end;
+            if (left != null) {
+                maxEnd = Math.max(maxEnd, left.maxEnd);
+            }
+            if (right != null) {
+                maxEnd = Math.max(maxEnd, right.maxEnd);
+            }
+        }
+    }
+
+    @Override
+    public void rebuild(List<Task> tasks) {
+        root = null;
+        nodes.clear();
+        removedSequences.clear();
+        nextSequence = 0;
+        for (Task task : tasks) {
+            taskAdded(task);
+        }
+    }
+
+    @Override
+    public void taskAdded(Task task) {
+        if (isIndexed(task)) {
+            insertEvent(task, nextSequence++);
+        }
+    }
+
+    @Override
+    public void taskRemoved(Task task) {
+        Node node = nodes.remove(task);
+        if (node != null) {
+            root = remove(root, node);
+            if (removedSequences.size() >= MAX_REMEMBERED_REMOVALS) {
+                removedSequences.clear();
+            }
+            removedSequences.put(task, node.sequence);
+        }
+    }
+
+    @Override
+    public boolean taskRestored(Task task) {
+        if (!isIndexed(task)) {
+            return true;
+        }
+        Long sequence = removedSequences.remove(task);
+        if (sequence == null) {
+            return false;
+        }
+        insertEvent(task, sequence);
+        return true;
+    }
+
+    private static boolean isIndexed(Task task) {
+        return task instanceof Event && (((Event) task).getFrom() != null || ((Event) task).getTo() != null);
+    }
+
+    private void insertEvent(Task task, long sequence) {
+        LocalDate from = ((Event) task).getFrom();
+        LocalDate to = ((Event) task).getTo();
+        // An event missing one date lasts a single day; one that ends before it starts is taken as reversed
+        long start = (from != null ? from : to).toEpochDay();
+        long end = (to != null ? to : from).toEpochDay();
+        Node node = new Node(task, Math.min(start, end), Math.max(start, end), sequence, random.nextInt());
+        nodes.put(task, node);
+        root = insert(root, node);
+    }
+
+    /**
+     * Finds the events that take place on at least one day from one date to another, both inclusive.
+     *
+     * @param from the first day of the range
+     * @param to the last day of the range
+     * @return the overlapping events, ordered by start date, then by list order
+     */
+    public ArrayList<Task> findOverlapping(LocalDate from, LocalDate to) {
+        assert !from.isAfter(to) : "from must not be after to";
+        ArrayList<Node> overlapping = new ArrayList<>();
+        collect(root, from.toEpochDay(), to.toEpochDay(), overlapping);
+        ArrayList<Task> results = new ArrayList<>(overlapping.size());
+        for (Node node : overlapping) {
+            results.add(node.task);
+        }
+        return results;
+    }
+
+    /**
+     * Finds the periods from one date to another, both inclusive, on which no event takes place.
+     * The overlapping events come out of the tree sorted by start date, so a single sweep over
+     * them finds the gaps, without looking at each day or at events outside the range.
+     *
+     * @param from the first day of the range
+     * @param to the last day of the range
+     * @param minDays the shortest free period to report
+     * @return the free periods, earliest first
+     */
+    public ArrayList<DateRange> findFree(LocalDate from, LocalDate to, int minDays) {
+        assert !from.isAfter(to) : "from must not be after to";
+        assert minDays > 0 : "minDays must be positive";
+        long fromDay = from.toEpochDay();
+        long toDay = to.toEpochDay();
+        ArrayList<Node> overlapping = new ArrayList<>();
+        collect(root, fromDay, toDay, overlapping);
+
+        ArrayList<DateRange> free = new ArrayList<>();
+        // The first day that is not known to be covered by an event
+        long cursor = fromDay;
+        for (Node node : overlapping) {
+            if (node.start > cursor) {
+                addFree(free, cursor, node.start - 1, minDays);
+            }
+            cursor = Math.max(cursor, node.end + 1);
+        }
+        addFree(free, cursor, toDay, minDays);
+        return free;
+    }
+
+    /**
+     * Finds the events taking place on a date.
+     *
+     * @param date the date to look at
+     * @return the events on that date, ordered by start date, then by list order
+     */
+    public ArrayList<Task> findOn(LocalDate date) {
+        return findOverlapping(date, date);
+    }
+
+    /**
+     * Gets the number of events in the index.
+     *
+     * @return the number of indexed events
+     */
+    public int size() {
+        return nodes.size();
+    }
+
+    private static void addFree(List<DateRange> free, long first, long last, int minDays) {
+        if (last - first + 1 >= minDays) {
+            free.add(new DateRange(LocalDate.ofEpochDay(first), LocalDate.ofEpochDay(last)));
+        }
+    }
+
+    private static void collect(Node node, long from, long to, List<Node> results) {
+        if (node == null || node.maxEnd < from) {
+            return;
+        }
+        collect(node.left, from, to, results);
+        if (node.start > to) {
+            return;
+        }
+        if (node.end >= from) {
+            results.add(node);
+        }
+        collect(node.right, from, to, results);
+    }
+
+    private static Node insert(Node node, Node added) {
+        if (node == null) {
+            return added;
+        }
+        if (added.isBefore(node)) {
+            node.left = insert(node.left, added);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, added);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        node.update();
+        return node;
+    }
+
+    private static Node remove(Node node, Node removed) {
+        if (node == null) {
+            return null;
+        }
+        if (node == removed) {
+            return merge(node.left, node.right);
+        }
+        if (removed.isBefore(node)) {
+            node.left = remove(node.left, removed);
+        } else {
+            node.right = remove(node.right, removed);
+        }
+        node.update();
+        return node;
+    }
+
+    /**
+     * Joins two treaps where every node of the first comes before every node of the second.
+     */
+    private static Node merge(Node first, Node second) {
+        if (first == null) {
+            return second;
+        }
+        if (second == null) {
+            return first;
+        }
+        if (first.priority > second.priority) {
+            first.right = merge(first.right, second);
+            first.update();
+            return first;
+        }
+        second.left = merge(first, second.left);
+        second.update();
+        return second;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node top = node.left;
+        node.left = top.right;
+        top.right = node;
+        node.update();
+        top.update();
+        return top;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node top = node.right;
+        node.right = top.left;
+        top.left = node;
+        node.update();
+        top.update();
+        return top;
+    }
+}
@@ -0,0 +1,89 @@
+package lyra.task;
+
+/**
+ * A Fenwick tree (binary indexed tree) over a fixed number of int counts, giving prefix sums
+ * and point updates in O(log n). With counts of 0 and 1 it also finds the position of the
+ * k-th 1 in O(log n), which turns ranks into positions and back.
+ */
+public class FenwickTree {
+    // 1-based: tree[i] holds the sum of the counts in (i - lowbit(i), i]
+    private final int[] tree;
+
+    /**
+     * Constructs a new FenwickTree from the given counts, in O(n).
+     *
+     * @param counts the initial counts, one per position
+     * @param capacity the number of positions, at least counts.length
+     */
+    public FenwickTree(int[] counts, int capacity) {
+        assert capacity >= counts.length : "capacity must hold every count";
+        tree = new int[capacity + 1];
+        for (int i = 1; i <= capacity; i++) {
+            if (i <= counts.length) {
+                tree[i] += counts[i - 1];
+            }
+            int parent = i + Integer.lowestOneBit(i);
+            if (parent <= capacity) {
+                tree[parent] += tree[i];
+            }
+        }
+    }
+
+    /**
+     * Gets the number of positions.
+     *
+     * @return the capacity of the tree
+     */
+    public int getCapacity() {
+        return tree.length - 1;
+    }
+
+    /**
+     * Adds to the count at a position.
+     *
+     * @param position the position (0-based indexing)
+     * @param delta the amount to add
+     */
+    public void add(int position, int delta) {
+        assert position >= 0 && position < getCapacity() : "position must be within the tree";
+        for (int i = position + 1; i < tree.length; i += Integer.lowestOneBit(i)) {
+            tree[i] += delta;
+        }
+    }
+
+    /**
+     * Gets the sum of the counts before a position.
+     *
+     * @param end the position to stop before (0-based indexing)
+     * @return the sum of the counts at positions 0 to end - 1
+     */
+    public int prefixSum(int end) {
+        assert end >= 0 && end <= getCapacity() : "end must be within the tree";
+        int sum = 0;
+        for (int i = end; i > 0; i -= Integer.lowestOneBit(i)) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+
+    /**
+     * Finds the first position at which the prefix sum exceeds the given rank.
+     * With counts of 0 and 1, this is the position of the 1 with that rank.
+     * The counts must not be negative.
+     *
+     * @param rank the rank to look for (0-based indexing)
+     * @return the position, or the capacity if the total is not above the rank
+     */
+    public int findPosition(int rank) {
+        int position = 0;
+        int remaining = rank;
+        for (int step = Integer.highestOneBit(getCapacity()); step > 0; step >>= 1) {
+            int next = position + step;
+            if (next < tree.length && tree[next] <= remaining) {
+                position = next;
+                remaining -= tree[next];
+            }
+        }
+        return position;
+    }
+}
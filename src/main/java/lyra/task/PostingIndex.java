@@ -0,0 +1,237 @@
+package lyra.task;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Base class for inverted indexes that map keys derived from task descriptions to posting lists.
+ * Every task gets a serial number in list order, and each key maps to the sorted posting list of
+ * the serials of the tasks it was derived from, so query results come out in list order without
+ * sorting. Removed tasks leave a gap in the serials until enough of them pile up to renumber,
+ * and a removed task that is restored before then gets its gap back.
+ *
+ * @param <K> the type of the index keys
+ */
+public abstract class PostingIndex<K> implements TaskIndex {
+    private static final int MIN_COMPACT_REMOVALS = 1024;
+    // Rough per-object sizes for a 64-bit JVM with compressed references
+    private static final int OBJECT_HEADER_BYTES = 16;
+    private static final int MAP_ENTRY_BYTES = 40;
+    private static final int REFERENCE_BYTES = 4;
+
+    private final Map<K, PostingList> postings;
+    private final ArrayList<Task> tasksBySerial = new ArrayList<>();
+    private final IdentityHashMap<Task, Integer> serials = new IdentityHashMap<>();
+    // The serials of removed tasks, which stay unused until the next renumbering
+    private final IdentityHashMap<Task, Integer> removedSerials = new IdentityHashMap<>();
+    private int removedCount;
+
+    /**
+     * Constructs a new PostingIndex that keeps its posting lists in the given map.
+     *
+     * @param postings the empty map to keep the posting lists in
+     */
+    protected PostingIndex(Map<K, PostingList> postings) {
+        assert postings.isEmpty() : "postings must start empty";
+        this.postings = postings;
+    }
+
+    /**
+     * Gets the keys a task is indexed under. Duplicate keys are allowed.
+     *
+     * @param task the task to index
+     * @return the keys of the task
+     */
+    protected abstract Collection<K> keysOf(Task task);
+
+    @Override
+    public void rebuild(List<Task> tasks) {
+        postings.clear();
+        tasksBySerial.clear();
+        serials.clear();
+        removedSerials.clear();
+        removedCount = 0;
+        for (Task task : tasks) {
+            taskAdded(task);
+        }
+    }
+
+    @Override
+    public void taskAdded(Task task) {
+        int serial = tasksBySerial.size();
+        tasksBySerial.add(task);
+        serials.put(task, serial);
+        for (K key : keysOf(task)) {
+            postings.computeIfAbsent(key, k -> new PostingList()).add(serial);
+        }
+    }
+
+    @Override
+    public void taskRemoved(Task task) {
+        Integer serial = serials.remove(task);
+        if (serial == null) {
+            return;
+        }
+        tasksBySerial.set(serial, null);
+        removedSerials.put(task, serial);
+        for (K key : keysOf(task)) {
+            PostingList list = postings.get(key);
+            if (list != null) {
+                list.remove(serial);
+                if (list.size() == 0) {
+                    postings.remove(key);
+                }
+            }
+        }
+        removedCount++;
+        if (removedCount >= MIN_COMPACT_REMOVALS && removedCount * 2 > tasksBySerial.size()) {
+            compact();
+        }
+    }
+
+    /**
+     * Puts a restored task back under the serial it had, unless the serials were renumbered since.
+     *
+     * @param task the restored task
+     * @return true if the task was put back, false if the index has to be rebuilt
+     */
+    @Override
+    public boolean taskRestored(Task task) {
+        Integer serial = removedSerials.remove(task);
+        if (serial == null) {
+            return false;
+        }
+        assert tasksBySerial.get(serial) == null : "the serial of a removed task must be unused";
+        tasksBySerial.set(serial, task);
+        serials.put(task, serial);
+        for (K key : keysOf(task)) {
+            postings.computeIfAbsent(key, k -> new PostingList()).add(serial);
+        }
+        removedCount--;
+        return true;
+    }
+
+    /**
+     * Gets the number of distinct keys in the index.
+     *
+     * @return the number of keys
+     */
+    public int getKeyCount() {
+        return postings.size();
+    }
+
+    /**
+     * Checks if a task is in the index.
+     *
+     * @param task the task to look for
+     * @return true if the task has been added and not removed since
+     */
+    public boolean contains(Task task) {
+        return serials.containsKey(task);
+    }
+
+    /**
+     * Gets the number of tasks in the index.
+     *
+     * @return the number of indexed tasks
+     */
+    public int getTaskCount() {
+        return serials.size();
+    }
+
+    /**
+     * Estimates the memory held by the index, not counting the tasks themselves.
+     * Counts the posting list arrays, one map entry per key and the serial bookkeeping;
+     * the sizes of the key objects are left to subclasses.
+     *
+     * @return the estimated size of the index in bytes
+     */
+    public long estimateMemoryBytes() {
+        long bytes = 0;
+        for (PostingList list : postings.values()) {
+            bytes += MAP_ENTRY_BYTES + 2L * OBJECT_HEADER_BYTES + 4L * list.getCapacity();
+        }
+        bytes += (long) REFERENCE_BYTES * tasksBySerial.size();
+        bytes += (long) (serials.size() + removedSerials.size()) * (2 * REFERENCE_BYTES + OBJECT_HEADER_BYTES);
+        return bytes;
+    }
+
+    /**
+     * Gets the serial numbers of every indexed task.
+     *
+     * @return a new posting list of all serial numbers
+     */
+    public PostingList getAllSerials() {
+        PostingList all = new PostingList();
+        for (int serial = 0; serial < tasksBySerial.size(); serial++) {
+            if (tasksBySerial.get(serial) != null) {
+                all.add(serial);
+            }
+        }
+        return all;
+    }
+
+    /**
+     * Gets the tasks with the given serial numbers, in list order.
+     *
+     * @param matches serial numbers handed out by this index
+     * @return the tasks
+     */
+    public ArrayList<Task> getTasks(PostingList matches) {
+        ArrayList<Task> results = new ArrayList<>(matches.size());
+        for (int i = 0; i < matches.size(); i++) {
+            Task task = tasksBySerial.get(matches.get(i));
+            if (task != null) {
+                results.add(task);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Gets the posting list of a key. The list belongs to the index and must not be modified.
+     *
+     * @param key the key to look up
+     * @return the posting list, or an empty list if no task has the key
+     */
+    protected PostingList getPostings(K key) {
+        PostingList list = postings.get(key);
+        return list == null ? new PostingList() : list;
+    }
+
+    /**
+     * Gets the task with the given serial number.
+     *
+     * @param serial a serial number handed out by this index
+     * @return the task, or null if it has been removed
+     */
+    protected Task getTask(int serial) {
+        return tasksBySerial.get(serial);
+    }
+
+    /**
+     * Gets every indexed task, in list order.
+     *
+     * @return the tasks
+     */
+    private ArrayList<Task> getAllTasks() {
+        ArrayList<Task> results = new ArrayList<>(serials.size());
+        for (Task task : tasksBySerial) {
+            if (task != null) {
+                results.add(task);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Renumbers the remaining tasks once many serial numbers belong to removed tasks.
+     * Serials are in list order, so the remaining tasks are already in list order.
+     */
+    private void compact() {
+        rebuild(getAllTasks());
+    }
+}
@@ -0,0 +1,219 @@
+package lyra.task;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.BitSet;
+
+/**
+ * A sorted list of task serial numbers, used as the posting list of an index entry.
+ * Serial numbers are handed out in list order, so new entries are almost always appended.
+ *
+ * The set operations build a new list and leave both inputs untouched. They walk the smaller
+ * list and gallop through the larger one, so their cost follows the size of the smaller list
+ * rather than the number of tasks.
+ */
+public class PostingList {
+    private static final int INITIAL_CAPACITY = 4;
+
+    private int[] serials;
+    private int size;
+
+    /**
+     * Constructs an empty PostingList.
+     */
+    public PostingList() {
+        this.serials = new int[INITIAL_CAPACITY];
+    }
+
+    private PostingList(int[] serials, int size) {
+        this.serials = serials;
+        this.size = size;
+    }
+
+    /**
+     * Adds a serial number, keeping the list sorted. Adding a serial that is already present has no effect.
+     *
+     * @param serial the serial number to add
+     */
+    public void add(int serial) {
+        if (size > 0 && serials[size - 1] >= serial) {
+            int position = Arrays.binarySearch(serials, 0, size, serial);
+            if (position >= 0) {
+                return;
+            }
+            insertAt(-position - 1, serial);
+            return;
+        }
+        insertAt(size, serial);
+    }
+
+    /**
+     * Removes a serial number if present.
+     *
+     * @param serial the serial number to remove
+     */
+    public void remove(int serial) {
+        int position = Arrays.binarySearch(serials, 0, size, serial);
+        if (position < 0) {
+            return;
+        }
+        System.arraycopy(serials, position + 1, serials, position, size - position - 1);
+        size--;
+    }
+
+    /**
+     * Gets the number of serial numbers in the list.
+     *
+     * @return the size of the posting list
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the number of serial numbers the list can hold before it has to grow.
+     *
+     * @return the capacity of the posting list
+     */
+    public int getCapacity() {
+        return serials.length;
+    }
+
+    /**
+     * Gets the serial number at the given position.
+     *
+     * @param index the position in the list (0-based indexing)
+     * @return the serial number
+     */
+    public int get(int index) {
+        assert index >= 0 && index < size : "index must be within list bounds";
+        return serials[index];
+    }
+
+    /**
+     * Sets the bit of every serial number in the list.
+     *
+     * @param bits the set to add the serial numbers to
+     */
+    public void addTo(BitSet bits) {
+        for (int i = 0; i < size; i++) {
+            bits.set(serials[i]);
+        }
+    }
+
+    /**
+     * Intersects posting lists, starting from the shortest so the intermediate results stay small.
+     *
+     * @param lists the lists to intersect, at least one
+     * @return a list of the serial numbers found in every list
+     */
+    public static PostingList intersectAll(List<PostingList> lists) {
+        assert !lists.isEmpty() : "lists must not be empty";
+        ArrayList<PostingList> sorted = new ArrayList<>(lists);
+        sorted.sort(Comparator.comparingInt(PostingList::size));
+        PostingList result = sorted.get(0);
+        for (int i = 1; i < sorted.size() && result.size() > 0; i++) {
+            result = result.intersect(sorted.get(i));
+        }
+        return result;
+    }
+
+    /**
+     * Gets the serial numbers that are in both this list and the other.
+     *
+     * @param other the list to intersect with
+     * @return a new list of the common serial numbers
+     */
+    public PostingList intersect(PostingList other) {
+        PostingList small = size <= other.size ? this : other;
+        PostingList large = small == this ? other : this;
+        int[] result = new int[small.size];
+        int count = 0;
+        int cursor = 0;
+        for (int i = 0; i < small.size && cursor < large.size; i++) {
+            cursor = large.seek(cursor, small.serials[i]);
+            if (cursor < large.size && large.serials[cursor] == small.serials[i]) {
+                result[count++] = small.serials[i];
+            }
+        }
+        return new PostingList(result, count);
+    }
+
+    /**
+     * Gets the serial numbers that are in this list, the other or both.
+     *
+     * @param other the list to unite with
+     * @return a new list of all the serial numbers
+     */
+    public PostingList union(PostingList other) {
+        int[] result = new int[Math.max(INITIAL_CAPACITY, size + other.size)];
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while (i < size && j < other.size) {
+            int a = serials[i];
+            int b = other.serials[j];
+            result[count++] = Math.min(a, b);
+            if (a <= b) {
+                i++;
+            }
+            if (b <= a) {
+                j++;
+            }
+        }
+        System.arraycopy(serials, i, result, count, size - i);
+        count += size - i;
+        System.arraycopy(other.serials, j, result, count, other.size - j);
+        count += other.size - j;
+        return new PostingList(result, count);
+    }
+
+    /**
+     * Gets the serial numbers that are in this list but not in the other.
+     *
+     * @param other the list of serial numbers to leave out
+     * @return a new list of the remaining serial numbers
+     */
+    public PostingList subtract(PostingList other) {
+        int[] result = new int[Math.max(INITIAL_CAPACITY, size)];
+        int count = 0;
+        int cursor = 0;
+        for (int i = 0; i < size; i++) {
+            cursor = other.seek(cursor, serials[i]);
+            if (cursor >= other.size || other.serials[cursor] != serials[i]) {
+                result[count++] = serials[i];
+            }
+        }
+        return new PostingList(result, count);
+    }
+
+    /**
+     * Finds the first position at or after from whose serial number is at least the target,
+     * doubling the step until it overshoots and then searching the last step.
+     */
+    private int seek(int from, int target) {
+        if (from >= size || serials[from] >= target) {
+            return from;
+        }
+        int step = 1;
+        int low = from;
+        while (low + step < size && serials[low + step] < target) {
+            low += step;
+            step *= 2;
+        }
+        int high = Math.min(size, low + step + 1);
+        int position = Arrays.binarySearch(serials, low + 1, high, target);
+        return position >= 0 ? position : -position - 1;
+    }
+
+    private void insertAt(int position, int serial) {
+        if (size == serials.length) {
+            serials = Arrays.copyOf(serials, Math.max(INITIAL_CAPACITY, size * 2));
+        }
+        System.arraycopy(serials, position, serials, position + 1, size - position);
+        serials[position] = serial;
+        size++;
+    }
+}
@@ -0,0 +1,42 @@
+package lyra.task;
+
+import java.util.ArrayList;
+
+/**
+ * The best-scoring tasks of a ranked search, together with how many tasks matched in total.
+ */
+public class RankedMatches {
+    private final ArrayList<Task> tasks;
+    private final int matchCount;
+
+    /**
+     * Constructs a new RankedMatches.
+     *
+     * @param tasks the best-scoring tasks, best first
+     * @param matchCount the number of tasks that matched at all
+     */
+    public RankedMatches(ArrayList<Task> tasks, int matchCount) {
+        assert tasks != null : "tasks must not be null";
+        assert matchCount >= tasks.size() : "matchCount must count every ranked task";
+        this.tasks = tasks;
+        this.matchCount = matchCount;
+    }
+
+    /**
+     * Gets the best-scoring tasks.
+     *
+     * @return the tasks, best first
+     */
+    public ArrayList<Task> getTasks() {
+        return tasks;
+    }
+
+    /**
+     * Gets the number of tasks that matched, including those not ranked high enough to be kept.
+     *
+     * @return the number of matching tasks
+     */
+    public int getMatchCount() {
+        return matchCount;
+    }
+}
@@ -0,0 +1,342 @@
+package lyra.task;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+
+/**
+ * The tasks of a list in the order of one sort criterion, kept up to date as tasks are added,
+ * removed and marked, so that showing the list sorted never has to sort it again.
+ *
+ * The view is a treap ordered by a sort key worked out once per task, then by the order the
+ * tasks were added in, so tasks with equal keys keep list order just as with a stable sort.
+ * A removed task that is restored in place gets the place it had among them back.
+ * Every node counts the tasks in its subtree, so the task at a given position of the view is
+ * found in O(log n), and the whole view is read in order in O(n).
+ *
+ * @param <K> the type of the sort keys; tasks without a key, such as a Todo in a view by
+ *            deadline, come last
+ */
+public class SortedView<K extends Comparable<? super K>> implements TaskIndex {
+    private static final int MAX_REMEMBERED_REMOVALS = 1024;
+
+    private final Function<Task, K> keyOf;
+    private final IdentityHashMap<Task, Node<K>> nodes = new IdentityHashMap<>();
+    // The order numbers of recently removed tasks, forgotten all at once when too many pile up
+    private final IdentityHashMap<Task, Long> removedSequences = new IdentityHashMap<>();
+    private final Random random = new Random();
+    private Node<K> root;
+    private long nextSequence;
+
+    /**
+     * A task in the tree, with its sort key.
+     */
+    private static class Node<K> {
+        private final Task task;
+        private final long sequence;
+        private final int priority;
+        private K key;
+        private int size = 1;
+        private Node<K> left;
+        private Node<K> right;
+
+        private Node(Task task, K key, long sequence, int priority) {
+            this.task = task;
+            this.key = key;
+            this.sequence = sequence;
+            this.priority = priority;
+        }
+
+        private void update() {
+            size = 1 + sizeOf(left) + sizeOf(right);
+        }
+    }
+
+    /**
+     * Constructs a new, empty SortedView.
+     *
+     * @param keyOf gives the sort key of a task, or null if the task has none
+     */
+    public SortedView(Function<Task, K> keyOf) {
+        assert keyOf != null : "keyOf must not be null";
+        this.keyOf = keyOf;
+    }
+
+    /**
+     * Creates an empty view for one of the sort criteria of the sort command.
+     *
+     * @param criteria description, deadline, event, type or status
+     * @return the view, or null if the criteria is not known
+     */
+    public static SortedView<?> forCriteria(String criteria) {
+        switch (criteria) {
+            case "description":
+                return new SortedView<>(task -> task.getDescription().toLowerCase());
+            case "deadline":
+                return new SortedView<LocalDate>(task -> task instanceof Deadline ? ((Deadline) task).getBy() : null);
+            case "event":
+                return new SortedView<LocalDate>(task -> task instanceof Event ? ((Event) task).getFrom() : null);
+            case "type":
+                return new SortedView<>(SortedView::getTypeOrder);
+            case "status":
+                // Incomplete tasks first
+                return new SortedView<>(Task::isDone);
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Gets a comparator that orders tasks the way this view does, apart from ties,
+     * which a stable sort leaves in list order.
+     *
+     * @return the comparator
+     */
+    public Comparator<Task> getComparator() {
+        return Comparator.comparing(keyOf, Comparator.nullsLast(Comparator.naturalOrder()));
+    }
+
+    @Override
+    public void rebuild(List<Task> tasks) {
+        root = null;
+        nodes.clear();
+        removedSequences.clear();
+        nextSequence = 0;
+        for (Task task : tasks) {
+            taskAdded(task);
+        }
+    }
+
+    @Override
+    public void taskAdded(Task task) {
+        insertTask(task, nextSequence++);
+    }
+
+    @Override
+    public void taskRemoved(Task task) {
+        Node<K> node = nodes.remove(task);
+        if (node != null) {
+            root = remove(root, node);
+            if (removedSequences.size() >= MAX_REMEMBERED_REMOVALS) {
+                removedSequences.clear();
+            }
+            removedSequences.put(task, node.sequence);
+        }
+    }
+
+    @Override
+    public boolean taskRestored(Task task) {
+        Long sequence = removedSequences.remove(task);
+        if (sequence == null) {
+            return false;
+        }
+        insertTask(task, sequence);
+        return true;
+    }
+
+    private void insertTask(Task task, long sequence) {
+        Node<K> node = new Node<>(task, keyOf.apply(task), sequence, random.nextInt());
+        nodes.put(task, node);
+        root = insert(root, node);
+    }
+
+    /**
+     * Moves a task whose sort key may have changed, keeping its place among tasks with equal keys.
+     *
+     * @param task the updated task
+     */
+    @Override
+    public void taskUpdated(Task task) {
+        Node<K> node = nodes.get(task);
+        if (node == null) {
+            return;
+        }
+        K key = keyOf.apply(task);
+        if (compareKeys(key, node.key) == 0) {
+            return;
+        }
+        root = remove(root, node);
+        node.key = key;
+        node.left = null;
+        node.right = null;
+        node.update();
+        root = insert(root, node);
+    }
+
+    /**
+     * Gets the task at a position of the view.
+     *
+     * @param position the position in the view (0-based indexing)
+     * @return the task at that position
+     */
+    public Task get(int position) {
+        assert position >= 0 && position < size() : "position must be within the view";
+        Node<K> node = root;
+        while (true) {
+            int leftSize = sizeOf(node.left);
+            if (position < leftSize) {
+                node = node.left;
+            } else if (position == leftSize) {
+                return node.task;
+            } else {
+                position -= leftSize + 1;
+                node = node.right;
+            }
+        }
+    }
+
+    /**
+     * Gets the position of a task in the view.
+     *
+     * @param task a task of the view
+     * @return the position of the task (0-based indexing)
+     */
+    public int indexOf(Task task) {
+        Node<K> node = nodes.get(task);
+        assert node != null : "task must be in the view";
+        int position = 0;
+        Node<K> current = root;
+        while (current != node) {
+            if (isBefore(node, current)) {
+                current = current.left;
+            } else {
+                position += sizeOf(current.left) + 1;
+                current = current.right;
+            }
+        }
+        return position + sizeOf(node.left);
+    }
+
+    /**
+     * Gets every task of the view, in order.
+     *
+     * @return the tasks
+     */
+    public ArrayList<Task> getTasks() {
+        ArrayList<Task> results = new ArrayList<>(size());
+        collect(root, results);
+        return results;
+    }
+
+    /**
+     * Gets the number of tasks in the view.
+     *
+     * @return the number of tasks
+     */
+    public int size() {
+        return sizeOf(root);
+    }
+
+    private static int getTypeOrder(Task task) {
+        if (task instanceof Todo) {
+            return 0;
+        } else if (task instanceof Deadline) {
+            return 1;
+        } else if (task instanceof Event) {
+            return 2;
+        }
+        return 3;
+    }
+
+    private static int sizeOf(Node<?> node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static <K extends Comparable<? super K>> int compareKeys(K first, K second) {
+        if (first == null || second == null) {
+            return first == second ? 0 : (first == null ? 1 : -1);
+        }
+        return first.compareTo(second);
+    }
+
+    private static <K extends Comparable<? super K>> boolean isBefore(Node<K> node, Node<K> other) {
+        int byKey = compareKeys(node.key, other.key);
+        return byKey != 0 ? byKey < 0 : node.sequence < other.sequence;
+    }
+
+    private static void collect(Node<?> node, List<Task> results) {
+        if (node == null) {
+            return;
+        }
+        collect(node.left, results);
+        results.add(node.task);
+        collect(node.right, results);
+    }
+
+    private static <K extends Comparable<? super K>> Node<K> insert(Node<K> node, Node<K> added) {
+        if (node == null) {
+            return added;
+        }
+        if (isBefore(added, node)) {
+            node.left = insert(node.left, added);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, added);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        node.update();
+        return node;
+    }
+
+    private static <K extends Comparable<? super K>> Node<K> remove(Node<K> node, Node<K> removed) {
+        if (node == null) {
+            return null;
+        }
+        if (node == removed) {
+            return merge(node.left, node.right);
+        }
+        if (isBefore(removed, node)) {
+            node.left = remove(node.left, removed);
+        } else {
+            node.right = remove(node.right, removed);
+        }
+        node.update();
+        return node;
+    }
+
+    /**
+     * Joins two treaps where every node of the first comes before every node of the second.
+     */
+    private static <K> Node<K> merge(Node<K> first, Node<K> second) {
+        if (first == null) {
+            return second;
+        }
+        if (second == null) {
+            return first;
+        }
+        if (first.priority > second.priority) {
+            first.right = merge(first.right, second);
+            first.update();
+            return first;
+        }
+        second.left = merge(first, second.left);
+        second.update();
+        return second;
+    }
+
+    private static <K> Node<K> rotateRight(Node<K> node) {
+        Node<K> top = node.left;
+        node.left = top.right;
+        top.right = node;
+        node.update();
+        top.update();
+        return top;
+    }
+
+    private static <K> Node<K> rotateLeft(Node<K> node) {
+        Node<K> top = node.right;
+        node.right = top.left;
+        top.left = node;
+        node.update();
+        top.update();
+        return top;
+    }
+}
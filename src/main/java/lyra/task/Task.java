@@ -8,6 +8,7 @@ package lyra.task;
 public class Task {
     protected String description;
     protected boolean isDone;
+    private int id;
 
     /**
      * Constructs a new Task with the specified description.
@@ -47,6 +48,25 @@ public class Task {
         return this.description;
     }
 
+    /**
+     * Gets the ID of the task, which stays the same however the list is sorted or shrinks.
+     *
+     * @return the task ID, or 0 if the task has not been given one yet
+     */
+    public int getId() {
+        return this.id;
+    }
+
+    /**
+     * Sets the ID of the task. IDs are handed out by TaskList and restored by Storage.
+     *
+     * @param id the task ID, a positive number
+     */
+    public void setId(int id) {
+        assert id > 0 : "id must be positive";
+        this.id = id;
+    }
+
     /**
      * Marks the task as done.
      */
@@ -0,0 +1,54 @@
+package lyra.task;
+
+/**
+ * Records a single change made to a TaskList since it was last saved.
+ * Storage replays these changes to find which parts of the data file need to be rewritten.
+ */
+public class TaskChange {
+    /**
+     * The kinds of change a TaskList tracks.
+     */
+    public enum Kind {
+        /** A task was inserted at the index. */
+        ADDED,
+        /** The task at the index was removed. */
+        REMOVED,
+        /** The task at the index was changed in place, e.g. marked as done. */
+        UPDATED
+    }
+
+    private final Kind kind;
+    private final int index;
+
+    /**
+     * Constructs a new TaskChange.
+     *
+     * @param kind the kind of change
+     * @param index the index the change happened at (0-based indexing)
+     */
+    public TaskChange(Kind kind, int index) {
+        assert kind != null : "kind must not be null";
+        assert index >= 0 : "index must be non-negative";
+        this.kind = kind;
+        this.index = index;
+    }
+
+    /**
+     * Gets the kind of change.
+     *
+     * @return the kind of change
+     */
+    public Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * Gets the index the change happened at, as the list was right after the change.
+     * For a removal this is the index the removed task used to have.
+     *
+     * @return the index (0-based indexing)
+     */
+    public int getIndex() {
+        return index;
+    }
+}
@@ -0,0 +1,153 @@
+package lyra.task;
+
+import lyra.exception.LyraException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * The list operations shared by TaskList and ColumnarTaskList: adding, deleting, marking,
+ * sorting and reading tasks by the number shown to the user or by ID.
+ *
+ * Methods taking a task number count in the order the tasks are shown, which is the order of
+ * the last sort, or list order if the list has not been sorted. Undo, search indexes, snapshots
+ * and lazy loading are only offered by TaskList, as they rely on Task object identity.
+ */
+public interface TaskCollection {
+
+    /**
+     * Adds a new task to the list. A task without an ID, or with an ID already in the list,
+     * is given the next free ID.
+     *
+     * @param task the task to add
+     */
+    void addTask(Task task);
+
+    /**
+     * Deletes a task at the specified index from the list.
+     *
+     * @param index the index of the task to delete as shown to the user (0-based indexing)
+     * @return the deleted task
+     * @throws LyraException if the index is invalid
+     */
+    Task deleteTask(int index) throws LyraException;
+
+    /**
+     * Removes every task that matches the given condition, in a single pass.
+     *
+     * @param condition the condition a task must meet to be removed
+     * @return the removed tasks, in list order
+     */
+    ArrayList<Task> removeTasks(Predicate<Task> condition);
+
+    /**
+     * Deletes the tasks at the specified indexes in a single pass over the list.
+     * Every index is checked first, so either all of the tasks are deleted or none are.
+     *
+     * @param indexes the indexes of the tasks to delete as shown to the user (0-based indexing)
+     * @return the deleted tasks, in list order
+     * @throws LyraException if any index is invalid
+     */
+    ArrayList<Task> deleteTasks(List<Integer> indexes) throws LyraException;
+
+    /**
+     * Marks the tasks at the specified indexes as done or not done.
+     * Every index is checked first, so either all of the tasks are marked or none are.
+     *
+     * @param indexes the indexes of the tasks to mark as shown to the user (0-based indexing)
+     * @param isDone true to mark the tasks as done, false to mark them as not done
+     * @return the marked tasks, in the order of the indexes
+     * @throws LyraException if any index is invalid
+     */
+    ArrayList<Task> markTasks(List<Integer> indexes, boolean isDone) throws LyraException;
+
+    /**
+     * Marks a task at the specified index as done.
+     *
+     * @param index the index of the task to mark as shown to the user (0-based indexing)
+     * @return the marked task
+     * @throws LyraException if the index is invalid
+     */
+    Task markTaskAsDone(int index) throws LyraException;
+
+    /**
+     * Marks a task at the specified index as not done.
+     *
+     * @param index the index of the task to unmark as shown to the user (0-based indexing)
+     * @return the unmarked task
+     * @throws LyraException if the index is invalid
+     */
+    Task markTaskAsNotDone(int index) throws LyraException;
+
+    /**
+     * Gets the position in list order of a task, given its index as shown to the user.
+     *
+     * @param index the index of the task as shown to the user (0-based indexing)
+     * @return the position of the task in list order (0-based indexing)
+     * @throws LyraException if the index is invalid
+     */
+    int getPosition(int index) throws LyraException;
+
+    /**
+     * Gets the index, as shown to the user, of the task with the given ID.
+     *
+     * @param id the ID of the task
+     * @return the index of the task as shown to the user (0-based indexing)
+     * @throws LyraException if no task has that ID
+     */
+    int getIndexOfId(int id) throws LyraException;
+
+    /**
+     * Gets every task, in list order.
+     *
+     * @return the tasks
+     */
+    ArrayList<Task> getTasks();
+
+    /**
+     * Gets every task in the order they are shown and numbered to the user.
+     *
+     * @return the tasks in the order they are shown
+     */
+    ArrayList<Task> getShownTasks();
+
+    /**
+     * Gets the ID the next task added without one will get, which is above every ID the list
+     * has given out, including IDs of deleted tasks.
+     *
+     * @return the next ID
+     */
+    int getNextId();
+
+    /**
+     * Makes sure no task added from now on is given an ID below the given one.
+     *
+     * @param nextId the lowest ID new tasks may get
+     */
+    void reserveIds(int nextId);
+
+    /**
+     * Gets the number of tasks in the list.
+     *
+     * @return the size of the list
+     */
+    int getSize();
+
+    /**
+     * Checks if the list is empty.
+     *
+     * @return true if the list is empty, false otherwise
+     */
+    boolean isEmpty();
+
+    void sortByDescription();
+
+    void sortByDeadline();
+
+    void sortByEventStart();
+
+    void sortByType();
+
+    void sortByStatus();
+}
@@ -0,0 +1,197 @@
+package lyra.task;
+
+import java.util.ArrayDeque;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * The undo and redo history of a TaskList, kept as a bounded ring of edits.
+ *
+ * Each edit stores only what it changed: the tasks added or deleted and their positions in
+ * list order, the previous status of the tasks marked, or the criteria the list was shown
+ * sorted by before a sort. History therefore grows with the size of the changes, not the size
+ * of the list, and undoing a sort just switches back to the previous sorted view. Once the
+ * ring is full, recording an edit forgets the oldest one.
+ */
+public class TaskHistory {
+    static final int DEFAULT_CAPACITY = 100;
+
+    private final int capacity;
+    private final ArrayDeque<Edit> undoEdits = new ArrayDeque<>();
+    private final ArrayDeque<Edit> redoEdits = new ArrayDeque<>();
+
+    /**
+     * A change made by one call to TaskList, with what it takes to reverse it.
+     */
+    static class Edit {
+        /**
+         * The kinds of change an edit can record.
+         */
+        enum Kind {
+            ADDED, REMOVED, MARKED, SORTED
+        }
+
+        final Kind kind;
+        // The tasks added, deleted or marked
+        final List<Task> tasks;
+        // For ADDED and REMOVED: the positions of the tasks in list order while they are in the
+        // list, increasing and matching tasks; refreshed every time the tasks are removed
+        int[] positions;
+        // For a single ADDED or REMOVED task: the slot it was last removed from, or -1, and the
+        // slot numbering that slot belongs to
+        int slot = -1;
+        long slotGeneration;
+        // For MARKED: the status the tasks were marked with, and the status of each before
+        boolean isDone;
+        BitSet wasDone;
+        // For SORTED: the criteria before and after the sort, null for list order
+        String oldCriteria;
+        String newCriteria;
+
+        private Edit(Kind kind, List<Task> tasks) {
+            this.kind = kind;
+            this.tasks = tasks;
+        }
+
+        static Edit added(Task task, int position) {
+            Edit edit = new Edit(Kind.ADDED, List.of(task));
+            edit.positions = new int[] {position};
+            return edit;
+        }
+
+        static Edit removed(List<Task> tasks, int[] positions) {
+            assert tasks.size() == positions.length : "every task must have a position";
+            Edit edit = new Edit(Kind.REMOVED, tasks);
+            edit.positions = positions;
+            return edit;
+        }
+
+        static Edit marked(List<Task> tasks, BitSet wasDone, boolean isDone) {
+            Edit edit = new Edit(Kind.MARKED, tasks);
+            edit.wasDone = wasDone;
+            edit.isDone = isDone;
+            return edit;
+        }
+
+        static Edit sorted(String oldCriteria, String newCriteria) {
+            Edit edit = new Edit(Kind.SORTED, List.of());
+            edit.oldCriteria = oldCriteria;
+            edit.newCriteria = newCriteria;
+            return edit;
+        }
+
+        /**
+         * Describes the edit for the user, e.g. "deleting [T][ ] read book" or "marking 3 tasks as done".
+         */
+        String describe() {
+            String what = tasks.size() == 1 ? tasks.get(0).toString() : tasks.size() + " tasks";
+            switch (kind) {
+                case ADDED:
+                    return "adding " + what;
+                case REMOVED:
+                    return "deleting " + what;
+                case MARKED:
+                    return "marking " + what + (isDone ? " as done" : " as not done");
+                default:
+                    return newCriteria == null ? "showing tasks in list order" : "sorting by " + newCriteria;
+            }
+        }
+    }
+
+    /**
+     * Constructs a new, empty TaskHistory holding up to DEFAULT_CAPACITY edits.
+     */
+    public TaskHistory() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs a new, empty TaskHistory.
+     *
+     * @param capacity the number of edits that can be undone
+     */
+    public TaskHistory(int capacity) {
+        assert capacity > 0 : "capacity must be positive";
+        this.capacity = capacity;
+    }
+
+    /**
+     * Records a new edit, forgetting the oldest if the history is full.
+     * Edits that were undone can no longer be redone.
+     */
+    void record(Edit edit) {
+        redoEdits.clear();
+        undoEdits.addLast(edit);
+        if (undoEdits.size() > capacity) {
+            undoEdits.removeFirst();
+        }
+    }
+
+    /**
+     * Takes the latest edit to undo, which can then be redone.
+     *
+     * @return the edit, or null if there is nothing to undo
+     */
+    Edit takeUndo() {
+        Edit edit = undoEdits.pollLast();
+        if (edit != null) {
+            redoEdits.addLast(edit);
+        }
+        return edit;
+    }
+
+    /**
+     * Takes the latest undone edit to redo, which can then be undone again.
+     *
+     * @return the edit, or null if there is nothing to redo
+     */
+    Edit takeRedo() {
+        Edit edit = redoEdits.pollLast();
+        if (edit != null) {
+            undoEdits.addLast(edit);
+        }
+        return edit;
+    }
+
+    /**
+     * Forgets every edit.
+     */
+    public void clear() {
+        undoEdits.clear();
+        redoEdits.clear();
+    }
+
+    /**
+     * Gets the number of edits that can be undone.
+     *
+     * @return the number of edits to undo
+     */
+    public int getUndoCount() {
+        return undoEdits.size();
+    }
+
+    /**
+     * Gets the number of undone edits that can be redone.
+     *
+     * @return the number of edits to redo
+     */
+    public int getRedoCount() {
+        return redoEdits.size();
+    }
+
+    /**
+     * Gets the tasks recorded in the history, counting a task once per edit it appears in.
+     *
+     * @return the number of task references held
+     */
+    public long getTaskCount() {
+        long count = 0;
+        for (Edit edit : undoEdits) {
+            count += edit.tasks.size();
+        }
+        for (Edit edit : redoEdits) {
+            count += edit.tasks.size();
+        }
+        return count;
+    }
+}
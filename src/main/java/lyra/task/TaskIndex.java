@@ -0,0 +1,54 @@
+package lyra.task;
+
+import java.util.List;
+
+/**
+ * An index over the tasks of a TaskList, kept up to date by the list as tasks change.
+ * Indexes are told about every task added to, removed from or updated in the list, and are
+ * rebuilt whenever the list is replaced as a whole.
+ */
+public interface TaskIndex {
+
+    /**
+     * Rebuilds the index from scratch.
+     *
+     * @param tasks every task in the list, in list order
+     */
+    void rebuild(List<Task> tasks);
+
+    /**
+     * Adds a task that was appended to the end of the list.
+     *
+     * @param task the added task
+     */
+    void taskAdded(Task task);
+
+    /**
+     * Removes a task that was removed from the list.
+     *
+     * @param task the removed task
+     */
+    void taskRemoved(Task task);
+
+    /**
+     * Puts back a removed task that was restored to the place it had in list order, such as by undo.
+     * An index that still remembers where the task was puts it back there, so that tasks with equal
+     * keys stay in list order; otherwise the list rebuilds the index instead.
+     * Does nothing by default, for indexes that do not remember removed tasks.
+     *
+     * @param task the restored task
+     * @return true if the task was put back, false if the index has to be rebuilt
+     */
+    default boolean taskRestored(Task task) {
+        return false;
+    }
+
+    /**
+     * Updates a task whose status changed in place.
+     * Does nothing by default, for indexes that do not depend on the status.
+     *
+     * @param task the updated task
+     */
+    default void taskUpdated(Task task) {
+    }
+}
@@ -1,17 +1,79 @@
 package lyra.task;
 
 import lyra.exception.LyraException;
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
-import java.util.Comparator;
-import java.time.LocalDate;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Predicate;
 
 /**
  * Manages a collection of tasks in the Lyra application.
- * Provides methods for adding, removing, marking, and querying tasks.
+ * Provides methods for adding, removing, marking, and querying tasks, the list operations of
+ * which are declared by TaskCollection and shared with the more compact ColumnarTaskList.
+ *
+ * The list also tracks the changes made through it since it was last saved, so that Storage
+ * only has to re-serialize the affected tasks. Changes that move many tasks at once, such as
+ * loading the rest of the list, are not tracked individually; the whole list is then considered changed.
+ *
+ * Tasks always stay in the order they were added in. Sorting only changes the order in which
+ * they are shown and numbered to the user, which is read from a SortedView kept up to date
+ * alongside the indexes, so methods taking a task number count in that order.
+ *
+ * Every task also gets a numeric ID when it joins the list, which Storage saves with it, so a
+ * task can be addressed the same way across sorts, deletions and restarts. A hash map leads from
+ * each ID to the task's slot. Deleting a task only empties its slot, so no other task moves;
+ * the empty slots are dropped when the tasks are next read in full, or once they make up half
+ * the slots. A Fenwick tree counting the filled slots turns a slot into the task's position in
+ * list order, which the change tracking and the journal use, and back, in O(log n).
+ *
+ * Every change made through the public methods, sorting included, is recorded in a TaskHistory
+ * so that it can be undone and redone. Tasks deleted and then restored keep their IDs, and go
+ * back into the slot they left whenever that slot is still empty.
+ *
+ * The list itself is only safe to use from one thread. Readers on other threads, such as a
+ * background save, read a TaskSnapshot instead, which shares every chunk of slots left unchanged
+ * since the previous snapshot, so taking one while commands keep changing the list is cheap.
+ *
+ * A list created with a TaskLoader starts with only part of its tasks in memory. Tasks can be
+ * added and counted right away; anything that needs the other tasks loads them first.
  */
-public class TaskList {
+public class TaskList implements TaskCollection {
+    private static final int MAX_TRACKED_CHANGES = 4096;
+    private static final int MIN_COMPACT_DELETIONS = 1024;
+
+    // Slots in list order; the slot of a deleted task is null until the next compaction
     private ArrayList<Task> tasks;
+    private FenwickTree filledSlots;
+    private int emptySlotCount;
+    private final HashMap<Integer, Integer> slotsById = new HashMap<>();
+    private int nextId = 1;
+    // Incremented whenever slots are renumbered, so that remembered slots can be checked
+    private long slotGeneration;
+    private final TaskHistory history = new TaskHistory();
+    // The latest snapshot taken, and the chunks of slots changed since; null after slots are renumbered
+    private TaskSnapshot latestSnapshot;
+    private final BitSet changedChunks = new BitSet();
+    private final ArrayList<TaskChange> changes = new ArrayList<>();
+    private boolean isFullyChanged = true;
+    // The changes made by the latest undo or redo, and whether one is in progress
+    private final ArrayList<TaskChange> restoredChanges = new ArrayList<>();
+    private boolean isRestoring;
+    private TaskLoader loader;
+    private final ArrayList<TaskIndex> indexes = new ArrayList<>();
+    private TokenIndex tokenIndex;
+    private TrigramIndex trigramIndex;
+    private DeadlineIndex deadlineIndex;
+    private EventIndex eventIndex;
+    private final HashMap<String, SortedView<?>> sortedViews = new HashMap<>();
+    // The view the tasks are shown in and its criteria, or null to show them in list order
+    private SortedView<?> shownView;
+    private String shownCriteria;
 
     /**
      * Constructs an empty TaskList.
@@ -19,6 +81,7 @@ public class TaskList {
     public TaskList() {
         this.tasks = new ArrayList<>();
         assert this.tasks != null : "tasks list should be initialized";
+        indexSlots();
     }
 
     /**
@@ -29,6 +92,51 @@ public class TaskList {
     public TaskList(ArrayList<Task> tasks) {
         assert tasks != null : "initial tasks must not be null";
         this.tasks = tasks;
+        indexSlots();
+    }
+
+    /**
+     * Constructs a TaskList holding only some of its tasks, with the rest loaded on demand.
+     *
+     * @param loadedTasks the tasks loaded so far, in list order
+     * @param loader the loader for the remaining tasks
+     */
+    public TaskList(ArrayList<Task> loadedTasks, TaskLoader loader) {
+        assert loadedTasks != null : "initial tasks must not be null";
+        assert loader != null : "loader must not be null";
+        this.tasks = loadedTasks;
+        this.loader = loader;
+        this.nextId = Math.max(nextId, loader.getNextId());
+        indexSlots();
+    }
+
+    /**
+     * Checks if every task of the list is in memory.
+     *
+     * @return true if no tasks remain to be loaded
+     */
+    public boolean isFullyLoaded() {
+        return loader == null;
+    }
+
+    /**
+     * Loads the tasks that were not loaded when the list was created.
+     * Does nothing if the list is already fully loaded.
+     *
+     * @throws LyraException if the remaining tasks cannot be loaded
+     */
+    public void ensureLoaded() throws LyraException {
+        if (loader == null) {
+            return;
+        }
+        compact();
+        tasks = loader.loadRemaining(tasks);
+        loader = null;
+        indexSlots();
+        markFullyChanged();
+        for (TaskIndex index : indexes) {
+            index.rebuild(tasks);
+        }
     }
 
     /**
@@ -36,77 +144,279 @@ public class TaskList {
      *
      * @param task the task to add
      */
+    @Override
     public void addTask(Task task) {
         assert task != null : "task to add must not be null";
-        tasks.add(task);
+        if (task.getId() <= 0 || slotsById.containsKey(task.getId())) {
+            task.setId(nextId++);
+        } else {
+            nextId = Math.max(nextId, task.getId() + 1);
+        }
+        appendSlot(task);
         assert tasks.size() > 0 : "size should increase after adding task";
+        recordChange(TaskChange.Kind.ADDED, getLoadedCount() - 1);
+        history.record(TaskHistory.Edit.added(task, getLoadedCount() - 1));
+        for (TaskIndex index : indexes) {
+            index.taskAdded(task);
+        }
     }
 
     /**
      * Deletes a task at the specified index from the task list.
      *
-     * @param index the index of the task to delete (0-based indexing)
+     * @param index the index of the task to delete as shown to the user (0-based indexing)
      * @return the deleted task
      * @throws LyraException if the index is invalid
      */
+    @Override
     public Task deleteTask(int index) throws LyraException {
-        assert index >= 0 : "index must be non-negative";
-        assert index < tasks.size() : "index must be within list bounds";
-        if (index < 0 || index >= tasks.size()) {
-            throw new LyraException("Invalid task number.");
+        int slot = getSlot(index);
+        Task removed = tasks.get(slot);
+        long generation = slotGeneration;
+        int position = removeSlot(slot);
+        TaskHistory.Edit edit = TaskHistory.Edit.removed(List.of(removed), new int[] {position});
+        edit.slot = slot;
+        edit.slotGeneration = generation;
+        history.record(edit);
+        return removed;
+    }
+
+    /**
+     * Removes every loaded task that matches the given condition, in a single pass.
+     * Tasks that are not loaded yet are left alone.
+     *
+     * @param condition the condition a task must meet to be removed
+     * @return the removed tasks, in list order
+     */
+    @Override
+    public ArrayList<Task> removeTasks(Predicate<Task> condition) {
+        assert condition != null : "condition must not be null";
+        ArrayList<Task> removed = new ArrayList<>();
+        ArrayList<Integer> positions = new ArrayList<>();
+        compact();
+        int kept = 0;
+        for (int i = 0; i < tasks.size(); i++) {
+            Task task = tasks.get(i);
+            if (condition.test(task)) {
+                removed.add(task);
+                positions.add(i);
+                recordChange(TaskChange.Kind.REMOVED, kept);
+                for (TaskIndex index : indexes) {
+                    index.taskRemoved(task);
+                }
+            } else {
+                tasks.set(kept, task);
+                kept++;
+            }
         }
-        return tasks.remove(index);
+        tasks.subList(kept, tasks.size()).clear();
+        if (!removed.isEmpty()) {
+            indexSlots();
+            history.record(TaskHistory.Edit.removed(removed, toArray(positions)));
+        }
+        return removed;
+    }
+
+    /**
+     * Deletes the tasks at the specified indexes in a single pass over the list.
+     * Every index is checked first, so either all of the tasks are deleted or none are.
+     *
+     * @param indexes the indexes of the tasks to delete as shown to the user (0-based indexing)
+     * @return the deleted tasks, in list order
+     * @throws LyraException if any index is invalid
+     */
+    @Override
+    public ArrayList<Task> deleteTasks(List<Integer> indexes) throws LyraException {
+        Set<Task> selected = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (int index : indexes) {
+            selected.add(tasks.get(getSlot(index)));
+        }
+        if (selected.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return removeTasks(selected::contains);
+    }
+
+    /**
+     * Marks the tasks at the specified indexes as done or not done.
+     * Every index is checked first, so either all of the tasks are marked or none are.
+     *
+     * @param indexes the indexes of the tasks to mark as shown to the user (0-based indexing)
+     * @param isDone true to mark the tasks as done, false to mark them as not done
+     * @return the marked tasks, in the order of the indexes
+     * @throws LyraException if any index is invalid
+     */
+    @Override
+    public ArrayList<Task> markTasks(List<Integer> indexes, boolean isDone) throws LyraException {
+        int[] slots = new int[indexes.size()];
+        for (int i = 0; i < slots.length; i++) {
+            slots[i] = getSlot(indexes.get(i));
+        }
+        ArrayList<Task> marked = new ArrayList<>(slots.length);
+        BitSet wasDone = new BitSet(slots.length);
+        for (int i = 0; i < slots.length; i++) {
+            Task task = tasks.get(slots[i]);
+            wasDone.set(i, task.isDone());
+            setStatus(task, slots[i], isDone);
+            marked.add(task);
+        }
+        history.record(TaskHistory.Edit.marked(marked, wasDone, isDone));
+        return marked;
     }
 
     /**
      * Marks a task at the specified index as done.
      *
-     * @param index the index of the task to mark (0-based indexing)
+     * @param index the index of the task to mark as shown to the user (0-based indexing)
+     * @return the marked task
      * @throws LyraException if the index is invalid
      */
-    public void markTaskAsDone(int index) throws LyraException {
-        assert index >= 0 : "index must be non-negative";
-        assert index < tasks.size() : "index must be within list bounds";
-        if (index < 0 || index >= tasks.size()) {
-            throw new LyraException("Invalid task number.");
-        }
-        tasks.get(index).markAsDone();
-        assert tasks.get(index).isDone() : "task should be marked done";
+    @Override
+    public Task markTaskAsDone(int index) throws LyraException {
+        return markTasks(List.of(index), true).get(0);
     }
 
     /**
      * Marks a task at the specified index as not done.
      *
-     * @param index the index of the task to unmark (0-based indexing)
+     * @param index the index of the task to unmark as shown to the user (0-based indexing)
+     * @return the unmarked task
      * @throws LyraException if the index is invalid
      */
-    public void markTaskAsNotDone(int index) throws LyraException {
-        assert index >= 0 : "index must be non-negative";
-        assert index < tasks.size() : "index must be within list bounds";
-        if (index < 0 || index >= tasks.size()) {
-            throw new LyraException("Invalid task number.");
+    @Override
+    public Task markTaskAsNotDone(int index) throws LyraException {
+        return markTasks(List.of(index), false).get(0);
+    }
+
+    /**
+     * Gets the position in list order of a task, given its index as shown to the user.
+     * The two only differ while the list is shown sorted.
+     *
+     * @param index the index of the task as shown to the user (0-based indexing)
+     * @return the position of the task in list order (0-based indexing)
+     * @throws LyraException if the index is invalid or tasks cannot be loaded
+     */
+    @Override
+    public int getPosition(int index) throws LyraException {
+        return filledSlots.prefixSum(getSlot(index));
+    }
+
+    /**
+     * Gets the index, as shown to the user, of the task with the given ID.
+     *
+     * @param id the ID of the task
+     * @return the index of the task as shown to the user (0-based indexing)
+     * @throws LyraException if no task has that ID or tasks cannot be loaded
+     */
+    @Override
+    public int getIndexOfId(int id) throws LyraException {
+        ensureLoaded();
+        Integer slot = slotsById.get(id);
+        if (slot == null) {
+            throw new LyraException("There is no task with ID #" + id + ".");
         }
-        tasks.get(index).markAsNotDone();
-        assert !tasks.get(index).isDone() : "task should be marked not done";
+        return shownView == null ? filledSlots.prefixSum(slot) : shownView.indexOf(tasks.get(slot));
     }
 
     /**
      * Gets the list of all tasks.
+     * The list must be fully loaded, see ensureLoaded().
+     * While the slots of deleted tasks are still in place the tasks are copied into a new list
+     * rather than dropping the slots, since renumbering the slots would keep the next snapshot
+     * from sharing any chunk with the one before.
      *
      * @return the list of tasks
      */
+    @Override
     public ArrayList<Task> getTasks() {
         assert tasks != null : "tasks list should never be null";
-        return tasks;
+        assert loader == null : "tasks must be loaded before they are read";
+        return emptySlotCount == 0 ? tasks : new ArrayList<>(getLoadedTasks());
+    }
+
+    /**
+     * Gets every task in the order they are shown and numbered to the user:
+     * the order of the last sort, or list order if the list has not been sorted.
+     * The list must be fully loaded, see ensureLoaded().
+     *
+     * @return the tasks in the order they are shown
+     */
+    @Override
+    public ArrayList<Task> getShownTasks() {
+        assert loader == null : "tasks must be loaded before they are read";
+        return shownView == null ? getTasks() : shownView.getTasks();
+    }
+
+    /**
+     * Gets the tasks that are currently in memory, which is every task once the list is fully loaded.
+     * The slots of deleted tasks are skipped without being dropped, so saving after a deletion
+     * does not have to move the tasks after it.
+     *
+     * @return a read-only view of the loaded tasks, in list order
+     */
+    public List<Task> getLoadedTasks() {
+        if (emptySlotCount == 0) {
+            return Collections.unmodifiableList(tasks);
+        }
+        return new AbstractList<>() {
+            @Override
+            public Task get(int position) {
+                if (position < 0 || position >= size()) {
+                    throw new IndexOutOfBoundsException("Index: " + position);
+                }
+                return tasks.get(filledSlots.findPosition(position));
+            }
+
+            @Override
+            public int size() {
+                return getLoadedCount();
+            }
+        };
+    }
+
+    /**
+     * Takes an immutable snapshot of the loaded tasks, in list order, with their current status.
+     * The snapshot stays the same however the list changes afterwards, so it can be read from
+     * any thread without locking. It also carries the changes tracked so far, which are kept.
+     *
+     * @return the snapshot
+     */
+    public TaskSnapshot snapshot() {
+        latestSnapshot = new TaskSnapshot(this, tasks, latestSnapshot, changedChunks);
+        changedChunks.clear();
+        return latestSnapshot;
+    }
+
+    /**
+     * Gets the ID the next task added without one will get.
+     * It is above every ID the list has ever given out, including IDs of deleted tasks.
+     *
+     * @return the next ID
+     */
+    @Override
+    public int getNextId() {
+        return nextId;
+    }
+
+    /**
+     * Makes sure no task added from now on is given an ID below the given one, such as when
+     * the IDs up to it were given out before the list was saved and reloaded.
+     *
+     * @param nextId the lowest ID new tasks may get
+     */
+    @Override
+    public void reserveIds(int nextId) {
+        this.nextId = Math.max(this.nextId, nextId);
     }
 
     /**
-     * Gets the number of tasks in the list.
+     * Gets the number of tasks in the list, including tasks that are not loaded yet.
      *
      * @return the size of the task list
      */
+    @Override
     public int getSize() {
-        return tasks.size();
+        return loader == null ? getLoadedCount() : getLoadedCount() + loader.getUnloadedCount();
     }
 
     /**
@@ -114,86 +424,483 @@ public class TaskList {
      *
      * @return true if the list is empty, false otherwise
      */
+    @Override
     public boolean isEmpty() {
-        return tasks.isEmpty();
+        return getSize() == 0;
     }
 
-    public void sortByDescription() {
-        tasks.sort(Comparator.comparing(task -> task.getDescription().toLowerCase()));
+    /**
+     * Gets the inverted word index over the task descriptions.
+     * The index is built on first use and kept up to date from then on.
+     * The list must be fully loaded, see ensureLoaded().
+     *
+     * @return the word index
+     */
+    public TokenIndex getTokenIndex() {
+        assert loader == null : "tasks must be loaded before they are indexed";
+        if (tokenIndex == null) {
+            tokenIndex = new TokenIndex();
+            tokenIndex.rebuild(getTasks());
+            indexes.add(tokenIndex);
+        }
+        return tokenIndex;
     }
 
-    public void sortByDeadline() {
-        tasks.sort((task1, task2) -> {
-            LocalDate date1 = getDeadlineDate(task1);
-            LocalDate date2 = getDeadlineDate(task2);
-            
-            if (date1 != null && date2 != null) {
-                return date1.compareTo(date2);
+    /**
+     * Gets the trigram index used for substring searches over the task descriptions.
+     * The index is built on first use and kept up to date from then on.
+     * The list must be fully loaded, see ensureLoaded().
+     *
+     * @return the trigram index
+     */
+    public TrigramIndex getTrigramIndex() {
+        assert loader == null : "tasks must be loaded before they are indexed";
+        if (trigramIndex == null) {
+            trigramIndex = new TrigramIndex();
+            trigramIndex.rebuild(getTasks());
+            indexes.add(trigramIndex);
+        }
+        return trigramIndex;
+    }
+
+    /**
+     * Gets the index of Deadline tasks by deadline date.
+     * The index is built on first use and kept up to date from then on.
+     * The list must be fully loaded, see ensureLoaded().
+     *
+     * @return the deadline index
+     */
+    public DeadlineIndex getDeadlineIndex() {
+        assert loader == null : "tasks must be loaded before they are indexed";
+        if (deadlineIndex == null) {
+            deadlineIndex = new DeadlineIndex();
+            deadlineIndex.rebuild(getTasks());
+            indexes.add(deadlineIndex);
+        }
+        return deadlineIndex;
+    }
+
+    /**
+     * Gets the interval tree of Event tasks by their dates.
+     * The index is built on first use and kept up to date from then on.
+     * The list must be fully loaded, see ensureLoaded().
+     *
+     * @return the event index
+     */
+    public EventIndex getEventIndex() {
+        assert loader == null : "tasks must be loaded before they are indexed";
+        if (eventIndex == null) {
+            eventIndex = new EventIndex();
+            eventIndex.rebuild(getTasks());
+            indexes.add(eventIndex);
+        }
+        return eventIndex;
+    }
+
+    /**
+     * Undoes the latest change made through this list that has not been undone yet.
+     *
+     * @return a description of the change that was undone, e.g. "deleting [T][ ] read book"
+     * @throws LyraException if there is nothing to undo or tasks cannot be loaded
+     */
+    public String undo() throws LyraException {
+        ensureLoaded();
+        TaskHistory.Edit edit = history.takeUndo();
+        if (edit == null) {
+            throw new LyraException("Nothing to undo.");
+        }
+        restoredChanges.clear();
+        isRestoring = true;
+        switch (edit.kind) {
+            case ADDED:
+                removeEditTasks(edit);
+                break;
+            case REMOVED:
+                restoreEditTasks(edit);
+                break;
+            case MARKED:
+                for (int i = 0; i < edit.tasks.size(); i++) {
+                    Task task = edit.tasks.get(i);
+                    setStatus(task, slotsById.get(task.getId()), edit.wasDone.get(i));
+                }
+                break;
+            default:
+                showSorted(edit.oldCriteria);
+                break;
+        }
+        isRestoring = false;
+        return edit.describe();
+    }
+
+    /**
+     * Redoes the latest change that was undone, unless another change was made since.
+     *
+     * @return a description of the change that was redone, e.g. "deleting [T][ ] read book"
+     * @throws LyraException if there is nothing to redo or tasks cannot be loaded
+     */
+    public String redo() throws LyraException {
+        ensureLoaded();
+        TaskHistory.Edit edit = history.takeRedo();
+        if (edit == null) {
+            throw new LyraException("Nothing to redo.");
+        }
+        restoredChanges.clear();
+        isRestoring = true;
+        switch (edit.kind) {
+            case ADDED:
+                restoreEditTasks(edit);
+                break;
+            case REMOVED:
+                removeEditTasks(edit);
+                break;
+            case MARKED:
+                for (Task task : edit.tasks) {
+                    setStatus(task, slotsById.get(task.getId()), edit.isDone);
+                }
+                break;
+            default:
+                showSorted(edit.newCriteria);
+                break;
+        }
+        isRestoring = false;
+        return edit.describe();
+    }
+
+    /**
+     * Gets the undo and redo history of this list.
+     *
+     * @return the history
+     */
+    public TaskHistory getHistory() {
+        return history;
+    }
+
+    /**
+     * Gets the changes made through this list since the last call to clearChanges(), in order.
+     * Only meaningful when isFullyChanged() is false.
+     *
+     * @return the tracked changes
+     */
+    public List<TaskChange> getChanges() {
+        return Collections.unmodifiableList(changes);
+    }
+
+    /**
+     * Gets the changes the latest undo or redo made to the list, in order, such as for writing
+     * them to a journal one by one. Each position is the one in list order at the time of the
+     * change. These are kept apart from getChanges(), and whatever clearChanges() does.
+     *
+     * @return the changes, empty if the latest undo or redo only changed the order tasks are shown in
+     */
+    public List<TaskChange> getRestoredChanges() {
+        return Collections.unmodifiableList(restoredChanges);
+    }
+
+    /**
+     * Checks if the list has changed in a way that was not tracked change by change.
+     * This is the case for a new list, after loading the rest of the list, and after too many changes.
+     *
+     * @return true if every task should be considered changed
+     */
+    public boolean isFullyChanged() {
+        return isFullyChanged;
+    }
+
+    /**
+     * Forgets the tracked changes, typically once the list has been saved.
+     */
+    public void clearChanges() {
+        changes.clear();
+        isFullyChanged = false;
+    }
+
+    private void recordChange(TaskChange.Kind kind, int index) {
+        if (isRestoring) {
+            restoredChanges.add(new TaskChange(kind, index));
+        }
+        if (isFullyChanged) {
+            return;
+        }
+        if (changes.size() >= MAX_TRACKED_CHANGES) {
+            markFullyChanged();
+            return;
+        }
+        changes.add(new TaskChange(kind, index));
+    }
+
+    private void markFullyChanged() {
+        changes.clear();
+        isFullyChanged = true;
+    }
+
+    private int getLoadedCount() {
+        return tasks.size() - emptySlotCount;
+    }
+
+    /**
+     * Gets the slot of a task, given its index as shown to the user.
+     */
+    private int getSlot(int index) throws LyraException {
+        ensureLoaded();
+        assert index >= 0 : "index must be non-negative";
+        assert index < getLoadedCount() : "index must be within list bounds";
+        if (index < 0 || index >= getLoadedCount()) {
+            throw new LyraException("Invalid task number.");
+        }
+        if (shownView != null) {
+            return slotsById.get(shownView.get(index).getId());
+        }
+        return emptySlotCount == 0 ? index : filledSlots.findPosition(index);
+    }
+
+    /**
+     * Drops the slots of deleted tasks, so that slots match positions in list order again.
+     */
+    private void compact() {
+        if (emptySlotCount == 0) {
+            return;
+        }
+        tasks.removeIf(Objects::isNull);
+        indexSlots();
+    }
+
+    /**
+     * Rebuilds the map from IDs to slots and the count of filled slots, giving an ID to every
+     * task that has none or shares it with an earlier task. Tasks keep the IDs they have
+     * whenever possible, so new IDs only go to tasks that need them, above every ID in use.
+     */
+    private void indexSlots() {
+        slotsById.clear();
+        int[] filled = new int[tasks.size()];
+        ArrayList<Integer> slotsWithoutIds = new ArrayList<>();
+        for (int slot = 0; slot < tasks.size(); slot++) {
+            Task task = tasks.get(slot);
+            if (task == null) {
+                continue;
             }
-            if (date1 != null) {
-                return -1;
+            filled[slot] = 1;
+            if (task.getId() > 0 && !slotsById.containsKey(task.getId())) {
+                slotsById.put(task.getId(), slot);
+                nextId = Math.max(nextId, task.getId() + 1);
+            } else {
+                slotsWithoutIds.add(slot);
             }
-            if (date2 != null) {
-                return 1;
+        }
+        for (int slot : slotsWithoutIds) {
+            tasks.get(slot).setId(nextId);
+            slotsById.put(nextId++, slot);
+        }
+        emptySlotCount = tasks.size() - slotsById.size();
+        filledSlots = new FenwickTree(filled, Math.max(16, tasks.size() * 2));
+        slotGeneration++;
+        latestSnapshot = null;
+        changedChunks.clear();
+    }
+
+    /**
+     * Puts a task in a new slot after every other slot.
+     */
+    private void appendSlot(Task task) {
+        int slot = tasks.size();
+        tasks.add(task);
+        if (slot >= filledSlots.getCapacity()) {
+            indexSlots();
+        } else {
+            filledSlots.add(slot, 1);
+            slotsById.put(task.getId(), slot);
+            slotChanged(slot);
+        }
+    }
+
+    /**
+     * Notes that a slot changed, so that the next snapshot copies its chunk again.
+     */
+    private void slotChanged(int slot) {
+        changedChunks.set(slot / TaskSnapshot.CHUNK_SLOTS);
+    }
+
+    /**
+     * Empties the slot of a task, dropping every empty slot if enough have piled up.
+     *
+     * @return the position the task had in list order
+     */
+    private int removeSlot(int slot) {
+        int position = filledSlots.prefixSum(slot);
+        Task removed = tasks.set(slot, null);
+        filledSlots.add(slot, -1);
+        emptySlotCount++;
+        slotsById.remove(removed.getId());
+        slotChanged(slot);
+        recordChange(TaskChange.Kind.REMOVED, position);
+        for (TaskIndex taskIndex : indexes) {
+            taskIndex.taskRemoved(removed);
+        }
+        if (emptySlotCount >= MIN_COMPACT_DELETIONS && emptySlotCount * 2 > tasks.size()) {
+            compact();
+        }
+        return position;
+    }
+
+    private void setStatus(Task task, int slot, boolean isDone) {
+        if (isDone) {
+            task.markAsDone();
+        } else {
+            task.markAsNotDone();
+        }
+        assert task.isDone() == isDone : "task should have the new status";
+        slotChanged(slot);
+        taskUpdated(task, slot);
+    }
+
+    /**
+     * Removes the tasks of an edit again, remembering where they were so they can be restored.
+     */
+    private void removeEditTasks(TaskHistory.Edit edit) {
+        int count = edit.tasks.size();
+        int[] positions = new int[count];
+        for (int i = 0; i < count; i++) {
+            positions[i] = filledSlots.prefixSum(slotsById.get(edit.tasks.get(i).getId()));
+            assert i == 0 || positions[i - 1] < positions[i] : "tasks of an edit must be in list order";
+        }
+        edit.slot = -1;
+        // Last task first, so that every recorded position is the one the task had before the edit
+        for (int i = count - 1; i >= 0; i--) {
+            int slot = slotsById.get(edit.tasks.get(i).getId());
+            if (count == 1) {
+                edit.slot = slot;
+                edit.slotGeneration = slotGeneration;
             }
-            return 0;
-        });
+            removeSlot(slot);
+        }
+        edit.positions = positions;
     }
 
-    public void sortByEventStart() {
-        tasks.sort((task1, task2) -> {
-            LocalDate date1 = getEventStartDate(task1);
-            LocalDate date2 = getEventStartDate(task2);
-            
-            if (date1 != null && date2 != null) {
-                return date1.compareTo(date2);
+    /**
+     * Puts the tasks of an edit back where they were. A single task goes back into the slot it
+     * left if that slot is still empty, and tasks that were last in the list are appended; only
+     * otherwise is the list rebuilt around them. Each index puts the tasks back where they were
+     * if it still remembers, since it keeps tasks with equal keys in list order; tasks it forgot
+     * are added to it if they end up last, and it is rebuilt otherwise.
+     */
+    private void restoreEditTasks(TaskHistory.Edit edit) {
+        int count = edit.tasks.size();
+        boolean isAtEnd = edit.positions[0] == getLoadedCount();
+        if (count == 1 && edit.slot >= 0 && edit.slotGeneration == slotGeneration
+                && edit.slot < tasks.size() && tasks.get(edit.slot) == null) {
+            Task task = edit.tasks.get(0);
+            tasks.set(edit.slot, task);
+            filledSlots.add(edit.slot, 1);
+            emptySlotCount--;
+            slotsById.put(task.getId(), edit.slot);
+            slotChanged(edit.slot);
+            assert filledSlots.prefixSum(edit.slot) == edit.positions[0] : "slot must match the position";
+        } else if (isAtEnd) {
+            for (Task task : edit.tasks) {
+                appendSlot(task);
             }
-            if (date1 != null) {
-                return -1;
+        } else {
+            compact();
+            ArrayList<Task> merged = new ArrayList<>(tasks.size() + count);
+            int next = 0;
+            for (int i = 0; i < count; i++) {
+                assert edit.positions[i] - i <= tasks.size() : "position must be within the list";
+                while (merged.size() < edit.positions[i]) {
+                    merged.add(tasks.get(next++));
+                }
+                merged.add(edit.tasks.get(i));
+            }
+            merged.addAll(tasks.subList(next, tasks.size()));
+            tasks = merged;
+            indexSlots();
+        }
+        for (int position : edit.positions) {
+            recordChange(TaskChange.Kind.ADDED, position);
+        }
+        for (TaskIndex index : indexes) {
+            int restored = 0;
+            while (restored < count && index.taskRestored(edit.tasks.get(restored))) {
+                restored++;
             }
-            if (date2 != null) {
-                return 1;
+            if (restored < count && isAtEnd) {
+                for (Task task : edit.tasks.subList(restored, count)) {
+                    index.taskAdded(task);
+                }
+            } else if (restored < count) {
+                index.rebuild(getTasks());
             }
-            return 0;
-        });
+        }
     }
 
-    public void sortByType() {
-        tasks.sort((task1, task2) -> {
-            int type1 = getTaskTypeOrder(task1);
-            int type2 = getTaskTypeOrder(task2);
-            return Integer.compare(type1, type2);
-        });
+    private static int[] toArray(List<Integer> values) {
+        int[] array = new int[values.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = values.get(i);
+        }
+        return array;
     }
 
-    public void sortByStatus() {
-        tasks.sort((task1, task2) -> {
-            return Boolean.compare(task1.isDone(), task2.isDone());
-        });
+    private void taskUpdated(Task task, int slot) {
+        recordChange(TaskChange.Kind.UPDATED, filledSlots.prefixSum(slot));
+        for (TaskIndex index : indexes) {
+            index.taskUpdated(task);
+        }
     }
 
-    private LocalDate getDeadlineDate(Task task) {
-        if (task instanceof Deadline) {
-            return ((Deadline) task).getBy();
+    /**
+     * Shows the tasks sorted by the given criteria from now on, leaving list order as it is.
+     * The view for each criteria is built on first use and kept up to date from then on,
+     * so sorting again by the same criteria costs nothing.
+     */
+    private void sortTasks(String criteria) {
+        assert loader == null : "tasks must be loaded before sorting";
+        if (!criteria.equals(shownCriteria)) {
+            history.record(TaskHistory.Edit.sorted(shownCriteria, criteria));
         }
-        return null;
+        showSorted(criteria);
     }
 
-    private LocalDate getEventStartDate(Task task) {
-        if (task instanceof Event) {
-            return ((Event) task).getFrom();
+    /**
+     * Shows the tasks sorted by the given criteria, or in list order if it is null.
+     */
+    private void showSorted(String criteria) {
+        shownCriteria = criteria;
+        if (criteria == null) {
+            shownView = null;
+            return;
+        }
+        SortedView<?> view = sortedViews.get(criteria);
+        if (view == null) {
+            view = SortedView.forCriteria(criteria);
+            assert view != null : "criteria must be known";
+            view.rebuild(getTasks());
+            sortedViews.put(criteria, view);
+            indexes.add(view);
         }
-        return null;
+        shownView = view;
     }
 
-    private int getTaskTypeOrder(Task task) {
-        if (task instanceof Todo) {
-            return 0;
-        } else if (task instanceof Deadline) {
-            return 1;
-        } else if (task instanceof Event) {
-            return 2;
-        }
-        return 3;
+    @Override
+    public void sortByDescription() {
+        sortTasks("description");
+    }
+
+    @Override
+    public void sortByDeadline() {
+        sortTasks("deadline");
+    }
+
+    @Override
+    public void sortByEventStart() {
+        sortTasks("event");
+    }
+
+    @Override
+    public void sortByType() {
+        sortTasks("type");
+    }
+
+    @Override
+    public void sortByStatus() {
+        sortTasks("status");
     }
 }
@@ -0,0 +1,37 @@
+package lyra.task;
+
+import lyra.exception.LyraException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Supplies the tasks of a TaskList that were not loaded when the list was created.
+ * Used by storage that loads only part of the tasks at startup.
+ */
+public interface TaskLoader {
+
+    /**
+     * Gets the number of tasks that have not been loaded yet.
+     *
+     * @return the number of unloaded tasks
+     */
+    int getUnloadedCount();
+
+    /**
+     * Gets a task ID above the ID of every task that has not been loaded yet,
+     * so that tasks added in the meantime get IDs of their own.
+     *
+     * @return the lowest ID that is free for new tasks, or 0 if the tasks not loaded yet have no IDs
+     */
+    int getNextId();
+
+    /**
+     * Loads every remaining task and merges it with the tasks already in memory.
+     *
+     * @param loadedTasks the tasks already in the list, in list order
+     * @return every task, in list order
+     * @throws LyraException if the remaining tasks cannot be loaded
+     */
+    ArrayList<Task> loadRemaining(List<Task> loadedTasks) throws LyraException;
+}
@@ -0,0 +1,243 @@
+package lyra.task;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An immutable view of the tasks of a TaskList as they were at one moment, which other threads,
+ * such as a background save, can read without locking while the list keeps changing.
+ *
+ * The slots of the list are split into chunks of CHUNK_SLOTS slots, and a snapshot is an array of
+ * immutable chunks. The list remembers which chunks it changed since its latest snapshot, so
+ * taking the next one only copies the tasks of those chunks and shares every other chunk with
+ * the snapshot before it; the cost is one reference per chunk plus the changed chunks, however
+ * long the list. Renumbering the slots, such as when deleted slots are dropped, starts afresh.
+ *
+ * Tasks are shared with the list rather than copied, so that they keep their identity. The only
+ * part of a task that changes once it is in a list is its status, so each chunk also records the
+ * status every task had when the chunk was copied; readers must use isDone(int) rather than
+ * asking the task.
+ *
+ * A snapshot taken for saving also carries the changes the list tracked since its last save,
+ * so that the save only has to re-serialize the affected tasks.
+ */
+public class TaskSnapshot extends AbstractList<Task> {
+    static final int CHUNK_SLOTS = 256;
+
+    // Chunk k holds the tasks of slots k * CHUNK_SLOTS up to (k + 1) * CHUNK_SLOTS, in list order
+    private final Chunk[] chunks;
+    // The position in list order of the first task of each chunk
+    private final int[] starts;
+    private final int size;
+    private final boolean isFullyLoaded;
+    // The ID the list would give its next task, or 0 for a plain list of tasks
+    private final int nextId;
+    // The list the snapshot was taken from, or null for a plain list of tasks
+    private final TaskList source;
+    private final List<TaskChange> changes;
+    private final boolean isFullyChanged;
+
+    /**
+     * The tasks of a run of slots and their status, never modified once built.
+     */
+    private static class Chunk {
+        private final Task[] tasks;
+        private final BitSet done;
+
+        private Chunk(List<Task> slots, int from, int to) {
+            ArrayList<Task> filled = new ArrayList<>(to - from);
+            done = new BitSet(to - from);
+            for (int slot = from; slot < to; slot++) {
+                Task task = slots.get(slot);
+                if (task != null) {
+                    done.set(filled.size(), task.isDone());
+                    filled.add(task);
+                }
+            }
+            tasks = filled.toArray(new Task[0]);
+        }
+    }
+
+    /**
+     * Takes a snapshot of the slots of a task list.
+     *
+     * @param source the list the slots belong to
+     * @param slots the slots in list order, null for the slot of a deleted task
+     * @param previous the latest snapshot of the same slots, or null to copy every chunk
+     * @param changedChunks the chunks changed since the previous snapshot was taken
+     */
+    TaskSnapshot(TaskList source, List<Task> slots, TaskSnapshot previous, BitSet changedChunks) {
+        int chunkCount = (slots.size() + CHUNK_SLOTS - 1) / CHUNK_SLOTS;
+        assert previous == null || previous.chunks.length <= chunkCount : "slots must not be dropped";
+        this.chunks = new Chunk[chunkCount];
+        this.starts = new int[chunkCount];
+        int position = 0;
+        for (int k = 0; k < chunkCount; k++) {
+            if (previous != null && k < previous.chunks.length && !changedChunks.get(k)) {
+                chunks[k] = previous.chunks[k];
+            } else {
+                chunks[k] = new Chunk(slots, k * CHUNK_SLOTS, Math.min(slots.size(), (k + 1) * CHUNK_SLOTS));
+            }
+            starts[k] = position;
+            position += chunks[k].tasks.length;
+        }
+        this.size = position;
+        this.source = source;
+        this.isFullyLoaded = source == null || source.isFullyLoaded();
+        this.nextId = source == null ? 0 : source.getNextId();
+        this.changes = source == null ? List.of() : List.copyOf(source.getChanges());
+        this.isFullyChanged = source == null || source.isFullyChanged();
+    }
+
+    private TaskSnapshot(TaskSnapshot snapshot, List<TaskChange> changes, boolean isFullyChanged) {
+        this.chunks = snapshot.chunks;
+        this.starts = snapshot.starts;
+        this.size = snapshot.size;
+        this.isFullyLoaded = snapshot.isFullyLoaded;
+        this.nextId = snapshot.nextId;
+        this.source = snapshot.source;
+        this.changes = changes;
+        this.isFullyChanged = isFullyChanged;
+    }
+
+    /**
+     * Takes a snapshot of a plain list of tasks, which is not tied to any TaskList and
+     * counts as fully changed.
+     *
+     * @param tasks the tasks, in list order
+     * @return the snapshot
+     */
+    public static TaskSnapshot of(List<Task> tasks) {
+        assert tasks != null : "tasks must not be null";
+        return new TaskSnapshot(null, tasks, null, new BitSet());
+    }
+
+    @Override
+    public Task get(int position) {
+        int k = findChunk(position);
+        return chunks[k].tasks[position - starts[k]];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks if a task was done when the snapshot was taken.
+     *
+     * @param position the position of the task in list order (0-based indexing)
+     * @return true if the task was marked as done at the time
+     */
+    public boolean isDone(int position) {
+        int k = findChunk(position);
+        return chunks[k].done.get(position - starts[k]);
+    }
+
+    /**
+     * Checks if the snapshot holds every task of the list, rather than only the tasks that
+     * were loaded at the time.
+     *
+     * @return true if no tasks were left to be loaded
+     */
+    public boolean isFullyLoaded() {
+        return isFullyLoaded;
+    }
+
+    /**
+     * Gets the ID the list would have given its next task when the snapshot was taken, which
+     * may be above every ID in the snapshot if the tasks with the highest IDs were deleted.
+     *
+     * @return the next ID, or 0 for a snapshot of a plain list of tasks
+     */
+    public int getNextId() {
+        return nextId;
+    }
+
+    /**
+     * Gets the changes the list had tracked when the snapshot was taken, in order.
+     * Only meaningful when isFullyChanged() is false.
+     *
+     * @return the tracked changes
+     */
+    public List<TaskChange> getChanges() {
+        return changes;
+    }
+
+    /**
+     * Checks if the list had changed in a way that was not tracked change by change.
+     *
+     * @return true if every task should be considered changed
+     */
+    public boolean isFullyChanged() {
+        return isFullyChanged;
+    }
+
+    /**
+     * Checks if this snapshot and another one were taken from the same TaskList.
+     *
+     * @param other the other snapshot, or null
+     * @return true if both were taken from the same list
+     */
+    public boolean isOfSameList(TaskSnapshot other) {
+        return other != null && source != null && source == other.source;
+    }
+
+    /**
+     * Gets this snapshot with the changes carried by an earlier snapshot of the same list put
+     * before its own, for when the earlier snapshot is dropped without being saved.
+     * The tasks are shared, not copied.
+     *
+     * @param earlier the earlier snapshot
+     * @return a snapshot of the same tasks carrying the changes of both
+     */
+    public TaskSnapshot withEarlierChanges(TaskSnapshot earlier) {
+        if (!isOfSameList(earlier) || earlier.isFullyChanged || isFullyChanged) {
+            return new TaskSnapshot(this, List.of(), true);
+        }
+        ArrayList<TaskChange> merged = new ArrayList<>(earlier.changes.size() + changes.size());
+        merged.addAll(earlier.changes);
+        merged.addAll(changes);
+        return new TaskSnapshot(this, Collections.unmodifiableList(merged), false);
+    }
+
+    /**
+     * Counts the chunks this snapshot shares with another one rather than holding a copy of its own.
+     *
+     * @param other the other snapshot
+     * @return the number of shared chunks
+     */
+    int countSharedChunks(TaskSnapshot other) {
+        int shared = 0;
+        for (int k = 0; k < Math.min(chunks.length, other.chunks.length); k++) {
+            if (chunks[k] == other.chunks[k]) {
+                shared++;
+            }
+        }
+        return shared;
+    }
+
+    /**
+     * Finds the chunk holding the task at the given position: the last chunk starting at or
+     * before it, which is never an empty chunk for a position within the snapshot.
+     */
+    private int findChunk(int position) {
+        if (position < 0 || position >= size) {
+            throw new IndexOutOfBoundsException("Index: " + position);
+        }
+        int low = 0;
+        int high = chunks.length - 1;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (starts[middle] <= position) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+}
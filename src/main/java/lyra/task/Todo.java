@@ -30,7 +30,18 @@ public class Todo extends Task {
      * @return string representation suitable for data storage
      */
     public String toDataString() {
-        return String.join(" | ", typeCode(), this.isDone ? "1" : "0", this.description);
+        return toDataString(this.isDone);
+    }
+
+    /**
+     * Converts the Todo task to a data string with the given status rather than its current one,
+     * such as the status recorded in a TaskSnapshot.
+     *
+     * @param isDone the status to write
+     * @return string representation suitable for data storage
+     */
+    public String toDataString(boolean isDone) {
+        return String.join(" | ", typeCode(), isDone ? "1" : "0", this.description);
     }
 
     /**
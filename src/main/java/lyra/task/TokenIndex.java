@@ -0,0 +1,350 @@
+package lyra.task;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+
+/**
+ * An inverted index from the words in task descriptions to the tasks containing them.
+ * Descriptions are split into lowercase tokens of letters and digits, and each token maps to
+ * the posting list of the tasks containing it.
+ *
+ * Tokens are kept in a sorted map, so a prefix query is a range scan over the tokens that
+ * start with the prefix.
+ *
+ * The index also keeps the statistics BM25 ranking needs: the number of tasks containing a
+ * token is the size of its posting list, and the total number of tokens over all descriptions
+ * is updated as tasks come and go, so ranking never has to look at tasks that do not match.
+ *
+ * Typo-tolerant searches walk the sorted tokens with EditDistance, which skips every token
+ * whose prefix is already too far from the search word.
+ */
+public class TokenIndex extends PostingIndex<String> {
+    // String object plus its backing byte array, before the characters themselves
+    private static final int STRING_OVERHEAD_BYTES = 40;
+    // Usual BM25 parameters: how quickly repeated words stop adding to the score,
+    // and how much long descriptions are penalised
+    private static final double BM25_K1 = 1.2;
+    private static final double BM25_B = 0.75;
+
+    private final TreeMap<String, PostingList> tokens;
+    private long totalTokenCount;
+
+    /**
+     * A task serial number with its ranking score.
+     */
+    private static class ScoredSerial {
+        private final double score;
+        private final int serial;
+
+        private ScoredSerial(double score, int serial) {
+            this.score = score;
+            this.serial = serial;
+        }
+    }
+
+    /**
+     * Constructs a new, empty TokenIndex.
+     */
+    public TokenIndex() {
+        this(new TreeMap<>());
+    }
+
+    private TokenIndex(TreeMap<String, PostingList> tokens) {
+        super(tokens);
+        this.tokens = tokens;
+    }
+
+    /**
+     * Splits text into lowercase tokens made of letters and digits.
+     *
+     * @param text the text to tokenize
+     * @return the tokens, in order of appearance
+     */
+    public static List<String> tokenize(String text) {
+        ArrayList<String> tokens = new ArrayList<>();
+        String lower = text.toLowerCase();
+        int start = -1;
+        for (int i = 0; i < lower.length(); i++) {
+            if (Character.isLetterOrDigit(lower.charAt(i))) {
+                if (start < 0) {
+                    start = i;
+                }
+            } else if (start >= 0) {
+                tokens.add(lower.substring(start, i));
+                start = -1;
+            }
+        }
+        if (start >= 0) {
+            tokens.add(lower.substring(start));
+        }
+        return tokens;
+    }
+
+    /**
+     * Checks if a description contains every term as a whole word, or as the start of a word.
+     * Gives the same answer as the index, for text that is not in the index.
+     *
+     * @param description the description to check
+     * @param terms the lowercase terms to look for
+     * @param isPrefix true if a term only has to start a word
+     * @return true if every term matches a word of the description
+     */
+    public static boolean matches(String description, List<String> terms, boolean isPrefix) {
+        List<String> tokens = tokenize(description);
+        for (String term : terms) {
+            boolean isFound = false;
+            for (String token : tokens) {
+                if (isPrefix ? token.startsWith(term) : token.equals(term)) {
+                    isFound = true;
+                    break;
+                }
+            }
+            if (!isFound) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks if a description contains, for every term, a word at most getMaxTypos() edits away.
+     * Gives the same answer as findFuzzy(), for text that is not in the index.
+     *
+     * @param description the description to check
+     * @param terms the lowercase terms to look for
+     * @return true if every term is close to a word of the description
+     */
+    public static boolean matchesFuzzy(String description, List<String> terms) {
+        List<String> tokens = tokenize(description);
+        for (String term : terms) {
+            boolean isFound = false;
+            for (String token : tokens) {
+                if (EditDistance.between(term, token) <= getMaxTypos(term)) {
+                    isFound = true;
+                    break;
+                }
+            }
+            if (!isFound) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    protected Collection<String> keysOf(Task task) {
+        return tokenize(task.getDescription());
+    }
+
+    /**
+     * Gets the number of typos a fuzzy search forgives in a word. Short words get fewer,
+     * since one or two edits turn them into almost any other short word.
+     *
+     * @param word the word being searched for
+     * @return the largest edit distance allowed
+     */
+    public static int getMaxTypos(String word) {
+        if (word.length() <= 2) {
+            return 0;
+        }
+        return word.length() <= 5 ? 1 : 2;
+    }
+
+    @Override
+    public void rebuild(List<Task> tasks) {
+        totalTokenCount = 0;
+        super.rebuild(tasks);
+    }
+
+    @Override
+    public void taskAdded(Task task) {
+        totalTokenCount += tokenize(task.getDescription()).size();
+        super.taskAdded(task);
+    }
+
+    @Override
+    public boolean taskRestored(Task task) {
+        if (!super.taskRestored(task)) {
+            return false;
+        }
+        totalTokenCount += tokenize(task.getDescription()).size();
+        return true;
+    }
+
+    @Override
+    public void taskRemoved(Task task) {
+        if (contains(task)) {
+            totalTokenCount -= tokenize(task.getDescription()).size();
+        }
+        super.taskRemoved(task);
+    }
+
+    @Override
+    public long estimateMemoryBytes() {
+        long bytes = super.estimateMemoryBytes();
+        for (String token : tokens.keySet()) {
+            bytes += STRING_OVERHEAD_BYTES + token.length();
+        }
+        return bytes;
+    }
+
+    /**
+     * Gets the serial numbers of the tasks containing a word.
+     * The list belongs to the index and must not be modified.
+     *
+     * @param word the lowercase word to look up
+     * @return the posting list of the word
+     */
+    public PostingList getWordPostings(String word) {
+        return getPostings(word);
+    }
+
+    /**
+     * Gets the serial numbers of the tasks containing a word that starts with the prefix.
+     *
+     * @param prefix the lowercase prefix to look up
+     * @return the serial numbers of the matching tasks
+     */
+    public PostingList getPrefixPostings(String prefix) {
+        PostingList result = new PostingList();
+        for (PostingList list : tokens.subMap(prefix, true, prefix + Character.MAX_VALUE, true).values()) {
+            result = result.union(list);
+        }
+        return result;
+    }
+
+    /**
+     * Finds the tasks whose descriptions contain every given word.
+     *
+     * @param words the lowercase words to look for
+     * @return the matching tasks, in list order
+     */
+    public ArrayList<Task> findWords(List<String> words) {
+        if (words.isEmpty()) {
+            return new ArrayList<>();
+        }
+        ArrayList<PostingList> lists = new ArrayList<>();
+        for (String word : words) {
+            lists.add(getWordPostings(word));
+        }
+        return getTasks(PostingList.intersectAll(lists));
+    }
+
+    /**
+     * Finds the tasks whose descriptions contain, for every given prefix, a word starting with it.
+     *
+     * @param prefixes the lowercase prefixes to look for
+     * @return the matching tasks, in list order
+     */
+    public ArrayList<Task> findPrefixes(List<String> prefixes) {
+        if (prefixes.isEmpty()) {
+            return new ArrayList<>();
+        }
+        ArrayList<PostingList> lists = new ArrayList<>();
+        for (String prefix : prefixes) {
+            lists.add(getPrefixPostings(prefix));
+        }
+        return getTasks(PostingList.intersectAll(lists));
+    }
+
+    /**
+     * Finds the tasks containing any of the given words and keeps the best few by BM25 score.
+     * Only the limit best tasks are kept in a heap while scoring, so the matches are never sorted
+     * as a whole. Tasks with equal scores keep their list order.
+     *
+     * @param words the lowercase words to look for
+     * @param limit the largest number of tasks to return
+     * @return the best-scoring tasks, best first, and the number of matching tasks
+     */
+    public RankedMatches findRanked(List<String> words, int limit) {
+        assert limit > 0 : "limit must be positive";
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(words));
+        PostingList matches = new PostingList();
+        double[] weights = new double[terms.size()];
+        int taskCount = getTaskCount();
+        for (int i = 0; i < terms.size(); i++) {
+            PostingList list = getWordPostings(terms.get(i));
+            matches = matches.union(list);
+            int containing = list.size();
+            weights[i] = Math.log(1 + (taskCount - containing + 0.5) / (containing + 0.5));
+        }
+        double averageLength = taskCount == 0 ? 1 : Math.max(1.0, (double) totalTokenCount / taskCount);
+
+        // The worst kept task sits at the head: lowest score, and latest in the list among equals
+        PriorityQueue<ScoredSerial> best = new PriorityQueue<>(limit + 1, (a, b) -> a.score != b.score
+                ? Double.compare(a.score, b.score) : Integer.compare(b.serial, a.serial));
+        for (int i = 0; i < matches.size(); i++) {
+            int serial = matches.get(i);
+            double score = score(getTask(serial), terms, weights, averageLength);
+            if (best.size() < limit) {
+                best.add(new ScoredSerial(score, serial));
+            } else if (score > best.peek().score) {
+                best.poll();
+                best.add(new ScoredSerial(score, serial));
+            }
+        }
+
+        ArrayList<Task> ranked = new ArrayList<>(best.size());
+        while (!best.isEmpty()) {
+            ranked.add(getTask(best.poll().serial));
+        }
+        Collections.reverse(ranked);
+        return new RankedMatches(ranked, matches.size());
+    }
+
+    /**
+     * Finds the words of the descriptions within the given edit distance of a word.
+     *
+     * @param word the lowercase word to look for
+     * @param maxDistance the largest edit distance allowed
+     * @return the words found, closest first, then the most common first
+     */
+    public List<String> findSimilarWords(String word, int maxDistance) {
+        List<String> similar = EditDistance.findWithin(tokens.navigableKeySet(), word, maxDistance);
+        similar.sort(Comparator.comparingInt((String candidate) -> EditDistance.between(word, candidate))
+                .thenComparing(candidate -> -tokens.get(candidate).size())
+                .thenComparing(Comparator.naturalOrder()));
+        return similar;
+    }
+
+    /**
+     * Finds the tasks whose descriptions contain, for every given word, the word itself or a
+     * word a few typos away from it, as allowed by getMaxTypos().
+     *
+     * @param words the lowercase words to look for
+     * @return the matching tasks, in list order
+     */
+    public ArrayList<Task> findFuzzy(List<String> words) {
+        if (words.isEmpty()) {
+            return new ArrayList<>();
+        }
+        ArrayList<PostingList> lists = new ArrayList<>();
+        for (String word : words) {
+            PostingList list = new PostingList();
+            for (String similar : findSimilarWords(word, getMaxTypos(word))) {
+                list = list.union(tokens.get(similar));
+            }
+            lists.add(list);
+        }
+        return getTasks(PostingList.intersectAll(lists));
+    }
+
+    private static double score(Task task, List<String> terms, double[] weights, double averageLength) {
+        List<String> words = tokenize(task.getDescription());
+        double lengthFactor = BM25_K1 * (1 - BM25_B + BM25_B * words.size() / averageLength);
+        double score = 0;
+        for (int i = 0; i < terms.size(); i++) {
+            int frequency = Collections.frequency(words, terms.get(i));
+            if (frequency > 0) {
+                score += weights[i] * frequency * (BM25_K1 + 1) / (frequency + lengthFactor);
+            }
+        }
+        return score;
+    }
+}
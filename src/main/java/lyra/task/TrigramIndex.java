@@ -0,0 +1,92 @@
+package lyra.task;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+
+/**
+ * An inverted index from every run of three characters in the lowercased task descriptions
+ * to the tasks containing it, used to answer substring searches without scanning every task.
+ *
+ * A description can only contain a keyword if it contains every trigram of the keyword, so
+ * intersecting the keyword's posting lists narrows the search down to a few candidates, which
+ * are then checked with contains(). The results are therefore exactly those of a full scan, in
+ * the same order. Keywords shorter than three characters have no trigrams and are checked
+ * against every task.
+ */
+public class TrigramIndex extends PostingIndex<Long> {
+    private static final int GRAM_LENGTH = 3;
+    // Boxed Long key of each map entry
+    private static final int KEY_BYTES = 16;
+
+    /**
+     * Constructs a new, empty TrigramIndex.
+     */
+    public TrigramIndex() {
+        super(new HashMap<>());
+    }
+
+    /**
+     * Packs the three characters starting at the given position into a single key.
+     *
+     * @param text the text to take the characters from
+     * @param start the position of the first character
+     * @return the trigram key
+     */
+    static long trigramAt(String text, int start) {
+        return ((long) text.charAt(start) << 32) | ((long) text.charAt(start + 1) << 16) | text.charAt(start + 2);
+    }
+
+    @Override
+    protected Collection<Long> keysOf(Task task) {
+        String lower = task.getDescription().toLowerCase();
+        ArrayList<Long> keys = new ArrayList<>(Math.max(0, lower.length() - GRAM_LENGTH + 1));
+        for (int i = 0; i + GRAM_LENGTH <= lower.length(); i++) {
+            keys.add(trigramAt(lower, i));
+        }
+        return keys;
+    }
+
+    @Override
+    public long estimateMemoryBytes() {
+        return super.estimateMemoryBytes() + (long) KEY_BYTES * getKeyCount();
+    }
+
+    /**
+     * Gets the serial numbers of the tasks whose lowercased description contains the given text.
+     *
+     * @param needle the lowercase text to look for
+     * @return the serial numbers of the matching tasks
+     */
+    public PostingList getSubstringPostings(String needle) {
+        PostingList candidates;
+        if (needle.length() < GRAM_LENGTH) {
+            candidates = getAllSerials();
+        } else {
+            ArrayList<PostingList> lists = new ArrayList<>();
+            for (int i = 0; i + GRAM_LENGTH <= needle.length(); i++) {
+                lists.add(getPostings(trigramAt(needle, i)));
+            }
+            candidates = PostingList.intersectAll(lists);
+        }
+
+        PostingList matches = new PostingList();
+        for (int i = 0; i < candidates.size(); i++) {
+            int serial = candidates.get(i);
+            if (getTask(serial).getDescription().toLowerCase().contains(needle)) {
+                matches.add(serial);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Finds the tasks whose lowercased description contains the given text.
+     *
+     * @param needle the lowercase text to look for
+     * @return the matching tasks, in list order
+     */
+    public ArrayList<Task> find(String needle) {
+        return getTasks(getSubstringPostings(needle));
+    }
+}
@@ -0,0 +1,340 @@
+package lyra.util;
+
+import lyra.task.Deadline;
+import lyra.task.Event;
+import lyra.task.Task;
+import lyra.task.Todo;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Reads and writes the binary data file format.
+ * The file starts with the magic "LYRB", a version byte, the number of tasks and the ID the
+ * task list would give its next task, or 0 if unknown. Keeping that ID means the IDs of deleted
+ * tasks are not given out again after a restart.
+ * Each task then follows as:
+ * - a type byte ('T', 'D' or 'E') and a done flag byte (0 or 1)
+ * - the ID of the task as an int, 0 if it has none
+ * - for a Deadline, the epoch day of its deadline as an int
+ * - for an Event, the epoch days of its start and end as ints
+ * - the length of the UTF-8 description as an int, followed by its bytes
+ *
+ * Version 1 files, written before tasks had IDs, have no ID field, and version 2 files have
+ * no next ID in the header; both can still be read.
+ * All numbers are big-endian. Files are read through a reusable heap buffer rather than
+ * memory-mapped: a mapping cannot be released on demand, and on Windows it would keep later
+ * saves from replacing the file.
+ */
+public class BinaryTaskFile {
+    private static final byte[] MAGIC = {'L', 'Y', 'R', 'B'};
+    private static final byte VERSION = 3;
+    private static final byte VERSION_WITHOUT_NEXT_ID = 2;
+    private static final byte VERSION_WITHOUT_IDS = 1;
+    private static final int HEADER_SIZE = MAGIC.length + 1 + Integer.BYTES;
+    private static final int TASK_HEADER_SIZE = 2;
+    private static final byte TODO = 'T';
+    private static final byte DEADLINE = 'D';
+    private static final byte EVENT = 'E';
+    private static final int NO_DATE = Integer.MIN_VALUE;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Checks if the given file starts with the binary format magic.
+     *
+     * @param file the data file to check
+     * @return true if the file is in the binary format
+     * @throws IOException if the file cannot be read
+     */
+    public static boolean isBinary(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(MAGIC.length);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0) {
+                    return false;
+                }
+            }
+            return Arrays.equals(buffer.array(), MAGIC);
+        }
+    }
+
+    /**
+     * Reads every task in a binary data file.
+     *
+     * @param file the binary data file
+     * @return the tasks in the file, in file order
+     * @throws IOException if the file cannot be read or is not a valid binary data file
+     */
+    public static ArrayList<Task> read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ChannelReader in = new ChannelReader(channel);
+            ByteBuffer header = in.require(HEADER_SIZE);
+            byte version = readVersion(header);
+            int count = header.getInt();
+            if (count < 0) {
+                throw new IOException("corrupt binary data file");
+            }
+            if (version == VERSION) {
+                // Skip the next ID, which readNextId reads
+                in.require(Integer.BYTES).getInt();
+            }
+
+            ArrayList<Task> tasks = new ArrayList<>(count);
+            byte[] text = new byte[256];
+            for (int i = 0; i < count; i++) {
+                ByteBuffer buffer = in.require(TASK_HEADER_SIZE);
+                byte type = buffer.get();
+                boolean isDone = buffer.get() != 0;
+                int id = version != VERSION_WITHOUT_IDS ? in.require(Integer.BYTES).getInt() : 0;
+                LocalDate from = null;
+                LocalDate to = null;
+                if (type == DEADLINE) {
+                    from = toDate(in.require(Integer.BYTES).getInt());
+                } else if (type == EVENT) {
+                    buffer = in.require(2 * Integer.BYTES);
+                    from = toDate(buffer.getInt());
+                    to = toDate(buffer.getInt());
+                } else if (type != TODO) {
+                    throw new IOException("unknown task type " + type + " in binary data file");
+                }
+
+                int length = in.require(Integer.BYTES).getInt();
+                if (length < 0) {
+                    throw new IOException("corrupt binary data file");
+                }
+                if (length > text.length) {
+                    text = new byte[Math.max(length, text.length * 2)];
+                }
+                in.require(length).get(text, 0, length);
+                String description = new String(text, 0, length, StandardCharsets.UTF_8);
+
+                Task task;
+                if (type == TODO) {
+                    task = new Todo(description);
+                } else if (type == DEADLINE) {
+                    task = new Deadline(description, from);
+                } else {
+                    task = new Event(description, from, to);
+                }
+                if (isDone) {
+                    task.markAsDone();
+                }
+                if (id > 0) {
+                    task.setId(id);
+                }
+                tasks.add(task);
+            }
+            return tasks;
+        }
+    }
+
+    /**
+     * Reads the ID the task list would give its next task from the header of a binary data file.
+     *
+     * @param file the binary data file
+     * @return the next ID, or 0 if the file was written without one
+     * @throws IOException if the file cannot be read or is not a valid binary data file
+     */
+    public static int readNextId(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ChannelReader in = new ChannelReader(channel);
+            ByteBuffer header = in.require(HEADER_SIZE);
+            byte version = readVersion(header);
+            // Skip the number of tasks
+            header.getInt();
+            return version == VERSION ? in.require(Integer.BYTES).getInt() : 0;
+        }
+    }
+
+    private static byte readVersion(ByteBuffer header) throws IOException {
+        byte[] magic = new byte[MAGIC.length];
+        header.get(magic);
+        if (!Arrays.equals(magic, MAGIC)) {
+            throw new IOException("not a binary data file");
+        }
+        byte version = header.get();
+        if (version != VERSION && version != VERSION_WITHOUT_NEXT_ID && version != VERSION_WITHOUT_IDS) {
+            throw new IOException("unsupported binary data file version " + version);
+        }
+        return version;
+    }
+
+    /**
+     * Writes tasks to a binary data file, replacing its contents, without a next ID.
+     * Tasks of unsupported types are skipped, as in the text format.
+     *
+     * @param file the file to write
+     * @param tasks the tasks to write, in list order
+     * @param isForced true to force the file to the storage device before returning
+     * @throws IOException if the file cannot be written or a date cannot be represented
+     */
+    public static void write(Path file, List<Task> tasks, boolean isForced) throws IOException {
+        write(file, tasks, 0, isForced);
+    }
+
+    /**
+     * Writes tasks to a binary data file, replacing its contents.
+     * Tasks of unsupported types are skipped, as in the text format.
+     *
+     * @param file the file to write
+     * @param tasks the tasks to write, in list order
+     * @param nextId the ID the task list would give its next task, or 0 if unknown
+     * @param isForced true to force the file to the storage device before returning
+     * @throws IOException if the file cannot be written or a date cannot be represented
+     */
+    public static void write(Path file, List<Task> tasks, int nextId, boolean isForced) throws IOException {
+        int count = 0;
+        for (Task task : tasks) {
+            assert task != null : "task item must not be null";
+            if (task instanceof Todo || task instanceof Deadline || task instanceof Event) {
+                count++;
+            }
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE));
+            writeHeader(out, count, nextId);
+            for (Task task : tasks) {
+                writeTask(out, task);
+            }
+            out.flush();
+            if (isForced) {
+                channel.force(true);
+            }
+        }
+    }
+
+    /**
+     * Writes the file header for the given number of tasks.
+     *
+     * @param out the stream to write to
+     * @param count the number of tasks that follow the header
+     * @param nextId the ID the task list would give its next task, or 0 if unknown
+     * @throws IOException if the header cannot be written
+     */
+    static void writeHeader(DataOutputStream out, int count, int nextId) throws IOException {
+        out.write(MAGIC);
+        out.writeByte(VERSION);
+        out.writeInt(count);
+        out.writeInt(nextId);
+    }
+
+    /**
+     * Writes a single task in the binary format.
+     *
+     * @param out the stream to write to
+     * @param task the task to write
+     * @return true if the task was written, false if its type is not supported
+     * @throws IOException if the task cannot be written or a date cannot be represented
+     */
+    static boolean writeTask(DataOutputStream out, Task task) throws IOException {
+        return writeTask(out, task, task.isDone());
+    }
+
+    /**
+     * Writes a single task in the binary format, with the given status rather than its current one,
+     * such as the status recorded in a TaskSnapshot.
+     *
+     * @param out the stream to write to
+     * @param task the task to write
+     * @param isDone the status to write
+     * @return true if the task was written, false if its type is not supported
+     * @throws IOException if the task cannot be written or a date cannot be represented
+     */
+    static boolean writeTask(DataOutputStream out, Task task, boolean isDone) throws IOException {
+        if (task instanceof Todo) {
+            writeTaskHeader(out, TODO, task, isDone);
+        } else if (task instanceof Deadline) {
+            writeTaskHeader(out, DEADLINE, task, isDone);
+            out.writeInt(toEpochDay(((Deadline) task).getBy()));
+        } else if (task instanceof Event) {
+            writeTaskHeader(out, EVENT, task, isDone);
+            out.writeInt(toEpochDay(((Event) task).getFrom()));
+            out.writeInt(toEpochDay(((Event) task).getTo()));
+        } else {
+            return false;
+        }
+        byte[] description = task.getDescription().getBytes(StandardCharsets.UTF_8);
+        out.writeInt(description.length);
+        out.write(description);
+        return true;
+    }
+
+    private static void writeTaskHeader(DataOutputStream out, byte type, Task task, boolean isDone)
+            throws IOException {
+        out.writeByte(type);
+        out.writeByte(isDone ? 1 : 0);
+        out.writeInt(task.getId());
+    }
+
+    private static int toEpochDay(LocalDate date) throws IOException {
+        if (date == null) {
+            return NO_DATE;
+        }
+        long epochDay = date.toEpochDay();
+        if (epochDay <= NO_DATE || epochDay > Integer.MAX_VALUE) {
+            throw new IOException("date " + date + " cannot be stored in the binary format");
+        }
+        return (int) epochDay;
+    }
+
+    private static LocalDate toDate(int epochDay) {
+        return epochDay == NO_DATE ? null : LocalDate.ofEpochDay(epochDay);
+    }
+
+    /**
+     * Reads a file through a heap buffer that is refilled from the channel whenever the next
+     * field does not fit in the unread part of the buffer, and grown if the field is larger
+     * than the whole buffer.
+     */
+    private static class ChannelReader {
+        private final FileChannel channel;
+        private ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+
+        ChannelReader(FileChannel channel) {
+            this.channel = channel;
+            this.buffer.flip();
+        }
+
+        /**
+         * Returns the buffer, positioned at the next unread byte and holding at least the
+         * given number of bytes.
+         *
+         * @param length the number of bytes the caller is about to read
+         * @return the buffer to read from
+         * @throws IOException if the file ends before that many bytes
+         */
+        ByteBuffer require(int length) throws IOException {
+            if (buffer.remaining() >= length) {
+                return buffer;
+            }
+            if (length > buffer.capacity()) {
+                ByteBuffer larger = ByteBuffer.allocate(Math.max(length, buffer.capacity() * 2));
+                larger.put(buffer);
+                buffer = larger;
+            } else {
+                buffer.compact();
+            }
+            while (buffer.position() < length) {
+                if (channel.read(buffer) < 0) {
+                    throw new IOException("binary data file is truncated");
+                }
+            }
+            buffer.flip();
+            return buffer;
+        }
+    }
+}
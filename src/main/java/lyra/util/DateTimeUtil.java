@@ -1,6 +1,9 @@
 package lyra.util;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.time.Month;
+import java.time.Year;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 
@@ -22,6 +25,8 @@ public final class DateTimeUtil {
 	 */
 	public static final DateTimeFormatter DISPLAY_DATE = DateTimeFormatter.ofPattern("MMM d yyyy");
 
+	private static final int ISO_DATE_LENGTH = 10;
+
 	/**
 	 * Private constructor to prevent instantiation of this utility class.
 	 */
@@ -38,7 +43,104 @@ public final class DateTimeUtil {
 	public static LocalDate parseDate(String input) throws DateTimeParseException {
 		String trimmed = input.trim();
 		// Minimal requirement: accept yyyy-MM-dd
-		return LocalDate.parse(trimmed, STORAGE_DATE);
+		return parseStorageDate(trimmed);
+	}
+
+	/**
+	 * Parses a date in storage format (yyyy-MM-dd) without going through a DateTimeFormatter.
+	 * Plain four-digit-year dates are decoded by hand; anything else, including invalid dates,
+	 * is handed to STORAGE_DATE so that unusual input is accepted and errors are reported
+	 * exactly as before.
+	 *
+	 * @param text the date in yyyy-MM-dd format, without surrounding whitespace
+	 * @return the parsed LocalDate object
+	 * @throws DateTimeParseException if the text cannot be parsed as a valid date
+	 */
+	public static LocalDate parseStorageDate(CharSequence text) throws DateTimeParseException {
+		if (text.length() == ISO_DATE_LENGTH && text.charAt(4) == '-' && text.charAt(7) == '-') {
+			int year = digits(text.charAt(0), text.charAt(1), text.charAt(2), text.charAt(3));
+			int month = digits(text.charAt(5), text.charAt(6));
+			int day = digits(text.charAt(8), text.charAt(9));
+			if (isValidDate(year, month, day)) {
+				return LocalDate.of(year, month, day);
+			}
+		}
+		return LocalDate.parse(text, STORAGE_DATE);
+	}
+
+	/**
+	 * Parses a date in storage format (yyyy-MM-dd) straight from UTF-8 bytes.
+	 * Behaves like {@link #parseStorageDate(CharSequence)} on the decoded text.
+	 *
+	 * @param bytes the buffer holding the date
+	 * @param start the index of the first byte of the date
+	 * @param end the index after the last byte of the date
+	 * @return the parsed LocalDate object
+	 * @throws DateTimeParseException if the bytes cannot be parsed as a valid date
+	 */
+	public static LocalDate parseStorageDate(byte[] bytes, int start, int end) throws DateTimeParseException {
+		if (end - start == ISO_DATE_LENGTH && bytes[start + 4] == '-' && bytes[start + 7] == '-') {
+			int year = digits((char) bytes[start], (char) bytes[start + 1], (char) bytes[start + 2],
+					(char) bytes[start + 3]);
+			int month = digits((char) bytes[start + 5], (char) bytes[start + 6]);
+			int day = digits((char) bytes[start + 8], (char) bytes[start + 9]);
+			if (isValidDate(year, month, day)) {
+				return LocalDate.of(year, month, day);
+			}
+		}
+		return LocalDate.parse(new String(bytes, start, end - start, StandardCharsets.UTF_8), STORAGE_DATE);
+	}
+
+	/**
+	 * Formats the given date in storage format (yyyy-MM-dd) without going through a DateTimeFormatter.
+	 * Produces the same text as formatting with STORAGE_DATE.
+	 *
+	 * @param date the LocalDate object to format
+	 * @return the formatted date string
+	 */
+	public static String formatStorageDate(LocalDate date) {
+		int year = date.getYear();
+		if (year < 0 || year > 9999) {
+			return date.format(STORAGE_DATE);
+		}
+		char[] chars = new char[ISO_DATE_LENGTH];
+		chars[0] = (char) ('0' + year / 1000);
+		chars[1] = (char) ('0' + year / 100 % 10);
+		chars[2] = (char) ('0' + year / 10 % 10);
+		chars[3] = (char) ('0' + year % 10);
+		chars[4] = '-';
+		chars[5] = (char) ('0' + date.getMonthValue() / 10);
+		chars[6] = (char) ('0' + date.getMonthValue() % 10);
+		chars[7] = '-';
+		chars[8] = (char) ('0' + date.getDayOfMonth() / 10);
+		chars[9] = (char) ('0' + date.getDayOfMonth() % 10);
+		return new String(chars);
+	}
+
+	/**
+	 * Converts four ASCII digits to the number they spell, or a negative number if any is not a digit.
+	 */
+	private static int digits(char c1, char c2, char c3, char c4) {
+		int high = digits(c1, c2);
+		int low = digits(c3, c4);
+		return high < 0 || low < 0 ? -1 : high * 100 + low;
+	}
+
+	/**
+	 * Converts two ASCII digits to the number they spell, or -1 if either is not a digit.
+	 */
+	private static int digits(char c1, char c2) {
+		if (c1 < '0' || c1 > '9' || c2 < '0' || c2 > '9') {
+			return -1;
+		}
+		return (c1 - '0') * 10 + (c2 - '0');
+	}
+
+	private static boolean isValidDate(int year, int month, int day) {
+		if (year < 0 || month < 1 || month > 12 || day < 1) {
+			return false;
+		}
+		return day <= Month.of(month).length(Year.isLeap(year));
 	}
 
 	/**
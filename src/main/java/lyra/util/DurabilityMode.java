@@ -0,0 +1,28 @@
+package lyra.util;
+
+/**
+ * Controls when task mutations are written to disk.
+ */
+public enum DurabilityMode {
+    /** Every mutation is written (and forced to disk in journal mode) before the command completes. */
+    SYNC,
+    /** Mutations are written together once enough of them arrive or the oldest one has waited long enough. */
+    GROUP,
+    /** Mutations are written only when the application is idle or exits. */
+    ASYNC;
+
+    /**
+     * Parses a durability mode from its name, ignoring case.
+     *
+     * @param name the name of the mode, e.g. "group"
+     * @return the matching mode, or null if there is none
+     */
+    public static DurabilityMode fromName(String name) {
+        for (DurabilityMode mode : values()) {
+            if (mode.name().equalsIgnoreCase(name.trim())) {
+                return mode;
+            }
+        }
+        return null;
+    }
+}
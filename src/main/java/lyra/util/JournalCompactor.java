@@ -0,0 +1,201 @@
+package lyra.util;
+
+import lyra.task.Task;
+import lyra.exception.LyraException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Folds the task journal back into the data file on a background thread.
+ * Compaction never touches the in-memory task list; it rebuilds the snapshot from the
+ * files alone, so the command loop keeps appending to a fresh journal while it runs.
+ *
+ * Every step of a compaction is a single atomic rename, so a crash at any point leaves
+ * a state that Storage.load() can recover from:
+ * 1. the journal is renamed to "lyra.txt.journal.compacting" (new records go to a new journal)
+ * 2. the data file and the compacting journal are merged into "lyra.txt.next"
+ * 3. the compacting journal is deleted and "lyra.txt.next" replaces the data file
+ */
+public class JournalCompactor {
+    private final Path dataFile;
+    private final Path pendingFile;
+    private final Path nextFile;
+    private final Path tempFile;
+    private final TaskJournal journal;
+    private final int recordThreshold;
+    private final long byteThreshold;
+    private final StorageConfig config;
+    private final AtomicBoolean isScheduled = new AtomicBoolean(false);
+    private final ExecutorService executor;
+
+    /**
+     * Constructs a new JournalCompactor for the given data file and journal.
+     *
+     * @param dataFile the data file the journal is folded into
+     * @param journal the journal to compact
+     * @param config the storage options holding the compaction thresholds
+     */
+    public JournalCompactor(Path dataFile, TaskJournal journal, StorageConfig config) {
+        assert dataFile != null : "dataFile must not be null";
+        assert journal != null : "journal must not be null";
+        this.dataFile = dataFile;
+        this.pendingFile = Paths.get(dataFile + ".journal.compacting");
+        this.nextFile = Paths.get(dataFile + ".next");
+        this.tempFile = Paths.get(dataFile + ".tmp");
+        this.journal = journal;
+        this.recordThreshold = config.getCompactRecordThreshold();
+        this.byteThreshold = config.getCompactByteThreshold();
+        this.config = config;
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "lyra-journal-compactor");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Gets the path of the journal that is being folded into the data file.
+     *
+     * @return the path of the compacting journal
+     */
+    public Path getPendingFile() {
+        return pendingFile;
+    }
+
+    /**
+     * Gets the path of the temporary file that snapshots are written to before being renamed into place.
+     * Storage shares it for full saves, which hold the same lock as compaction.
+     *
+     * @return the path of the temporary file
+     */
+    public Path getTempFile() {
+        return tempFile;
+    }
+
+    /**
+     * Checks if a journal was rolled over but not yet folded into the data file.
+     *
+     * @return true if the compacting journal exists
+     */
+    public boolean hasPending() {
+        return Files.exists(pendingFile);
+    }
+
+    /**
+     * Schedules a background compaction if the journal has grown past either threshold.
+     * Returns immediately without waiting for the compaction lock; at most one compaction
+     * is queued or running at a time.
+     */
+    public void compactIfNeeded() {
+        if (journal.getRecordCount() >= recordThreshold || journal.getByteCount() >= byteThreshold) {
+            requestCompaction();
+        }
+    }
+
+    /**
+     * Schedules a background compaction regardless of the journal size.
+     */
+    public void requestCompaction() {
+        if (!isScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        executor.execute(() -> {
+            try {
+                compact();
+            } catch (LyraException e) {
+                // The journal files are left intact, so the next compaction or load retries.
+            } finally {
+                isScheduled.set(false);
+            }
+        });
+    }
+
+    /**
+     * Folds the journal into the data file on the calling thread.
+     * A journal left behind by an interrupted compaction is folded first.
+     *
+     * @throws LyraException if the files cannot be read or written
+     */
+    public synchronized void compact() throws LyraException {
+        if (!Files.exists(pendingFile) && !journal.rollOver(pendingFile)) {
+            return;
+        }
+        try {
+            ArrayList<Task> tasks = new ArrayList<>();
+            int nextId = 0;
+            if (Files.exists(dataFile)) {
+                tasks = Storage.readTasks(dataFile, config);
+                nextId = Storage.readNextId(dataFile);
+            }
+            ArrayList<Task> removed = new ArrayList<>();
+            TaskJournal.replay(pendingFile, tasks, removed::add);
+            // Deleted tasks keep their IDs reserved, as they do in the task list
+            for (Task task : removed) {
+                nextId = Math.max(nextId, task.getId() + 1);
+            }
+            Storage.writeTasks(tempFile, tasks, nextId, config.getStorageFormat(), true);
+            Files.move(tempFile, nextFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            publish();
+        } catch (IOException e) {
+            throw new LyraException("Error saving tasks to file: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Completes a compaction whose snapshot was written but not yet published.
+     * Called before the data file is read.
+     *
+     * @throws LyraException if the snapshot cannot be moved into place
+     */
+    public synchronized void recover() throws LyraException {
+        try {
+            if (Files.exists(nextFile)) {
+                publish();
+            }
+            Files.deleteIfExists(tempFile);
+        } catch (IOException e) {
+            throw new LyraException("Error loading tasks from file: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Removes the compacting journal after its records were written to the data file by a full save.
+     *
+     * @throws LyraException if the compacting journal cannot be removed
+     */
+    public synchronized void discardPending() throws LyraException {
+        try {
+            Files.deleteIfExists(pendingFile);
+        } catch (IOException e) {
+            throw new LyraException("Error saving tasks to file: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Waits for a scheduled compaction to finish and stops the background thread.
+     *
+     * @param timeoutMillis the maximum time to wait in milliseconds
+     */
+    public void shutdown(long timeoutMillis) {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void publish() throws IOException {
+        Files.deleteIfExists(pendingFile);
+        Files.move(nextFile, dataFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+}
@@ -1,5 +1,6 @@
 package lyra.util;
 
+import lyra.command.ArchiveCommand;
 import lyra.command.Command;
 import lyra.command.ExitCommand;
 import lyra.command.HelpCommand;
@@ -10,20 +11,34 @@ import lyra.command.AddEventCommand;
 import lyra.command.MarkCommand;
 import lyra.command.UnmarkCommand;
 import lyra.command.DeleteCommand;
+import lyra.command.UndoCommand;
+import lyra.command.RedoCommand;
+import lyra.command.BulkDeleteCommand;
+import lyra.command.BulkMarkCommand;
+import lyra.command.TaskSelection;
+import lyra.command.DueCommand;
+import lyra.command.EventsCommand;
 import lyra.command.FindCommand;
+import lyra.command.FindQuery;
+import lyra.command.FreeCommand;
 import lyra.command.SortCommand;
 import lyra.exception.LyraException;
 
+import java.util.regex.Pattern;
+
 /**
  * Utility class for parsing user input commands and converting them to Command objects.
  * Handles the parsing of various command types including task management commands
  * and provides appropriate error messages for invalid inputs.
  */
 public class Parser {
+    private static final Pattern STRICT_OPTION = Pattern.compile("(?:^|\\s)/strict(?=\\s|$)");
+    private static final String TASK_ID_PREFIX = "#";
+    private static final String SHOW_IDS_OPTION = "--ids";
     
     /**
      * Parses a full command string and returns the appropriate Command object.
-     * Supports commands: bye, list, todo, deadline, event, mark, unmark, delete, find, sort.
+     * Supports commands: bye, list, todo, deadline, event, mark, unmark, delete, find, sort, archive, due, on, overlapping, free.
      *
      * @param fullCommand the complete command string entered by the user
      * @return a Command object representing the parsed command
@@ -48,7 +63,7 @@ public class Parser {
             case "help":
                 return new HelpCommand();
             case "list":
-                return new ListCommand();
+                return parseListCommand(arguments);
             case "todo":
                 return parseTodoCommand(arguments);
             case "deadline":
@@ -65,6 +80,20 @@ public class Parser {
                 return parseFindCommand(arguments);
             case "sort":
                 return parseSortCommand(arguments);
+            case "archive":
+                return new ArchiveCommand();
+            case "due":
+                return parseDueCommand(arguments);
+            case "on":
+                return parseOnCommand(arguments);
+            case "overlapping":
+                return parseOverlappingCommand(arguments);
+            case "free":
+                return parseFreeCommand(arguments);
+            case "undo":
+                return new UndoCommand();
+            case "redo":
+                return new RedoCommand();
             default:
                 throw new LyraException("Sorry, I couldn't recognize that command. Type 'help' to see all available commands, or try: list, todo, deadline, event, mark, unmark, delete, find, sort, bye.");
         }
@@ -113,7 +142,8 @@ public class Parser {
     
     /**
      * Parses arguments for an event command and creates an AddEventCommand.
-     * Requires description, /from start date, and /to end date.
+     * Requires description, /from start date, and /to end date. A "/strict" anywhere in the
+     * arguments makes the command refuse events that overlap existing ones.
      *
      * @param arguments the arguments string for the event command
      * @return an AddEventCommand with the parsed description and time period
@@ -124,7 +154,11 @@ public class Parser {
         if (arguments.trim().isEmpty()) {
             throw new LyraException("Sorry, an event needs a description and times. Try: event <description> /from <start> /to <end>");
         }
-        
+
+        boolean isStrict = STRICT_OPTION.matcher(arguments).find();
+        if (isStrict) {
+            arguments = STRICT_OPTION.matcher(arguments).replaceAll(" ");
+        }
         String[] splitFrom = arguments.split("/from", 2);
         String description = splitFrom[0].trim();
         String from = "";
@@ -142,12 +176,44 @@ public class Parser {
             throw new LyraException("Sorry, an event needs a description and times. Try: event <description> /from <start> /to <end>");
         }
         
-        return new AddEventCommand(description, from, to);
+        return new AddEventCommand(description, from, to, isStrict);
     }
     
+    /**
+     * Parses arguments for a list command and creates a ListCommand.
+     * "--ids" shows the ID of every task; other arguments are ignored.
+     *
+     * @param arguments the arguments string for the list command
+     * @return a ListCommand
+     */
+    private static Command parseListCommand(String arguments) {
+        assert arguments != null : "arguments must not be null";
+        return new ListCommand(arguments.trim().equals(SHOW_IDS_OPTION));
+    }
+
+    /**
+     * Parses a task ID written as "#" followed by the ID, e.g. "#12".
+     *
+     * @param argument the trimmed argument holding the ID
+     * @return the task ID
+     * @throws LyraException if the argument is not a valid task ID
+     */
+    private static int parseTaskId(String argument) throws LyraException {
+        try {
+            int id = Integer.parseInt(argument.substring(TASK_ID_PREFIX.length()).trim());
+            if (id <= 0) {
+                throw new LyraException("Invalid task ID.");
+            }
+            return id;
+        } catch (NumberFormatException e) {
+            throw new LyraException("Invalid task ID.");
+        }
+    }
+
     /**
      * Parses arguments for a mark command and creates a MarkCommand.
-     * Requires a valid task number (converted to 0-based index).
+     * Requires a valid task number (converted to 0-based index), or a task ID such as "#12",
+     * or a selection of tasks such as "1-5", "3,7,9-20" or "all done before 2024-01-01".
      *
      * @param arguments the arguments string for the mark command
      * @return a MarkCommand with the parsed task index
@@ -159,6 +225,12 @@ public class Parser {
             throw new LyraException("Invalid task number.");
         }
         
+        if (TaskSelection.isSelection(arguments)) {
+            return new BulkMarkCommand(TaskSelection.parse(arguments), true);
+        }
+        if (arguments.trim().startsWith(TASK_ID_PREFIX)) {
+            return new MarkCommand(parseTaskId(arguments.trim()), true);
+        }
         try {
             int taskIndex = Integer.parseInt(arguments.trim()) - 1;
             return new MarkCommand(taskIndex);
@@ -169,7 +241,8 @@ public class Parser {
     
     /**
      * Parses arguments for an unmark command and creates an UnmarkCommand.
-     * Requires a valid task number (converted to 0-based index).
+     * Requires a valid task number (converted to 0-based index), or a task ID such as "#12",
+     * or a selection of tasks such as "1-5", "3,7,9-20" or "all done before 2024-01-01".
      *
      * @param arguments the arguments string for the unmark command
      * @return an UnmarkCommand with the parsed task index
@@ -181,6 +254,12 @@ public class Parser {
             throw new LyraException("Invalid task number.");
         }
         
+        if (TaskSelection.isSelection(arguments)) {
+            return new BulkMarkCommand(TaskSelection.parse(arguments), false);
+        }
+        if (arguments.trim().startsWith(TASK_ID_PREFIX)) {
+            return new UnmarkCommand(parseTaskId(arguments.trim()), true);
+        }
         try {
             int taskIndex = Integer.parseInt(arguments.trim()) - 1;
             return new UnmarkCommand(taskIndex);
@@ -191,7 +270,8 @@ public class Parser {
     
     /**
      * Parses arguments for a delete command and creates a DeleteCommand.
-     * Requires a valid task number (converted to 0-based index).
+     * Requires a valid task number (converted to 0-based index), or a task ID such as "#12",
+     * or a selection of tasks such as "1-5", "3,7,9-20" or "all done before 2024-01-01".
      *
      * @param arguments the arguments string for the delete command
      * @return a DeleteCommand with the parsed task index
@@ -203,6 +283,12 @@ public class Parser {
             throw new LyraException("Please specify a task number to delete. Try: delete <task_number>");
         }
         
+        if (TaskSelection.isSelection(arguments)) {
+            return new BulkDeleteCommand(TaskSelection.parse(arguments));
+        }
+        if (arguments.trim().startsWith(TASK_ID_PREFIX)) {
+            return new DeleteCommand(parseTaskId(arguments.trim()), true);
+        }
         try {
             int taskIndex = Integer.parseInt(arguments.trim()) - 1;
             return new DeleteCommand(taskIndex);
@@ -211,20 +297,153 @@ public class Parser {
         }
     }
 
+    /**
+     * Parses arguments for a due command and creates a DueCommand.
+     * Accepts "before <date>", "after <date>" and "between <date> and <date>".
+     *
+     * @param arguments the arguments string for the due command
+     * @return a DueCommand with the parsed range
+     * @throws LyraException if the range is missing or malformed
+     */
+    private static Command parseDueCommand(String arguments) throws LyraException {
+        assert arguments != null : "arguments must not be null";
+        String usage = "Try: due before <yyyy-MM-dd> or due between <yyyy-MM-dd> and <yyyy-MM-dd>";
+        String[] split = arguments.trim().split("\\s+", 2);
+        String kind = split[0].toLowerCase();
+        String dates = split.length > 1 ? split[1].trim() : "";
+        if (dates.isEmpty()) {
+            throw new LyraException("Please provide a date range. " + usage);
+        }
+        switch (kind) {
+            case "before":
+                return new DueCommand(DueCommand.Range.BEFORE, dates, null);
+            case "after":
+                return new DueCommand(DueCommand.Range.AFTER, dates, null);
+            case "between":
+                String[] bounds = dates.split("\\s+and\\s+", 2);
+                if (bounds.length < 2 || bounds[0].trim().isEmpty() || bounds[1].trim().isEmpty()) {
+                    throw new LyraException("Please provide two dates joined by 'and'. " + usage);
+                }
+                return new DueCommand(DueCommand.Range.BETWEEN, bounds[0].trim(), bounds[1].trim());
+            default:
+                throw new LyraException("Please provide a date range. " + usage);
+        }
+    }
+
+    /**
+     * Parses arguments for an on command and creates an EventsCommand for that date.
+     *
+     * @param arguments the arguments string for the on command
+     * @return an EventsCommand for the events on the date
+     * @throws LyraException if the date is missing
+     */
+    private static Command parseOnCommand(String arguments) throws LyraException {
+        assert arguments != null : "arguments must not be null";
+        if (arguments.trim().isEmpty()) {
+            throw new LyraException("Please provide a date. Try: on <yyyy-MM-dd>");
+        }
+        return new EventsCommand(arguments.trim());
+    }
+
+    /**
+     * Parses arguments for an overlapping command and creates an EventsCommand for the range.
+     * The two dates may be separated by spaces or by "to".
+     *
+     * @param arguments the arguments string for the overlapping command
+     * @return an EventsCommand for the events overlapping the range
+     * @throws LyraException if either date is missing
+     */
+    private static Command parseOverlappingCommand(String arguments) throws LyraException {
+        assert arguments != null : "arguments must not be null";
+        String[] bounds = arguments.trim().split("\\s+(?:to\\s+)?", 2);
+        if (bounds.length < 2 || bounds[0].isEmpty() || bounds[1].trim().isEmpty()) {
+            throw new LyraException("Please provide two dates. Try: overlapping <yyyy-MM-dd> <yyyy-MM-dd>");
+        }
+        return new EventsCommand(bounds[0], bounds[1].trim());
+    }
+
+    /**
+     * Parses arguments for a free command and creates a FreeCommand.
+     * The two dates may be separated by spaces or by "to", and may be followed by the
+     * shortest number of free days worth listing, which defaults to 1.
+     *
+     * @param arguments the arguments string for the free command
+     * @return a FreeCommand for the range
+     * @throws LyraException if either date is missing or the number of days is invalid
+     */
+    private static Command parseFreeCommand(String arguments) throws LyraException {
+        assert arguments != null : "arguments must not be null";
+        String usage = "Try: free <yyyy-MM-dd> <yyyy-MM-dd> [min-days]";
+        String[] bounds = arguments.trim().split("\\s+(?:to\\s+)?", 3);
+        if (bounds.length < 2 || bounds[0].isEmpty() || bounds[1].isEmpty()) {
+            throw new LyraException("Please provide two dates. " + usage);
+        }
+        int minDays = 1;
+        if (bounds.length == 3) {
+            try {
+                minDays = Integer.parseInt(bounds[2].trim());
+            } catch (NumberFormatException e) {
+                throw new LyraException("Invalid number of days. " + usage);
+            }
+            if (minDays < 1) {
+                throw new LyraException("The number of days must be at least 1. " + usage);
+            }
+        }
+        return new FreeCommand(bounds[0], bounds[1], minDays);
+    }
+
     /**
      * Parses arguments for a find command and creates a FindCommand.
-     * Requires a non-empty search keyword.
+     * Requires a non-empty search keyword, optionally preceded by any of the options
+     * "--archive" (search archived tasks as well), "--word" (match whole words only),
+     * "--prefix" (match the starts of words), "--ranked" (show the best matches first)
+     * and "--fuzzy" (forgive a typo or two in each word).
+     * A keyword containing AND, OR or NOT in capitals is parsed as a boolean query.
      *
      * @param arguments the arguments string for the find command
      * @return a FindCommand with the parsed search keyword
-     * @throws LyraException if the keyword is empty
+     * @throws LyraException if the keyword is empty, more than one match mode is given
+     *         or the query is malformed
      */
     private static Command parseFindCommand(String arguments) throws LyraException {
         assert arguments != null : "arguments must not be null";
-        if (arguments.trim().isEmpty()) {
+        String keyword = arguments.trim();
+        boolean isArchiveIncluded = false;
+        FindCommand.MatchMode mode = FindCommand.MatchMode.SUBSTRING;
+        while (keyword.startsWith("--")) {
+            String[] split = keyword.split("\\s+", 2);
+            if (split[0].equals("--archive")) {
+                isArchiveIncluded = true;
+            } else if (split[0].equals("--word") || split[0].equals("--prefix") || split[0].equals("--ranked")
+                    || split[0].equals("--fuzzy")) {
+                if (mode != FindCommand.MatchMode.SUBSTRING) {
+                    throw new LyraException("Please use only one of --word, --prefix, --ranked and --fuzzy. Try: find --word <keyword>");
+                }
+                if (split[0].equals("--word")) {
+                    mode = FindCommand.MatchMode.WORD;
+                } else if (split[0].equals("--prefix")) {
+                    mode = FindCommand.MatchMode.PREFIX;
+                } else if (split[0].equals("--ranked")) {
+                    mode = FindCommand.MatchMode.RANKED;
+                } else {
+                    mode = FindCommand.MatchMode.FUZZY;
+                }
+            } else {
+                break;
+            }
+            keyword = split.length > 1 ? split[1].trim() : "";
+        }
+        if (keyword.isEmpty()) {
             throw new LyraException("Please provide a keyword to find. Try: find <keyword>");
         }
-        return new FindCommand(arguments.trim());
+        if (FindQuery.isQuery(keyword) && mode == FindCommand.MatchMode.RANKED) {
+            throw new LyraException("Ranked searches take plain words, without AND, OR or NOT. Try: find --ranked <words>");
+        } else if (FindQuery.isQuery(keyword) && mode == FindCommand.MatchMode.FUZZY) {
+            throw new LyraException("Fuzzy searches take plain words, without AND, OR or NOT. Try: find --fuzzy <words>");
+        } else if (FindQuery.isQuery(keyword)) {
+            return new FindCommand(keyword, FindQuery.parse(keyword), mode, isArchiveIncluded);
+        }
+        return new FindCommand(keyword, mode, isArchiveIncluded);
     }
 
     private static Command parseSortCommand(String arguments) throws LyraException {
@@ -0,0 +1,268 @@
+package lyra.util;
+
+import lyra.task.TaskList;
+import lyra.task.TaskSnapshot;
+import lyra.exception.LyraException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntConsumer;
+
+/**
+ * Sits in front of Storage and decides when mutations are written to disk.
+ * Mutations arriving close together are coalesced into a single write according to
+ * the configured DurabilityMode, and every flush reports how many mutations it covered.
+ *
+ * In journal mode the pending mutations are already-serialized records. Outside journal mode
+ * they are a TaskSnapshot of the list, taken on the command thread when the mutation arrives;
+ * a later snapshot replaces an earlier one that is still pending, taking over its tracked changes.
+ * Neither ever changes once queued, so outside SYNC mode a background timer may flush them
+ * while commands keep changing the list.
+ *
+ * A snapshot of a list that is only partly loaded is written out at once instead: once the
+ * rest of the list is loaded, the storage could no longer tell which tasks it left out.
+ *
+ * The pending mutations are guarded by the scheduler's monitor, which is only held long enough
+ * to queue mutations or take them out; the write itself happens outside it, under a separate
+ * write lock that keeps writes in order. So a command queuing a mutation never waits for a
+ * background flush to reach the disk. A failed write puts its mutations back in front of any
+ * queued since.
+ */
+public class SaveScheduler {
+    private final Storage storage;
+    private final DurabilityMode mode;
+    private final int groupSize;
+    private final long windowNanos;
+    // Held while writing to disk, so that one flush is written before the next starts
+    private final Object writeLock = new Object();
+    private final ArrayList<String> pendingRecords = new ArrayList<>();
+    private TaskSnapshot pendingSnapshot;
+    private int pendingMutations;
+    private long oldestPendingNanos;
+    private long latestPendingNanos;
+    private IntConsumer flushListener;
+    private ScheduledExecutorService timer;
+
+    /**
+     * Constructs a new SaveScheduler that writes through the given storage.
+     *
+     * @param storage the storage that performs the actual writes
+     * @param config the storage options holding the durability mode and group commit limits
+     */
+    public SaveScheduler(Storage storage, StorageConfig config) {
+        assert storage != null : "storage must not be null";
+        this.storage = storage;
+        this.mode = config.getDurabilityMode();
+        this.groupSize = config.getGroupCommitSize();
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(config.getGroupCommitMillis());
+    }
+
+    /**
+     * Sets the listener told how many mutations each flush covered.
+     *
+     * @param flushListener the listener, or null to stop reporting
+     */
+    public synchronized void setFlushListener(IntConsumer flushListener) {
+        this.flushListener = flushListener;
+    }
+
+    /**
+     * Queues a journal record, writing it out now if the durability mode requires it.
+     *
+     * @param record the journal record of the mutation
+     * @throws LyraException if a flush was due and failed
+     */
+    public void submitRecord(String record) throws LyraException {
+        assert record != null : "record must not be null";
+        submitRecords(List.of(record));
+    }
+
+    /**
+     * Queues the journal records of a bulk mutation, which count as a single mutation
+     * and are written out together.
+     *
+     * @param records the journal records, in the order they are to be replayed
+     * @throws LyraException if a flush was due and failed
+     */
+    public void submitRecords(List<String> records) throws LyraException {
+        assert records != null : "records must not be null";
+        if (records.isEmpty()) {
+            return;
+        }
+        boolean isDue;
+        synchronized (this) {
+            pendingRecords.addAll(records);
+            isDue = onSubmit();
+            if (mode != DurabilityMode.SYNC) {
+                startTimer();
+            }
+        }
+        if (isDue) {
+            flush();
+        }
+    }
+
+    /**
+     * Queues a save of a snapshot of the given task list, writing it out now if the durability
+     * mode requires it. The changes the list tracked are handed over to the snapshot.
+     *
+     * @param tasks the live task list to save
+     * @throws LyraException if a flush was due and failed
+     */
+    public void submitSnapshot(TaskList tasks) throws LyraException {
+        assert tasks != null : "tasks must not be null";
+        TaskSnapshot snapshot = Storage.takeSnapshot(tasks);
+        boolean isDue;
+        synchronized (this) {
+            pendingSnapshot = pendingSnapshot == null ? snapshot : snapshot.withEarlierChanges(pendingSnapshot);
+            isDue = onSubmit() || !snapshot.isFullyLoaded();
+            if (snapshot.isFullyLoaded() && mode != DurabilityMode.SYNC) {
+                startTimer();
+            }
+        }
+        if (isDue) {
+            flush();
+        }
+    }
+
+    /**
+     * Writes every pending mutation to disk, after any write already in progress.
+     *
+     * @throws LyraException if the write fails; the mutations stay pending
+     */
+    public void flush() throws LyraException {
+        synchronized (writeLock) {
+            TaskSnapshot snapshot;
+            ArrayList<String> records;
+            int flushed;
+            long oldestNanos;
+            synchronized (this) {
+                if (pendingMutations == 0) {
+                    return;
+                }
+                snapshot = pendingSnapshot;
+                records = new ArrayList<>(pendingRecords);
+                flushed = pendingMutations;
+                oldestNanos = oldestPendingNanos;
+                pendingRecords.clear();
+                pendingSnapshot = null;
+                pendingMutations = 0;
+            }
+            try {
+                if (snapshot != null) {
+                    storage.save(snapshot);
+                } else {
+                    storage.writeRecords(records, mode == DurabilityMode.SYNC);
+                }
+            } catch (LyraException e) {
+                requeue(snapshot, records, flushed, oldestNanos);
+                throw e;
+            }
+            IntConsumer listener;
+            synchronized (this) {
+                listener = flushListener;
+            }
+            if (listener != null) {
+                listener.accept(flushed);
+            }
+        }
+    }
+
+    /**
+     * Puts the mutations of a failed write back in front of the mutations queued since.
+     */
+    private synchronized void requeue(TaskSnapshot snapshot, List<String> records, int mutations, long oldestNanos) {
+        if (snapshot != null) {
+            pendingSnapshot = pendingSnapshot == null ? snapshot : pendingSnapshot.withEarlierChanges(snapshot);
+        }
+        pendingRecords.addAll(0, records);
+        oldestPendingNanos = oldestNanos;
+        pendingMutations += mutations;
+    }
+
+    /**
+     * Writes every pending mutation and stops the background timer.
+     *
+     * @throws LyraException if the final write fails
+     */
+    public void close() throws LyraException {
+        ScheduledExecutorService stoppedTimer;
+        synchronized (this) {
+            stoppedTimer = timer;
+            timer = null;
+        }
+        if (stoppedTimer != null) {
+            stoppedTimer.shutdown();
+            try {
+                stoppedTimer.awaitTermination(windowNanos, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        flush();
+    }
+
+    /**
+     * Counts a newly queued mutation. Called while holding the monitor.
+     *
+     * @return true if the pending mutations should be written now
+     */
+    private boolean onSubmit() {
+        long now = System.nanoTime();
+        if (pendingMutations == 0) {
+            oldestPendingNanos = now;
+        }
+        latestPendingNanos = now;
+        pendingMutations++;
+        return isFlushDue(now, false);
+    }
+
+    /**
+     * Decides whether the pending mutations should be written now.
+     *
+     * @param now the current time from System.nanoTime()
+     * @param isIdleCheck true when called from the background timer rather than a new mutation
+     * @return true if a flush is due
+     */
+    private boolean isFlushDue(long now, boolean isIdleCheck) {
+        switch (mode) {
+            case SYNC:
+                return true;
+            case GROUP:
+                return pendingMutations >= groupSize || now - oldestPendingNanos >= windowNanos;
+            case ASYNC:
+                return isIdleCheck && now - latestPendingNanos >= windowNanos;
+            default:
+                return true;
+        }
+    }
+
+    private void startTimer() {
+        if (timer != null) {
+            return;
+        }
+        timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "lyra-save-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(1, windowNanos / 2);
+        timer.scheduleWithFixedDelay(this::flushIfDue, period, period, TimeUnit.NANOSECONDS);
+    }
+
+    private void flushIfDue() {
+        synchronized (this) {
+            if (pendingMutations == 0 || !isFlushDue(System.nanoTime(), true)) {
+                return;
+            }
+        }
+        try {
+            flush();
+        } catch (LyraException e) {
+            // The records stay pending and are retried on the next tick or on exit.
+        }
+    }
+}
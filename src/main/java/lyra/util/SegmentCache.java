@@ -0,0 +1,263 @@
+package lyra.util;
+
+import lyra.task.Task;
+import lyra.task.TaskChange;
+import lyra.task.TaskList;
+import lyra.task.TaskSnapshot;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps the serialized form of a task list in segments of consecutive tasks, so that a save
+ * only re-serializes the segments touched by the changes a TaskList tracked since the last save.
+ * Unchanged segments are written out as the bytes cached from earlier saves.
+ *
+ * The tasks are read from a TaskSnapshot, together with the changes it carries, so a save can
+ * serialize them on another thread while commands keep changing the list.
+ *
+ * Segments start out with SEGMENT_TASKS tasks each. Additions and removals only grow or
+ * shrink the segment they land in; a segment that grows too large is split when it is
+ * next serialized, and an empty one is dropped.
+ */
+public class SegmentCache {
+    static final int SEGMENT_TASKS = 1024;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final byte[] LINE_SEPARATOR = System.lineSeparator().getBytes(StandardCharsets.UTF_8);
+
+    private final StorageFormat format;
+    private final ArrayList<Segment> segments = new ArrayList<>();
+    // The snapshot the segments were last brought up to date with
+    private TaskSnapshot cached;
+
+    /**
+     * Constructs an empty SegmentCache.
+     *
+     * @param format the format tasks are serialized in
+     */
+    public SegmentCache(StorageFormat format) {
+        assert format != null : "format must not be null";
+        this.format = format;
+    }
+
+    /**
+     * Brings the cached segments up to date with the given task list and clears its tracked changes.
+     * The whole list is serialized again if it is not the list cached before, if its changes were
+     * not tracked, or if they do not add up to its current size.
+     *
+     * @param list the task list to cache
+     * @return the number of tasks that had to be serialized
+     * @throws IOException if a task cannot be serialized
+     */
+    public int update(TaskList list) throws IOException {
+        assert list != null : "list must not be null";
+        int serialized = update(list.snapshot());
+        list.clearChanges();
+        return serialized;
+    }
+
+    /**
+     * Brings the cached segments up to date with a snapshot of a task list, using the changes
+     * it carries. The whole snapshot is serialized again if it is not of the list cached before,
+     * if its changes were not tracked, or if they do not add up to its size.
+     *
+     * @param snapshot the snapshot to cache
+     * @return the number of tasks that had to be serialized
+     * @throws IOException if a task cannot be serialized
+     */
+    public int update(TaskSnapshot snapshot) throws IOException {
+        assert snapshot != null : "snapshot must not be null";
+        if (!snapshot.isOfSameList(cached) || snapshot.isFullyChanged()
+                || !applyChanges(snapshot.getChanges(), snapshot.size())) {
+            cached = null;
+            segments.clear();
+            int start = 0;
+            while (start < snapshot.size()) {
+                int size = Math.min(SEGMENT_TASKS, snapshot.size() - start);
+                segments.add(new Segment(size));
+                start += size;
+            }
+        }
+        int serialized = encodeDirtySegments(snapshot);
+        cached = snapshot;
+        return serialized;
+    }
+
+    /**
+     * Forgets every cached segment, so the next update serializes the whole list.
+     */
+    public void invalidate() {
+        cached = null;
+        segments.clear();
+    }
+
+    /**
+     * Writes the cached segments to the given file, replacing its contents.
+     *
+     * @param file the file to write
+     * @param isForced true to force the file to the storage device before returning
+     * @throws IOException if the file cannot be written
+     */
+    public void writeTo(Path file, boolean isForced) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE));
+            int nextId = cached == null ? 0 : cached.getNextId();
+            if (format == StorageFormat.BINARY) {
+                int count = 0;
+                for (Segment segment : segments) {
+                    count += segment.count;
+                }
+                BinaryTaskFile.writeHeader(out, count, nextId);
+            } else {
+                int highestId = 0;
+                for (Segment segment : segments) {
+                    highestId = Math.max(highestId, segment.highestId);
+                }
+                String nextIdRecord = Storage.toNextIdRecord(nextId, highestId);
+                if (nextIdRecord != null) {
+                    out.write(nextIdRecord.getBytes(StandardCharsets.UTF_8));
+                    out.write(LINE_SEPARATOR);
+                }
+            }
+            for (Segment segment : segments) {
+                out.write(segment.bytes);
+            }
+            out.flush();
+            if (isForced) {
+                channel.force(true);
+            }
+        }
+    }
+
+    /**
+     * Applies the tracked changes to the segment sizes and marks the touched segments dirty.
+     *
+     * @param changes the changes, in the order they were made
+     * @param expectedSize the size of the list after the changes
+     * @return false if the changes do not match the cached segments
+     */
+    private boolean applyChanges(List<TaskChange> changes, int expectedSize) {
+        for (TaskChange change : changes) {
+            int index = change.getIndex();
+            boolean isAdded = change.getKind() == TaskChange.Kind.ADDED;
+            int segmentIndex = findSegment(index, isAdded);
+            if (segmentIndex < 0) {
+                return false;
+            }
+            Segment segment = segments.get(segmentIndex);
+            segment.isDirty = true;
+            if (isAdded) {
+                segment.size++;
+            } else if (change.getKind() == TaskChange.Kind.REMOVED) {
+                segment.size--;
+                if (segment.size == 0) {
+                    segments.remove(segmentIndex);
+                }
+            }
+        }
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size;
+        }
+        return size == expectedSize;
+    }
+
+    /**
+     * Finds the segment holding the task at the given index.
+     * For an insertion at the end of the list, the last segment is used unless it is full.
+     *
+     * @param index the index of the task (0-based indexing)
+     * @param isInsertion true if a task is being inserted at the index
+     * @return the index of the segment, or -1 if the index is out of range
+     */
+    private int findSegment(int index, boolean isInsertion) {
+        int start = 0;
+        for (int i = 0; i < segments.size(); i++) {
+            int end = start + segments.get(i).size;
+            if (index < end) {
+                return i;
+            }
+            start = end;
+        }
+        if (!isInsertion || index != start) {
+            return -1;
+        }
+        if (segments.isEmpty() || segments.get(segments.size() - 1).size >= SEGMENT_TASKS) {
+            segments.add(new Segment(0));
+        }
+        return segments.size() - 1;
+    }
+
+    private int encodeDirtySegments(TaskSnapshot tasks) throws IOException {
+        int serialized = 0;
+        int start = 0;
+        for (int i = 0; i < segments.size(); i++) {
+            Segment segment = segments.get(i);
+            if (segment.isDirty && segment.size > 2 * SEGMENT_TASKS) {
+                segments.set(i, new Segment(SEGMENT_TASKS));
+                segments.add(i + 1, new Segment(segment.size - SEGMENT_TASKS));
+                segment = segments.get(i);
+            }
+            if (segment.isDirty) {
+                encode(segment, tasks, start);
+                serialized += segment.size;
+            }
+            start += segment.size;
+        }
+        return serialized;
+    }
+
+    private void encode(Segment segment, TaskSnapshot tasks, int start) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        int count = 0;
+        int highestId = 0;
+        for (int i = start; i < start + segment.size; i++) {
+            Task task = tasks.get(i);
+            assert task != null : "task item must not be null";
+            highestId = Math.max(highestId, task.getId());
+            if (format == StorageFormat.BINARY) {
+                if (BinaryTaskFile.writeTask(out, task, tasks.isDone(i))) {
+                    count++;
+                }
+            } else {
+                String line = Storage.toDataString(task, tasks.isDone(i));
+                if (line != null) {
+                    out.write(line.getBytes(StandardCharsets.UTF_8));
+                    out.write(LINE_SEPARATOR);
+                    count++;
+                }
+            }
+        }
+        segment.bytes = bytes.toByteArray();
+        segment.count = count;
+        segment.highestId = highestId;
+        segment.isDirty = false;
+    }
+
+    /**
+     * A run of consecutive tasks and their serialized bytes.
+     */
+    private static class Segment {
+        private int size;
+        private int count;
+        private int highestId;
+        private byte[] bytes = new byte[0];
+        private boolean isDirty = true;
+
+        Segment(int size) {
+            this.size = size;
+        }
+    }
+}
@@ -0,0 +1,398 @@
+package lyra.util;
+
+import lyra.exception.LyraException;
+import lyra.task.Deadline;
+import lyra.task.Event;
+import lyra.task.Task;
+import lyra.task.TaskLoader;
+import lyra.task.TaskSnapshot;
+import lyra.task.Todo;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Stores tasks in one segment file per month plus a small manifest, and loads segments lazily.
+ * Deadlines are filed under the month of their deadline and Events under the month they start;
+ * Todos, and tasks without a date, have segments of their own.
+ *
+ * Each segment line is the task's data string prefixed with an order key: keys increase in list
+ * order, so the list is rebuilt by merging all segments by key. The manifest records how many
+ * tasks each segment holds, the next free order key and the next free task ID, which is enough
+ * to count the tasks and append new ones without reading the segments that are not active.
+ *
+ * At startup only the Todo, undated and current month segments are read. The remaining
+ * segments are loaded through the TaskLoader interface once a command needs the whole list.
+ */
+public class SegmentedTaskStore implements TaskLoader {
+    static final String TODO_SEGMENT = "todo";
+    static final String UNDATED_SEGMENT = "undated";
+    private static final String MANIFEST_NAME = "manifest";
+    private static final String SEGMENT_SUFFIX = ".txt";
+    private static final String NEXT_KEY_RECORD = "next";
+    private static final String NEXT_ID_RECORD = "nextid";
+    private static final String SEGMENT_RECORD = "S";
+    private static final String SEPARATOR = " | ";
+
+    private final Path directory;
+    private final Path manifestFile;
+    private final Set<String> activeSegments = new HashSet<>();
+    private final TreeMap<String, Integer> segmentCounts = new TreeMap<>();
+    private final Set<String> loadedSegments = new HashSet<>();
+    private final HashMap<String, String> writtenContent = new HashMap<>();
+    private IdentityHashMap<Task, Long> orderKeys = new IdentityHashMap<>();
+    private long nextOrderKey;
+    private int nextTaskId;
+    private int unloadedCount;
+    private String writtenManifest = "";
+
+    /**
+     * Constructs a new SegmentedTaskStore.
+     *
+     * @param directory the directory holding the manifest and the segment files
+     * @param activeMonth the month whose segment is loaded at startup, usually the current month
+     */
+    public SegmentedTaskStore(Path directory, YearMonth activeMonth) {
+        assert directory != null : "directory must not be null";
+        this.directory = directory;
+        this.manifestFile = directory.resolve(MANIFEST_NAME);
+        activeSegments.add(TODO_SEGMENT);
+        activeSegments.add(UNDATED_SEGMENT);
+        activeSegments.add(activeMonth.toString());
+    }
+
+    /**
+     * Gets the segment a task is filed under.
+     *
+     * @param task the task
+     * @return the segment name, e.g. "todo" or "2019-12", or null if the task type is not supported
+     */
+    static String segmentOf(Task task) {
+        LocalDate date;
+        if (task instanceof Todo) {
+            return TODO_SEGMENT;
+        } else if (task instanceof Deadline) {
+            date = ((Deadline) task).getBy();
+        } else if (task instanceof Event) {
+            date = ((Event) task).getFrom();
+        } else {
+            return null;
+        }
+        return date == null ? UNDATED_SEGMENT : YearMonth.from(date).toString();
+    }
+
+    /**
+     * Checks if the store has been written before.
+     *
+     * @return true if the manifest exists
+     */
+    public boolean exists() {
+        return Files.exists(manifestFile);
+    }
+
+    /**
+     * Reads the manifest and the active segments.
+     *
+     * @return the tasks in the active segments, in list order
+     * @throws LyraException if the manifest or a segment cannot be read
+     */
+    public ArrayList<Task> loadActive() throws LyraException {
+        segmentCounts.clear();
+        loadedSegments.clear();
+        writtenContent.clear();
+        orderKeys = new IdentityHashMap<>();
+        unloadedCount = 0;
+        ArrayList<Entry> entries = new ArrayList<>();
+        try {
+            readManifest();
+            for (Map.Entry<String, Integer> segment : segmentCounts.entrySet()) {
+                if (activeSegments.contains(segment.getKey())) {
+                    readSegment(segment.getKey(), entries, Set.of());
+                } else {
+                    unloadedCount += segment.getValue();
+                }
+            }
+        } catch (IOException e) {
+            throw new LyraException("Error loading tasks from file: " + e.getMessage());
+        }
+        return toTaskList(entries);
+    }
+
+    @Override
+    public int getUnloadedCount() {
+        return unloadedCount;
+    }
+
+    @Override
+    public int getNextId() {
+        return nextTaskId;
+    }
+
+    @Override
+    public ArrayList<Task> loadRemaining(List<Task> loadedTasks) throws LyraException {
+        ArrayList<Entry> entries = new ArrayList<>();
+        Set<Long> keysInMemory = new HashSet<>();
+        for (Task task : loadedTasks) {
+            Long key = orderKeys.get(task);
+            if (key != null) {
+                keysInMemory.add(key);
+            }
+            // tasks added since the last save have no key yet and stay at the end
+            entries.add(new Entry(key == null ? Long.MAX_VALUE : key, task));
+        }
+        try {
+            for (String segment : new ArrayList<>(segmentCounts.keySet())) {
+                if (!loadedSegments.contains(segment)) {
+                    readSegment(segment, entries, keysInMemory);
+                }
+            }
+        } catch (IOException e) {
+            throw new LyraException("Error loading tasks from file: " + e.getMessage());
+        }
+        unloadedCount = 0;
+        return toTaskList(entries);
+    }
+
+    /**
+     * Writes the tasks to their segments.
+     * Only segments whose content changed are rewritten, each through a temporary file
+     * that is renamed into place. While some segments are not loaded, the only possible
+     * change is the addition of tasks, which are appended to those segments.
+     *
+     * @param tasks a snapshot of the tasks in memory, in list order
+     * @throws IOException if a file cannot be written
+     */
+    public void save(TaskSnapshot tasks) throws IOException {
+        boolean isFullyLoaded = tasks.isFullyLoaded();
+        IdentityHashMap<Task, Long> keys = new IdentityHashMap<>();
+        TreeMap<String, StringBuilder> contents = new TreeMap<>();
+        TreeMap<String, Integer> counts = new TreeMap<>();
+        TreeMap<String, StringBuilder> appends = new TreeMap<>();
+        long previous = -1;
+        for (int i = 0; i < tasks.size(); i++) {
+            Task task = tasks.get(i);
+            String segment = segmentOf(task);
+            if (segment == null) {
+                continue;
+            }
+            Long key = orderKeys.get(task);
+            boolean isNew = key == null;
+            if (isNew || key <= previous) {
+                key = isFullyLoaded ? previous + 1 : Math.max(previous + 1, nextOrderKey);
+            }
+            keys.put(task, key);
+            previous = key;
+            nextOrderKey = Math.max(nextOrderKey, key + 1);
+            nextTaskId = Math.max(nextTaskId, task.getId() + 1);
+
+            String line = key + SEPARATOR + Storage.toDataString(task, tasks.isDone(i)) + System.lineSeparator();
+            if (segmentCounts.containsKey(segment) && !loadedSegments.contains(segment)) {
+                if (isNew) {
+                    appends.computeIfAbsent(segment, name -> new StringBuilder()).append(line);
+                }
+            } else {
+                contents.computeIfAbsent(segment, name -> new StringBuilder()).append(line);
+                counts.merge(segment, 1, Integer::sum);
+            }
+        }
+
+        nextTaskId = Math.max(nextTaskId, tasks.getNextId());
+
+        Files.createDirectories(directory);
+        for (String segment : new ArrayList<>(loadedSegments)) {
+            if (!contents.containsKey(segment)) {
+                Files.deleteIfExists(segmentFile(segment));
+                loadedSegments.remove(segment);
+                writtenContent.remove(segment);
+                segmentCounts.remove(segment);
+            }
+        }
+        for (Map.Entry<String, StringBuilder> segment : appends.entrySet()) {
+            String text = segment.getValue().toString();
+            segmentCounts.merge(segment.getKey(), countLines(text), Integer::sum);
+        }
+        segmentCounts.putAll(counts);
+        writeManifest();
+
+        for (Map.Entry<String, StringBuilder> segment : appends.entrySet()) {
+            appendDurably(segmentFile(segment.getKey()), segment.getValue().toString());
+        }
+        for (Map.Entry<String, StringBuilder> segment : contents.entrySet()) {
+            String text = segment.getValue().toString();
+            if (!text.equals(writtenContent.get(segment.getKey()))) {
+                writeAtomically(segmentFile(segment.getKey()), text);
+                writtenContent.put(segment.getKey(), text);
+            }
+            loadedSegments.add(segment.getKey());
+        }
+        orderKeys = keys;
+    }
+
+    private Path segmentFile(String segment) {
+        return directory.resolve(segment + SEGMENT_SUFFIX);
+    }
+
+    private void readManifest() throws IOException {
+        nextOrderKey = 0;
+        nextTaskId = 0;
+        List<String> lines = Files.readAllLines(manifestFile, StandardCharsets.UTF_8);
+        for (String line : lines) {
+            String[] parts = line.split("\\|");
+            try {
+                if (parts.length == 2 && NEXT_KEY_RECORD.equals(parts[0].trim())) {
+                    nextOrderKey = Long.parseLong(parts[1].trim());
+                } else if (parts.length == 2 && NEXT_ID_RECORD.equals(parts[0].trim())) {
+                    nextTaskId = Integer.parseInt(parts[1].trim());
+                } else if (parts.length == 3 && SEGMENT_RECORD.equals(parts[0].trim())) {
+                    segmentCounts.put(parts[1].trim(), Integer.parseInt(parts[2].trim()));
+                }
+            } catch (NumberFormatException e) {
+                // Skip corrupted manifest lines; the segment files remain the source of truth
+            }
+        }
+        writtenManifest = String.join(System.lineSeparator(), lines);
+    }
+
+    private void writeManifest() throws IOException {
+        ArrayList<String> lines = new ArrayList<>();
+        lines.add(NEXT_KEY_RECORD + SEPARATOR + nextOrderKey);
+        if (nextTaskId > 0) {
+            lines.add(NEXT_ID_RECORD + SEPARATOR + nextTaskId);
+        }
+        for (Map.Entry<String, Integer> segment : segmentCounts.entrySet()) {
+            lines.add(SEGMENT_RECORD + SEPARATOR + segment.getKey() + SEPARATOR + segment.getValue());
+        }
+        String text = String.join(System.lineSeparator(), lines);
+        if (!text.equals(writtenManifest)) {
+            writeAtomically(manifestFile, text + System.lineSeparator());
+            writtenManifest = text;
+        }
+    }
+
+    /**
+     * Reads the tasks of a segment and marks the segment as loaded.
+     *
+     * @param segment the segment to read
+     * @param entries the list to add the tasks to
+     * @param skippedKeys order keys of tasks that are already in memory
+     * @throws IOException if the segment file cannot be read
+     */
+    private void readSegment(String segment, List<Entry> entries, Set<Long> skippedKeys) throws IOException {
+        Path file = segmentFile(segment);
+        List<String> lines = Files.exists(file)
+                ? Files.readAllLines(file, StandardCharsets.UTF_8) : List.of();
+        int count = 0;
+        for (String line : lines) {
+            int separator = line.indexOf('|');
+            if (separator < 0) {
+                continue;
+            }
+            long key;
+            try {
+                key = Long.parseLong(line.substring(0, separator).trim());
+            } catch (NumberFormatException e) {
+                continue;
+            }
+            count++;
+            nextOrderKey = Math.max(nextOrderKey, key + 1);
+            if (skippedKeys.contains(key)) {
+                continue;
+            }
+            Task task = Storage.parseTaskFromFile(line.substring(separator + 1));
+            if (task != null) {
+                nextTaskId = Math.max(nextTaskId, task.getId() + 1);
+                entries.add(new Entry(key, task));
+                orderKeys.put(task, key);
+            }
+        }
+        segmentCounts.put(segment, count);
+        loadedSegments.add(segment);
+    }
+
+    /**
+     * Orders the entries by key and remembers the canonical content of every loaded segment,
+     * so that the next save only rewrites segments that actually change.
+     */
+    private ArrayList<Task> toTaskList(ArrayList<Entry> entries) {
+        entries.sort(Comparator.comparingLong(entry -> entry.key));
+        ArrayList<Task> tasks = new ArrayList<>(entries.size());
+        HashMap<String, StringBuilder> contents = new HashMap<>();
+        for (Entry entry : entries) {
+            tasks.add(entry.task);
+            String segment = segmentOf(entry.task);
+            if (entry.key != Long.MAX_VALUE && segment != null) {
+                contents.computeIfAbsent(segment, name -> new StringBuilder())
+                        .append(entry.key).append(SEPARATOR).append(Storage.toDataString(entry.task))
+                        .append(System.lineSeparator());
+            }
+        }
+        for (String segment : loadedSegments) {
+            StringBuilder content = contents.get(segment);
+            writtenContent.put(segment, content == null ? "" : content.toString());
+        }
+        return tasks;
+    }
+
+    private static int countLines(String text) {
+        int count = 0;
+        for (int i = text.indexOf('\n'); i >= 0; i = text.indexOf('\n', i + 1)) {
+            count++;
+        }
+        return count;
+    }
+
+    private static void writeAtomically(Path file, String text) throws IOException {
+        Path tempFile = Paths.get(file + ".tmp");
+        try (FileChannel channel = FileChannel.open(tempFile, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            write(channel, text);
+        }
+        Files.move(tempFile, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private static void appendDurably(Path file, String text) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            write(channel, text);
+        }
+    }
+
+    private static void write(FileChannel channel, String text) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8));
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        channel.force(true);
+    }
+
+    /**
+     * A task together with its order key.
+     */
+    private static class Entry {
+        private final long key;
+        private final Task task;
+
+        Entry(long key, Task task) {
+            this.key = key;
+            this.task = task;
+        }
+    }
+}
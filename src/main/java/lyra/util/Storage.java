@@ -4,15 +4,30 @@ import lyra.task.Task;
 import lyra.task.Todo;
 import lyra.task.Deadline;
 import lyra.task.Event;
+import lyra.task.TaskChange;
 import lyra.task.TaskList;
+import lyra.task.TaskSnapshot;
 import lyra.exception.LyraException;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.IntConsumer;
 import java.time.LocalDate;
+import java.time.YearMonth;
 
 /**
  * Handles persistent storage of tasks in the Lyra application.
@@ -20,23 +35,61 @@ import java.time.LocalDate;
  * Supports automatic creation of data directory and file if they don't exist.
  */
 public class Storage {
+    private static final long CLOSE_TIMEOUT_MILLIS = 5000;
+    static final String ID_PREFIX = "#";
+    static final String NEXT_ID_RECORD = "nextid";
+
     private final Path dataFile;
+    private final TaskJournal journal;
+    private final JournalCompactor compactor;
+    private final SaveScheduler scheduler;
+    private final SegmentCache saveCache;
+    private final SegmentedTaskStore segmentedStore;
+    private final TaskArchive archive;
+    private final StorageConfig config;
+    // The ID the loaded tasks would give their next task, or 0 if the loaded IDs imply it
+    private int loadedNextId;
 
     /**
-     * Constructs a new Storage instance with the specified file path.
+     * Constructs a new Storage instance with the specified file path and default options.
      *
      * @param filePath the path to the data file for storing tasks
      */
     public Storage(String filePath) {
+        this(filePath, new StorageConfig());
+    }
+
+    /**
+     * Constructs a new Storage instance with the specified file path and options.
+     * The journal is kept next to the data file with a ".journal" suffix.
+     *
+     * @param filePath the path to the data file for storing tasks
+     * @param config the storage options to use
+     */
+    public Storage(String filePath, StorageConfig config) {
         assert filePath != null && !filePath.trim().isEmpty() : "filePath must not be null or empty";
+        assert config != null : "config must not be null";
         this.dataFile = Paths.get(filePath);
+        this.journal = new TaskJournal(Paths.get(filePath + ".journal"));
+        this.compactor = new JournalCompactor(dataFile, journal, config);
+        this.scheduler = new SaveScheduler(this, config);
+        this.saveCache = new SegmentCache(config.getStorageFormat());
+        this.segmentedStore = config.isSegmented()
+                ? new SegmentedTaskStore(Paths.get(filePath + ".segments"), YearMonth.now()) : null;
+        this.archive = new TaskArchive(Paths.get(filePath + ".archive.gz"));
+        this.config = config;
         assert this.dataFile != null : "dataFile path must be initialized";
     }
 
     /**
      * Loads tasks from the data file.
      * Creates the data directory and file if they don't exist.
-     * Parses each line of the file to reconstruct Task objects.
+     * Parses each line of the file to reconstruct Task objects, then replays any
+     * journal records written since the data file was last saved in full.
+     * A compaction interrupted by a crash is either completed or replayed as well.
+     * Outside journal mode the replayed tasks are folded back into the data file.
+     * The next ID kept in the data file, and the IDs of tasks the journal deleted, are
+     * remembered so that loadTaskList never gives those IDs out again.
      *
      * @return an ArrayList of loaded tasks
      * @throws LyraException if an error occurs during file operations
@@ -45,15 +98,12 @@ public class Storage {
         ArrayList<Task> tasks = new ArrayList<>();
         Path dataDir = dataFile.getParent();
         
+        compactor.recover();
+        loadedNextId = 0;
         try {
             if (Files.exists(dataFile)) {
-                for (String fileLine : Files.readAllLines(dataFile)) {
-                    assert fileLine != null : "file line must not be null";
-                    Task task = parseTaskFromFile(fileLine);
-                    if (task != null) {
-                        tasks.add(task);
-                    }
-                }
+                tasks = readTasks(dataFile, config);
+                loadedNextId = readNextId(dataFile);
             } else {
                 // Create directory and file if they don't exist
                 if (dataDir != null && !Files.exists(dataDir)) {
@@ -64,36 +114,580 @@ public class Storage {
         } catch (IOException e) {
             throw new LyraException("Error loading tasks from file: " + e.getMessage());
         }
+
+        boolean hasPending = compactor.hasPending();
+        Consumer<Task> onRemoved = task -> loadedNextId = Math.max(loadedNextId, task.getId() + 1);
+        int replayed = TaskJournal.replay(compactor.getPendingFile(), tasks, onRemoved)
+                + journal.replay(tasks, onRemoved);
+        if (replayed > 0 && !isJournalling()) {
+            save(tasks, loadedNextId);
+        } else if (hasPending) {
+            compactor.requestCompaction();
+        }
         
         return tasks;
     }
 
+    /**
+     * Loads the task list.
+     * With segmented storage only the active segments are read, and the rest of the list is
+     * loaded when a command first needs it. The first segmented load splits the existing data
+     * file into segments. Otherwise every task is loaded from the data file, as in load().
+     * Tasks saved before tasks had IDs are given IDs by the task list, which is then saved at
+     * once, so that the IDs stay the same from then on.
+     *
+     * @return the task list
+     * @throws LyraException if an error occurs during file operations
+     */
+    public TaskList loadTaskList() throws LyraException {
+        TaskList tasks;
+        boolean isSaveNeeded;
+        if (segmentedStore == null) {
+            ArrayList<Task> allTasks = load();
+            isSaveNeeded = hasTaskWithoutId(allTasks);
+            tasks = new TaskList(allTasks);
+            tasks.reserveIds(loadedNextId);
+        } else if (!segmentedStore.exists()) {
+            tasks = new TaskList(load());
+            tasks.reserveIds(loadedNextId);
+            isSaveNeeded = true;
+        } else {
+            ArrayList<Task> activeTasks = segmentedStore.loadActive();
+            isSaveNeeded = hasTaskWithoutId(activeTasks);
+            tasks = segmentedStore.getUnloadedCount() == 0
+                    ? new TaskList(activeTasks) : new TaskList(activeTasks, segmentedStore);
+            tasks.reserveIds(segmentedStore.getNextId());
+        }
+        if (isSaveNeeded) {
+            save(tasks);
+        }
+        if (config.getArchiveAfterDays() > 0) {
+            LocalDate cutoff = LocalDate.now().minusDays(config.getArchiveAfterDays());
+            archive(tasks, task -> TaskArchive.isExpired(task, cutoff));
+        }
+        return tasks;
+    }
+
+    /**
+     * Moves the loaded tasks that meet the given condition from the task list into the archive.
+     * The tasks are written to the archive before the task list is saved without them,
+     * so a failure can at worst leave a task in both places, never in neither.
+     *
+     * @param tasks the task list to archive tasks from
+     * @param condition the condition a task must meet to be archived
+     * @return the number of tasks archived
+     * @throws LyraException if the archive or the task list cannot be written
+     */
+    public int archive(TaskList tasks, Predicate<Task> condition) throws LyraException {
+        assert condition != null : "condition must not be null";
+        scheduler.flush();
+        Set<Task> archived = Collections.newSetFromMap(new IdentityHashMap<>());
+        ArrayList<Task> candidates = new ArrayList<>();
+        for (Task task : tasks.getLoadedTasks()) {
+            if (condition.test(task)) {
+                archived.add(task);
+                candidates.add(task);
+            }
+        }
+        if (candidates.isEmpty()) {
+            return 0;
+        }
+        try {
+            archive.append(candidates);
+        } catch (IOException e) {
+            throw new LyraException("Error saving tasks to file: " + e.getMessage());
+        }
+        tasks.removeTasks(archived::contains);
+        // Undoing would bring back tasks that now also live in the archive
+        tasks.getHistory().clear();
+        save(tasks);
+        return candidates.size();
+    }
+
+    /**
+     * Searches the archive for tasks whose description contains the keyword, ignoring case.
+     *
+     * @param keyword the keyword to search for
+     * @return the matching archived tasks
+     * @throws LyraException if the archive cannot be read
+     */
+    public ArrayList<Task> searchArchive(String keyword) throws LyraException {
+        try {
+            return archive.search(keyword);
+        } catch (IOException e) {
+            throw new LyraException("Error loading tasks from file: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Searches the archive for tasks that satisfy a condition.
+     *
+     * @param condition the condition archived tasks have to satisfy
+     * @return the matching archived tasks
+     * @throws LyraException if the archive cannot be read
+     */
+    public ArrayList<Task> searchArchive(Predicate<Task> condition) throws LyraException {
+        try {
+            return archive.search(condition);
+        } catch (IOException e) {
+            throw new LyraException("Error loading tasks from file: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Reads and parses every task in the given data file.
+     * The format is detected from the file itself: binary files are read by BinaryTaskFile,
+     * and text files are streamed through TaskFileReader rather than read into a list of
+     * lines, and parsed in parallel once they reach the configured size.
+     *
+     * @param file the data file to read
+     * @param config the storage options holding the parallel load threshold
+     * @return the tasks in the file, in file order
+     * @throws IOException if the file cannot be read
+     */
+    static ArrayList<Task> readTasks(Path file, StorageConfig config) throws IOException {
+        if (BinaryTaskFile.isBinary(file)) {
+            return BinaryTaskFile.read(file);
+        }
+        return TaskFileReader.read(file, config.getParallelLoadThreshold());
+    }
+
+    /**
+     * Reads the ID the task list would give its next task from the given data file,
+     * in whichever format it is.
+     *
+     * @param file the data file to read
+     * @return the next ID, or 0 if the file does not keep one
+     * @throws IOException if the file cannot be read
+     */
+    static int readNextId(Path file) throws IOException {
+        if (BinaryTaskFile.isBinary(file)) {
+            return BinaryTaskFile.readNextId(file);
+        }
+        return TaskFileReader.readNextId(file);
+    }
+
+    /**
+     * Writes every task to the given file in the configured format, replacing its contents.
+     *
+     * @param file the file to write
+     * @param tasks the tasks to write, in list order
+     * @param nextId the ID the task list would give its next task, or 0 if unknown
+     * @param format the format to write the file in
+     * @param isForced true to force the file to the storage device before returning
+     * @throws IOException if the file cannot be written
+     */
+    static void writeTasks(Path file, List<Task> tasks, int nextId, StorageFormat format, boolean isForced)
+            throws IOException {
+        if (format == StorageFormat.BINARY) {
+            BinaryTaskFile.write(file, tasks, nextId, isForced);
+            return;
+        }
+        StringBuilder content = new StringBuilder();
+        int highestId = 0;
+        for (Task task : tasks) {
+            highestId = Math.max(highestId, task.getId());
+        }
+        String nextIdRecord = toNextIdRecord(nextId, highestId);
+        if (nextIdRecord != null) {
+            content.append(nextIdRecord).append(System.lineSeparator());
+        }
+        for (String line : toDataLines(tasks)) {
+            content.append(line).append(System.lineSeparator());
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(content.toString().getBytes(StandardCharsets.UTF_8));
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            if (isForced) {
+                channel.force(true);
+            }
+        }
+    }
+
+    /**
+     * Gets the record a text data file starts with to keep the ID the task list would give its
+     * next task. The record is only needed when that ID is above every ID in the file, such as
+     * after the task with the highest ID was deleted, so files are otherwise left as they were.
+     *
+     * @param nextId the ID the task list would give its next task, or 0 if unknown
+     * @param highestId the highest ID of the tasks in the file
+     * @return the record, or null if the IDs in the file already imply the next ID
+     */
+    static String toNextIdRecord(int nextId, int highestId) {
+        return nextId > highestId + 1 ? NEXT_ID_RECORD + " | " + nextId : null;
+    }
+
+    /**
+     * Converts tasks to the lines that represent them in the data file.
+     *
+     * @param tasks the tasks to convert
+     * @return one data string per supported task, in list order
+     */
+    static ArrayList<String> toDataLines(List<Task> tasks) {
+        ArrayList<String> lines = new ArrayList<>();
+        for (Task task : tasks) {
+            assert task != null : "task item must not be null";
+            String line = toDataString(task);
+            if (line != null) {
+                lines.add(line);
+            }
+        }
+        return lines;
+    }
+
     /**
      * Saves the current list of tasks to the data file.
-     * Converts each task to its data string representation and writes to file.
+     * Writes every task in the configured format, as data strings unless the binary format was chosen.
+     * Since the data file then holds every task, the journal is cleared.
      *
      * @param tasks the list of tasks to save
      * @throws LyraException if an error occurs during file writing
      */
     public void save(ArrayList<Task> tasks) throws LyraException {
+        save(tasks, 0);
+    }
+
+    private void save(ArrayList<Task> tasks, int nextId) throws LyraException {
         assert tasks != null : "tasks to save must not be null";
-        ArrayList<String> lines = new ArrayList<>();
-        for (Task task : tasks) {
-            assert task != null : "task item must not be null";
-            if (task instanceof Todo) {
-                lines.add(((Todo) task).toDataString());
-            } else if (task instanceof Deadline) {
-                lines.add(((Deadline) task).toDataString());
-            } else if (task instanceof Event) {
-                lines.add(((Event) task).toDataString());
+        if (segmentedStore != null) {
+            saveSegments(TaskSnapshot.of(tasks));
+            return;
+        }
+        synchronized (compactor) {
+            saveCache.invalidate();
+            try {
+                writeTasks(compactor.getTempFile(), tasks, nextId, config.getStorageFormat(), true);
+            } catch (IOException e) {
+                throw new LyraException("Error saving tasks to file: " + e.getMessage());
             }
+            publishSave();
         }
-        
+    }
+
+    /**
+     * Saves a task list to the data file, re-serializing only the tasks changed since it was last saved.
+     * The tasks are written to a temporary file that is forced to disk and then renamed over
+     * the data file, so a crash during the save leaves the previous data file intact.
+     *
+     * @param tasks the task list to save
+     * @throws LyraException if an error occurs during file writing
+     */
+    public void save(TaskList tasks) throws LyraException {
+        assert tasks != null : "tasks to save must not be null";
+        save(takeSnapshot(tasks));
+    }
+
+    /**
+     * Saves a snapshot of a task list to the data file, re-serializing only the tasks changed
+     * since the list was last saved. Snapshots never change, so this may run on any thread
+     * while commands keep changing the list.
+     *
+     * @param snapshot the snapshot to save
+     * @throws LyraException if an error occurs during file writing
+     */
+    public void save(TaskSnapshot snapshot) throws LyraException {
+        assert snapshot != null : "snapshot to save must not be null";
+        if (segmentedStore != null) {
+            saveSegments(snapshot);
+            return;
+        }
+        synchronized (compactor) {
+            try {
+                saveCache.update(snapshot);
+                saveCache.writeTo(compactor.getTempFile(), true);
+            } catch (IOException e) {
+                saveCache.invalidate();
+                throw new LyraException("Error saving tasks to file: " + e.getMessage());
+            }
+            publishSave();
+        }
+    }
+
+    /**
+     * Takes a snapshot of a task list to save, handing its tracked changes over to the snapshot.
+     *
+     * @param tasks the task list
+     * @return the snapshot
+     */
+    static TaskSnapshot takeSnapshot(TaskList tasks) {
+        TaskSnapshot snapshot = tasks.snapshot();
+        tasks.clearChanges();
+        return snapshot;
+    }
+
+    /**
+     * Writes the tasks in memory to their segment files.
+     *
+     * @param snapshot the tasks in memory, in list order
+     * @throws LyraException if an error occurs during file writing
+     */
+    private void saveSegments(TaskSnapshot snapshot) throws LyraException {
+        synchronized (compactor) {
+            try {
+                segmentedStore.save(snapshot);
+            } catch (IOException e) {
+                throw new LyraException("Error saving tasks to file: " + e.getMessage());
+            }
+            compactor.discardPending();
+            journal.clear();
+        }
+    }
+
+    /**
+     * Checks if mutations are appended to the journal.
+     * Segmented storage writes the segments themselves instead, so it never uses the journal.
+     *
+     * @return true if journal mode is in effect
+     */
+    private boolean isJournalling() {
+        return config.isJournalMode() && segmentedStore == null;
+    }
+
+    /**
+     * Renames the fully written temporary file over the data file and clears the journal,
+     * whose records the data file now includes.
+     *
+     * @throws LyraException if the temporary file cannot be moved into place
+     */
+    private void publishSave() throws LyraException {
         try {
-            Files.write(dataFile, lines);
+            Files.move(compactor.getTempFile(), dataFile,
+                    StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
         } catch (IOException e) {
+            saveCache.invalidate();
             throw new LyraException("Error saving tasks to file: " + e.getMessage());
         }
+        compactor.discardPending();
+        journal.clear();
+    }
+
+    /**
+     * Persists a newly added task.
+     * In journal mode a single record is appended; otherwise the list is saved, re-serializing only the change.
+     * The write may be coalesced with other mutations depending on the durability mode.
+     *
+     * @param tasks the task list after the task was added
+     * @param task the task that was added
+     * @throws LyraException if an error occurs during file writing
+     */
+    public void saveAdded(TaskList tasks, Task task) throws LyraException {
+        assert task != null : "added task must not be null";
+        if (isJournalling()) {
+            scheduler.submitRecord(TaskJournal.addedRecord(task));
+        } else {
+            scheduler.submitSnapshot(tasks);
+        }
+    }
+
+    /**
+     * Persists a change in the status of a task.
+     * In journal mode a single record is appended; otherwise the list is saved, re-serializing only the change.
+     * The write may be coalesced with other mutations depending on the durability mode.
+     *
+     * @param tasks the task list after the task was updated
+     * @param index the index of the updated task (0-based indexing)
+     * @param isDone true if the task was marked as done, false if marked as not done
+     * @throws LyraException if an error occurs during file writing
+     */
+    public void saveMarked(TaskList tasks, int index, boolean isDone) throws LyraException {
+        if (isJournalling()) {
+            scheduler.submitRecord(TaskJournal.markedRecord(index, isDone));
+        } else {
+            scheduler.submitSnapshot(tasks);
+        }
+    }
+
+    /**
+     * Persists the deletion of a task.
+     * In journal mode a single record is appended; otherwise the list is saved, re-serializing only the change.
+     * The write may be coalesced with other mutations depending on the durability mode.
+     *
+     * @param tasks the task list after the task was deleted
+     * @param index the index the deleted task used to have (0-based indexing)
+     * @throws LyraException if an error occurs during file writing
+     */
+    public void saveDeleted(TaskList tasks, int index) throws LyraException {
+        if (isJournalling()) {
+            scheduler.submitRecord(TaskJournal.deletedRecord(index));
+        } else {
+            scheduler.submitSnapshot(tasks);
+        }
+    }
+
+    /**
+     * Persists a change in the status of many tasks at once, as a single mutation.
+     * In journal mode one record per task is appended in a single write; otherwise the list is
+     * saved once, re-serializing only the changed tasks.
+     *
+     * @param tasks the task list after the tasks were updated
+     * @param indexes the indexes of the updated tasks (0-based indexing)
+     * @param isDone true if the tasks were marked as done, false if marked as not done
+     * @throws LyraException if an error occurs during file writing
+     */
+    public void saveMarked(TaskList tasks, List<Integer> indexes, boolean isDone) throws LyraException {
+        if (isJournalling()) {
+            ArrayList<String> records = new ArrayList<>(indexes.size());
+            for (int index : indexes) {
+                records.add(TaskJournal.markedRecord(index, isDone));
+            }
+            scheduler.submitRecords(records);
+        } else {
+            scheduler.submitSnapshot(tasks);
+        }
+    }
+
+    /**
+     * Persists the deletion of many tasks at once, as a single mutation.
+     * In journal mode one record per task is appended in a single write, last index first so
+     * that replaying each record leaves the indexes of the records after it valid; otherwise the
+     * list is saved once.
+     *
+     * @param tasks the task list after the tasks were deleted
+     * @param indexes the indexes the deleted tasks used to have, in increasing order (0-based indexing)
+     * @throws LyraException if an error occurs during file writing
+     */
+    public void saveDeleted(TaskList tasks, List<Integer> indexes) throws LyraException {
+        if (isJournalling()) {
+            ArrayList<String> records = new ArrayList<>(indexes.size());
+            for (int i = indexes.size() - 1; i >= 0; i--) {
+                assert i == 0 || indexes.get(i - 1) < indexes.get(i) : "indexes must be increasing";
+                records.add(TaskJournal.deletedRecord(indexes.get(i)));
+            }
+            scheduler.submitRecords(records);
+        } else {
+            scheduler.submitSnapshot(tasks);
+        }
+    }
+
+    /**
+     * Persists the changes made by an undo or redo, as a single mutation.
+     * In journal mode one record per change is appended in a single write, with tasks put back
+     * in the middle of the list recorded at the index they went to; otherwise the list is saved
+     * once, re-serializing only the changed tasks.
+     *
+     * @param tasks the task list after the undo or redo
+     * @throws LyraException if an error occurs during file writing
+     */
+    public void saveRestored(TaskList tasks) throws LyraException {
+        if (isJournalling()) {
+            // An undo or redo only adds, only removes or only marks tasks, so the tasks added
+            // or marked are found at their positions once every change has been made
+            List<Task> loaded = tasks.getLoadedTasks();
+            ArrayList<String> records = new ArrayList<>();
+            for (TaskChange change : tasks.getRestoredChanges()) {
+                int index = change.getIndex();
+                if (change.getKind() == TaskChange.Kind.ADDED) {
+                    records.add(TaskJournal.insertedRecord(index, loaded.get(index)));
+                } else if (change.getKind() == TaskChange.Kind.REMOVED) {
+                    records.add(TaskJournal.deletedRecord(index));
+                } else {
+                    records.add(TaskJournal.markedRecord(index, loaded.get(index).isDone()));
+                }
+            }
+            scheduler.submitRecords(records);
+        } else {
+            scheduler.submitSnapshot(tasks);
+        }
+    }
+
+    /**
+     * Sets the listener told how many mutations each write to disk covered.
+     *
+     * @param flushListener the listener, or null to stop reporting
+     */
+    public void setFlushListener(IntConsumer flushListener) {
+        scheduler.setFlushListener(flushListener);
+    }
+
+    /**
+     * Writes any mutations still held back by the durability mode and waits for
+     * background storage work, such as a running journal compaction, to finish.
+     * Called once when the application exits.
+     *
+     * @throws LyraException if the pending mutations cannot be written
+     */
+    public void close() throws LyraException {
+        try {
+            scheduler.close();
+        } finally {
+            compactor.shutdown(CLOSE_TIMEOUT_MILLIS);
+        }
+    }
+
+    /**
+     * Appends records to the journal in one write and lets the compactor fold the journal
+     * into the data file in the background once it grows past the configured threshold.
+     *
+     * @param records the records to append, in order
+     * @param isForced true to force the records to the storage device before returning
+     * @throws LyraException if an error occurs during file writing
+     */
+    void writeRecords(List<String> records, boolean isForced) throws LyraException {
+        journal.appendAll(records, isForced);
+        compactor.compactIfNeeded();
+    }
+
+    private static boolean hasTaskWithoutId(List<Task> tasks) {
+        for (Task task : tasks) {
+            if (task.getId() <= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Converts a task to the line that represents it in the data file.
+     * A task that has an ID gets it as a last field, e.g. "T | 0 | read book | #12".
+     *
+     * @param task the task to convert
+     * @return the data string of the task, or null if the task type is not supported
+     */
+    static String toDataString(Task task) {
+        return toDataString(task, task.isDone());
+    }
+
+    /**
+     * Converts a task to the line that represents it in the data file, with the given status
+     * rather than its current one, such as the status recorded in a TaskSnapshot.
+     *
+     * @param task the task to convert
+     * @param isDone the status to write
+     * @return the data string of the task, or null if the task type is not supported
+     */
+    static String toDataString(Task task, boolean isDone) {
+        String line;
+        if (task instanceof Todo) {
+            line = ((Todo) task).toDataString(isDone);
+        } else if (task instanceof Deadline) {
+            line = ((Deadline) task).toDataString(isDone);
+        } else if (task instanceof Event) {
+            line = ((Event) task).toDataString(isDone);
+        } else {
+            return null;
+        }
+        return task.getId() > 0 ? line + " | " + ID_PREFIX + task.getId() : line;
+    }
+
+    /**
+     * Parses the ID field of a data file line, such as "#12".
+     *
+     * @param field the field, possibly surrounded by spaces
+     * @return the ID, or 0 if the field is not a valid ID
+     */
+    static int parseId(String field) {
+        String trimmed = field.trim();
+        if (!trimmed.startsWith(ID_PREFIX)) {
+            return 0;
+        }
+        try {
+            return Math.max(0, Integer.parseInt(trimmed.substring(ID_PREFIX.length())));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
     }
 
     /**
@@ -102,11 +696,12 @@ public class Storage {
      * - T | status | description (for Todo tasks)
      * - D | status | description | deadline (for Deadline tasks)
      * - E | status | description | from to to (for Event tasks)
+     * Each may end with the ID of the task, e.g. "T | status | description | #12".
      *
      * @param fileLine a single line from the data file
      * @return the reconstructed Task object, or null if parsing fails
      */
-    private Task parseTaskFromFile(String fileLine) {
+    static Task parseTaskFromFile(String fileLine) {
         String[] parts = fileLine.split("\\|", -1);
         // Expect formats:
         // T | 1 | description
@@ -117,12 +712,14 @@ public class Storage {
             String doneFlag = parts[1].trim();
             String description = parts[2].trim();
             Task task = null;
-            
+            int idField = 4;
+
             if ("T".equalsIgnoreCase(type)) {
                 task = new Todo(description);
+                idField = 3;
             } else if ("D".equalsIgnoreCase(type) && parts.length >= 4) {
                 String byStr = parts[3].trim();
-                LocalDate by = LocalDate.parse(byStr, DateTimeUtil.STORAGE_DATE);
+                LocalDate by = DateTimeUtil.parseStorageDate(byStr);
                 task = new Deadline(description, by);
             } else if ("E".equalsIgnoreCase(type) && parts.length >= 4) {
                 // For simplicity, we store the range as a single field "from to to"
@@ -137,14 +734,17 @@ public class Storage {
                     from = range;
                     to = "";
                 }
-                LocalDate fromDate = LocalDate.parse(from.trim(), DateTimeUtil.STORAGE_DATE);
-                LocalDate toDate = LocalDate.parse(to.trim(), DateTimeUtil.STORAGE_DATE);
+                LocalDate fromDate = DateTimeUtil.parseStorageDate(from.trim());
+                LocalDate toDate = DateTimeUtil.parseStorageDate(to.trim());
                 task = new Event(description, fromDate, toDate);
             }
             
             if (task != null && "1".equals(doneFlag)) {
                 task.markAsDone();
             }
+            if (task != null && parts.length > idField && parseId(parts[idField]) > 0) {
+                task.setId(parseId(parts[idField]));
+            }
             
             return task;
         }
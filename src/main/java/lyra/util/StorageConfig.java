@@ -0,0 +1,300 @@
+package lyra.util;
+
+/**
+ * Holds the startup options that control how Storage persists tasks.
+ * Options are read from the command line arguments passed to the application,
+ * and anything not recognised is left for the caller (e.g. JavaFX) to handle.
+ */
+public class StorageConfig {
+    private static final int DEFAULT_COMPACT_RECORDS = 10_000;
+    private static final long DEFAULT_COMPACT_BYTES = 4L * 1024 * 1024;
+    private static final int DEFAULT_GROUP_COMMIT_SIZE = 64;
+    private static final long DEFAULT_GROUP_COMMIT_MILLIS = 200;
+    private static final long DEFAULT_PARALLEL_LOAD_BYTES = 8L * 1024 * 1024;
+
+    private boolean isJournalMode;
+    private int compactRecordThreshold;
+    private long compactByteThreshold;
+    private DurabilityMode durabilityMode;
+    private int groupCommitSize;
+    private long groupCommitMillis;
+    private long parallelLoadThreshold;
+    private StorageFormat storageFormat;
+    private boolean isSegmented;
+    private int archiveAfterDays;
+
+    /**
+     * Constructs a StorageConfig with the default options.
+     * By default every mutation rewrites the whole data file.
+     */
+    public StorageConfig() {
+        this.isJournalMode = false;
+        this.compactRecordThreshold = DEFAULT_COMPACT_RECORDS;
+        this.compactByteThreshold = DEFAULT_COMPACT_BYTES;
+        this.durabilityMode = DurabilityMode.SYNC;
+        this.groupCommitSize = DEFAULT_GROUP_COMMIT_SIZE;
+        this.groupCommitMillis = DEFAULT_GROUP_COMMIT_MILLIS;
+        this.parallelLoadThreshold = DEFAULT_PARALLEL_LOAD_BYTES;
+        this.storageFormat = StorageFormat.TEXT;
+        this.isSegmented = false;
+        this.archiveAfterDays = 0;
+    }
+
+    /**
+     * Builds a StorageConfig from command line arguments.
+     * Supported options:
+     * - --journal (append one record per mutation instead of rewriting the data file)
+     * - --compact-records=N (fold the journal into the data file after N records)
+     * - --compact-bytes=N (fold the journal into the data file once it reaches N bytes)
+     * - --durability=sync|group|async (when mutations are written, see {@link DurabilityMode})
+     * - --group-commit-size=N (group mode writes once N mutations are pending)
+     * - --group-commit-ms=N (group mode writes mutations pending for N ms; async mode writes after N ms idle)
+     * - --parallel-load-bytes=N (data files of at least N bytes are parsed on several threads)
+     * - --format=text|binary (the format the data file is written in, see {@link StorageFormat})
+     * - --segmented (store tasks in per-month segment files, see {@link SegmentedTaskStore})
+     * - --archive-after-days=N (at startup, archive completed tasks whose date is over N days ago)
+     *
+     * @param args the command line arguments
+     * @return the parsed storage configuration
+     */
+    public static StorageConfig fromArgs(String[] args) {
+        StorageConfig config = new StorageConfig();
+        if (args == null) {
+            return config;
+        }
+        for (String arg : args) {
+            if ("--journal".equals(arg)) {
+                config.setJournalMode(true);
+            } else if (arg.startsWith("--compact-records=")) {
+                config.setCompactRecordThreshold((int) parsePositive(arg, DEFAULT_COMPACT_RECORDS));
+            } else if (arg.startsWith("--compact-bytes=")) {
+                config.setCompactByteThreshold(parsePositive(arg, DEFAULT_COMPACT_BYTES));
+            } else if (arg.startsWith("--durability=")) {
+                DurabilityMode mode = DurabilityMode.fromName(arg.substring(arg.indexOf('=') + 1));
+                if (mode != null) {
+                    config.setDurabilityMode(mode);
+                }
+            } else if (arg.startsWith("--group-commit-size=")) {
+                config.setGroupCommitSize((int) parsePositive(arg, DEFAULT_GROUP_COMMIT_SIZE));
+            } else if (arg.startsWith("--group-commit-ms=")) {
+                config.setGroupCommitMillis(parsePositive(arg, DEFAULT_GROUP_COMMIT_MILLIS));
+            } else if (arg.startsWith("--parallel-load-bytes=")) {
+                config.setParallelLoadThreshold(parsePositive(arg, DEFAULT_PARALLEL_LOAD_BYTES));
+            } else if (arg.startsWith("--archive-after-days=")) {
+                config.setArchiveAfterDays((int) parsePositive(arg, 0));
+            } else if ("--segmented".equals(arg)) {
+                config.setSegmented(true);
+            } else if (arg.startsWith("--format=")) {
+                StorageFormat format = StorageFormat.fromName(arg.substring(arg.indexOf('=') + 1));
+                if (format != null) {
+                    config.setStorageFormat(format);
+                }
+            }
+        }
+        return config;
+    }
+
+    /**
+     * Parses the value of a "--name=value" option as a positive number.
+     *
+     * @param arg the full option
+     * @param fallback the value to use if the option value is missing or invalid
+     * @return the parsed value, or the fallback
+     */
+    private static long parsePositive(String arg, long fallback) {
+        try {
+            long value = Long.parseLong(arg.substring(arg.indexOf('=') + 1).trim());
+            return value > 0 ? value : fallback;
+        } catch (NumberFormatException e) {
+            return fallback;
+        }
+    }
+
+    /**
+     * Checks if mutations should be appended to the journal instead of rewriting the data file.
+     *
+     * @return true if journal mode is enabled
+     */
+    public boolean isJournalMode() {
+        return isJournalMode;
+    }
+
+    /**
+     * Enables or disables journal mode.
+     *
+     * @param isJournalMode true to append mutations to the journal
+     */
+    public void setJournalMode(boolean isJournalMode) {
+        this.isJournalMode = isJournalMode;
+    }
+
+    /**
+     * Gets the number of journal records after which the journal is compacted.
+     *
+     * @return the record count threshold
+     */
+    public int getCompactRecordThreshold() {
+        return compactRecordThreshold;
+    }
+
+    /**
+     * Sets the number of journal records after which the journal is compacted.
+     *
+     * @param compactRecordThreshold the record count threshold
+     */
+    public void setCompactRecordThreshold(int compactRecordThreshold) {
+        assert compactRecordThreshold > 0 : "threshold must be positive";
+        this.compactRecordThreshold = compactRecordThreshold;
+    }
+
+    /**
+     * Gets the journal size in bytes at which the journal is compacted.
+     *
+     * @return the byte size threshold
+     */
+    public long getCompactByteThreshold() {
+        return compactByteThreshold;
+    }
+
+    /**
+     * Sets the journal size in bytes at which the journal is compacted.
+     *
+     * @param compactByteThreshold the byte size threshold
+     */
+    public void setCompactByteThreshold(long compactByteThreshold) {
+        assert compactByteThreshold > 0 : "threshold must be positive";
+        this.compactByteThreshold = compactByteThreshold;
+    }
+
+    /**
+     * Gets the durability mode that decides when mutations are written.
+     *
+     * @return the durability mode
+     */
+    public DurabilityMode getDurabilityMode() {
+        return durabilityMode;
+    }
+
+    /**
+     * Sets the durability mode that decides when mutations are written.
+     *
+     * @param durabilityMode the durability mode
+     */
+    public void setDurabilityMode(DurabilityMode durabilityMode) {
+        assert durabilityMode != null : "durabilityMode must not be null";
+        this.durabilityMode = durabilityMode;
+    }
+
+    /**
+     * Gets the number of pending mutations that triggers a write in group mode.
+     *
+     * @return the group commit size
+     */
+    public int getGroupCommitSize() {
+        return groupCommitSize;
+    }
+
+    /**
+     * Sets the number of pending mutations that triggers a write in group mode.
+     *
+     * @param groupCommitSize the group commit size
+     */
+    public void setGroupCommitSize(int groupCommitSize) {
+        assert groupCommitSize > 0 : "group commit size must be positive";
+        this.groupCommitSize = groupCommitSize;
+    }
+
+    /**
+     * Gets the group commit window in milliseconds.
+     *
+     * @return the group commit window
+     */
+    public long getGroupCommitMillis() {
+        return groupCommitMillis;
+    }
+
+    /**
+     * Sets the group commit window in milliseconds.
+     *
+     * @param groupCommitMillis the group commit window
+     */
+    public void setGroupCommitMillis(long groupCommitMillis) {
+        assert groupCommitMillis > 0 : "group commit window must be positive";
+        this.groupCommitMillis = groupCommitMillis;
+    }
+
+    /**
+     * Gets the data file size in bytes from which the file is parsed in parallel.
+     *
+     * @return the parallel load threshold
+     */
+    public long getParallelLoadThreshold() {
+        return parallelLoadThreshold;
+    }
+
+    /**
+     * Sets the data file size in bytes from which the file is parsed in parallel.
+     *
+     * @param parallelLoadThreshold the parallel load threshold
+     */
+    public void setParallelLoadThreshold(long parallelLoadThreshold) {
+        assert parallelLoadThreshold > 0 : "parallel load threshold must be positive";
+        this.parallelLoadThreshold = parallelLoadThreshold;
+    }
+
+    /**
+     * Gets the format the data file is written in.
+     *
+     * @return the storage format
+     */
+    public StorageFormat getStorageFormat() {
+        return storageFormat;
+    }
+
+    /**
+     * Sets the format the data file is written in.
+     *
+     * @param storageFormat the storage format
+     */
+    public void setStorageFormat(StorageFormat storageFormat) {
+        assert storageFormat != null : "storageFormat must not be null";
+        this.storageFormat = storageFormat;
+    }
+
+    /**
+     * Checks if tasks are stored in per-month segment files instead of a single data file.
+     *
+     * @return true if segmented storage is enabled
+     */
+    public boolean isSegmented() {
+        return isSegmented;
+    }
+
+    /**
+     * Enables or disables segmented storage.
+     *
+     * @param isSegmented true to store tasks in per-month segment files
+     */
+    public void setSegmented(boolean isSegmented) {
+        this.isSegmented = isSegmented;
+    }
+
+    /**
+     * Gets the age in days after which completed tasks are archived at startup.
+     *
+     * @return the number of days, or 0 if tasks are never archived automatically
+     */
+    public int getArchiveAfterDays() {
+        return archiveAfterDays;
+    }
+
+    /**
+     * Sets the age in days after which completed tasks are archived at startup.
+     *
+     * @param archiveAfterDays the number of days, or 0 to never archive tasks automatically
+     */
+    public void setArchiveAfterDays(int archiveAfterDays) {
+        assert archiveAfterDays >= 0 : "archive age must not be negative";
+        this.archiveAfterDays = archiveAfterDays;
+    }
+}
@@ -0,0 +1,73 @@
+package lyra.util;
+
+import lyra.task.Task;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+
+/**
+ * Converts a data file between the text and the binary format.
+ * The journal refers to tasks by index only, so it stays valid for the converted file.
+ *
+ * Usage: java lyra.util.StorageConverter SOURCE TARGET [text|binary]
+ * Without a format the file is converted to the format it is not currently in.
+ * SOURCE and TARGET may be the same file.
+ */
+public class StorageConverter {
+
+    /**
+     * Converts the data file given on the command line.
+     *
+     * @param args the source file, the target file and optionally the target format
+     */
+    public static void main(String[] args) {
+        if (args.length < 2 || args.length > 3) {
+            System.err.println("Usage: java lyra.util.StorageConverter SOURCE TARGET [text|binary]");
+            System.exit(2);
+            return;
+        }
+        try {
+            Path source = Paths.get(args[0]);
+            StorageFormat format;
+            if (args.length == 3) {
+                format = StorageFormat.fromName(args[2]);
+                if (format == null) {
+                    System.err.println("Unknown format: " + args[2]);
+                    System.exit(2);
+                    return;
+                }
+            } else {
+                format = BinaryTaskFile.isBinary(source) ? StorageFormat.TEXT : StorageFormat.BINARY;
+            }
+            int count = convert(source, Paths.get(args[1]), format);
+            System.out.println("Converted " + count + " task(s) to " + format.name().toLowerCase());
+        } catch (IOException e) {
+            System.err.println("Error converting tasks: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Reads a data file in either format and writes its tasks to the target in the given format.
+     * The target is written to a temporary file first and then renamed into place,
+     * so a failed conversion never leaves a partially written target behind.
+     *
+     * @param source the data file to read
+     * @param target the data file to write
+     * @param format the format to write the target in
+     * @return the number of tasks converted
+     * @throws IOException if the source cannot be read or the target cannot be written
+     */
+    public static int convert(Path source, Path target, StorageFormat format) throws IOException {
+        ArrayList<Task> tasks = Storage.readTasks(source, new StorageConfig());
+        int nextId = Storage.readNextId(source);
+        Path tempFile = Paths.get(target + ".tmp");
+        Storage.writeTasks(tempFile, tasks, nextId, format, true);
+        Files.move(tempFile, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        return tasks.size();
+    }
+}
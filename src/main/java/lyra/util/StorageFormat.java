@@ -0,0 +1,27 @@
+package lyra.util;
+
+/**
+ * Controls the format Storage writes the data file in.
+ * Reading always detects the format from the file itself, so either format can be loaded.
+ */
+public enum StorageFormat {
+    /** One "T | 1 | description" line per task. */
+    TEXT,
+    /** Fixed-width task headers with length-prefixed descriptions, see {@link BinaryTaskFile}. */
+    BINARY;
+
+    /**
+     * Parses a storage format from its name, ignoring case.
+     *
+     * @param name the name of the format, e.g. "binary"
+     * @return the matching format, or null if there is none
+     */
+    public static StorageFormat fromName(String name) {
+        for (StorageFormat format : values()) {
+            if (format.name().equalsIgnoreCase(name.trim())) {
+                return format;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,144 @@
+package lyra.util;
+
+import lyra.task.Deadline;
+import lyra.task.Event;
+import lyra.task.Task;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Keeps completed tasks out of the task list in a compressed archive file.
+ * The archive holds the same "T | 1 | description" lines as the data file, gzip-compressed.
+ * Every call to append() adds one gzip member to the end of the file, so archiving never
+ * rewrites earlier entries, and reading decompresses the members one after another.
+ * Searches stream through the archive and never hold more than the matching tasks in memory.
+ */
+public class TaskArchive {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path archiveFile;
+
+    /**
+     * Constructs a new TaskArchive backed by the given file.
+     *
+     * @param archiveFile the path of the compressed archive file
+     */
+    public TaskArchive(Path archiveFile) {
+        assert archiveFile != null : "archiveFile must not be null";
+        this.archiveFile = archiveFile;
+    }
+
+    /**
+     * Checks if a task is due for archiving under the automatic policy.
+     * Only completed Deadlines whose deadline, and completed Events whose end, lies before the
+     * cutoff qualify; Todos carry no date, so they are only archived by the archive command.
+     *
+     * @param task the task to check
+     * @param cutoff the date before which completed tasks are archived
+     * @return true if the task should be archived
+     */
+    public static boolean isExpired(Task task, LocalDate cutoff) {
+        if (!task.isDone()) {
+            return false;
+        }
+        LocalDate date = null;
+        if (task instanceof Deadline) {
+            date = ((Deadline) task).getBy();
+        } else if (task instanceof Event) {
+            date = ((Event) task).getTo();
+        }
+        return date != null && date.isBefore(cutoff);
+    }
+
+    /**
+     * Adds tasks to the end of the archive and forces them to disk.
+     *
+     * @param tasks the tasks to archive
+     * @throws IOException if the archive cannot be written
+     */
+    public void append(List<Task> tasks) throws IOException {
+        if (tasks.isEmpty()) {
+            return;
+        }
+        Path dir = archiveFile.getParent();
+        if (dir != null) {
+            Files.createDirectories(dir);
+        }
+        try (FileChannel channel = FileChannel.open(archiveFile, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            GZIPOutputStream gzip = new GZIPOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE);
+            Writer writer = new OutputStreamWriter(gzip, StandardCharsets.UTF_8);
+            for (Task task : tasks) {
+                String line = Storage.toDataString(task);
+                if (line != null) {
+                    writer.write(line);
+                    writer.write(System.lineSeparator());
+                }
+            }
+            writer.flush();
+            gzip.finish();
+            channel.force(true);
+        }
+    }
+
+    /**
+     * Finds the archived tasks whose description contains the keyword, ignoring case.
+     *
+     * @param keyword the keyword to search for
+     * @return the matching tasks, oldest archived first
+     * @throws IOException if the archive cannot be read
+     */
+    public ArrayList<Task> search(String keyword) throws IOException {
+        String needle = keyword.toLowerCase().trim();
+        return search(needle, task -> task.getDescription().toLowerCase().contains(needle));
+    }
+
+    /**
+     * Finds the archived tasks that satisfy a condition.
+     *
+     * @param condition the condition archived tasks have to satisfy
+     * @return the matching tasks, oldest archived first
+     * @throws IOException if the archive cannot be read
+     */
+    public ArrayList<Task> search(Predicate<Task> condition) throws IOException {
+        return search("", condition);
+    }
+
+    private ArrayList<Task> search(String needle, Predicate<Task> condition) throws IOException {
+        ArrayList<Task> matches = new ArrayList<>();
+        if (!Files.exists(archiveFile)) {
+            return matches;
+        }
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(archiveFile), BUFFER_SIZE), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                // A line that does not contain the keyword anywhere cannot match, so skip parsing it
+                if (!line.toLowerCase().contains(needle)) {
+                    continue;
+                }
+                Task task = Storage.parseTaskFromFile(line);
+                if (task != null && condition.test(task)) {
+                    matches.add(task);
+                }
+            }
+        }
+        return matches;
+    }
+}
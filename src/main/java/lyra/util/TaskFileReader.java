@@ -0,0 +1,456 @@
+package lyra.util;
+
+import lyra.task.Deadline;
+import lyra.task.Event;
+import lyra.task.Task;
+import lyra.task.Todo;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Streams tasks out of a data file without materializing its lines.
+ * The file is read through a fixed-size buffer and each line is tokenized in place on the
+ * raw UTF-8 bytes: field boundaries are found by scanning for '|' and trimmed by index,
+ * so the only objects created per line are the description and the Task itself; dates
+ * are decoded from the bytes by DateTimeUtil.
+ *
+ * Large files can instead be split into newline-aligned byte ranges that are parsed in
+ * parallel on the common ForkJoinPool and concatenated in file order.
+ *
+ * Lines are interpreted exactly like Storage.parseTaskFromFile would interpret them.
+ * A "nextid | N" record at the start of the file is not a task and is skipped like any other
+ * line without enough fields; readNextId reads it.
+ */
+public class TaskFileReader {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int CHUNKS_PER_WORKER = 4;
+    private static final long MAX_CHUNK_BYTES = 32L * 1024 * 1024;
+    private static final byte PIPE = '|';
+    private static final byte[] RANGE_SEPARATOR = " to ".getBytes(StandardCharsets.US_ASCII);
+    // Enough for the longest "nextid | N" record
+    private static final int NEXT_ID_RECORD_BYTES = 64;
+
+    /**
+     * Private constructor to prevent instantiation of this utility class.
+     */
+    private TaskFileReader() {}
+
+    /**
+     * Reads every task in the given data file.
+     *
+     * @param file the data file to read
+     * @return the tasks in the file, in file order
+     * @throws IOException if the file cannot be read
+     */
+    public static ArrayList<Task> read(Path file) throws IOException {
+        ArrayList<Task> tasks = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            byte[] bytes = new byte[BUFFER_SIZE];
+            int filled = 0;
+            while (true) {
+                if (filled == bytes.length) {
+                    // A single line is longer than the buffer, so make room for the rest of it.
+                    byte[] larger = new byte[bytes.length * 2];
+                    System.arraycopy(bytes, 0, larger, 0, filled);
+                    bytes = larger;
+                }
+                int read = channel.read(ByteBuffer.wrap(bytes, filled, bytes.length - filled));
+                if (read < 0) {
+                    parseLines(bytes, 0, filled, tasks);
+                    return tasks;
+                }
+                filled += read;
+                int consumed = parseCompleteLines(bytes, filled, tasks);
+                System.arraycopy(bytes, consumed, bytes, 0, filled - consumed);
+                filled -= consumed;
+            }
+        }
+    }
+
+    /**
+     * Reads the ID the task list would give its next task from the "nextid | N" record at the
+     * start of a data file, which is only there when that ID is above every ID in the file.
+     *
+     * @param file the data file to read
+     * @return the next ID, or 0 if the file does not start with a valid record
+     * @throws IOException if the file cannot be read
+     */
+    public static int readNextId(Path file) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(NEXT_ID_RECORD_BYTES);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // keep reading until the buffer is full or the file ends
+            }
+        }
+        byte[] bytes = buffer.array();
+        int end = 0;
+        while (end < buffer.position() && !isLineTerminator(bytes[end])) {
+            end++;
+        }
+        int pipe = indexOf(bytes, PIPE, 0, end);
+        if (pipe < 0 || !decodeTrimmed(bytes, 0, pipe).equals(Storage.NEXT_ID_RECORD)) {
+            return 0;
+        }
+        try {
+            return Integer.parseInt(decodeTrimmed(bytes, pipe + 1, end));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Reads every task in the given data file, parsing it in parallel if it is large enough.
+     * Files smaller than the threshold are streamed on the calling thread, so that small
+     * files do not pay for splitting and pool hand-off.
+     *
+     * @param file the data file to read
+     * @param parallelThreshold the file size in bytes from which the file is parsed in parallel
+     * @return the tasks in the file, in file order
+     * @throws IOException if the file cannot be read
+     */
+    public static ArrayList<Task> read(Path file, long parallelThreshold) throws IOException {
+        int workers = ForkJoinPool.commonPool().getParallelism();
+        long size = Files.size(file);
+        if (size < parallelThreshold || workers < 2) {
+            return read(file);
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long chunkCount = Math.max((long) workers * CHUNKS_PER_WORKER, (size + MAX_CHUNK_BYTES - 1) / MAX_CHUNK_BYTES);
+            long[] boundaries = findChunkBoundaries(channel, size, chunkCount);
+
+            List<ForkJoinTask<ArrayList<Task>>> chunks = new ArrayList<>();
+            for (int i = 0; i + 1 < boundaries.length; i++) {
+                chunks.add(ForkJoinPool.commonPool().submit(new ChunkParser(channel, boundaries[i], boundaries[i + 1])));
+            }
+
+            int total = 0;
+            List<ArrayList<Task>> results = new ArrayList<>();
+            for (ForkJoinTask<ArrayList<Task>> chunk : chunks) {
+                ArrayList<Task> result = joinChunk(chunk);
+                total += result.size();
+                results.add(result);
+            }
+            ArrayList<Task> tasks = new ArrayList<>(total);
+            for (ArrayList<Task> result : results) {
+                tasks.addAll(result);
+            }
+            return tasks;
+        }
+    }
+
+    /**
+     * Splits the file into roughly equal byte ranges that each start at the beginning of a line.
+     *
+     * @param channel the channel of the data file
+     * @param size the size of the data file
+     * @param chunkCount the number of ranges wanted
+     * @return the range boundaries, starting with 0 and ending with the file size
+     * @throws IOException if the file cannot be read
+     */
+    private static long[] findChunkBoundaries(FileChannel channel, long size, long chunkCount) throws IOException {
+        long chunkSize = Math.max(1, size / chunkCount);
+        ArrayList<Long> boundaries = new ArrayList<>();
+        boundaries.add(0L);
+        ByteBuffer window = ByteBuffer.allocate(4096);
+        long position = chunkSize;
+        while (position < size) {
+            long lineStart = nextLineStart(channel, position, size, window);
+            if (lineStart >= size) {
+                break;
+            }
+            if (lineStart > boundaries.get(boundaries.size() - 1)) {
+                boundaries.add(lineStart);
+            }
+            position = lineStart + chunkSize;
+        }
+        boundaries.add(size);
+
+        long[] result = new long[boundaries.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = boundaries.get(i);
+        }
+        return result;
+    }
+
+    /**
+     * Finds the first position at or after the given one that directly follows a line terminator.
+     */
+    private static long nextLineStart(FileChannel channel, long position, long size, ByteBuffer window)
+            throws IOException {
+        long offset = position - 1;
+        while (offset < size) {
+            window.clear();
+            int read = channel.read(window, offset);
+            if (read <= 0) {
+                return size;
+            }
+            for (int i = 0; i < read; i++) {
+                if (isLineTerminator(window.get(i))) {
+                    return offset + i + 1;
+                }
+            }
+            offset += read;
+        }
+        return size;
+    }
+
+    private static ArrayList<Task> joinChunk(ForkJoinTask<ArrayList<Task>> chunk) throws IOException {
+        try {
+            return chunk.join();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Parses one newline-aligned byte range of the data file on a ForkJoinPool worker.
+     */
+    private static class ChunkParser extends RecursiveTask<ArrayList<Task>> {
+        private static final long serialVersionUID = 1L;
+
+        private final FileChannel channel;
+        private final long start;
+        private final long end;
+
+        ChunkParser(FileChannel channel, long start, long end) {
+            this.channel = channel;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected ArrayList<Task> compute() {
+            byte[] bytes = new byte[(int) (end - start)];
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            try {
+                while (buffer.hasRemaining()) {
+                    if (channel.read(buffer, start + buffer.position()) < 0) {
+                        break;
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            ArrayList<Task> tasks = new ArrayList<>();
+            parseLines(bytes, 0, buffer.position(), tasks);
+            return tasks;
+        }
+    }
+
+    /**
+     * Parses every complete line (one followed by a line terminator) at the start of the buffer.
+     *
+     * @param bytes the buffer holding file content
+     * @param end the number of valid bytes in the buffer
+     * @param tasks the list the parsed tasks are appended to
+     * @return the number of bytes consumed
+     */
+    private static int parseCompleteLines(byte[] bytes, int end, ArrayList<Task> tasks) {
+        int lastTerminator = end - 1;
+        while (lastTerminator >= 0 && !isLineTerminator(bytes[lastTerminator])) {
+            lastTerminator--;
+        }
+        if (lastTerminator < 0) {
+            return 0;
+        }
+        parseLines(bytes, 0, lastTerminator + 1, tasks);
+        return lastTerminator + 1;
+    }
+
+    /**
+     * Parses every line in the given byte range and appends the resulting tasks in order.
+     * Lines may be terminated by "\n", "\r\n" or "\r"; the last line needs no terminator.
+     *
+     * @param bytes the buffer holding file content
+     * @param start the index of the first byte of the range
+     * @param end the index after the last byte of the range
+     * @param tasks the list the parsed tasks are appended to
+     */
+    static void parseLines(byte[] bytes, int start, int end, ArrayList<Task> tasks) {
+        int lineStart = start;
+        for (int i = start; i < end; i++) {
+            if (isLineTerminator(bytes[i])) {
+                addTask(bytes, lineStart, i, tasks);
+                lineStart = i + 1;
+            }
+        }
+        if (lineStart < end) {
+            addTask(bytes, lineStart, end, tasks);
+        }
+    }
+
+    private static void addTask(byte[] bytes, int start, int end, ArrayList<Task> tasks) {
+        Task task = parseLine(bytes, start, end);
+        if (task != null) {
+            tasks.add(task);
+        }
+    }
+
+    /**
+     * Parses a single line of the data file.
+     * Supports the same formats as Storage.parseTaskFromFile:
+     * - T | status | description
+     * - D | status | description | deadline
+     * - E | status | description | from to to
+     * each optionally followed by the ID of the task, e.g. "| #12".
+     *
+     * @param bytes the buffer holding the line
+     * @param start the index of the first byte of the line
+     * @param end the index after the last byte of the line
+     * @return the reconstructed Task object, or null if the line is not a task
+     */
+    static Task parseLine(byte[] bytes, int start, int end) {
+        int firstPipe = indexOf(bytes, PIPE, start, end);
+        int secondPipe = firstPipe < 0 ? -1 : indexOf(bytes, PIPE, firstPipe + 1, end);
+        if (secondPipe < 0) {
+            return null;
+        }
+        int thirdPipe = indexOf(bytes, PIPE, secondPipe + 1, end);
+        int descriptionEnd = thirdPipe < 0 ? end : thirdPipe;
+
+        char type = singleChar(bytes, start, firstPipe);
+        String description = decodeTrimmed(bytes, secondPipe + 1, descriptionEnd);
+        Task task = null;
+        // The pipe before the ID field, if there is one
+        int idPipe = thirdPipe;
+
+        if (type == 'T' || type == 't') {
+            task = new Todo(description);
+        } else if ((type == 'D' || type == 'd') && thirdPipe >= 0) {
+            int fieldEnd = nextFieldEnd(bytes, thirdPipe + 1, end);
+            idPipe = fieldEnd < end ? fieldEnd : -1;
+            task = new Deadline(description, parseDate(bytes, thirdPipe + 1, fieldEnd));
+        } else if ((type == 'E' || type == 'e') && thirdPipe >= 0) {
+            int fieldEnd = nextFieldEnd(bytes, thirdPipe + 1, end);
+            idPipe = fieldEnd < end ? fieldEnd : -1;
+            int rangeStart = trimStart(bytes, thirdPipe + 1, fieldEnd);
+            int rangeEnd = trimEnd(bytes, rangeStart, fieldEnd);
+            int sepIdx = lastIndexOf(bytes, RANGE_SEPARATOR, rangeStart, rangeEnd);
+            LocalDate from;
+            LocalDate to;
+            if (sepIdx >= 0) {
+                from = parseDate(bytes, rangeStart, sepIdx);
+                to = parseDate(bytes, sepIdx + RANGE_SEPARATOR.length, rangeEnd);
+            } else {
+                from = parseDate(bytes, rangeStart, rangeEnd);
+                to = parseDate(bytes, rangeEnd, rangeEnd);
+            }
+            task = new Event(description, from, to);
+        }
+
+        if (task != null && singleChar(bytes, firstPipe + 1, secondPipe) == '1') {
+            task.markAsDone();
+        }
+        if (task != null && idPipe >= 0) {
+            int id = parseId(bytes, idPipe + 1, nextFieldEnd(bytes, idPipe + 1, end));
+            if (id > 0) {
+                task.setId(id);
+            }
+        }
+        return task;
+    }
+
+    /**
+     * Parses an ID field such as "#12", like Storage.parseId.
+     *
+     * @return the ID, or 0 if the field is not a valid ID
+     */
+    private static int parseId(byte[] bytes, int start, int end) {
+        int from = trimStart(bytes, start, end);
+        int to = trimEnd(bytes, from, end);
+        if (to - from < 2 || to - from > 10 || bytes[from] != '#') {
+            return 0;
+        }
+        long id = 0;
+        for (int i = from + 1; i < to; i++) {
+            if (bytes[i] < '0' || bytes[i] > '9') {
+                return 0;
+            }
+            id = id * 10 + (bytes[i] - '0');
+        }
+        return id > Integer.MAX_VALUE ? 0 : (int) id;
+    }
+
+    private static LocalDate parseDate(byte[] bytes, int start, int end) {
+        int from = trimStart(bytes, start, end);
+        return DateTimeUtil.parseStorageDate(bytes, from, trimEnd(bytes, from, end));
+    }
+
+    /**
+     * Returns the only non-blank character of a field, or 0 if the field is not exactly one character.
+     */
+    private static char singleChar(byte[] bytes, int start, int end) {
+        int from = trimStart(bytes, start, end);
+        int to = trimEnd(bytes, from, end);
+        return to - from == 1 ? (char) bytes[from] : 0;
+    }
+
+    private static String decodeTrimmed(byte[] bytes, int start, int end) {
+        int from = trimStart(bytes, start, end);
+        int to = trimEnd(bytes, from, end);
+        return new String(bytes, from, to - from, StandardCharsets.UTF_8);
+    }
+
+    private static int nextFieldEnd(byte[] bytes, int start, int end) {
+        int pipe = indexOf(bytes, PIPE, start, end);
+        return pipe < 0 ? end : pipe;
+    }
+
+    private static int indexOf(byte[] bytes, byte target, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (bytes[i] == target) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int lastIndexOf(byte[] bytes, byte[] target, int start, int end) {
+        for (int i = end - target.length; i >= start; i--) {
+            int j = 0;
+            while (j < target.length && bytes[i + j] == target[j]) {
+                j++;
+            }
+            if (j == target.length) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // Matches String.trim(), which strips every character up to and including ' '.
+    private static boolean isBlank(byte b) {
+        return (b & 0xff) <= ' ';
+    }
+
+    private static boolean isLineTerminator(byte b) {
+        return b == '\n' || b == '\r';
+    }
+
+    private static int trimStart(byte[] bytes, int start, int end) {
+        while (start < end && isBlank(bytes[start])) {
+            start++;
+        }
+        return start;
+    }
+
+    private static int trimEnd(byte[] bytes, int start, int end) {
+        while (end > start && isBlank(bytes[end - 1])) {
+            end--;
+        }
+        return end;
+    }
+}
@@ -0,0 +1,317 @@
+package lyra.util;
+
+import lyra.task.SortedView;
+import lyra.task.Task;
+import lyra.exception.LyraException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Append-only log of task mutations kept next to the data file.
+ * Each mutation is written as one small record so that the cost of persisting a command
+ * does not depend on the size of the task list. Records are replayed on top of the
+ * data file when tasks are loaded.
+ * Supports the following record formats:
+ * - + | T | 0 | description (task added, followed by its data string)
+ * - I | index | T | 0 | description (task put back at index, such as by undo)
+ * - M | index (task at index marked as done)
+ * - U | index (task at index marked as not done)
+ * - - | index (task at index deleted)
+ * - S | criteria (task list sorted by criteria)
+ * Sorting no longer reorders the list itself, so S records are only found in journals
+ * written by older versions, whose later records count positions in the sorted order.
+ */
+public class TaskJournal {
+    private static final String SEPARATOR = " | ";
+
+    private final Path journalFile;
+    private int recordCount;
+    private long byteCount;
+
+    /**
+     * Constructs a new TaskJournal backed by the specified file.
+     *
+     * @param journalFile the path of the journal file
+     */
+    public TaskJournal(Path journalFile) {
+        assert journalFile != null : "journalFile must not be null";
+        this.journalFile = journalFile;
+    }
+
+    /**
+     * Creates the record for a newly added task.
+     *
+     * @param task the task that was added
+     * @return the journal record
+     */
+    public static String addedRecord(Task task) {
+        return "+" + SEPARATOR + Storage.toDataString(task);
+    }
+
+    /**
+     * Creates the record for a task put back into the list at a given index, such as by undo.
+     *
+     * @param index the index the task was put at (0-based indexing)
+     * @param task the task that was put back
+     * @return the journal record
+     */
+    public static String insertedRecord(int index, Task task) {
+        return "I" + SEPARATOR + index + SEPARATOR + Storage.toDataString(task);
+    }
+
+    /**
+     * Creates the record for a task whose status was changed.
+     *
+     * @param index the index of the task (0-based indexing)
+     * @param isDone true if the task was marked as done, false if marked as not done
+     * @return the journal record
+     */
+    public static String markedRecord(int index, boolean isDone) {
+        return (isDone ? "M" : "U") + SEPARATOR + index;
+    }
+
+    /**
+     * Creates the record for a deleted task.
+     *
+     * @param index the index of the deleted task (0-based indexing)
+     * @return the journal record
+     */
+    public static String deletedRecord(int index) {
+        return "-" + SEPARATOR + index;
+    }
+
+    /**
+     * Appends a single record to the end of the journal, creating the file if needed.
+     *
+     * @param record the record to append
+     * @throws LyraException if the record cannot be written
+     */
+    public void append(String record) throws LyraException {
+        assert record != null : "record must not be null";
+        appendAll(List.of(record), false);
+    }
+
+    /**
+     * Appends records to the end of the journal in a single write, creating the file if needed.
+     *
+     * @param records the records to append, in order
+     * @param isForced true to force the records to the storage device before returning
+     * @throws LyraException if the records cannot be written
+     */
+    public synchronized void appendAll(List<String> records, boolean isForced) throws LyraException {
+        assert records != null : "records must not be null";
+        StringBuilder content = new StringBuilder();
+        for (String record : records) {
+            content.append(record).append(System.lineSeparator());
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(content.toString().getBytes(StandardCharsets.UTF_8));
+        int size = buffer.remaining();
+        try (FileChannel channel = FileChannel.open(journalFile,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            if (isForced) {
+                channel.force(false);
+            }
+        } catch (IOException e) {
+            throw new LyraException("Error saving tasks to file: " + e.getMessage());
+        }
+        recordCount += records.size();
+        byteCount += size;
+    }
+
+    /**
+     * Gets the number of records appended since the journal was last replayed, cleared or rolled over.
+     *
+     * @return the number of records in the journal
+     */
+    public synchronized int getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Gets the size of the journal in bytes.
+     *
+     * @return the number of bytes in the journal
+     */
+    public synchronized long getByteCount() {
+        return byteCount;
+    }
+
+    /**
+     * Atomically moves the current journal to the given path so that it can be folded into
+     * the data file, leaving an empty journal for new records.
+     *
+     * @param target the path to move the journal to
+     * @return true if there was a journal to move, false otherwise
+     * @throws LyraException if the journal cannot be moved
+     */
+    public synchronized boolean rollOver(Path target) throws LyraException {
+        try {
+            if (!Files.exists(journalFile)) {
+                return false;
+            }
+            Files.move(journalFile, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new LyraException("Error saving tasks to file: " + e.getMessage());
+        }
+        recordCount = 0;
+        byteCount = 0;
+        return true;
+    }
+
+    /**
+     * Replays every record in the journal on top of the given tasks.
+     * Records that refer to a task index that does not exist are skipped.
+     *
+     * @param tasks the tasks loaded from the data file, updated in place
+     * @param onRemoved told of every task a record deletes, so that its ID is not given out again
+     * @return the number of records replayed
+     * @throws LyraException if the journal cannot be read
+     */
+    public synchronized int replay(ArrayList<Task> tasks, Consumer<Task> onRemoved) throws LyraException {
+        int replayed = replay(journalFile, tasks, onRemoved);
+        try {
+            recordCount = replayed;
+            byteCount = Files.exists(journalFile) ? Files.size(journalFile) : 0;
+        } catch (IOException e) {
+            throw new LyraException("Error loading tasks from file: " + e.getMessage());
+        }
+        return replayed;
+    }
+
+    /**
+     * Replays every record in the given journal file on top of the given tasks.
+     *
+     * @param file the journal file to replay
+     * @param tasks the tasks to update in place
+     * @param onRemoved told of every task a record deletes, so that its ID is not given out again
+     * @return the number of records replayed
+     * @throws LyraException if the journal cannot be read
+     */
+    static int replay(Path file, ArrayList<Task> tasks, Consumer<Task> onRemoved) throws LyraException {
+        assert tasks != null : "tasks must not be null";
+        if (!Files.exists(file)) {
+            return 0;
+        }
+        List<String> records;
+        try {
+            records = Files.readAllLines(file, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new LyraException("Error loading tasks from file: " + e.getMessage());
+        }
+        int replayed = 0;
+        for (String record : records) {
+            if (apply(record, tasks, onRemoved)) {
+                replayed++;
+            }
+        }
+        return replayed;
+    }
+
+    /**
+     * Removes every record from the journal.
+     * Called once the data file holds a full copy of the tasks.
+     *
+     * @throws LyraException if the journal file cannot be removed
+     */
+    public synchronized void clear() throws LyraException {
+        try {
+            Files.deleteIfExists(journalFile);
+        } catch (IOException e) {
+            throw new LyraException("Error saving tasks to file: " + e.getMessage());
+        }
+        recordCount = 0;
+        byteCount = 0;
+    }
+
+    /**
+     * Applies a single journal record to the given tasks.
+     *
+     * @param record the record to apply
+     * @param tasks the tasks to update in place
+     * @param onRemoved told of the task the record deletes, if any
+     * @return true if the record was applied, false if it was malformed or out of range
+     */
+    private static boolean apply(String record, ArrayList<Task> tasks, Consumer<Task> onRemoved) {
+        int sepIdx = record.indexOf('|');
+        if (sepIdx < 0) {
+            return false;
+        }
+        String op = record.substring(0, sepIdx).trim();
+        String argument = record.substring(sepIdx + 1).trim();
+
+        switch (op) {
+            case "+":
+                Task task = Storage.parseTaskFromFile(argument);
+                if (task == null) {
+                    return false;
+                }
+                tasks.add(task);
+                return true;
+            case "I":
+                return insert(tasks, argument);
+            case "S":
+                return sort(tasks, argument);
+            case "M":
+            case "U":
+            case "-":
+                int index = parseIndex(argument);
+                if (index < 0 || index >= tasks.size()) {
+                    return false;
+                }
+                if (op.equals("M")) {
+                    tasks.get(index).markAsDone();
+                } else if (op.equals("U")) {
+                    tasks.get(index).markAsNotDone();
+                } else {
+                    onRemoved.accept(tasks.remove(index));
+                }
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static boolean insert(ArrayList<Task> tasks, String argument) {
+        int sepIdx = argument.indexOf('|');
+        if (sepIdx < 0) {
+            return false;
+        }
+        int index = parseIndex(argument.substring(0, sepIdx).trim());
+        Task task = Storage.parseTaskFromFile(argument.substring(sepIdx + 1).trim());
+        if (index < 0 || index > tasks.size() || task == null) {
+            return false;
+        }
+        tasks.add(index, task);
+        return true;
+    }
+
+    private static int parseIndex(String argument) {
+        try {
+            return Integer.parseInt(argument);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static boolean sort(ArrayList<Task> tasks, String criteria) {
+        SortedView<?> view = SortedView.forCriteria(criteria);
+        if (view == null) {
+            return false;
+        }
+        tasks.sort(view.getComparator());
+        return true;
+    }
+}
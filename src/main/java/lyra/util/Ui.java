@@ -1,10 +1,12 @@
 package lyra.util;
 
+import lyra.task.DateRange;
 import lyra.task.Task;
 import lyra.task.TaskList;
 
 import java.util.Scanner;
 import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Handles user interface operations in the Lyra application.
@@ -12,6 +14,8 @@ import java.util.ArrayList;
  * Manages the Scanner for reading user commands and displays formatted messages with visual separators.
  */
 public class Ui {
+    // The number of tasks listed when confirming a bulk command
+    protected static final int MAX_BULK_TASKS_SHOWN = 10;
     private static final String LINE = "____________________________________________________________";
     private Scanner scanner;
 
@@ -99,6 +103,25 @@ public class Ui {
         showLine();
     }
 
+    /**
+     * Displays all tasks in the task list with their IDs, which stay the same when the list
+     * is sorted or tasks are deleted.
+     *
+     * @param tasks the list of tasks to display
+     */
+    public void showTaskListWithIds(ArrayList<Task> tasks) {
+        showLine();
+        if (tasks.isEmpty()) {
+            System.out.println(" There are no tasks in your list.");
+        } else {
+            System.out.println(" Here are the tasks in your list:");
+            for (int i = 0; i < tasks.size(); i++) {
+                System.out.println(" " + (i + 1) + ".#" + tasks.get(i).getId() + " " + tasks.get(i).toString());
+            }
+        }
+        showLine();
+    }
+
     /**
      * Displays a list of tasks that match a search query.
      *
@@ -117,6 +140,80 @@ public class Ui {
         showLine();
     }
 
+    /**
+     * Displays the best matches of a ranked search, best first.
+     *
+     * @param tasks the best-scoring tasks to display
+     * @param matchCount the number of tasks that matched in total
+     */
+    public void showRankedTasks(ArrayList<Task> tasks, int matchCount) {
+        showLine();
+        if (tasks.isEmpty()) {
+            System.out.println(" No matching tasks found.");
+        } else {
+            System.out.println(" Here are the best " + tasks.size() + " of " + matchCount + " matching tasks:");
+            for (int i = 0; i < tasks.size(); i++) {
+                System.out.println(" " + (i + 1) + "." + tasks.get(i).toString());
+            }
+        }
+        showLine();
+    }
+
+    /**
+     * Displays the archived tasks that match a search query.
+     *
+     * @param tasks the list of matching archived tasks to display
+     */
+    public void showArchivedTasks(ArrayList<Task> tasks) {
+        showLine();
+        if (tasks.isEmpty()) {
+            System.out.println(" No matching tasks found in the archive.");
+        } else {
+            System.out.println(" Here are the matching tasks in your archive:");
+            for (int i = 0; i < tasks.size(); i++) {
+                System.out.println(" " + (i + 1) + "." + tasks.get(i).toString());
+            }
+        }
+        showLine();
+    }
+
+    /**
+     * Displays the existing events a new event overlaps.
+     *
+     * @param conflicts the overlapping events to display
+     * @param isRejected true if the new event was not added because of them
+     */
+    public void showEventConflicts(ArrayList<Task> conflicts, boolean isRejected) {
+        showLine();
+        if (isRejected) {
+            System.out.println(" This event overlaps the events below, so I didn't add it:");
+        } else {
+            System.out.println(" Heads up! This event overlaps:");
+        }
+        for (int i = 0; i < conflicts.size(); i++) {
+            System.out.println(" " + (i + 1) + "." + conflicts.get(i).toString());
+        }
+        showLine();
+    }
+
+    /**
+     * Displays the periods with no events in a range of dates.
+     *
+     * @param slots the free periods to display, earliest first
+     */
+    public void showFreeSlots(ArrayList<DateRange> slots) {
+        showLine();
+        if (slots.isEmpty()) {
+            System.out.println(" No free days in that range.");
+        } else {
+            System.out.println(" Here are the periods with no events:");
+            for (int i = 0; i < slots.size(); i++) {
+                System.out.println(" " + (i + 1) + "." + slots.get(i).toString());
+            }
+        }
+        showLine();
+    }
+
     /**
      * Displays a confirmation message when a task is successfully added.
      *
@@ -162,6 +259,46 @@ public class Ui {
         showLine();
     }
 
+    /**
+     * Displays a confirmation message when many tasks are marked at once.
+     * Only the first few tasks are listed, followed by how many more were marked.
+     *
+     * @param tasks the tasks that were marked
+     * @param isDone true if the tasks were marked as done, false if marked as not done
+     */
+    public void showTasksMarked(List<Task> tasks, boolean isDone) {
+        showLine();
+        System.out.println(" " + (isDone ? "Nice! I've marked these " + tasks.size() + " tasks as done:"
+                : "OK, I've marked these " + tasks.size() + " tasks as not done yet:"));
+        printSome(tasks);
+        showLine();
+    }
+
+    /**
+     * Displays a confirmation message when many tasks are deleted at once.
+     * Only the first few tasks are listed, followed by how many more were deleted.
+     *
+     * @param tasks the tasks that were deleted
+     * @param remainingTasks the number of tasks left in the list
+     */
+    public void showTasksDeleted(List<Task> tasks, int remainingTasks) {
+        showLine();
+        System.out.println(" Noted. I've removed these " + tasks.size() + " tasks:");
+        printSome(tasks);
+        System.out.println(" Now you have " + remainingTasks + " tasks in the list.");
+        showLine();
+    }
+
+    private static void printSome(List<Task> tasks) {
+        int shown = Math.min(tasks.size(), MAX_BULK_TASKS_SHOWN);
+        for (int i = 0; i < shown; i++) {
+            System.out.println("   " + tasks.get(i).toString());
+        }
+        if (tasks.size() > shown) {
+            System.out.println("   ...and " + (tasks.size() - shown) + " more");
+        }
+    }
+
     /**
      * Displays an error message for invalid task numbers.
      */
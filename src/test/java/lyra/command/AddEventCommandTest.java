@@ -0,0 +1,85 @@
+package lyra.command;
+
+import lyra.exception.LyraException;
+import lyra.task.Event;
+import lyra.task.Task;
+import lyra.task.TaskList;
+import lyra.util.Storage;
+import lyra.util.Ui;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+
+/**
+ * Test class for AddEventCommand class.
+ * Tests that overlapping events are reported, and refused in strict mode.
+ */
+public class AddEventCommandTest {
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Records the conflicts shown instead of printing them.
+     */
+    private static class RecordingUi extends Ui {
+        private ArrayList<Task> conflicts;
+        private boolean isRejected;
+
+        @Override
+        public void showEventConflicts(ArrayList<Task> conflicts, boolean isRejected) {
+            this.conflicts = conflicts;
+            this.isRejected = isRejected;
+        }
+
+        @Override
+        public void showTaskAdded(Task task, int totalTasks) {
+        }
+    }
+
+    private TaskList sampleList() {
+        TaskList tasks = new TaskList();
+        tasks.addTask(new Event("camp", LocalDate.of(2025, 1, 5), LocalDate.of(2025, 1, 7)));
+        tasks.addTask(new Event("fair", LocalDate.of(2025, 1, 10), LocalDate.of(2025, 1, 10)));
+        return tasks;
+    }
+
+    @Test
+    void testExecute_WarnsAboutOverlaps() throws LyraException {
+        TaskList tasks = sampleList();
+        RecordingUi ui = new RecordingUi();
+        Storage storage = new Storage(tempDir.resolve("lyra.txt").toString());
+
+        new AddEventCommand("trip", "2025-01-07", "2025-01-12").execute(tasks, ui, storage);
+        assertEquals(3, tasks.getSize());
+        assertFalse(ui.isRejected);
+        assertEquals("camp", ui.conflicts.get(0).getDescription());
+        assertEquals("fair", ui.conflicts.get(1).getDescription());
+
+        RecordingUi laterUi = new RecordingUi();
+        new AddEventCommand("talk", "2025-01-08", "2025-01-09").execute(tasks, laterUi, storage);
+        assertEquals(1, laterUi.conflicts.size());
+        assertEquals("trip", laterUi.conflicts.get(0).getDescription());
+    }
+
+    @Test
+    void testExecute_StrictRefusesOverlaps() throws LyraException {
+        TaskList tasks = sampleList();
+        RecordingUi ui = new RecordingUi();
+        Storage storage = new Storage(tempDir.resolve("lyra.txt").toString());
+
+        new AddEventCommand("trip", "2025-01-10", "2025-01-12", true).execute(tasks, ui, storage);
+        assertEquals(2, tasks.getSize());
+        assertTrue(ui.isRejected);
+        assertEquals("fair", ui.conflicts.get(0).getDescription());
+
+        RecordingUi freeUi = new RecordingUi();
+        new AddEventCommand("talk", "2025-01-08", "2025-01-09", true).execute(tasks, freeUi, storage);
+        assertEquals(3, tasks.getSize());
+        assertNull(freeUi.conflicts);
+    }
+}
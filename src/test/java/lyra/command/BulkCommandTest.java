@@ -0,0 +1,148 @@
+package lyra.command;
+
+import lyra.exception.LyraException;
+import lyra.task.Deadline;
+import lyra.task.Task;
+import lyra.task.TaskList;
+import lyra.task.Todo;
+import lyra.util.Storage;
+import lyra.util.StorageConfig;
+import lyra.util.Ui;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Test class for TaskSelection, BulkMarkCommand and BulkDeleteCommand classes.
+ * Tests selections of numbers, ranges, IDs and filters, and that a batch is saved in one write.
+ */
+public class BulkCommandTest {
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Records the tasks shown instead of printing them.
+     */
+    private static class RecordingUi extends Ui {
+        private List<Task> shown;
+
+        @Override
+        public void showTasksMarked(List<Task> tasks, boolean isDone) {
+            shown = tasks;
+        }
+
+        @Override
+        public void showTasksDeleted(List<Task> tasks, int remainingTasks) {
+            shown = tasks;
+        }
+    }
+
+    private TaskList sampleList(int count) {
+        TaskList tasks = new TaskList();
+        for (int i = 1; i <= count; i++) {
+            tasks.addTask(new Todo("task " + i));
+        }
+        return tasks;
+    }
+
+    private List<String> describe(List<Task> tasks) {
+        ArrayList<String> descriptions = new ArrayList<>();
+        for (Task task : tasks) {
+            descriptions.add(task.getDescription());
+        }
+        return descriptions;
+    }
+
+    @Test
+    void testIsSelection() {
+        assertTrue(TaskSelection.isSelection("1-500"));
+        assertTrue(TaskSelection.isSelection("3,7,9-20"));
+        assertTrue(TaskSelection.isSelection("all done before 2024-01-01"));
+        assertFalse(TaskSelection.isSelection("3"));
+        assertFalse(TaskSelection.isSelection("#12"));
+        assertFalse(TaskSelection.isSelection("allergy"));
+    }
+
+    @Test
+    void testResolve_NumbersRangesAndIdsWithoutRepeats() throws LyraException {
+        TaskList tasks = sampleList(20);
+        assertEquals(List.of(2, 6, 8, 9, 10, 11, 12, 14),
+                TaskSelection.parse("3, 7,9-13,#15, 11").resolve(tasks));
+        assertEquals(List.of(0, 1, 2), TaskSelection.parse("1-3").resolve(tasks));
+    }
+
+    @Test
+    void testParse_InvalidSelectionsThrow() {
+        assertThrows(LyraException.class, () -> TaskSelection.parse("5-3"));
+        assertThrows(LyraException.class, () -> TaskSelection.parse("0-3"));
+        assertThrows(LyraException.class, () -> TaskSelection.parse("1,,2"));
+        assertThrows(LyraException.class, () -> TaskSelection.parse("1,x"));
+        assertThrows(LyraException.class, () -> TaskSelection.parse("all soon"));
+        assertThrows(LyraException.class, () -> TaskSelection.parse("all before 2024-13-01"));
+    }
+
+    @Test
+    void testResolve_AllFilters() throws LyraException {
+        TaskList tasks = new TaskList();
+        tasks.addTask(new Todo("read book"));
+        tasks.addTask(new Deadline("old report", LocalDate.of(2023, 5, 1)));
+        tasks.addTask(new Deadline("new report", LocalDate.of(2025, 5, 1)));
+        tasks.addTask(new Deadline("older report", LocalDate.of(2022, 5, 1)));
+        tasks.markTasks(List.of(0, 1, 2), true);
+
+        assertEquals(List.of(0, 1, 2, 3), TaskSelection.parse("all").resolve(tasks));
+        assertEquals(List.of(0, 1, 2), TaskSelection.parse("all done").resolve(tasks));
+        assertEquals(List.of(3), TaskSelection.parse("all undone").resolve(tasks));
+        assertEquals(List.of(1), TaskSelection.parse("all done before 2024-01-01").resolve(tasks));
+        assertEquals(List.of(1, 3), TaskSelection.parse("all before 2024-01-01").resolve(tasks));
+    }
+
+    @Test
+    void testExecute_OutOfRangeChangesNothing() throws LyraException {
+        TaskList tasks = sampleList(5);
+        Storage storage = new Storage(tempDir.resolve("lyra.txt").toString());
+
+        assertThrows(LyraException.class, () -> new BulkMarkCommand(TaskSelection.parse("1,4-6"), true)
+                .execute(tasks, new RecordingUi(), storage));
+        assertThrows(LyraException.class, () -> new BulkDeleteCommand(TaskSelection.parse("1,#9"))
+                .execute(tasks, new RecordingUi(), storage));
+        for (Task task : tasks.getTasks()) {
+            assertFalse(task.isDone());
+        }
+        assertEquals(5, tasks.getSize());
+    }
+
+    @Test
+    void testExecute_SortedListDeletesShownTasksInOneWrite() throws LyraException {
+        StorageConfig config = new StorageConfig();
+        config.setJournalMode(true);
+        Path dataFile = tempDir.resolve("lyra.txt");
+        Storage storage = new Storage(dataFile.toString(), config);
+        TaskList tasks = storage.loadTaskList();
+        for (String description : List.of("e", "b", "d", "a", "c")) {
+            tasks.addTask(new Todo(description));
+        }
+        storage.save(tasks);
+        int[] flushes = new int[1];
+        storage.setFlushListener(count -> flushes[0]++);
+        tasks.sortByDescription();
+
+        RecordingUi ui = new RecordingUi();
+        new BulkMarkCommand(TaskSelection.parse("2-4"), true).execute(tasks, ui, storage);
+        assertEquals(List.of("b", "c", "d"), describe(ui.shown));
+        new BulkDeleteCommand(TaskSelection.parse("1,3,5")).execute(tasks, ui, storage);
+        assertEquals(List.of("e", "a", "c"), describe(ui.shown));
+        assertEquals(2, flushes[0]);
+        storage.close();
+
+        TaskList reloaded = new Storage(dataFile.toString(), config).loadTaskList();
+        assertEquals(List.of("b", "d"), describe(reloaded.getTasks()));
+        assertTrue(reloaded.getTasks().get(0).isDone());
+    }
+}
@@ -0,0 +1,73 @@
+package lyra.command;
+
+import lyra.exception.LyraException;
+import lyra.task.TaskList;
+import lyra.task.Todo;
+import lyra.task.TrigramIndex;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Test class for FindQuery class.
+ * Tests recognising, parsing and evaluating boolean search queries.
+ */
+public class FindQueryTest {
+
+    private List<String> find(TaskList list, String query) throws LyraException {
+        TrigramIndex index = list.getTrigramIndex();
+        FindQuery parsed = FindQuery.parse(query);
+        ArrayList<String> descriptions = new ArrayList<>();
+        index.getTasks(parsed.evaluate(index::getSubstringPostings, index::getAllSerials))
+                .forEach(task -> descriptions.add(task.getDescription()));
+        return descriptions;
+    }
+
+    private TaskList sampleList() {
+        TaskList list = new TaskList();
+        list.addTask(new Todo("q3 report draft"));
+        list.addTask(new Todo("q3 report final"));
+        list.addTask(new Todo("q4 report"));
+        list.addTask(new Todo("buy milk"));
+        list.addTask(new Todo("buy eggs"));
+        return list;
+    }
+
+    @Test
+    void testIsQuery_OnlyCapitalOperators() {
+        assertTrue(FindQuery.isQuery("report AND q3"));
+        assertTrue(FindQuery.isQuery("NOT draft"));
+        assertFalse(FindQuery.isQuery("pick up and drop off"));
+        assertFalse(FindQuery.isQuery("ANDROID update"));
+    }
+
+    @Test
+    void testEvaluate_AndOrNot() throws LyraException {
+        TaskList list = sampleList();
+        assertEquals(List.of("q3 report final"), find(list, "report AND q3 NOT draft"));
+        assertEquals(List.of("q3 report final"), find(list, "report q3 NOT draft"));
+        assertEquals(List.of("buy milk", "buy eggs"), find(list, "milk OR eggs"));
+        assertEquals(List.of("q3 report draft", "buy milk"), find(list, "draft OR buy AND milk"));
+        assertEquals(List.of("q4 report", "buy milk", "buy eggs"), find(list, "NOT q3"));
+        assertEquals(List.of("q3 report draft"), find(list, "NOT NOT draft"));
+        assertTrue(find(list, "report AND milk").isEmpty());
+    }
+
+    @Test
+    void testMatches_AgreesWithEvaluate() throws LyraException {
+        FindQuery query = FindQuery.parse("report AND q3 NOT draft OR eggs");
+        assertTrue(query.matches(term -> "q3 report final".contains(term)));
+        assertFalse(query.matches(term -> "q3 report draft".contains(term)));
+        assertTrue(query.matches(term -> "buy eggs".contains(term)));
+    }
+
+    @Test
+    void testParse_MissingKeywords() {
+        assertThrows(LyraException.class, () -> FindQuery.parse("AND report"));
+        assertThrows(LyraException.class, () -> FindQuery.parse("report OR"));
+        assertThrows(LyraException.class, () -> FindQuery.parse("report OR AND q3"));
+        assertThrows(LyraException.class, () -> FindQuery.parse("report NOT"));
+    }
+}
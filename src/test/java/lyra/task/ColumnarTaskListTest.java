@@ -0,0 +1,152 @@
+package lyra.task;
+
+import lyra.exception.LyraException;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Test class for ColumnarTaskList class.
+ * Tests that it gives the same results as TaskList for the same operations.
+ */
+public class ColumnarTaskListTest {
+
+    private List<String> describe(List<Task> tasks) {
+        ArrayList<String> descriptions = new ArrayList<>();
+        for (Task task : tasks) {
+            descriptions.add("#" + task.getId() + " " + task);
+        }
+        return descriptions;
+    }
+
+    private void sort(TaskCollection list, String criteria) {
+        switch (criteria) {
+            case "description":
+                list.sortByDescription();
+                break;
+            case "deadline":
+                list.sortByDeadline();
+                break;
+            case "event":
+                list.sortByEventStart();
+                break;
+            case "type":
+                list.sortByType();
+                break;
+            default:
+                list.sortByStatus();
+                break;
+        }
+    }
+
+    @Test
+    void testGetTask_MaterializesEveryType() throws LyraException {
+        ColumnarTaskList list = new ColumnarTaskList();
+        list.addTask(new Todo("read book"));
+        list.addTask(new Deadline("return book", LocalDate.of(2019, 12, 2)));
+        list.addTask(new Event("café meetup", LocalDate.of(2019, 12, 5), LocalDate.of(2019, 12, 6)));
+        list.markTaskAsDone(1);
+
+        assertEquals("[T][ ] read book", list.getTask(0).toString());
+        assertEquals("[D][X] return book (by: Dec 2 2019)", list.getTask(1).toString());
+        assertEquals(LocalDate.of(2019, 12, 6), ((Event) list.getTask(2)).getTo());
+        assertEquals("café meetup", list.getTask(2).getDescription());
+        assertEquals(3, list.getTask(2).getId());
+    }
+
+    @Test
+    void testAddTask_DeletedHighestIdNotReused() throws LyraException {
+        ColumnarTaskList list = new ColumnarTaskList();
+        list.addTask(new Todo("read book"));
+        list.addTask(new Todo("return book"));
+        list.deleteTask(1);
+        Task added = new Todo("join club");
+        list.addTask(added);
+
+        assertEquals(3, added.getId());
+        assertEquals(1, list.getIndexOfId(3));
+        assertThrows(LyraException.class, () -> list.getIndexOfId(2));
+    }
+
+    @Test
+    void testOperations_AgreeWithTaskList() throws LyraException {
+        Random random = new Random(8);
+        String[] words = {"Read", "book", "return", "milk", "Meeting", "école"};
+        String[] criteria = {"description", "deadline", "event", "type", "status"};
+        TaskList expected = new TaskList();
+        ColumnarTaskList actual = new ColumnarTaskList();
+
+        for (int round = 0; round < 3000; round++) {
+            int action = expected.getSize() == 0 ? 0 : random.nextInt(8);
+            if (action <= 2) {
+                String description = words[random.nextInt(words.length)] + " " + random.nextInt(100);
+                LocalDate date = LocalDate.of(2025, 1, 1).plusDays(random.nextInt(30));
+                Task task = action == 0 ? new Todo(description)
+                        : action == 1 ? new Deadline(description, date) : new Event(description, date, date.plusDays(2));
+                expected.addTask(task);
+                actual.addTask(task);
+            } else if (action == 3) {
+                int index = random.nextInt(expected.getSize());
+                assertEquals(expected.deleteTask(index).toString(), actual.deleteTask(index).toString());
+            } else if (action == 4) {
+                int index = random.nextInt(expected.getSize());
+                expected.markTaskAsDone(index);
+                actual.markTaskAsDone(index);
+            } else if (action == 5) {
+                int index = random.nextInt(expected.getSize());
+                expected.markTaskAsNotDone(index);
+                actual.markTaskAsNotDone(index);
+            } else if (action == 6) {
+                String sortedBy = criteria[random.nextInt(criteria.length)];
+                sort(expected, sortedBy);
+                sort(actual, sortedBy);
+            } else if (random.nextInt(4) == 0) {
+                List<Integer> indexes = List.of(random.nextInt(expected.getSize()), random.nextInt(expected.getSize()));
+                if (random.nextBoolean()) {
+                    assertEquals(describe(expected.deleteTasks(indexes)), describe(actual.deleteTasks(indexes)));
+                } else {
+                    assertEquals(describe(expected.markTasks(indexes, true)), describe(actual.markTasks(indexes, true)));
+                }
+            } else if (random.nextInt(3) == 0) {
+                int id = expected.getShownTasks().get(random.nextInt(expected.getSize())).getId();
+                assertEquals(expected.getIndexOfId(id), actual.getIndexOfId(id));
+            } else if (random.nextInt(20) == 0) {
+                String word = words[random.nextInt(words.length)];
+                assertEquals(describe(expected.removeTasks(task -> task.getDescription().startsWith(word))),
+                        describe(actual.removeTasks(task -> task.getDescription().startsWith(word))));
+            }
+            if (round % 100 == 0) {
+                assertEquals(describe(expected.getShownTasks()), describe(actual.getShownTasks()));
+            }
+        }
+        assertEquals(expected.getSize(), actual.getSize());
+        assertEquals(expected.getNextId(), actual.getNextId());
+        assertEquals(describe(expected.getTasks()), describe(actual.getTasks()));
+        assertEquals(describe(expected.getShownTasks()), describe(actual.getShownTasks()));
+    }
+
+    @Test
+    void testEstimateMemoryBytes_StaysBoundedThroughDeletes() throws LyraException {
+        ColumnarTaskList list = new ColumnarTaskList();
+        for (int i = 0; i < 10000; i++) {
+            list.addTask(new Deadline("return library book " + i, LocalDate.of(2025, 1, 1)));
+        }
+        long full = list.estimateMemoryBytes();
+        assertTrue(full < 10000L * 64, "estimate was " + full);
+
+        for (int round = 0; round < 100; round++) {
+            for (int i = 0; i < 9000; i++) {
+                list.deleteTask(list.getSize() - 1);
+            }
+            for (int i = 0; i < 9000; i++) {
+                list.addTask(new Todo("buy milk " + i));
+            }
+        }
+        assertEquals(10000, list.getSize());
+        assertTrue(list.estimateMemoryBytes() <= full * 2, "estimate was " + list.estimateMemoryBytes());
+    }
+}
@@ -0,0 +1,62 @@
+package lyra.task;
+
+import lyra.exception.LyraException;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Test class for DeadlineIndex class.
+ * Tests date range lookups and upkeep of the index by TaskList.
+ */
+public class DeadlineIndexTest {
+
+    private List<String> describe(List<Task> tasks) {
+        ArrayList<String> descriptions = new ArrayList<>();
+        for (Task task : tasks) {
+            descriptions.add(task.getDescription());
+        }
+        return descriptions;
+    }
+
+    private TaskList sampleList() {
+        TaskList list = new TaskList();
+        list.addTask(new Deadline("tax return", LocalDate.of(2025, 1, 31)));
+        list.addTask(new Todo("buy milk"));
+        list.addTask(new Deadline("essay", LocalDate.of(2025, 1, 10)));
+        list.addTask(new Event("camp", LocalDate.of(2025, 1, 5), LocalDate.of(2025, 1, 7)));
+        list.addTask(new Deadline("library book", LocalDate.of(2025, 1, 10)));
+        list.addTask(new Deadline("rent", LocalDate.of(2025, 2, 1)));
+        return list;
+    }
+
+    @Test
+    void testFindDue_EarliestFirstThenListOrder() {
+        DeadlineIndex index = sampleList().getDeadlineIndex();
+        assertEquals(List.of("essay", "library book", "tax return"),
+                describe(index.findDue(LocalDate.of(2025, 1, 10), LocalDate.of(2025, 1, 31))));
+        assertEquals(List.of("essay", "library book"), describe(index.findDueBefore(LocalDate.of(2025, 1, 31))));
+        assertEquals(List.of("rent"), describe(index.findDue(LocalDate.of(2025, 2, 1), null)));
+        assertTrue(index.findDue(LocalDate.of(2025, 1, 11), LocalDate.of(2025, 1, 30)).isEmpty());
+        assertTrue(index.findDue(LocalDate.of(2025, 2, 1), LocalDate.of(2025, 1, 1)).isEmpty());
+        assertEquals(4, index.findDue(null, null).size());
+    }
+
+    @Test
+    void testFindDue_KeptUpToDateByTaskList() throws LyraException {
+        TaskList list = sampleList();
+        DeadlineIndex index = list.getDeadlineIndex();
+
+        list.deleteTask(2);
+        list.addTask(new Deadline("report", LocalDate.of(2025, 1, 10)));
+        assertEquals(List.of("library book", "report"), describe(index.findDueBefore(LocalDate.of(2025, 1, 11))));
+
+        list.sortByDescription();
+        assertEquals(List.of("library book", "report"), describe(index.findDueBefore(LocalDate.of(2025, 1, 11))));
+        list.removeTasks(task -> task.getDescription().startsWith("r"));
+        assertEquals(List.of("library book", "tax return"), describe(index.findDue(null, null)));
+    }
+}
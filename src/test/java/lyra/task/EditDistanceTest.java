@@ -0,0 +1,53 @@
+package lyra.task;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+/**
+ * Test class for EditDistance class.
+ * Tests edit distances and that searches find exactly the words a full comparison would.
+ */
+public class EditDistanceTest {
+
+    @Test
+    void testBetween_CountsEdits() {
+        assertEquals(0, EditDistance.between("book", "book"));
+        assertEquals(1, EditDistance.between("book", "boo"));
+        assertEquals(1, EditDistance.between("book", "look"));
+        assertEquals(1, EditDistance.between("library", "libary"));
+        assertEquals(2, EditDistance.between("milk", "mikl"));
+        assertEquals(3, EditDistance.between("kitten", "sitting"));
+        assertEquals(4, EditDistance.between("", "milk"));
+    }
+
+    @Test
+    void testFindWithin_AgreesWithFullComparison() {
+        Random random = new Random(11);
+        TreeSet<String> words = new TreeSet<>();
+        for (int i = 0; i < 3000; i++) {
+            StringBuilder word = new StringBuilder();
+            for (int j = 1 + random.nextInt(8); j > 0; j--) {
+                word.append((char) ('a' + random.nextInt(5)));
+            }
+            words.add(word.toString());
+        }
+
+        for (String query : List.of("abcd", "edcbae", "a", "bcdeabcd", "ab")) {
+            for (int maxDistance = 0; maxDistance <= 2; maxDistance++) {
+                ArrayList<String> expected = new ArrayList<>();
+                for (String word : words) {
+                    if (EditDistance.between(query, word) <= maxDistance) {
+                        expected.add(word);
+                    }
+                }
+                assertEquals(expected, EditDistance.findWithin(words, query, maxDistance));
+            }
+        }
+        assertTrue(EditDistance.findWithin(new TreeSet<>(), "book", 2).isEmpty());
+    }
+}
@@ -0,0 +1,148 @@
+package lyra.task;
+
+import lyra.exception.LyraException;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Test class for EventIndex class.
+ * Tests overlap and free period lookups against a full scan and upkeep of the tree by TaskList.
+ */
+public class EventIndexTest {
+
+    private static final LocalDate BASE = LocalDate.of(2025, 1, 1);
+
+    private List<String> describe(List<Task> tasks) {
+        ArrayList<String> descriptions = new ArrayList<>();
+        for (Task task : tasks) {
+            descriptions.add(task.getDescription());
+        }
+        return descriptions;
+    }
+
+    private List<Task> scan(TaskList list, LocalDate from, LocalDate to) {
+        ArrayList<Task> matches = new ArrayList<>();
+        for (Task task : list.getTasks()) {
+            if (task instanceof Event && !((Event) task).getFrom().isAfter(to)
+                    && !((Event) task).getTo().isBefore(from)) {
+                matches.add(task);
+            }
+        }
+        // Stable, so events starting on the same day keep list order
+        matches.sort(Comparator.comparing(task -> ((Event) task).getFrom()));
+        return matches;
+    }
+
+    private List<String> scanFree(TaskList list, LocalDate from, LocalDate to, int minDays) {
+        ArrayList<String> free = new ArrayList<>();
+        LocalDate gapStart = null;
+        for (LocalDate day = from; !day.isAfter(to.plusDays(1)); day = day.plusDays(1)) {
+            boolean isFree = !day.isAfter(to) && scan(list, day, day).isEmpty();
+            if (isFree && gapStart == null) {
+                gapStart = day;
+            } else if (!isFree && gapStart != null) {
+                DateRange gap = new DateRange(gapStart, day.minusDays(1));
+                if (gap.getDays() >= minDays) {
+                    free.add(gap.toString());
+                }
+                gapStart = null;
+            }
+        }
+        return free;
+    }
+
+    private List<String> describeRanges(List<DateRange> ranges) {
+        ArrayList<String> descriptions = new ArrayList<>();
+        for (DateRange range : ranges) {
+            descriptions.add(range.toString());
+        }
+        return descriptions;
+    }
+
+    @Test
+    void testFindOverlapping_OrderedByStartThenListOrder() {
+        TaskList list = new TaskList();
+        list.addTask(new Event("conference", BASE.plusDays(9), BASE.plusDays(11)));
+        list.addTask(new Deadline("essay", BASE.plusDays(10)));
+        list.addTask(new Event("holiday", BASE, BASE.plusDays(20)));
+        list.addTask(new Event("workshop", BASE.plusDays(9), BASE.plusDays(9)));
+        list.addTask(new Event("camp", BASE.plusDays(12), BASE.plusDays(14)));
+        EventIndex index = list.getEventIndex();
+
+        assertEquals(4, index.size());
+        assertEquals(List.of("holiday", "conference", "workshop"), describe(index.findOn(BASE.plusDays(9))));
+        assertEquals(List.of("holiday", "conference", "camp"),
+                describe(index.findOverlapping(BASE.plusDays(11), BASE.plusDays(12))));
+        assertTrue(index.findOn(BASE.plusDays(21)).isEmpty());
+    }
+
+    @Test
+    void testFindOverlapping_AgreesWithScanThroughChanges() throws LyraException {
+        Random random = new Random(5);
+        TaskList list = new TaskList();
+        EventIndex index = list.getEventIndex();
+        for (int round = 0; round < 3000; round++) {
+            if (list.getSize() > 0 && random.nextInt(3) == 0) {
+                list.deleteTask(random.nextInt(list.getSize()));
+            } else {
+                LocalDate from = BASE.plusDays(random.nextInt(365));
+                list.addTask(new Event("event " + round, from, from.plusDays(random.nextInt(30))));
+            }
+            if (round == 1500) {
+                list.sortByDescription();
+            }
+        }
+
+        for (int i = 0; i < 50; i++) {
+            LocalDate from = BASE.plusDays(random.nextInt(400) - 20);
+            LocalDate to = from.plusDays(random.nextInt(10));
+            assertEquals(scan(list, from, to), index.findOverlapping(from, to));
+        }
+    }
+
+    @Test
+    void testFindFree_ListsGapsBetweenEvents() {
+        TaskList list = new TaskList();
+        list.addTask(new Event("holiday", BASE.plusDays(2), BASE.plusDays(5)));
+        list.addTask(new Event("workshop", BASE.plusDays(4), BASE.plusDays(6)));
+        list.addTask(new Event("camp", BASE.plusDays(10), BASE.plusDays(10)));
+        list.addTask(new Event("retreat", BASE.plusDays(40), BASE.plusDays(50)));
+        EventIndex index = list.getEventIndex();
+
+        assertEquals(List.of("Jan 1 2025 to Jan 2 2025 (2 days)", "Jan 8 2025 to Jan 10 2025 (3 days)",
+                "Jan 12 2025 to Jan 15 2025 (4 days)"),
+                describeRanges(index.findFree(BASE, BASE.plusDays(14), 1)));
+        assertEquals(List.of("Jan 12 2025 to Jan 15 2025 (4 days)"),
+                describeRanges(index.findFree(BASE, BASE.plusDays(14), 4)));
+        assertEquals(List.of("Jan 8 2025 (1 day)"), describeRanges(index.findFree(BASE.plusDays(3), BASE.plusDays(7), 1)));
+        assertTrue(index.findFree(BASE.plusDays(41), BASE.plusDays(45), 1).isEmpty());
+    }
+
+    @Test
+    void testFindFree_AgreesWithDayByDayScan() throws LyraException {
+        Random random = new Random(11);
+        TaskList list = new TaskList();
+        EventIndex index = list.getEventIndex();
+        for (int round = 0; round < 600; round++) {
+            if (list.getSize() > 0 && random.nextInt(4) == 0) {
+                list.deleteTask(random.nextInt(list.getSize()));
+            } else {
+                LocalDate from = BASE.plusDays(random.nextInt(1000));
+                list.addTask(new Event("event " + round, from, from.plusDays(random.nextInt(5))));
+            }
+        }
+
+        for (int i = 0; i < 30; i++) {
+            LocalDate from = BASE.plusDays(random.nextInt(1000) - 20);
+            LocalDate to = from.plusDays(random.nextInt(60));
+            int minDays = 1 + random.nextInt(3);
+            assertEquals(scanFree(list, from, to, minDays), describeRanges(index.findFree(from, to, minDays)));
+        }
+    }
+}
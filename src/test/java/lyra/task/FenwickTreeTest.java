@@ -0,0 +1,57 @@
+package lyra.task;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Test class for FenwickTree class.
+ * Tests prefix sums and rank lookups against a plain array of counts.
+ */
+public class FenwickTreeTest {
+
+    @Test
+    void testPrefixSumAndFindPosition_MatchPlainCounts() {
+        Random random = new Random(42);
+        int[] counts = new int[100];
+        for (int i = 0; i < 60; i++) {
+            counts[i] = random.nextInt(2);
+        }
+        FenwickTree tree = new FenwickTree(new int[] {}, counts.length);
+        for (int i = 0; i < 60; i++) {
+            tree.add(i, counts[i]);
+        }
+        FenwickTree built = new FenwickTree(Arrays.copyOf(counts, 60), counts.length);
+
+        for (int round = 0; round < 500; round++) {
+            int position = random.nextInt(counts.length);
+            int delta = counts[position] == 1 ? -1 : 1;
+            counts[position] += delta;
+            tree.add(position, delta);
+            built.add(position, delta);
+
+            int sum = 0;
+            int rank = 0;
+            for (int i = 0; i <= counts.length; i++) {
+                assertEquals(sum, tree.prefixSum(i));
+                assertEquals(sum, built.prefixSum(i));
+                if (i < counts.length) {
+                    if (counts[i] == 1) {
+                        assertEquals(i, tree.findPosition(rank));
+                        rank++;
+                    }
+                    sum += counts[i];
+                }
+            }
+            assertEquals(counts.length, tree.findPosition(rank));
+        }
+    }
+
+    @Test
+    void testGetCapacity() {
+        assertEquals(5, new FenwickTree(new int[] {1, 0, 1}, 5).getCapacity());
+        assertEquals(2, new FenwickTree(new int[] {1, 0, 1}, 5).prefixSum(5));
+    }
+}
@@ -0,0 +1,81 @@
+package lyra.task;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+/**
+ * Test class for PostingList class.
+ * Tests the set operations against the same operations on sorted sets.
+ */
+public class PostingListTest {
+
+    private PostingList listOf(TreeSet<Integer> serials) {
+        PostingList list = new PostingList();
+        for (int serial : serials) {
+            list.add(serial);
+        }
+        return list;
+    }
+
+    private List<Integer> contents(PostingList list) {
+        ArrayList<Integer> serials = new ArrayList<>();
+        for (int i = 0; i < list.size(); i++) {
+            serials.add(list.get(i));
+        }
+        return serials;
+    }
+
+    private TreeSet<Integer> randomSet(Random random, int count, int bound) {
+        TreeSet<Integer> set = new TreeSet<>();
+        for (int i = 0; i < count; i++) {
+            set.add(random.nextInt(bound));
+        }
+        return set;
+    }
+
+    @Test
+    void testSetOperations_AgreeWithSortedSets() {
+        Random random = new Random(7);
+        for (int round = 0; round < 200; round++) {
+            TreeSet<Integer> a = randomSet(random, random.nextInt(50), 200);
+            TreeSet<Integer> b = randomSet(random, random.nextInt(2000), 5000);
+
+            TreeSet<Integer> both = new TreeSet<>(a);
+            both.retainAll(b);
+            TreeSet<Integer> either = new TreeSet<>(a);
+            either.addAll(b);
+            TreeSet<Integer> onlyA = new TreeSet<>(a);
+            onlyA.removeAll(b);
+            TreeSet<Integer> onlyB = new TreeSet<>(b);
+            onlyB.removeAll(a);
+
+            assertEquals(new ArrayList<>(both), contents(listOf(a).intersect(listOf(b))));
+            assertEquals(new ArrayList<>(both), contents(listOf(b).intersect(listOf(a))));
+            assertEquals(new ArrayList<>(either), contents(listOf(a).union(listOf(b))));
+            assertEquals(new ArrayList<>(onlyA), contents(listOf(a).subtract(listOf(b))));
+            assertEquals(new ArrayList<>(onlyB), contents(listOf(b).subtract(listOf(a))));
+        }
+    }
+
+    @Test
+    void testSetOperations_LeaveInputsUntouchedAndResultsGrowable() {
+        PostingList a = new PostingList();
+        a.add(1);
+        a.add(3);
+        PostingList b = new PostingList();
+        b.add(2);
+
+        PostingList empty = a.intersect(b);
+        assertEquals(0, empty.size());
+        empty.add(5);
+        assertEquals(List.of(5), contents(empty));
+        assertEquals(List.of(1, 3), contents(a));
+        assertEquals(List.of(2), contents(b));
+        assertEquals(List.of(2), contents(PostingList.intersectAll(List.of(a.union(b), b))));
+    }
+}
@@ -0,0 +1,113 @@
+package lyra.task;
+
+import lyra.exception.LyraException;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Test class for SortedView class.
+ * Tests that every view keeps the order a stable sort of the list would give through changes.
+ */
+public class SortedViewTest {
+
+    private static final String[] CRITERIA = {"description", "deadline", "event", "type", "status"};
+
+    private Task randomTask(Random random, int round) {
+        String[] words = {"Read", "book", "return", "milk", "Meeting"};
+        String description = words[random.nextInt(words.length)] + " " + random.nextInt(5);
+        LocalDate date = LocalDate.of(2025, 1, 1).plusDays(random.nextInt(20));
+        switch (random.nextInt(3)) {
+            case 0:
+                return new Todo(description);
+            case 1:
+                return new Deadline(description, date);
+            default:
+                return new Event(description, date, date.plusDays(random.nextInt(3)));
+        }
+    }
+
+    @Test
+    void testForCriteria_UnknownCriteria() {
+        assertNull(SortedView.forCriteria("colour"));
+    }
+
+    @Test
+    void testGetTasks_OrdersByKeyThenListOrder() {
+        TaskList list = new TaskList();
+        Todo todo = new Todo("buy milk");
+        Deadline later = new Deadline("essay", LocalDate.of(2025, 3, 1));
+        Deadline sooner = new Deadline("report", LocalDate.of(2025, 2, 1));
+        Deadline alsoSooner = new Deadline("tax return", LocalDate.of(2025, 2, 1));
+        list.addTask(todo);
+        list.addTask(later);
+        list.addTask(sooner);
+        list.addTask(alsoSooner);
+
+        SortedView<?> view = SortedView.forCriteria("deadline");
+        view.rebuild(list.getTasks());
+        assertEquals(List.of(sooner, alsoSooner, later, todo), view.getTasks());
+        assertEquals(later, view.get(2));
+        assertEquals(4, view.size());
+    }
+
+    @Test
+    void testTaskRestored_GetsItsPlaceAmongEqualKeysBack() {
+        SortedView<?> view = SortedView.forCriteria("status");
+        Todo first = new Todo("read book");
+        Todo second = new Todo("return book");
+        Todo third = new Todo("join club");
+        view.rebuild(List.of(first, second, third));
+
+        view.taskRemoved(second);
+        assertTrue(view.taskRestored(second));
+        assertEquals(List.of(first, second, third), view.getTasks());
+        // A task the view never removed has no place to go back to
+        assertFalse(view.taskRestored(new Todo("borrow book")));
+    }
+
+    @Test
+    void testViews_AgreeWithStableSortThroughChanges() throws LyraException {
+        Random random = new Random(3);
+        TaskList list = new TaskList();
+        ArrayList<SortedView<?>> views = new ArrayList<>();
+        for (String criteria : CRITERIA) {
+            SortedView<?> view = SortedView.forCriteria(criteria);
+            view.rebuild(list.getTasks());
+            views.add(view);
+        }
+
+        for (int round = 0; round < 2000; round++) {
+            int action = list.getSize() == 0 ? 0 : random.nextInt(4);
+            if (action == 0 || action == 1) {
+                Task task = randomTask(random, round);
+                list.addTask(task);
+                views.forEach(view -> view.taskAdded(task));
+            } else if (action == 2) {
+                Task task = list.deleteTask(random.nextInt(list.getSize()));
+                views.forEach(view -> view.taskRemoved(task));
+            } else {
+                Task task = list.getTasks().get(random.nextInt(list.getSize()));
+                if (task.isDone()) {
+                    task.markAsNotDone();
+                } else {
+                    task.markAsDone();
+                }
+                views.forEach(view -> view.taskUpdated(task));
+            }
+        }
+
+        for (SortedView<?> view : views) {
+            ArrayList<Task> sorted = new ArrayList<>(list.getTasks());
+            sorted.sort(view.getComparator());
+            assertEquals(sorted, view.getTasks());
+            for (int i = 0; i < sorted.size(); i += 37) {
+                assertSame(sorted.get(i), view.get(i));
+            }
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package lyra.task;
+
+import lyra.exception.LyraException;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Test class for TaskHistory class and the undo and redo of TaskList.
+ * Tests that undoing restores the list, its sorted view and its indexes, and that redoing
+ * repeats the change, also against snapshots taken after random changes.
+ */
+public class TaskHistoryTest {
+
+    private List<String> describe(List<Task> tasks) {
+        ArrayList<String> descriptions = new ArrayList<>();
+        for (Task task : tasks) {
+            descriptions.add(task.toString() + " #" + task.getId());
+        }
+        return descriptions;
+    }
+
+    private TaskList sampleList(String... descriptions) {
+        TaskList tasks = new TaskList();
+        for (String description : descriptions) {
+            tasks.addTask(new Todo(description));
+        }
+        tasks.getHistory().clear();
+        return tasks;
+    }
+
+    @Test
+    void testUndoDelete_RestoresTaskInItsSlot() throws LyraException {
+        TaskList tasks = sampleList("read book", "return book", "join club");
+        List<String> before = describe(tasks.getShownTasks());
+        tasks.deleteTask(1);
+        tasks.clearChanges();
+
+        assertEquals("deleting [T][ ] return book", tasks.undo());
+        assertEquals(before, describe(tasks.getShownTasks()));
+        assertEquals(1, tasks.getIndexOfId(2));
+        assertEquals(TaskChange.Kind.ADDED, tasks.getChanges().get(0).getKind());
+        assertEquals(1, tasks.getChanges().get(0).getIndex());
+
+        assertEquals("deleting [T][ ] return book", tasks.redo());
+        assertEquals(2, tasks.getSize());
+        assertThrows(LyraException.class, tasks::redo);
+    }
+
+    @Test
+    void testUndoSort_SwitchesViewsWithoutTouchingTasks() throws LyraException {
+        TaskList tasks = sampleList("c", "a", "b");
+        tasks.sortByDescription();
+        tasks.sortByStatus();
+        tasks.sortByStatus();
+
+        assertEquals("sorting by status", tasks.undo());
+        assertEquals(List.of("a", "b", "c"), descriptionsOf(tasks.getShownTasks()));
+        assertEquals("sorting by description", tasks.undo());
+        assertEquals(List.of("c", "a", "b"), descriptionsOf(tasks.getShownTasks()));
+        assertThrows(LyraException.class, tasks::undo);
+        tasks.redo();
+        assertEquals(List.of("a", "b", "c"), descriptionsOf(tasks.getShownTasks()));
+    }
+
+    @Test
+    void testUndo_IndexesFollowRestoredTasks() throws LyraException {
+        TaskList tasks = sampleList("apple pie", "banana bread", "apple crumble");
+        assertEquals(2, tasks.getTrigramIndex().find("apple").size());
+        tasks.deleteTask(0);
+        assertEquals(1, tasks.getTrigramIndex().find("apple").size());
+
+        tasks.undo();
+        assertEquals(List.of("apple pie", "apple crumble"), descriptionsOf(tasks.getTrigramIndex().find("apple")));
+    }
+
+    @Test
+    void testNewChange_ClearsRedoAndCapacityBoundsUndo() throws LyraException {
+        TaskList tasks = sampleList();
+        for (int i = 0; i < TaskHistory.DEFAULT_CAPACITY + 5; i++) {
+            tasks.addTask(new Todo("task " + i));
+        }
+        assertEquals(TaskHistory.DEFAULT_CAPACITY, tasks.getHistory().getUndoCount());
+        tasks.undo();
+        assertEquals(1, tasks.getHistory().getRedoCount());
+        tasks.markTaskAsDone(0);
+        assertEquals(0, tasks.getHistory().getRedoCount());
+        assertThrows(LyraException.class, tasks::redo);
+    }
+
+    @Test
+    void testRandomChanges_UndoAllThenRedoAllMatchSnapshots() throws LyraException {
+        Random random = new Random(7);
+        TaskList tasks = sampleList();
+        ArrayList<List<String>> snapshots = new ArrayList<>();
+        snapshots.add(describe(tasks.getShownTasks()));
+        for (int step = 0; step < 80; step++) {
+            int size = tasks.getSize();
+            int recorded = tasks.getHistory().getUndoCount();
+            int choice = size == 0 ? 0 : random.nextInt(5);
+            if (choice == 0) {
+                tasks.addTask(new Todo("task " + random.nextInt(20)));
+            } else if (choice == 1) {
+                tasks.deleteTask(random.nextInt(size));
+            } else if (choice == 2) {
+                int first = random.nextInt(size);
+                tasks.deleteTasks(List.of(first, Math.min(size - 1, first + random.nextInt(3))));
+            } else if (choice == 3) {
+                tasks.markTasks(List.of(random.nextInt(size)), random.nextBoolean());
+            } else if (random.nextBoolean()) {
+                tasks.sortByDescription();
+            } else {
+                tasks.sortByStatus();
+            }
+            // Sorting again by the criteria already shown changes nothing and is not recorded
+            if (tasks.getHistory().getUndoCount() > recorded) {
+                snapshots.add(describe(tasks.getShownTasks()));
+            }
+        }
+
+        int undone = tasks.getHistory().getUndoCount();
+        for (int i = 1; i <= undone; i++) {
+            tasks.undo();
+            assertEquals(snapshots.get(snapshots.size() - 1 - i), describe(tasks.getShownTasks()));
+        }
+        for (int i = undone - 1; i >= 0; i--) {
+            tasks.redo();
+            assertEquals(snapshots.get(snapshots.size() - 1 - i), describe(tasks.getShownTasks()));
+        }
+    }
+
+    @Test
+    void testRandomUndoRedo_IndexesKeepListOrderAmongEqualKeys() throws LyraException {
+        Random random = new Random(11);
+        TaskList tasks = sampleList();
+        tasks.sortByStatus();
+        for (int step = 0; step < 2000; step++) {
+            int size = tasks.getSize();
+            int choice = size == 0 ? 0 : random.nextInt(6);
+            if (choice == 0) {
+                tasks.addTask(new Todo("task " + random.nextInt(5)));
+            } else if (choice == 1) {
+                int first = random.nextInt(size);
+                tasks.deleteTasks(List.of(first, Math.min(size - 1, first + random.nextInt(3))));
+            } else if (choice == 2) {
+                tasks.markTasks(List.of(random.nextInt(size)), random.nextBoolean());
+            } else if (choice <= 4 && tasks.getHistory().getUndoCount() > 0) {
+                tasks.undo();
+            } else if (tasks.getHistory().getRedoCount() > 0) {
+                tasks.redo();
+            }
+            ArrayList<Task> sorted = new ArrayList<>(tasks.getTasks());
+            sorted.sort(SortedView.forCriteria("status").getComparator());
+            assertEquals(describe(sorted), describe(tasks.getShownTasks()));
+            ArrayList<Task> matching = new ArrayList<>();
+            for (Task task : tasks.getTasks()) {
+                if (task.getDescription().contains("1")) {
+                    matching.add(task);
+                }
+            }
+            assertEquals(describe(matching), describe(tasks.getTrigramIndex().find("1")));
+        }
+    }
+
+    private List<String> descriptionsOf(List<Task> tasks) {
+        ArrayList<String> descriptions = new ArrayList<>();
+        for (Task task : tasks) {
+            descriptions.add(task.getDescription());
+        }
+        return descriptions;
+    }
+}
@@ -7,6 +7,7 @@ import org.junit.jupiter.api.function.Executable;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Test class for TaskList class.
@@ -283,4 +284,128 @@ public class TaskListTest {
         assertEquals(task1, taskList.getTasks().get(0));
         assertEquals(task3, taskList.getTasks().get(1));
     }
+
+    @Test
+    void testChangeTracking_RecordsChangesSinceClear() throws LyraException {
+        assertTrue(taskList.isFullyChanged());
+        taskList.addTask(task1);
+        taskList.clearChanges();
+        assertFalse(taskList.isFullyChanged());
+        assertTrue(taskList.getChanges().isEmpty());
+
+        taskList.addTask(task2);
+        taskList.markTaskAsDone(0);
+        taskList.deleteTask(1);
+
+        assertEquals(3, taskList.getChanges().size());
+        assertEquals(TaskChange.Kind.ADDED, taskList.getChanges().get(0).getKind());
+        assertEquals(1, taskList.getChanges().get(0).getIndex());
+        assertEquals(TaskChange.Kind.UPDATED, taskList.getChanges().get(1).getKind());
+        assertEquals(0, taskList.getChanges().get(1).getIndex());
+        assertEquals(TaskChange.Kind.REMOVED, taskList.getChanges().get(2).getKind());
+        assertEquals(1, taskList.getChanges().get(2).getIndex());
+    }
+
+    @Test
+    void testChangeTracking_SortLeavesListOrderAlone() {
+        taskList.addTask(task2);
+        taskList.addTask(task1);
+        taskList.clearChanges();
+        taskList.sortByDescription();
+
+        assertFalse(taskList.isFullyChanged());
+        assertTrue(taskList.getChanges().isEmpty());
+        assertEquals(task2, taskList.getTasks().get(0));
+        assertEquals(task1, taskList.getShownTasks().get(0));
+    }
+
+    @Test
+    void testSort_TaskNumbersFollowShownOrder() throws LyraException {
+        taskList.addTask(task3);
+        taskList.addTask(task1);
+        taskList.addTask(task2);
+        taskList.clearChanges();
+        taskList.sortByDescription();
+
+        assertEquals(1, taskList.getPosition(0));
+        taskList.markTaskAsDone(0);
+        assertTrue(task1.isDone());
+        assertEquals(1, taskList.getChanges().get(0).getIndex());
+
+        assertEquals(task3, taskList.deleteTask(2));
+        assertEquals(List.of(task1, task2), taskList.getTasks());
+
+        Task task4 = new Task("Fourth task");
+        taskList.addTask(task4);
+        assertEquals(List.of(task1, task4, task2), taskList.getShownTasks());
+
+        taskList.sortByStatus();
+        assertEquals(List.of(task2, task4, task1), taskList.getShownTasks());
+        taskList.markTaskAsDone(1);
+        assertEquals(List.of(task2, task1, task4), taskList.getShownTasks());
+        assertEquals(List.of(task1, task2, task4), taskList.getTasks());
+    }
+
+    @Test
+    void testIds_StayWithTasksThroughSortAndDelete() throws LyraException {
+        taskList.addTask(task3);
+        taskList.addTask(task1);
+        taskList.addTask(task2);
+        assertEquals(1, task3.getId());
+        assertEquals(2, task1.getId());
+        assertEquals(3, task2.getId());
+
+        taskList.sortByDescription();
+        assertEquals(0, taskList.getIndexOfId(2));
+        assertEquals(2, taskList.getIndexOfId(1));
+        taskList.deleteTask(taskList.getIndexOfId(2));
+        assertEquals(1, taskList.getIndexOfId(1));
+
+        Task task4 = new Task("Fourth task");
+        taskList.addTask(task4);
+        assertEquals(4, task4.getId());
+        assertThrowsLyraOrAssertionErrorWithMessage("There is no task with ID #2.",
+                () -> taskList.getIndexOfId(2));
+    }
+
+    @Test
+    void testIds_KeptFromStorageAndDuplicatesReplaced() {
+        task1.setId(5);
+        task2.setId(5);
+        task3.setId(2);
+        TaskList list = new TaskList(new ArrayList<>(List.of(task1, task2, task3)));
+
+        assertEquals(5, task1.getId());
+        assertEquals(6, task2.getId());
+        assertEquals(2, task3.getId());
+        Task task4 = new Task("Fourth task");
+        list.addTask(task4);
+        assertEquals(7, task4.getId());
+    }
+
+    @Test
+    void testDelete_TombstonesKeepPositionsAndCompact() throws LyraException {
+        ArrayList<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            Task task = new Task("task " + i);
+            tasks.add(task);
+            taskList.addTask(task);
+        }
+        taskList.clearChanges();
+        for (int i = 0; i < 2000; i++) {
+            // Deletes every other task until the odd ones run out, then from the front
+            int index = i < 1500 ? i + 1 : 0;
+            Task removed = taskList.deleteTask(index);
+            tasks.remove(removed);
+            assertEquals(index, taskList.getChanges().get(taskList.getChanges().size() - 1).getIndex());
+        }
+        assertEquals(1000, taskList.getSize());
+        assertEquals(tasks, taskList.getLoadedTasks());
+        for (int i = 0; i < tasks.size(); i += 97) {
+            assertEquals(i, taskList.getIndexOfId(tasks.get(i).getId()));
+            assertEquals(i, taskList.getPosition(i));
+            assertEquals(tasks.get(i), taskList.markTaskAsDone(i));
+        }
+        assertEquals(tasks, taskList.getTasks());
+    }
 }
@@ -0,0 +1,129 @@
+package lyra.task;
+
+import lyra.exception.LyraException;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Test class for TaskSnapshot class.
+ * Tests that a snapshot keeps the tasks and status it was taken with while the list changes,
+ * and that snapshots sharing unchanged chunks always match the list they were taken from.
+ */
+public class TaskSnapshotTest {
+
+    private List<String> describe(TaskSnapshot snapshot) {
+        ArrayList<String> descriptions = new ArrayList<>();
+        for (int i = 0; i < snapshot.size(); i++) {
+            Task task = snapshot.get(i);
+            descriptions.add((snapshot.isDone(i) ? "[X] " : "[ ] ") + task.getDescription() + " #" + task.getId());
+        }
+        return descriptions;
+    }
+
+    private List<String> describe(List<Task> tasks) {
+        ArrayList<String> descriptions = new ArrayList<>();
+        for (Task task : tasks) {
+            descriptions.add((task.isDone() ? "[X] " : "[ ] ") + task.getDescription() + " #" + task.getId());
+        }
+        return descriptions;
+    }
+
+    @Test
+    void testSnapshot_UnchangedByLaterChanges() throws LyraException {
+        TaskList tasks = new TaskList();
+        tasks.addTask(new Todo("read book"));
+        tasks.addTask(new Deadline("return book", LocalDate.of(2019, 12, 2)));
+        tasks.addTask(new Todo("join club"));
+        TaskSnapshot snapshot = tasks.snapshot();
+        List<String> before = describe(snapshot);
+
+        tasks.markTaskAsDone(0);
+        tasks.deleteTask(1);
+        tasks.addTask(new Todo("buy milk"));
+        tasks.sortByDescription();
+        tasks.undo();
+
+        assertEquals(before, describe(snapshot));
+        assertFalse(snapshot.isDone(0));
+        assertTrue(tasks.getLoadedTasks().get(0).isDone());
+        assertSame(tasks.getLoadedTasks().get(0), snapshot.get(0));
+        assertThrows(IndexOutOfBoundsException.class, () -> snapshot.get(3));
+    }
+
+    @Test
+    void testSnapshot_RandomChangesMatchList() throws LyraException {
+        Random random = new Random(25);
+        TaskList tasks = new TaskList();
+        for (int i = 0; i < 5 * TaskSnapshot.CHUNK_SLOTS; i++) {
+            tasks.addTask(new Todo("task " + i));
+        }
+        ArrayList<TaskSnapshot> snapshots = new ArrayList<>();
+        ArrayList<List<String>> expected = new ArrayList<>();
+        for (int round = 0; round < 200; round++) {
+            int operation = random.nextInt(4);
+            if (operation == 0 || tasks.getSize() < 10) {
+                tasks.addTask(new Todo("new " + round));
+            } else if (operation == 1) {
+                tasks.deleteTask(random.nextInt(tasks.getSize()));
+            } else if (operation == 2) {
+                tasks.markTaskAsDone(random.nextInt(tasks.getSize()));
+            } else {
+                tasks.undo();
+            }
+            TaskSnapshot snapshot = tasks.snapshot();
+            assertEquals(describe(tasks.getLoadedTasks()), describe(snapshot));
+            snapshots.add(snapshot);
+            expected.add(describe(snapshot));
+        }
+        for (int i = 0; i < snapshots.size(); i++) {
+            assertEquals(expected.get(i), describe(snapshots.get(i)));
+        }
+    }
+
+    @Test
+    void testSnapshot_SharesChunksAfterTasksAreRead() throws LyraException {
+        TaskList tasks = new TaskList();
+        for (int i = 0; i < 4 * TaskSnapshot.CHUNK_SLOTS; i++) {
+            tasks.addTask(new Todo("task " + i));
+        }
+        tasks.deleteTask(0);
+        TaskSnapshot earlier = tasks.snapshot();
+
+        assertEquals(4 * TaskSnapshot.CHUNK_SLOTS - 1, tasks.getTasks().size());
+        assertEquals("task 1", tasks.getShownTasks().get(0).getDescription());
+        tasks.markTaskAsDone(tasks.getSize() - 1);
+        TaskSnapshot later = tasks.snapshot();
+
+        // Reading the tasks leaves the slot of the deleted task alone, so only the marked chunk is copied
+        assertEquals(3, later.countSharedChunks(earlier));
+        assertEquals(describe(tasks.getTasks()), describe(later));
+    }
+
+    @Test
+    void testWithEarlierChanges_KeepsChangesOfBoth() throws LyraException {
+        TaskList tasks = new TaskList();
+        tasks.addTask(new Todo("read book"));
+        tasks.clearChanges();
+        tasks.addTask(new Todo("return book"));
+        TaskSnapshot earlier = tasks.snapshot();
+        tasks.clearChanges();
+        tasks.markTaskAsDone(0);
+        TaskSnapshot later = tasks.snapshot();
+
+        TaskSnapshot merged = later.withEarlierChanges(earlier);
+        assertEquals(2, merged.getChanges().size());
+        assertEquals(TaskChange.Kind.ADDED, merged.getChanges().get(0).getKind());
+        assertEquals(TaskChange.Kind.UPDATED, merged.getChanges().get(1).getKind());
+        assertFalse(merged.isFullyChanged());
+        assertEquals(describe(later), describe(merged));
+
+        TaskSnapshot plain = TaskSnapshot.of(tasks.getTasks());
+        assertFalse(plain.isOfSameList(later));
+        assertTrue(later.withEarlierChanges(plain).isFullyChanged());
+    }
+}
@@ -0,0 +1,166 @@
+package lyra.task;
+
+import lyra.exception.LyraException;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Test class for TokenIndex class.
+ * Tests tokenizing, word, prefix and fuzzy lookups, ranking, and upkeep of the index by TaskList.
+ */
+public class TokenIndexTest {
+
+    private List<String> describe(List<Task> tasks) {
+        ArrayList<String> descriptions = new ArrayList<>();
+        for (Task task : tasks) {
+            descriptions.add(task.getDescription());
+        }
+        return descriptions;
+    }
+
+    private TaskList sampleList() {
+        TaskList list = new TaskList();
+        list.addTask(new Todo("Read book"));
+        list.addTask(new Todo("return the books"));
+        list.addTask(new Todo("book-club meeting"));
+        list.addTask(new Todo("buy milk"));
+        return list;
+    }
+
+    @Test
+    void testTokenize_SplitsOnNonAlphanumerics() {
+        assertEquals(List.of("book", "club", "2024", "meeting"), TokenIndex.tokenize("Book-club, 2024 MEETING!"));
+        assertTrue(TokenIndex.tokenize(" -- ").isEmpty());
+    }
+
+    @Test
+    void testFindWords_MatchesWholeWordsInListOrder() {
+        TokenIndex index = sampleList().getTokenIndex();
+        assertEquals(List.of("Read book", "book-club meeting"), describe(index.findWords(List.of("book"))));
+        assertEquals(List.of("book-club meeting"), describe(index.findWords(List.of("book", "meeting"))));
+        assertTrue(index.findWords(List.of("boo")).isEmpty());
+    }
+
+    @Test
+    void testFindPrefixes_MatchesStartsOfWords() {
+        TokenIndex index = sampleList().getTokenIndex();
+        assertEquals(List.of("Read book", "return the books", "book-club meeting"),
+                describe(index.findPrefixes(List.of("boo"))));
+        assertEquals(List.of("Read book", "return the books"), describe(index.findPrefixes(List.of("boo", "re"))));
+        assertTrue(index.findPrefixes(List.of("ook")).isEmpty());
+    }
+
+    @Test
+    void testIndex_KeptUpToDateByTaskList() throws LyraException {
+        TaskList list = sampleList();
+        TokenIndex index = list.getTokenIndex();
+
+        list.addTask(new Todo("book flights"));
+        list.deleteTask(0);
+        assertEquals(List.of("book-club meeting", "book flights"), describe(index.findWords(List.of("book"))));
+
+        list.sortByDescription();
+        assertEquals(List.of("book-club meeting", "book flights"), describe(index.findWords(List.of("book"))));
+
+        list.removeTasks(task -> task.getDescription().startsWith("book"));
+        assertTrue(index.findWords(List.of("book")).isEmpty());
+        assertEquals(List.of("return the books"), describe(index.findPrefixes(List.of("book"))));
+    }
+
+    @Test
+    void testTaskRemoved_CompactsAfterManyRemovals() throws LyraException {
+        TaskList list = new TaskList();
+        for (int i = 0; i < 3000; i++) {
+            list.addTask(new Todo("task " + i));
+        }
+        TokenIndex index = list.getTokenIndex();
+        for (int i = 0; i < 2500; i++) {
+            list.deleteTask(0);
+        }
+        assertEquals(500, index.findWords(List.of("task")).size());
+        assertEquals("task 2500", index.findWords(List.of("task")).get(0).getDescription());
+        assertEquals(List.of("task 2999"), describe(index.findWords(List.of("2999"))));
+    }
+
+    @Test
+    void testMatches_AgreesWithIndex() {
+        assertTrue(TokenIndex.matches("book-club meeting", List.of("club", "meeting"), false));
+        assertFalse(TokenIndex.matches("book-club meeting", List.of("clu"), false));
+        assertTrue(TokenIndex.matches("book-club meeting", List.of("clu"), true));
+    }
+
+    @Test
+    void testFindRanked_RareWordsAndShortDescriptionsFirst() {
+        TaskList list = new TaskList();
+        list.addTask(new Todo("buy milk"));
+        list.addTask(new Todo("return library book before the library closes on friday"));
+        list.addTask(new Todo("library book"));
+        list.addTask(new Todo("buy book"));
+        list.addTask(new Todo("buy bread"));
+
+        RankedMatches ranked = list.getTokenIndex().findRanked(List.of("library", "book"), 2);
+        assertEquals(3, ranked.getMatchCount());
+        assertEquals(List.of("library book", "return library book before the library closes on friday"),
+                describe(ranked.getTasks()));
+    }
+
+    @Test
+    void testFindRanked_TiesKeepListOrder() throws LyraException {
+        TaskList list = new TaskList();
+        for (int i = 0; i < 5; i++) {
+            list.addTask(new Todo("task " + i));
+        }
+        list.deleteTask(0);
+        RankedMatches ranked = list.getTokenIndex().findRanked(List.of("task", "task"), 3);
+        assertEquals(4, ranked.getMatchCount());
+        assertEquals(List.of("task 1", "task 2", "task 3"), describe(ranked.getTasks()));
+        assertEquals(0, list.getTokenIndex().findRanked(List.of("missing"), 3).getMatchCount());
+    }
+
+    @Test
+    void testFindRanked_AgreesWithFullRanking() throws LyraException {
+        Random random = new Random(3);
+        String[] words = {"alpha", "beta", "gamma", "delta", "epsilon", "zeta"};
+        TaskList list = new TaskList();
+        TokenIndex index = list.getTokenIndex();
+        for (int i = 0; i < 500; i++) {
+            StringBuilder description = new StringBuilder("item");
+            for (int j = random.nextInt(6); j >= 0; j--) {
+                description.append(' ').append(words[random.nextInt(words.length)]);
+            }
+            list.addTask(new Todo(description.toString()));
+            if (random.nextInt(4) == 0) {
+                list.deleteTask(random.nextInt(list.getSize()));
+            }
+        }
+
+        RankedMatches all = index.findRanked(List.of("beta", "zeta"), list.getSize());
+        RankedMatches top = index.findRanked(List.of("beta", "zeta"), 7);
+        assertEquals(all.getMatchCount(), top.getMatchCount());
+        assertEquals(all.getTasks().subList(0, 7), top.getTasks());
+    }
+
+    @Test
+    void testFindFuzzy_ForgivesTypos() throws LyraException {
+        TaskList list = new TaskList();
+        list.addTask(new Todo("return library book"));
+        list.addTask(new Todo("buy milk"));
+        list.addTask(new Todo("bake cake"));
+        TokenIndex index = list.getTokenIndex();
+
+        assertEquals(List.of("return library book"), describe(index.findFuzzy(List.of("libary", "bok"))));
+        assertEquals(List.of("buy milk"), describe(index.findFuzzy(List.of("milc"))));
+        assertTrue(index.findFuzzy(List.of("mk")).isEmpty());
+
+        list.addTask(new Todo("buy silk"));
+        assertEquals(List.of("silk", "milk"), index.findSimilarWords("silk", 1));
+        list.deleteTask(1);
+        assertEquals(List.of("silk"), index.findSimilarWords("milk", 1));
+        assertTrue(TokenIndex.matchesFuzzy("return library book", List.of("libary")));
+        assertFalse(TokenIndex.matchesFuzzy("buy milk", List.of("cake")));
+    }
+}
@@ -0,0 +1,91 @@
+package lyra.task;
+
+import lyra.exception.LyraException;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Test class for TrigramIndex class.
+ * Tests that substring searches through the index give exactly the results of a full scan.
+ */
+public class TrigramIndexTest {
+
+    private ArrayList<Task> scan(TaskList list, String needle) {
+        ArrayList<Task> matched = new ArrayList<>();
+        for (Task task : list.getTasks()) {
+            if (task.getDescription().toLowerCase().contains(needle)) {
+                matched.add(task);
+            }
+        }
+        return matched;
+    }
+
+    @Test
+    void testFind_MatchesSubstringsInListOrder() {
+        TaskList list = new TaskList();
+        list.addTask(new Todo("Read book"));
+        list.addTask(new Todo("return the books"));
+        list.addTask(new Todo("go to the bookshop"));
+        list.addTask(new Todo("buy milk"));
+        TrigramIndex index = list.getTrigramIndex();
+        List<Task> all = list.getTasks();
+
+        assertEquals(List.of(all.get(0), all.get(1), all.get(2)), index.find("book"));
+        assertEquals(List.of(all.get(2)), index.find("kshop"));
+        assertEquals(List.of(all.get(1)), index.find("n the b"));
+        assertTrue(index.find("books shop").isEmpty());
+        assertEquals(List.of(all.get(1), all.get(2)), index.find("th"));
+        assertEquals(4, index.find("").size());
+    }
+
+    @Test
+    void testFind_RejectsCandidatesWithTrigramsOutOfOrder() {
+        TaskList list = new TaskList();
+        list.addTask(new Todo("cdeabc"));
+        assertTrue(list.getTrigramIndex().find("abcde").isEmpty());
+        assertEquals(1, list.getTrigramIndex().find("cdeab").size());
+    }
+
+    @Test
+    void testFind_AgreesWithScanThroughChanges() throws LyraException {
+        Random random = new Random(42);
+        String[] words = {"read", "book", "return", "bookshop", "milk", "Meeting", "team", "ÉCOLE", "a-b"};
+        TaskList list = new TaskList();
+        TrigramIndex index = list.getTrigramIndex();
+        String[] needles = {"book", "oks", "re", "team mee", "école", "a-b", "ilk", "z", " "};
+
+        for (int round = 0; round < 2000; round++) {
+            if (list.getSize() > 0 && random.nextInt(3) == 0) {
+                list.deleteTask(random.nextInt(list.getSize()));
+            } else {
+                StringBuilder description = new StringBuilder(words[random.nextInt(words.length)]);
+                for (int i = random.nextInt(3); i > 0; i--) {
+                    description.append(' ').append(words[random.nextInt(words.length)]);
+                }
+                list.addTask(new Todo(description.toString()));
+            }
+            if (round == 1000) {
+                list.sortByDescription();
+            }
+        }
+        for (String needle : needles) {
+            assertEquals(scan(list, needle), index.find(needle), needle);
+        }
+    }
+
+    @Test
+    void testEstimateMemoryBytes_GrowsWithTasks() {
+        TaskList list = new TaskList();
+        TrigramIndex index = list.getTrigramIndex();
+        long empty = index.estimateMemoryBytes();
+        for (int i = 0; i < 100; i++) {
+            list.addTask(new Todo("return library book " + i));
+        }
+        assertEquals(100, index.getTaskCount());
+        assertTrue(index.estimateMemoryBytes() > empty);
+    }
+}
@@ -0,0 +1,142 @@
+package lyra.util;
+
+import lyra.task.Deadline;
+import lyra.task.Event;
+import lyra.task.Task;
+import lyra.task.Todo;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Test class for BinaryTaskFile and StorageConverter classes.
+ * Tests the binary format round trip, format detection and conversion.
+ */
+public class BinaryTaskFileTest {
+
+    @TempDir
+    Path tempDir;
+
+    private ArrayList<Task> sampleTasks() {
+        ArrayList<Task> tasks = new ArrayList<>();
+        tasks.add(new Todo("read book"));
+        tasks.add(new Deadline("return book by noon", LocalDate.of(2019, 12, 2)));
+        tasks.add(new Event("café meeting 🎉", LocalDate.of(2019, 12, 1), LocalDate.of(2019, 12, 2)));
+        tasks.get(1).markAsDone();
+        tasks.get(0).setId(7);
+        tasks.get(2).setId(12);
+        return tasks;
+    }
+
+    private void assertSameTasks(List<Task> expected, List<Task> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).toString(), actual.get(i).toString());
+            assertEquals(expected.get(i).getId(), actual.get(i).getId());
+        }
+    }
+
+    @Test
+    void testWriteAndRead_RoundTrip() throws IOException {
+        Path file = tempDir.resolve("lyra.bin");
+        ArrayList<Task> tasks = sampleTasks();
+        BinaryTaskFile.write(file, tasks, false);
+
+        assertTrue(BinaryTaskFile.isBinary(file));
+        assertSameTasks(tasks, BinaryTaskFile.read(file));
+    }
+
+    @Test
+    void testRead_VersionWithoutIds() throws IOException {
+        Path file = tempDir.resolve("lyra.bin");
+        byte[] description = "read book".getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocate(4 + 1 + 4 + 2 + 4 + description.length);
+        buffer.put(new byte[] {'L', 'Y', 'R', 'B', 1}).putInt(1);
+        buffer.put((byte) 'T').put((byte) 1).putInt(description.length).put(description);
+        Files.write(file, buffer.array());
+
+        ArrayList<Task> tasks = BinaryTaskFile.read(file);
+        assertEquals(1, tasks.size());
+        assertEquals("[T][X] read book", tasks.get(0).toString());
+        assertEquals(0, tasks.get(0).getId());
+    }
+
+    @Test
+    void testIsBinary_TextAndEmptyFiles() throws IOException {
+        Path text = tempDir.resolve("lyra.txt");
+        Files.write(text, List.of("T | 0 | read book"));
+        Path empty = Files.createFile(tempDir.resolve("empty.txt"));
+
+        assertFalse(BinaryTaskFile.isBinary(text));
+        assertFalse(BinaryTaskFile.isBinary(empty));
+    }
+
+    @Test
+    void testRead_TruncatedFileThrows() throws IOException {
+        Path file = tempDir.resolve("lyra.bin");
+        BinaryTaskFile.write(file, sampleTasks(), false);
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 3));
+
+        assertThrows(IOException.class, () -> BinaryTaskFile.read(file));
+    }
+
+    @Test
+    void testRead_FieldsLargerThanBufferAndManyTasks() throws IOException {
+        Path file = tempDir.resolve("lyra.bin");
+        ArrayList<Task> tasks = new ArrayList<>();
+        tasks.add(new Todo("x".repeat(200_000)));
+        for (int i = 0; i < 20_000; i++) {
+            tasks.add(new Deadline("task " + i, LocalDate.of(2019, 12, 1).plusDays(i % 300)));
+        }
+        BinaryTaskFile.write(file, tasks, false);
+
+        assertSameTasks(tasks, BinaryTaskFile.read(file));
+        // nothing keeps the file mapped, so it can be overwritten straight away
+        BinaryTaskFile.write(file, sampleTasks(), false);
+        assertSameTasks(sampleTasks(), BinaryTaskFile.read(file));
+    }
+
+    @Test
+    void testStorage_BinaryFormatSavesAndLoads() throws Exception {
+        Path dataFile = tempDir.resolve("lyra.txt");
+        Files.write(dataFile, List.of("T | 1 | read book"));
+        StorageConfig config = new StorageConfig();
+        config.setStorageFormat(StorageFormat.BINARY);
+        Storage storage = new Storage(dataFile.toString(), config);
+
+        ArrayList<Task> tasks = storage.load();
+        tasks.add(new Deadline("return book", LocalDate.of(2019, 12, 2)));
+        storage.save(tasks);
+        assertTrue(BinaryTaskFile.isBinary(dataFile));
+
+        ArrayList<Task> loaded = new Storage(dataFile.toString()).load();
+        assertSameTasks(tasks, loaded);
+        assertTrue(loaded.get(0).isDone());
+    }
+
+    @Test
+    void testConvert_InPlaceBothWays() throws IOException {
+        Path dataFile = tempDir.resolve("lyra.txt");
+        ArrayList<Task> tasks = sampleTasks();
+        Files.write(dataFile, Storage.toDataLines(tasks));
+
+        assertEquals(3, StorageConverter.convert(dataFile, dataFile, StorageFormat.BINARY));
+        assertTrue(BinaryTaskFile.isBinary(dataFile));
+        assertSameTasks(tasks, BinaryTaskFile.read(dataFile));
+
+        assertEquals(3, StorageConverter.convert(dataFile, dataFile, StorageFormat.TEXT));
+        assertEquals(Storage.toDataLines(tasks), Files.readAllLines(dataFile));
+        assertFalse(Files.exists(tempDir.resolve("lyra.txt.tmp")));
+    }
+}
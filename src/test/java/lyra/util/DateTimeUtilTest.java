@@ -230,4 +230,45 @@ public class DateTimeUtilTest {
         String reParsed = parsedDate.format(DateTimeUtil.STORAGE_DATE);
         assertEquals(originalDate, reParsed);
     }
+
+    @Test
+    void testParseStorageDate_MatchesFormatterForEveryDay() {
+        LocalDate date = LocalDate.of(2023, 1, 1);
+        while (date.getYear() < 2025) {
+            String text = date.format(DateTimeUtil.STORAGE_DATE);
+            assertEquals(LocalDate.parse(text, DateTimeUtil.STORAGE_DATE), DateTimeUtil.parseStorageDate(text));
+            byte[] bytes = (" " + text + " ").getBytes();
+            assertEquals(date, DateTimeUtil.parseStorageDate(bytes, 1, bytes.length - 1));
+            date = date.plusDays(1);
+        }
+    }
+
+    @Test
+    void testParseStorageDate_InvalidInputReportsFormatterError() {
+        for (String invalid : new String[] {"2025-02-29", "2024-13-01", "2024-00-10", "2024-04-31", "2024-1-05",
+            "2024/01/05", "abcd-ef-gh", ""}) {
+            DateTimeParseException expected = assertThrows(DateTimeParseException.class, () -> {
+                LocalDate.parse(invalid, DateTimeUtil.STORAGE_DATE);
+            });
+            DateTimeParseException actual = assertThrows(DateTimeParseException.class, () -> {
+                DateTimeUtil.parseStorageDate(invalid);
+            });
+            assertEquals(expected.getMessage(), actual.getMessage());
+        }
+    }
+
+    @Test
+    void testParseStorageDate_UnusualYearsFallBackToFormatter() {
+        assertEquals(LocalDate.of(12345, 6, 7), DateTimeUtil.parseStorageDate("+12345-06-07"));
+        assertEquals(LocalDate.of(1, 1, 1), DateTimeUtil.parseStorageDate("0001-01-01"));
+    }
+
+    @Test
+    void testFormatStorageDate_MatchesFormatter() {
+        LocalDate[] dates = {LocalDate.of(2024, 12, 25), LocalDate.of(2024, 1, 5), LocalDate.of(33, 2, 3),
+            LocalDate.of(12345, 6, 7), LocalDate.of(-5, 1, 1)};
+        for (LocalDate date : dates) {
+            assertEquals(date.format(DateTimeUtil.STORAGE_DATE), DateTimeUtil.formatStorageDate(date));
+        }
+    }
 }
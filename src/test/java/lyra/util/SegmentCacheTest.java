@@ -0,0 +1,109 @@
+package lyra.util;
+
+import lyra.task.Deadline;
+import lyra.task.Task;
+import lyra.task.TaskList;
+import lyra.task.Todo;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Test class for SegmentCache class.
+ * Tests that incremental saves only re-serialize changed segments and match a full save.
+ */
+public class SegmentCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    private TaskList largeList(int size) {
+        TaskList list = new TaskList();
+        for (int i = 0; i < size; i++) {
+            if (i % 2 == 0) {
+                list.addTask(new Todo("task " + i));
+            } else {
+                list.addTask(new Deadline("task " + i, LocalDate.of(2019, 12, 1).plusDays(i % 300)));
+            }
+        }
+        return list;
+    }
+
+    private void assertMatchesFullWrite(SegmentCache cache, TaskList list, StorageFormat format) throws Exception {
+        Path incremental = tempDir.resolve("incremental");
+        Path full = tempDir.resolve("full");
+        cache.writeTo(incremental, false);
+        Storage.writeTasks(full, list.getTasks(), list.getNextId(), format, false);
+        assertArrayEquals(Files.readAllBytes(full), Files.readAllBytes(incremental));
+    }
+
+    @Test
+    void testUpdate_OnlyChangedSegmentsSerialized() throws Exception {
+        TaskList list = largeList(5 * SegmentCache.SEGMENT_TASKS);
+        SegmentCache cache = new SegmentCache(StorageFormat.TEXT);
+        assertEquals(list.getSize(), cache.update(list));
+        assertEquals(0, cache.update(list));
+
+        list.markTaskAsDone(10);
+        assertEquals(SegmentCache.SEGMENT_TASKS, cache.update(list));
+
+        list.deleteTask(3 * SegmentCache.SEGMENT_TASKS);
+        list.addTask(new Todo("appended"));
+        // the shrunk segment is re-serialized, and the appended task starts a new segment
+        assertEquals(SegmentCache.SEGMENT_TASKS - 1 + 1, cache.update(list));
+        assertMatchesFullWrite(cache, list, StorageFormat.TEXT);
+    }
+
+    @Test
+    void testUpdate_BinaryMatchesFullWriteAfterChanges() throws Exception {
+        TaskList list = largeList(3 * SegmentCache.SEGMENT_TASKS + 7);
+        SegmentCache cache = new SegmentCache(StorageFormat.BINARY);
+        cache.update(list);
+
+        list.deleteTask(0);
+        list.markTaskAsDone(2 * SegmentCache.SEGMENT_TASKS);
+        for (int i = 0; i < SegmentCache.SEGMENT_TASKS + 3; i++) {
+            list.addTask(new Todo("new " + i));
+        }
+        cache.update(list);
+        assertMatchesFullWrite(cache, list, StorageFormat.BINARY);
+    }
+
+    @Test
+    void testUpdate_SortReserializesNothingButOtherListEverything() throws Exception {
+        TaskList list = largeList(100);
+        SegmentCache cache = new SegmentCache(StorageFormat.TEXT);
+        cache.update(list);
+
+        list.sortByDescription();
+        assertEquals(0, cache.update(list));
+
+        TaskList other = new TaskList(new ArrayList<>(list.getTasks()));
+        other.clearChanges();
+        assertEquals(100, cache.update(other));
+        assertMatchesFullWrite(cache, other, StorageFormat.TEXT);
+    }
+
+    @Test
+    void testStorageSave_AtomicAndLeavesNoTempFile() throws Exception {
+        Path dataFile = tempDir.resolve("lyra.txt");
+        Files.write(dataFile, List.of("T | 0 | read book"));
+        Storage storage = new Storage(dataFile.toString());
+        TaskList tasks = new TaskList(storage.load());
+
+        Task task = new Todo("return book");
+        tasks.addTask(task);
+        storage.save(tasks);
+        tasks.markTaskAsDone(0);
+        storage.save(tasks);
+
+        assertEquals(List.of("T | 1 | read book | #1", "T | 0 | return book | #2"), Files.readAllLines(dataFile));
+        assertFalse(Files.exists(tempDir.resolve("lyra.txt.tmp")));
+    }
+}
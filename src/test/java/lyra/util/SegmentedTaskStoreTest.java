@@ -0,0 +1,178 @@
+package lyra.util;
+
+import lyra.task.Deadline;
+import lyra.task.Event;
+import lyra.task.Task;
+import lyra.task.TaskList;
+import lyra.task.TaskSnapshot;
+import lyra.task.Todo;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Test class for SegmentedTaskStore class.
+ * Tests partitioning by month, lazy loading of inactive segments and order preservation.
+ */
+public class SegmentedTaskStoreTest {
+    private static final YearMonth ACTIVE_MONTH = YearMonth.of(2019, 12);
+
+    @TempDir
+    Path tempDir;
+
+    private ArrayList<Task> sampleTasks() {
+        ArrayList<Task> tasks = new ArrayList<>();
+        tasks.add(new Deadline("old report", LocalDate.of(2019, 10, 5)));
+        tasks.add(new Todo("read book"));
+        tasks.add(new Event("project meeting", LocalDate.of(2019, 12, 1), LocalDate.of(2019, 12, 2)));
+        tasks.add(new Deadline("return book", LocalDate.of(2019, 11, 20)));
+        tasks.add(new Todo("join club"));
+        return tasks;
+    }
+
+    private List<String> describe(List<Task> tasks) {
+        ArrayList<String> descriptions = new ArrayList<>();
+        for (Task task : tasks) {
+            descriptions.add(task.toString());
+        }
+        return descriptions;
+    }
+
+    @Test
+    void testSave_WritesOneSegmentPerMonthAndManifest() throws Exception {
+        Path directory = tempDir.resolve("segments");
+        new SegmentedTaskStore(directory, ACTIVE_MONTH).save(TaskSnapshot.of(sampleTasks()));
+
+        assertTrue(Files.exists(directory.resolve("manifest")));
+        assertEquals(2, Files.readAllLines(directory.resolve("todo.txt")).size());
+        assertEquals(1, Files.readAllLines(directory.resolve("2019-10.txt")).size());
+        assertEquals(1, Files.readAllLines(directory.resolve("2019-11.txt")).size());
+        assertEquals(1, Files.readAllLines(directory.resolve("2019-12.txt")).size());
+    }
+
+    @Test
+    void testLoadActive_ReadsOnlyActiveSegmentsThenMergesInOrder() throws Exception {
+        Path directory = tempDir.resolve("segments");
+        ArrayList<Task> tasks = sampleTasks();
+        new SegmentedTaskStore(directory, ACTIVE_MONTH).save(TaskSnapshot.of(tasks));
+
+        SegmentedTaskStore store = new SegmentedTaskStore(directory, ACTIVE_MONTH);
+        TaskList list = new TaskList(store.loadActive(), store);
+        assertEquals(3, list.getLoadedTasks().size());
+        assertEquals(5, list.getSize());
+        assertFalse(list.isFullyLoaded());
+
+        list.ensureLoaded();
+        assertEquals(describe(tasks), describe(list.getTasks()));
+    }
+
+    @Test
+    void testSave_AdditionToUnloadedSegmentIsAppended() throws Exception {
+        Path directory = tempDir.resolve("segments");
+        ArrayList<Task> tasks = sampleTasks();
+        new SegmentedTaskStore(directory, ACTIVE_MONTH).save(TaskSnapshot.of(tasks));
+
+        SegmentedTaskStore store = new SegmentedTaskStore(directory, ACTIVE_MONTH);
+        TaskList list = new TaskList(store.loadActive(), store);
+        Task added = new Deadline("late report", LocalDate.of(2019, 10, 30));
+        list.addTask(added);
+        store.save(list.snapshot());
+        tasks.add(added);
+
+        assertEquals(2, Files.readAllLines(directory.resolve("2019-10.txt")).size());
+        list.ensureLoaded();
+        assertEquals(describe(tasks), describe(list.getTasks()));
+
+        SegmentedTaskStore reopened = new SegmentedTaskStore(directory, ACTIVE_MONTH);
+        TaskList reloaded = new TaskList(reopened.loadActive(), reopened);
+        assertEquals(6, reloaded.getSize());
+        reloaded.ensureLoaded();
+        assertEquals(describe(tasks), describe(reloaded.getTasks()));
+    }
+
+    @Test
+    void testSave_DeleteOnlyRewritesAffectedSegment() throws Exception {
+        Path directory = tempDir.resolve("segments");
+        SegmentedTaskStore store = new SegmentedTaskStore(directory, ACTIVE_MONTH);
+        ArrayList<Task> tasks = sampleTasks();
+        store.save(TaskSnapshot.of(tasks));
+        Files.write(directory.resolve("2019-11.txt"), List.of("999 | D | 0 | untouched | 2019-11-20"));
+
+        tasks.remove(0);
+        store.save(TaskSnapshot.of(tasks));
+
+        assertFalse(Files.exists(directory.resolve("2019-10.txt")));
+        assertEquals(List.of("999 | D | 0 | untouched | 2019-11-20"),
+                Files.readAllLines(directory.resolve("2019-11.txt")));
+    }
+
+    @Test
+    void testStorage_MigratesDataFileAndMarksAcrossSegments() throws Exception {
+        Path dataFile = tempDir.resolve("lyra.txt");
+        Files.write(dataFile, Storage.toDataLines(sampleTasks()));
+        StorageConfig config = new StorageConfig();
+        config.setSegmented(true);
+
+        TaskList migrated = new Storage(dataFile.toString(), config).loadTaskList();
+        assertEquals(5, migrated.getSize());
+        assertTrue(Files.exists(tempDir.resolve("lyra.txt.segments").resolve("manifest")));
+
+        Storage storage = new Storage(dataFile.toString(), config);
+        TaskList tasks = storage.loadTaskList();
+        tasks.markTaskAsDone(0);
+        storage.save(tasks);
+
+        TaskList reloaded = new Storage(dataFile.toString(), config).loadTaskList();
+        reloaded.ensureLoaded();
+        assertEquals("[D][X] old report (by: Oct 5 2019)", reloaded.getTasks().get(0).toString());
+        assertEquals(5, reloaded.getSize());
+    }
+
+    @Test
+    void testTaskList_NewIdsSkipIdsOfUnloadedTasks() throws Exception {
+        Path directory = tempDir.resolve("segments");
+        ArrayList<Task> tasks = sampleTasks();
+        new TaskList(tasks);
+        new SegmentedTaskStore(directory, ACTIVE_MONTH).save(TaskSnapshot.of(tasks));
+
+        SegmentedTaskStore store = new SegmentedTaskStore(directory, ACTIVE_MONTH);
+        TaskList list = new TaskList(store.loadActive(), store);
+        Task added = new Todo("new task");
+        list.addTask(added);
+        assertEquals(6, added.getId());
+
+        list.ensureLoaded();
+        for (int i = 0; i < tasks.size(); i++) {
+            assertEquals(tasks.get(i).getId(), list.getTasks().get(i).getId());
+        }
+        assertEquals(5, list.getIndexOfId(6));
+    }
+
+    @Test
+    void testStorage_DeletedHighestIdNotReusedWhileSegmentsAreUnloaded() throws Exception {
+        Path dataFile = tempDir.resolve("lyra.txt");
+        Files.write(dataFile, Storage.toDataLines(sampleTasks()));
+        StorageConfig config = new StorageConfig();
+        config.setSegmented(true);
+
+        Storage storage = new Storage(dataFile.toString(), config);
+        TaskList tasks = storage.loadTaskList();
+        int deletedId = tasks.deleteTask(tasks.getSize() - 1).getId();
+        storage.saveDeleted(tasks, tasks.getSize());
+        storage.close();
+
+        Storage reopened = new Storage(dataFile.toString(), config);
+        TaskList reloaded = reopened.loadTaskList();
+        assertFalse(reloaded.isFullyLoaded());
+        Task added = new Todo("borrow book");
+        reloaded.addTask(added);
+        assertTrue(added.getId() > deletedId, "ID " + added.getId() + " was given out before");
+    }
+}
@@ -0,0 +1,393 @@
+package lyra.util;
+
+import lyra.exception.LyraException;
+import lyra.task.Deadline;
+import lyra.task.Event;
+import lyra.task.Task;
+import lyra.task.TaskList;
+import lyra.task.TaskSnapshot;
+import lyra.task.Todo;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Test class for Storage class.
+ * Tests loading, saving and journal replay against a temporary data file.
+ */
+public class StorageTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Storage journalStorage(Path dataFile) {
+        StorageConfig config = new StorageConfig();
+        config.setJournalMode(true);
+        return new Storage(dataFile.toString(), config);
+    }
+
+    private List<String> descriptions(List<Task> tasks) {
+        ArrayList<String> descriptions = new ArrayList<>();
+        for (Task task : tasks) {
+            descriptions.add(task.toString());
+        }
+        return descriptions;
+    }
+
+    @Test
+    void testSaveAndLoad_RoundTrip() throws Exception {
+        Path dataFile = tempDir.resolve("lyra.txt");
+        Storage storage = new Storage(dataFile.toString());
+        ArrayList<Task> tasks = new ArrayList<>();
+        tasks.add(new Todo("read book"));
+        tasks.add(new Deadline("return book", LocalDate.of(2019, 12, 2)));
+        tasks.add(new Event("project meeting", LocalDate.of(2019, 12, 1), LocalDate.of(2019, 12, 2)));
+        tasks.get(0).markAsDone();
+        storage.save(tasks);
+
+        ArrayList<Task> loaded = new Storage(dataFile.toString()).load();
+        assertEquals(3, loaded.size());
+        assertEquals(tasks.get(0).toString(), loaded.get(0).toString());
+        assertEquals(tasks.get(1).toString(), loaded.get(1).toString());
+        assertEquals(tasks.get(2).toString(), loaded.get(2).toString());
+    }
+
+    @Test
+    void testLoad_MissingFileCreatesEmptyFile() throws LyraException {
+        Path dataFile = tempDir.resolve("data").resolve("lyra.txt");
+        ArrayList<Task> loaded = new Storage(dataFile.toString()).load();
+        assertTrue(loaded.isEmpty());
+        assertTrue(Files.exists(dataFile));
+    }
+
+    @Test
+    void testJournalMode_MutationsDoNotRewriteDataFile() throws Exception {
+        Path dataFile = tempDir.resolve("lyra.txt");
+        Storage storage = journalStorage(dataFile);
+        TaskList tasks = new TaskList(storage.load());
+
+        Task task = new Todo("read book");
+        tasks.addTask(task);
+        storage.saveAdded(tasks, task);
+        tasks.markTaskAsDone(0);
+        storage.saveMarked(tasks, 0, true);
+
+        assertEquals(0, Files.size(dataFile));
+        List<String> records = Files.readAllLines(tempDir.resolve("lyra.txt.journal"));
+        assertEquals(List.of("+ | T | 0 | read book | #1", "M | 0"), records);
+    }
+
+    @Test
+    void testJournalMode_ReplayOnLoad() throws Exception {
+        Path dataFile = tempDir.resolve("lyra.txt");
+        Files.write(dataFile, List.of("T | 0 | read book", "D | 0 | return book | 2019-12-02"));
+        Storage storage = journalStorage(dataFile);
+        TaskList tasks = new TaskList(storage.load());
+
+        Task added = new Todo("borrow book");
+        tasks.addTask(added);
+        storage.saveAdded(tasks, added);
+        tasks.deleteTask(0);
+        storage.saveDeleted(tasks, 0);
+        tasks.sortByDescription();
+        int position = tasks.getPosition(0);
+        tasks.markTaskAsDone(0);
+        storage.saveMarked(tasks, position, true);
+
+        // Sorting only changes the shown order, so the journal keeps list order
+        ArrayList<Task> reloaded = journalStorage(dataFile).load();
+        assertEquals(2, reloaded.size());
+        assertEquals("[D][ ] return book (by: Dec 2 2019)", reloaded.get(0).toString());
+        assertEquals("[T][X] borrow book", reloaded.get(1).toString());
+    }
+
+    @Test
+    void testJournalMode_ReplaysSortRecordsOfOlderVersions() throws Exception {
+        Path dataFile = tempDir.resolve("lyra.txt");
+        Files.write(dataFile, List.of("D | 0 | return book | 2019-12-02", "T | 0 | borrow book"));
+        Files.write(tempDir.resolve("lyra.txt.journal"), List.of("S | description", "M | 0"));
+
+        ArrayList<Task> reloaded = journalStorage(dataFile).load();
+        assertEquals("[T][X] borrow book", reloaded.get(0).toString());
+        assertEquals("[D][ ] return book (by: Dec 2 2019)", reloaded.get(1).toString());
+    }
+
+    @Test
+    void testJournalMode_UndoAndRedoAppendRecords() throws Exception {
+        Path dataFile = tempDir.resolve("lyra.txt");
+        Files.write(dataFile, List.of("T | 0 | read book | #1", "T | 0 | return book | #2", "T | 0 | join club | #3"));
+        Storage storage = journalStorage(dataFile);
+        TaskList tasks = storage.loadTaskList();
+
+        tasks.deleteTask(1);
+        storage.saveDeleted(tasks, 1);
+        tasks.undo();
+        storage.saveRestored(tasks);
+        tasks.markTasks(List.of(0, 2), true);
+        storage.saveMarked(tasks, List.of(0, 2), true);
+        tasks.undo();
+        storage.saveRestored(tasks);
+        tasks.redo();
+        storage.saveRestored(tasks);
+
+        assertEquals(3, Files.readAllLines(dataFile).size());
+        assertEquals(List.of("- | 1", "I | 1 | T | 0 | return book | #2", "M | 0", "M | 2", "U | 0", "U | 2",
+                "M | 0", "M | 2"), Files.readAllLines(tempDir.resolve("lyra.txt.journal")));
+        assertEquals(List.of("[T][X] read book", "[T][ ] return book", "[T][X] join club"),
+                descriptions(journalStorage(dataFile).load()));
+    }
+
+    @Test
+    void testSave_ClearsJournal() throws Exception {
+        Path dataFile = tempDir.resolve("lyra.txt");
+        Storage storage = journalStorage(dataFile);
+        TaskList tasks = new TaskList(storage.load());
+        Task task = new Todo("read book");
+        tasks.addTask(task);
+        storage.saveAdded(tasks, task);
+
+        storage.save(tasks.getTasks());
+        assertFalse(Files.exists(tempDir.resolve("lyra.txt.journal")));
+        assertEquals(List.of("T | 0 | read book | #1"), Files.readAllLines(dataFile));
+    }
+
+    @Test
+    void testLoad_WithoutJournalModeFoldsJournalIntoDataFile() throws Exception {
+        Path dataFile = tempDir.resolve("lyra.txt");
+        Files.write(dataFile, List.of("T | 0 | read book"));
+        Files.write(tempDir.resolve("lyra.txt.journal"), List.of("M | 0", "- | 5", "+ | T | 0 | join club"));
+
+        ArrayList<Task> loaded = new Storage(dataFile.toString()).load();
+        assertEquals(2, loaded.size());
+        assertTrue(loaded.get(0).isDone());
+        assertFalse(Files.exists(tempDir.resolve("lyra.txt.journal")));
+        assertEquals(List.of("T | 1 | read book", "T | 0 | join club"), Files.readAllLines(dataFile));
+    }
+
+    @Test
+    void testJournalMode_CompactsInBackgroundPastThreshold() throws Exception {
+        Path dataFile = tempDir.resolve("lyra.txt");
+        StorageConfig config = new StorageConfig();
+        config.setJournalMode(true);
+        config.setCompactRecordThreshold(2);
+        Storage storage = new Storage(dataFile.toString(), config);
+        TaskList tasks = new TaskList(storage.load());
+
+        for (String description : List.of("read book", "return book", "join club")) {
+            Task task = new Todo(description);
+            tasks.addTask(task);
+            storage.saveAdded(tasks, task);
+        }
+        storage.close();
+
+        assertFalse(Files.exists(tempDir.resolve("lyra.txt.journal.compacting")));
+        ArrayList<Task> reloaded = journalStorage(dataFile).load();
+        assertEquals(3, reloaded.size());
+        assertEquals("[T][ ] join club", reloaded.get(2).toString());
+        assertTrue(Files.readAllLines(dataFile).size() >= 2);
+    }
+
+    @Test
+    void testLoad_CompletesPublishedCompaction() throws Exception {
+        Path dataFile = tempDir.resolve("lyra.txt");
+        Files.write(dataFile, List.of("T | 0 | read book"));
+        Files.write(tempDir.resolve("lyra.txt.journal.compacting"), List.of("+ | T | 0 | join club"));
+        Files.write(tempDir.resolve("lyra.txt.next"), List.of("T | 0 | read book", "T | 0 | join club"));
+
+        ArrayList<Task> loaded = journalStorage(dataFile).load();
+        assertEquals(2, loaded.size());
+        assertFalse(Files.exists(tempDir.resolve("lyra.txt.next")));
+        assertFalse(Files.exists(tempDir.resolve("lyra.txt.journal.compacting")));
+    }
+
+    @Test
+    void testLoad_ReplaysInterruptedCompaction() throws Exception {
+        Path dataFile = tempDir.resolve("lyra.txt");
+        Files.write(dataFile, List.of("T | 0 | read book"));
+        Files.write(tempDir.resolve("lyra.txt.journal.compacting"), List.of("+ | T | 0 | join club"));
+        Files.write(tempDir.resolve("lyra.txt.journal"), List.of("M | 1"));
+
+        ArrayList<Task> loaded = new Storage(dataFile.toString()).load();
+        assertEquals(2, loaded.size());
+        assertTrue(loaded.get(1).isDone());
+        assertFalse(Files.exists(tempDir.resolve("lyra.txt.journal.compacting")));
+        assertEquals(List.of("T | 0 | read book", "T | 1 | join club"), Files.readAllLines(dataFile));
+    }
+
+    @Test
+    void testGroupDurability_CoalescesMutationsIntoOneFlush() throws Exception {
+        Path dataFile = tempDir.resolve("lyra.txt");
+        StorageConfig config = new StorageConfig();
+        config.setDurabilityMode(DurabilityMode.GROUP);
+        config.setGroupCommitSize(3);
+        config.setGroupCommitMillis(60_000);
+        Storage storage = new Storage(dataFile.toString(), config);
+        List<Integer> flushes = new ArrayList<>();
+        storage.setFlushListener(flushes::add);
+        TaskList tasks = new TaskList(storage.load());
+
+        for (int i = 0; i < 4; i++) {
+            Task task = new Todo("task " + i);
+            tasks.addTask(task);
+            storage.saveAdded(tasks, task);
+        }
+        assertEquals(List.of(3), flushes);
+        assertEquals(3, Files.readAllLines(dataFile).size());
+
+        storage.close();
+        assertEquals(List.of(3, 1), flushes);
+        assertEquals(4, Files.readAllLines(dataFile).size());
+    }
+
+    @Test
+    void testAsyncDurability_JournalFlushedOnClose() throws Exception {
+        Path dataFile = tempDir.resolve("lyra.txt");
+        StorageConfig config = new StorageConfig();
+        config.setJournalMode(true);
+        config.setDurabilityMode(DurabilityMode.ASYNC);
+        config.setGroupCommitMillis(60_000);
+        Storage storage = new Storage(dataFile.toString(), config);
+        List<Integer> flushes = new ArrayList<>();
+        storage.setFlushListener(flushes::add);
+        TaskList tasks = new TaskList(storage.load());
+
+        Task task = new Todo("read book");
+        tasks.addTask(task);
+        storage.saveAdded(tasks, task);
+        tasks.markTaskAsDone(0);
+        storage.saveMarked(tasks, 0, true);
+        assertFalse(Files.exists(tempDir.resolve("lyra.txt.journal")));
+
+        storage.close();
+        assertEquals(List.of(2), flushes);
+        ArrayList<Task> reloaded = journalStorage(dataFile).load();
+        assertEquals("[T][X] read book", reloaded.get(0).toString());
+    }
+
+    @Test
+    void testSaveSnapshot_WritesTasksAsTheyWereWhenTaken() throws Exception {
+        Path dataFile = tempDir.resolve("lyra.txt");
+        Storage storage = new Storage(dataFile.toString());
+        TaskList tasks = new TaskList(storage.load());
+        tasks.addTask(new Todo("read book"));
+        tasks.addTask(new Todo("return book"));
+        TaskSnapshot snapshot = tasks.snapshot();
+
+        tasks.markTaskAsDone(0);
+        tasks.deleteTask(1);
+        tasks.addTask(new Todo("join club"));
+        storage.save(snapshot);
+        assertEquals(List.of("T | 0 | read book | #1", "T | 0 | return book | #2"), Files.readAllLines(dataFile));
+
+        storage.save(tasks);
+        assertEquals(List.of("T | 1 | read book | #1", "T | 0 | join club | #3"), Files.readAllLines(dataFile));
+    }
+
+    @Test
+    void testAsyncDurability_BackgroundTimerSavesSnapshot() throws Exception {
+        Path dataFile = tempDir.resolve("lyra.txt");
+        StorageConfig config = new StorageConfig();
+        config.setDurabilityMode(DurabilityMode.ASYNC);
+        config.setGroupCommitMillis(100);
+        Storage storage = new Storage(dataFile.toString(), config);
+        List<Integer> flushes = Collections.synchronizedList(new ArrayList<>());
+        storage.setFlushListener(flushes::add);
+        TaskList tasks = new TaskList(storage.load());
+
+        Task task = new Todo("read book");
+        tasks.addTask(task);
+        storage.saveAdded(tasks, task);
+        tasks.markTaskAsDone(0);
+        storage.saveMarked(tasks, 0, true);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (flushes.isEmpty() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(List.of(2), flushes);
+        assertEquals(List.of("T | 1 | read book | #1"), Files.readAllLines(dataFile));
+
+        storage.close();
+        assertEquals(List.of(2), flushes);
+    }
+
+    @Test
+    void testLoadTaskList_DeletedHighestIdNotReusedAfterReload() throws Exception {
+        StorageConfig binary = new StorageConfig();
+        binary.setStorageFormat(StorageFormat.BINARY);
+        StorageConfig journal = new StorageConfig();
+        journal.setJournalMode(true);
+        StorageConfig segmented = new StorageConfig();
+        segmented.setSegmented(true);
+        assertDeletedHighestIdNotReused(tempDir.resolve("text.txt"), new StorageConfig());
+        assertDeletedHighestIdNotReused(tempDir.resolve("binary.txt"), binary);
+        assertDeletedHighestIdNotReused(tempDir.resolve("journal.txt"), journal);
+        assertDeletedHighestIdNotReused(tempDir.resolve("segmented.txt"), segmented);
+    }
+
+    private void assertDeletedHighestIdNotReused(Path dataFile, StorageConfig config) throws Exception {
+        Storage storage = new Storage(dataFile.toString(), config);
+        TaskList tasks = storage.loadTaskList();
+        for (String description : List.of("read book", "return book", "join club")) {
+            Task task = new Todo(description);
+            tasks.addTask(task);
+            storage.saveAdded(tasks, task);
+        }
+        int deletedId = tasks.deleteTask(2).getId();
+        storage.saveDeleted(tasks, 2);
+        storage.close();
+
+        Storage reopened = new Storage(dataFile.toString(), config);
+        TaskList reloaded = reopened.loadTaskList();
+        assertEquals(2, reloaded.getSize());
+        Task added = new Todo("borrow book");
+        reloaded.addTask(added);
+        reopened.saveAdded(reloaded, added);
+        reopened.close();
+        assertTrue(added.getId() > deletedId, "ID " + added.getId() + " was given out before");
+    }
+
+    @Test
+    void testAsyncDurability_SubmitDoesNotWaitForBackgroundWrite() throws Exception {
+        Path dataFile = tempDir.resolve("lyra.txt");
+        StorageConfig config = new StorageConfig();
+        config.setDurabilityMode(DurabilityMode.ASYNC);
+        config.setGroupCommitMillis(20);
+        CountDownLatch isWriting = new CountDownLatch(1);
+        CountDownLatch canWrite = new CountDownLatch(1);
+        Storage storage = new Storage(dataFile.toString(), config) {
+            @Override
+            public void save(TaskSnapshot snapshot) throws LyraException {
+                isWriting.countDown();
+                try {
+                    canWrite.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                super.save(snapshot);
+            }
+        };
+        TaskList tasks = new TaskList(storage.load());
+        Task first = new Todo("read book");
+        tasks.addTask(first);
+        storage.saveAdded(tasks, first);
+        assertTrue(isWriting.await(10, TimeUnit.SECONDS));
+
+        // The background timer is stuck writing the first task, which must not hold up the second
+        Task second = new Todo("join club");
+        tasks.addTask(second);
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> storage.saveAdded(tasks, second));
+        canWrite.countDown();
+        storage.close();
+        assertEquals(List.of("T | 0 | read book | #1", "T | 0 | join club | #2"), Files.readAllLines(dataFile));
+    }
+}
@@ -0,0 +1,107 @@
+package lyra.util;
+
+import lyra.command.FindCommand;
+import lyra.task.Deadline;
+import lyra.task.Event;
+import lyra.task.Task;
+import lyra.task.TaskList;
+import lyra.task.Todo;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Test class for TaskArchive class.
+ * Tests appending to the compressed archive, searching it and archiving through Storage.
+ */
+public class TaskArchiveTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Task done(Task task) {
+        task.markAsDone();
+        return task;
+    }
+
+    @Test
+    void testSearch_FindsTasksAcrossAppends() throws Exception {
+        TaskArchive archive = new TaskArchive(tempDir.resolve("lyra.txt.archive.gz"));
+        archive.append(List.of(done(new Todo("read book")), done(new Todo("join club"))));
+        archive.append(List.of(done(new Deadline("return Book", LocalDate.of(2019, 12, 2)))));
+
+        ArrayList<Task> matches = archive.search("BOOK");
+        assertEquals(2, matches.size());
+        assertEquals("[T][X] read book", matches.get(0).toString());
+        assertEquals("[D][X] return Book (by: Dec 2 2019)", matches.get(1).toString());
+        assertTrue(archive.search("missing").isEmpty());
+    }
+
+    @Test
+    void testSearch_MissingArchiveFindsNothing() throws Exception {
+        assertTrue(new TaskArchive(tempDir.resolve("none.gz")).search("book").isEmpty());
+    }
+
+    @Test
+    void testIsExpired_OnlyOldCompletedDatedTasks() {
+        LocalDate cutoff = LocalDate.of(2019, 12, 1);
+        assertTrue(TaskArchive.isExpired(done(new Deadline("a", LocalDate.of(2019, 11, 30))), cutoff));
+        assertFalse(TaskArchive.isExpired(new Deadline("b", LocalDate.of(2019, 11, 30)), cutoff));
+        assertFalse(TaskArchive.isExpired(done(new Deadline("c", LocalDate.of(2019, 12, 1))), cutoff));
+        assertFalse(TaskArchive.isExpired(done(new Event("d", LocalDate.of(2019, 11, 1),
+                LocalDate.of(2019, 12, 5))), cutoff));
+        assertFalse(TaskArchive.isExpired(done(new Todo("e")), cutoff));
+    }
+
+    @Test
+    void testStorageArchive_RemovesDoneTasksFromList() throws Exception {
+        Path dataFile = tempDir.resolve("lyra.txt");
+        Files.write(dataFile, List.of("T | 1 | read book", "T | 0 | return book", "T | 1 | join club"));
+        Storage storage = new Storage(dataFile.toString());
+        TaskList tasks = storage.loadTaskList();
+
+        assertEquals(2, storage.archive(tasks, Task::isDone));
+        assertEquals(1, tasks.getSize());
+        // The archived task with the highest ID keeps its ID from being given out again
+        assertEquals(List.of("nextid | 4", "T | 0 | return book | #2"), Files.readAllLines(dataFile));
+        assertEquals(1, storage.searchArchive("club").size());
+        assertEquals(0, storage.archive(tasks, Task::isDone));
+    }
+
+    @Test
+    void testFindCommand_ArchiveOnlyMatchesSkipCurrentTasks() throws Exception {
+        Path dataFile = tempDir.resolve("lyra.txt");
+        Files.write(dataFile, List.of("T | 1 | read book", "T | 0 | join club"));
+        Storage storage = new Storage(dataFile.toString());
+        TaskList tasks = storage.loadTaskList();
+        storage.archive(tasks, Task::isDone);
+        ArrayList<String> shown = new ArrayList<>();
+        Ui ui = new Ui() {
+            @Override
+            public void showMatchingTasks(ArrayList<Task> tasks) {
+                shown.add("current " + tasks.size());
+            }
+
+            @Override
+            public void showRankedTasks(ArrayList<Task> tasks, int matchCount) {
+                shown.add("ranked " + tasks.size());
+            }
+
+            @Override
+            public void showArchivedTasks(ArrayList<Task> tasks) {
+                shown.add("archived " + tasks.size());
+            }
+        };
+
+        new FindCommand("book", true).execute(tasks, ui, storage);
+        new FindCommand("book", FindCommand.MatchMode.RANKED, true).execute(tasks, ui, storage);
+        new FindCommand("club", true).execute(tasks, ui, storage);
+        assertEquals(List.of("archived 1", "archived 1", "current 1", "archived 0"), shown);
+    }
+}
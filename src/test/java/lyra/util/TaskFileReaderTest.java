@@ -0,0 +1,139 @@
+package lyra.util;
+
+import lyra.task.Task;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Test class for TaskFileReader class.
+ * Checks that the streaming loader produces the same tasks as Storage.parseTaskFromFile.
+ */
+public class TaskFileReaderTest {
+
+    private static final List<String> LINES = List.of(
+            "T | 1 | read book",
+            "D | 0 | return book | 2019-12-02",
+            "E | 0 | project meeting | 2019-12-01 to 2019-12-02",
+            "t|0|  lower case type  ",
+            "E | 1 | trip to town | 2024-01-01   to   2024-01-05 | extra",
+            "T | 0 | café ☕ au lait",
+            "",
+            "garbage line",
+            "X | 0 | unknown type",
+            "D | 0 | missing date",
+            "T | 0 | with id | #7",
+            "D | 1 | due | 2019-12-02 | #8 ",
+            "E | 0 | bad id | 2024-01-01 to 2024-01-02 | #x",
+            "T | 0 | negative id | #-3");
+
+    @TempDir
+    Path tempDir;
+
+    private ArrayList<Task> parseWithStorage(List<String> lines) {
+        ArrayList<Task> tasks = new ArrayList<>();
+        for (String line : lines) {
+            Task task = Storage.parseTaskFromFile(line);
+            if (task != null) {
+                tasks.add(task);
+            }
+        }
+        return tasks;
+    }
+
+    private void assertSameTasks(List<Task> expected, List<Task> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getClass(), actual.get(i).getClass());
+            assertEquals(expected.get(i).toString(), actual.get(i).toString());
+            assertEquals(expected.get(i).getId(), actual.get(i).getId());
+        }
+    }
+
+    @Test
+    void testRead_MatchesStorageParser() throws Exception {
+        Path file = tempDir.resolve("lyra.txt");
+        Files.write(file, LINES, StandardCharsets.UTF_8);
+        assertSameTasks(parseWithStorage(LINES), TaskFileReader.read(file));
+    }
+
+    @Test
+    void testRead_WindowsLineEndingsAndNoTrailingNewline() throws Exception {
+        Path file = tempDir.resolve("lyra.txt");
+        Files.write(file, "T | 0 | a\r\nD | 1 | b | 2020-02-29\r\nT | 0 | c".getBytes(StandardCharsets.UTF_8));
+        ArrayList<Task> tasks = TaskFileReader.read(file);
+        assertEquals(3, tasks.size());
+        assertEquals("[D][X] b (by: Feb 29 2020)", tasks.get(1).toString());
+        assertEquals("[T][ ] c", tasks.get(2).toString());
+    }
+
+    @Test
+    void testRead_LinesLongerThanBuffer() throws Exception {
+        Path file = tempDir.resolve("lyra.txt");
+        String longDescription = "x".repeat(200_000);
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            lines.add("T | " + (i % 2) + " | task " + i);
+        }
+        lines.add(1500, "T | 0 | " + longDescription);
+        Files.write(file, lines, StandardCharsets.UTF_8);
+
+        ArrayList<Task> tasks = TaskFileReader.read(file);
+        assertEquals(3001, tasks.size());
+        assertEquals(longDescription, tasks.get(1500).getDescription());
+        assertSameTasks(parseWithStorage(lines), tasks);
+    }
+
+    @Test
+    void testRead_EmptyFile() throws Exception {
+        Path file = tempDir.resolve("lyra.txt");
+        Files.createFile(file);
+        assertTrue(TaskFileReader.read(file).isEmpty());
+    }
+
+    @Test
+    void testRead_InvalidDateThrowsLikeStorageParser() throws Exception {
+        Path file = tempDir.resolve("lyra.txt");
+        Files.write(file, List.of("D | 0 | return book | 2019-13-02"));
+        assertThrows(DateTimeParseException.class, () -> TaskFileReader.read(file));
+    }
+
+    @Test
+    void testReadParallel_MatchesSequentialOrder() throws Exception {
+        Path file = tempDir.resolve("lyra.txt");
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            switch (i % 3) {
+            case 0:
+                lines.add("T | " + (i % 2) + " | todo " + i);
+                break;
+            case 1:
+                lines.add("D | 0 | deadline " + i + " | 2024-03-" + String.format("%02d", i % 28 + 1));
+                break;
+            default:
+                lines.add("E | 1 | event " + i + " | 2024-01-01 to 2024-02-0" + (i % 9 + 1));
+                break;
+            }
+        }
+        Files.write(file, lines, StandardCharsets.UTF_8);
+
+        ArrayList<Task> sequential = TaskFileReader.read(file);
+        ArrayList<Task> parallel = TaskFileReader.read(file, 1);
+        assertEquals(20_000, parallel.size());
+        assertSameTasks(sequential, parallel);
+    }
+
+    @Test
+    void testReadParallel_BelowThresholdUsesSequentialPath() throws Exception {
+        Path file = tempDir.resolve("lyra.txt");
+        Files.write(file, LINES, StandardCharsets.UTF_8);
+        assertSameTasks(parseWithStorage(LINES), TaskFileReader.read(file, Long.MAX_VALUE));
+    }
+}